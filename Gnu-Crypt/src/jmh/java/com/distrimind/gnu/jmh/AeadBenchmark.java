@@ -0,0 +1,110 @@
+/* AeadBenchmark.java -- authenticated-encryption mode benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.jgnux.crypto.mode.IAuthenticatedMode;
+import com.distrimind.gnu.jgnux.crypto.mode.IMode;
+import com.distrimind.gnu.jgnux.crypto.mode.ModeFactory;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+
+/**
+ * Cost of sealing a whole message, header and tag included, with each
+ * authenticated mode of {@link ModeFactory}. Every invocation re-initialises the
+ * mode, as a fresh nonce is required per message.
+ */
+@State(Scope.Thread)
+public class AeadBenchmark {
+	private static final int HEADER_SIZE = 20;
+
+	@Param({ Registry.RIJNDAEL_CIPHER, Registry.SERPENT_CIPHER, Registry.TWOFISH_CIPHER })
+	public String cipher;
+
+	private Map<Object, Object> encryption;
+
+	private IAuthenticatedMode encryptor;
+
+	private byte[] header;
+
+	private byte[] in;
+
+	@Param({ Registry.EAX_MODE, Registry.OCB_MODE })
+	public String mode;
+
+	private byte[] out;
+
+	@Param({ "64", "1024", "16384" })
+	public int size;
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public byte[] seal() throws InvalidKeyException {
+		encryptor.init(encryption);
+		encryptor.update(header, 0, header.length);
+		for (int i = 0; i < size; i += 16)
+			encryptor.update(in, i, out, i);
+		return encryptor.digest();
+	}
+
+	@Setup
+	public void setup() throws InvalidKeyException {
+		IBlockCipher underlying = CipherFactory.getInstance(cipher);
+		encryption = Fixtures.cipherAttributes(underlying);
+		encryption.put(IMode.IV, Fixtures.randomBytes(12));
+		encryption.put(IMode.STATE, Integer.valueOf(IMode.ENCRYPTION));
+		encryptor = (IAuthenticatedMode) ModeFactory.getInstance(mode, underlying, 16);
+		header = Fixtures.randomBytes(HEADER_SIZE);
+		in = Fixtures.randomBytes(size);
+		out = new byte[size];
+	}
+}
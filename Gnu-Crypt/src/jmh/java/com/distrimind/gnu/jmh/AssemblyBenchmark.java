@@ -0,0 +1,139 @@
+/* AssemblyBenchmark.java -- throughput of transformer chains
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnux.crypto.assembly.Assembly;
+import com.distrimind.gnu.jgnux.crypto.assembly.Cascade;
+import com.distrimind.gnu.jgnux.crypto.assembly.Direction;
+import com.distrimind.gnu.jgnux.crypto.assembly.Stage;
+import com.distrimind.gnu.jgnux.crypto.assembly.Transformer;
+import com.distrimind.gnu.jgnux.crypto.assembly.TransformerException;
+import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.jgnux.crypto.mode.IMode;
+import com.distrimind.gnu.jgnux.crypto.mode.ModeFactory;
+import com.distrimind.gnu.jgnux.crypto.pad.PadFactory;
+
+/**
+ * Throughput of the encryption of a message by an {@link Assembly} whose chain
+ * is an AES/CBC cascade, optionally preceded by PKCS#7 padding and by deflate
+ * compression. The whole message is pushed at once or in small chunks, and the
+ * result is either returned in a new array, which is what the chain used to
+ * do at every stage, or written into a caller-provided one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AssemblyBenchmark {
+	/** The length of the pushes of the chunked benchmark. */
+	private static final int CHUNK = 4096;
+
+	private Assembly assembly;
+
+	private HashMap<Object, Object> attributes;
+
+	/**
+	 * The transformers of the chain: the cascade, then padding in front of it,
+	 * then deflate in front of the padding.
+	 */
+	@Param({ "cascade", "cascade+padding", "cascade+padding+deflate" })
+	public String chain;
+
+	private byte[] in;
+
+	private byte[] out;
+
+	@Param({ "16384", "1048576", "16777216" })
+	public int size;
+
+	@Benchmark
+	public byte[] array() throws TransformerException {
+		assembly.init(attributes);
+		return assembly.lastUpdate(in, 0, size);
+	}
+
+	@Benchmark
+	public int chunked() throws TransformerException {
+		assembly.init(attributes);
+		int result = 0;
+		for (int i = 0; i < size; i += CHUNK)
+			result += assembly.update(in, i, Math.min(CHUNK, size - i), out, result);
+		return result + assembly.lastUpdate(in, 0, 0, out, result);
+	}
+
+	@Benchmark
+	public int into() throws TransformerException {
+		assembly.init(attributes);
+		return assembly.lastUpdate(in, 0, size, out, 0);
+	}
+
+	@Setup
+	public void setup() throws TransformerException {
+		IBlockCipher aes = CipherFactory.getInstance(Registry.AES_CIPHER);
+		IMode cbc = ModeFactory.getInstance(Registry.CBC_MODE, aes, aes.defaultBlockSize());
+		Cascade cascade = new Cascade();
+		Object stage = cascade.append(Stage.getInstance(cbc, Direction.FORWARD));
+		HashMap<Object, Object> stageAttributes = new HashMap<>(Fixtures.cipherAttributes(aes));
+		stageAttributes.put(IMode.IV, Fixtures.randomBytes(aes.defaultBlockSize()));
+		assembly = new Assembly();
+		assembly.addPreTransformer(Transformer.getCascadeTransformer(cascade));
+		if (chain.contains("padding"))
+			assembly.addPreTransformer(Transformer.getPaddingTransformer(PadFactory.getInstance(Registry.PKCS7_PAD)));
+		if (chain.contains("deflate"))
+			assembly.addPreTransformer(Transformer.getDeflateTransformer());
+		attributes = new HashMap<>();
+		attributes.put(Assembly.DIRECTION, Direction.FORWARD);
+		attributes.put(stage, stageAttributes);
+		in = Fixtures.randomBytes(size);
+		// room for incompressible input growing through deflate and padding.
+		out = new byte[size + size / 8 + 1024];
+	}
+}
@@ -0,0 +1,139 @@
+/* Base64Benchmark.java -- throughput of Base64 coding of large inputs
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.distrimind.gnu.jgnu.io.Base64InputStream;
+import com.distrimind.gnu.jgnu.io.Base64OutputStream;
+import com.distrimind.gnu.jgnu.util.Base64;
+
+/**
+ * Throughput of the Base64 decoding and encoding of multi-megabyte inputs, as
+ * PEM text wrapped at 64 characters and as unwrapped text, through the array
+ * methods of {@link Base64} and through the Base64 streams.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class Base64Benchmark {
+	/** The length of the lines of PEM text. */
+	private static final int LINE_LENGTH = 64;
+
+	private byte[] buffer;
+
+	private byte[] decoded;
+
+	private byte[] encoded;
+
+	private byte[] in;
+
+	private ByteArrayOutputStream out;
+
+	private byte[] pem;
+
+	/** The number of bytes of binary data. */
+	@Param({ "1048576", "16777216" })
+	public int size;
+
+	@Benchmark
+	public int decode() throws IOException {
+		return Base64.decode(encoded, 0, encoded.length, decoded, 0);
+	}
+
+	@Benchmark
+	public int decodePem() throws IOException {
+		return Base64.decode(pem, 0, pem.length, decoded, 0);
+	}
+
+	@Benchmark
+	public int decodePemStream() throws IOException {
+		int result = 0;
+		try (InputStream b64 = new Base64InputStream(new ByteArrayInputStream(pem))) {
+			int n;
+			while ((n = b64.read(buffer, 0, buffer.length)) != -1)
+				result += n;
+		}
+		return result;
+	}
+
+	@Benchmark
+	public int encode() {
+		return Base64.encode(in, 0, in.length, encoded, 0);
+	}
+
+	@Benchmark
+	public String encodePem() {
+		return Base64.encode(in, LINE_LENGTH);
+	}
+
+	@Benchmark
+	public int encodePemStream() throws IOException {
+		out.reset();
+		try (OutputStream b64 = new Base64OutputStream(out, LINE_LENGTH)) {
+			b64.write(in, 0, in.length);
+		}
+		return out.size();
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		in = Fixtures.randomBytes(size);
+		encoded = new byte[Base64.encodedLength(size)];
+		Base64.encode(in, 0, size, encoded, 0);
+		out = new ByteArrayOutputStream(encoded.length + encoded.length / LINE_LENGTH + 1);
+		encodePemStream();
+		pem = out.toByteArray();
+		decoded = new byte[Base64.maxDecodedLength(pem.length)];
+		buffer = new byte[8192];
+	}
+}
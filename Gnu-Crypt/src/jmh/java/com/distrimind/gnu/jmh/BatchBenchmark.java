@@ -0,0 +1,157 @@
+/* BatchBenchmark.java -- batch digest and MAC benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.hash.BatchDigest;
+import com.distrimind.gnu.jgnu.security.hash.HashFactory;
+import com.distrimind.gnu.jgnu.security.hash.IMessageDigest;
+import com.distrimind.gnu.jgnux.crypto.mac.BatchMac;
+import com.distrimind.gnu.jgnux.crypto.mac.IMac;
+import com.distrimind.gnu.jgnux.crypto.mac.MacFactory;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+
+/**
+ * Time to digest and MAC a batch of small messages, of 32 to 200 bytes, one
+ * call per message and with {@link BatchDigest} and {@link BatchMac}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BatchBenchmark {
+	@Param({ "16", "1024", "16384" })
+	public int batch;
+
+	private BatchDigest batchDigest;
+
+	private BatchMac batchMac;
+
+	@Param({ Registry.SHA160_HASH, Registry.SHA256_HASH })
+	public String hash;
+
+	private IMessageDigest digest;
+
+	private byte[][] in;
+
+	private int[] lengths;
+
+	private IMac mac;
+
+	private int[] offsets;
+
+	private byte[] out;
+
+	@Param({ "1", "4" })
+	public int parallelism;
+
+	private ForkJoinPool pool;
+
+	@Benchmark
+	public byte[] batchDigest() {
+		batchDigest.digest(in, offsets, lengths, out, 0);
+		return out;
+	}
+
+	@Benchmark
+	public byte[] batchMac() {
+		batchMac.mac(in, offsets, lengths, out, 0);
+		return out;
+	}
+
+	@Benchmark
+	public byte[] loopDigest() {
+		int size = digest.hashSize();
+		for (int i = 0; i < batch; i++) {
+			digest.update(in[i], offsets[i], lengths[i]);
+			System.arraycopy(digest.digest(), 0, out, i * size, size);
+		}
+		return out;
+	}
+
+	@Benchmark
+	public byte[] loopMac() {
+		int size = mac.macSize();
+		for (int i = 0; i < batch; i++) {
+			mac.update(in[i], offsets[i], lengths[i]);
+			System.arraycopy(mac.digest(), 0, out, i * size, size);
+			mac.reset();
+		}
+		return out;
+	}
+
+	@Setup
+	public void setup() throws InvalidKeyException {
+		byte[] data = Fixtures.randomBytes(batch * 200);
+		in = new byte[batch][];
+		offsets = new int[batch];
+		lengths = new int[batch];
+		for (int i = 0; i < batch; i++) {
+			in[i] = data;
+			offsets[i] = i * 200;
+			lengths[i] = 32 + (data[i * 200] & 0xFF) % 169;
+		}
+		String macName = Registry.HMAC_NAME_PREFIX + hash;
+		digest = HashFactory.getInstance(hash);
+		mac = MacFactory.getInstance(macName);
+		mac.init(Fixtures.macAttributes(macName));
+		IMac batched = MacFactory.getInstance(macName);
+		batched.init(Fixtures.macAttributes(macName));
+		pool = new ForkJoinPool(parallelism);
+		batchDigest = new BatchDigest(HashFactory.getInstance(hash), pool, 256);
+		batchMac = new BatchMac(batched, pool, 256);
+		out = new byte[batch * mac.macSize()];
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+}
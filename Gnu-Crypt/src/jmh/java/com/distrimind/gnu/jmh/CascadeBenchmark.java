@@ -0,0 +1,143 @@
+/* CascadeBenchmark.java -- throughput of pipelined cascades
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnux.crypto.assembly.Cascade;
+import com.distrimind.gnu.jgnux.crypto.assembly.Direction;
+import com.distrimind.gnu.jgnux.crypto.assembly.Stage;
+import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.jgnux.crypto.mode.IMode;
+import com.distrimind.gnu.jgnux.crypto.mode.ModeFactory;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+
+/**
+ * Throughput of the bulk update of a {@link Cascade} of CBC encryption stages,
+ * run one chunk after the other on the calling thread, against the same
+ * cascade with its stages pipelined on a fork/join pool of one thread per
+ * stage.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CascadeBenchmark {
+	/** The ciphers of the successive stages. */
+	private static final String[] CIPHERS = { Registry.AES_CIPHER, Registry.SERPENT_CIPHER,
+			Registry.TWOFISH_CIPHER };
+
+	/** The number of bytes each stage processes at a time. */
+	@Param({ "16384", "65536", "262144" })
+	public int chunkSize;
+
+	private byte[] in;
+
+	private byte[] out;
+
+	private Cascade pipelined;
+
+	private ForkJoinPool pool;
+
+	private Cascade sequential;
+
+	@Param({ "16777216" })
+	public int size;
+
+	@Param({ "1", "2", "3" })
+	public int stages;
+
+	private Cascade cascade(boolean pipeline) throws InvalidKeyException {
+		Cascade result = new Cascade();
+		HashMap<Object, Object> attributes = new HashMap<>();
+		for (int i = 0; i < stages; i++) {
+			IBlockCipher cipher = CipherFactory.getInstance(CIPHERS[i]);
+			IMode cbc = ModeFactory.getInstance(Registry.CBC_MODE, cipher, cipher.defaultBlockSize());
+			HashMap<Object, Object> stageAttributes = new HashMap<>(Fixtures.cipherAttributes(cipher));
+			stageAttributes.put(IMode.IV, Fixtures.randomBytes(cipher.defaultBlockSize()));
+			attributes.put(result.append(Stage.getInstance(cbc, Direction.FORWARD)), stageAttributes);
+		}
+		attributes.put(Cascade.DIRECTION, Direction.FORWARD);
+		attributes.put(Cascade.CHUNK_SIZE, Integer.valueOf(chunkSize));
+		if (pipeline) {
+			attributes.put(Cascade.PIPELINE, Boolean.TRUE);
+			attributes.put(Cascade.EXECUTOR, pool);
+		}
+		result.init(attributes);
+		return result;
+	}
+
+	@Benchmark
+	public byte[] pipelined() {
+		pipelined.update(in, 0, out, 0, size);
+		return out;
+	}
+
+	@Benchmark
+	public byte[] sequential() {
+		sequential.update(in, 0, out, 0, size);
+		return out;
+	}
+
+	@Setup
+	public void setup() throws InvalidKeyException {
+		pool = new ForkJoinPool(stages);
+		pipelined = cascade(true);
+		sequential = cascade(false);
+		in = Fixtures.randomBytes(size);
+		out = new byte[size];
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+}
@@ -0,0 +1,144 @@
+/* CertificateBenchmark.java -- DER and X.509 parsing benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.distrimind.gnu.jgnu.security.der.DERReader;
+import com.distrimind.gnu.jgnu.security.der.DERValue;
+import com.distrimind.gnu.jgnu.security.der.DERWriter;
+import com.distrimind.gnu.jgnu.security.provider.X509BundleParser;
+import com.distrimind.gnu.jgnu.security.x509.X509Certificate;
+import com.distrimind.gnu.jgnu.util.Base64;
+import com.distrimind.gnu.vm.jgnu.security.cert.CertificateException;
+
+/**
+ * Latency of the parsing of X.509 certificates, at each level: the Base64
+ * armour, the DER structure, a whole certificate and a PEM bundle, and of the
+ * DER encoding of a certificate's structure. The inputs are the 2048-bit RSA
+ * certificates of the <code>bundle.pem</code> resource.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CertificateBenchmark {
+	private static final String BEGIN = "-----BEGIN CERTIFICATE-----";
+
+	private static final String END = "-----END CERTIFICATE-----";
+
+	/**
+	 * Reads a whole DER structure, descending into its constructed values.
+	 */
+	private static DERValue tree(DERReader in) throws IOException {
+		DERValue value = in.read();
+		if (!value.isConstructed())
+			return value;
+		List<DERValue> children = new ArrayList<>();
+		for (int n = 0; n < value.getLength();) {
+			DERValue child = tree(in);
+			children.add(child);
+			n += child.getEncodedLength();
+		}
+		return new DERValue(value.getExternalTag(), children);
+	}
+
+	private String armour;
+
+	private byte[] bundle;
+
+	private byte[] der;
+
+	private DERValue structure;
+
+	@Benchmark
+	public byte[] base64() throws IOException {
+		return Base64.decode(armour);
+	}
+
+	@Benchmark
+	public List<X509Certificate> bundle() throws CertificateException {
+		return new X509BundleParser().parseCertificates(ByteBuffer.wrap(bundle));
+	}
+
+	@Benchmark
+	public X509Certificate certificate() throws CertificateException, IOException {
+		return new X509Certificate(new ByteArrayInputStream(der));
+	}
+
+	@Benchmark
+	public DERValue der() throws IOException {
+		return DERReader.read(der);
+	}
+
+	@Benchmark
+	public byte[] derEncode() throws IOException {
+		return DERWriter.encode(structure);
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (InputStream in = CertificateBenchmark.class.getResourceAsStream("bundle.pem")) {
+			byte[] buffer = new byte[4096];
+			int n;
+			while ((n = in.read(buffer)) != -1)
+				out.write(buffer, 0, n);
+		}
+		bundle = out.toByteArray();
+		String pem = new String(bundle, "US-ASCII");
+		int start = pem.indexOf(BEGIN) + BEGIN.length();
+		armour = pem.substring(start, pem.indexOf(END, start)).trim();
+		der = Base64.decode(armour);
+		structure = tree(new DERReader(der));
+	}
+}
@@ -0,0 +1,214 @@
+/* ChannelBenchmark.java -- throughput of the channel and stream I/O
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnux.crypto.jce.GnuCrypto;
+import com.distrimind.gnu.jgnux.crypto.mac.IMac;
+import com.distrimind.gnu.jgnux.crypto.mac.MacFactory;
+import com.distrimind.gnu.jgnux.crypto.mac.MacInputStream;
+import com.distrimind.gnu.jgnux.crypto.mac.MacReadableChannel;
+import com.distrimind.gnu.vm.jgnu.security.GeneralSecurityException;
+import com.distrimind.gnu.vm.jgnux.crypto.Cipher;
+import com.distrimind.gnu.vm.jgnux.crypto.CipherInputStream;
+import com.distrimind.gnu.vm.jgnux.crypto.CipherOutputStream;
+import com.distrimind.gnu.vm.jgnux.crypto.CipherReadableChannel;
+import com.distrimind.gnu.vm.jgnux.crypto.CipherWritableChannel;
+import com.distrimind.gnu.vm.jgnux.crypto.NoSuchPaddingException;
+import com.distrimind.gnu.vm.jgnux.crypto.spec.IvParameterSpec;
+import com.distrimind.gnu.vm.jgnux.crypto.spec.SecretKeySpec;
+
+/**
+ * Throughput of the encryption and of the MAC of a multi-megabyte file, read
+ * through a {@link FileChannel} and the cipher and MAC channels, against the
+ * same work through a {@link FileInputStream} and the cipher and MAC streams.
+ * The output is discarded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ChannelBenchmark {
+	/**
+	 * A stream and a channel discarding everything written to them.
+	 */
+	private static final class Sink extends OutputStream implements WritableByteChannel {
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public int write(ByteBuffer src) {
+			int result = src.remaining();
+			src.position(src.limit());
+			return result;
+		}
+
+		@Override
+		public void write(byte[] buf, int off, int len) {
+		}
+
+		@Override
+		public void write(int b) {
+		}
+	}
+
+	/** The length of the buffers of the stream benchmarks. */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private byte[] buffer;
+
+	private Cipher cipher;
+
+	private ByteBuffer direct;
+
+	private File file;
+
+	private IMac mac;
+
+	private final Sink sink = new Sink();
+
+	@Param({ "4194304", "33554432" })
+	public int size;
+
+	@Benchmark
+	public long cipherReadChannel() throws IOException {
+		try (CipherReadableChannel in = new CipherReadableChannel(FileChannel.open(file.toPath()), cipher)) {
+			return in.transferTo(sink);
+		}
+	}
+
+	@Benchmark
+	public long cipherReadStream() throws IOException {
+		long result = 0;
+		try (InputStream in = new CipherInputStream(new FileInputStream(file), cipher)) {
+			int n;
+			while ((n = in.read(buffer, 0, buffer.length)) != -1)
+				result += n;
+		}
+		return result;
+	}
+
+	@Benchmark
+	public long cipherWriteChannel() throws IOException {
+		try (FileChannel in = FileChannel.open(file.toPath());
+				CipherWritableChannel out = new CipherWritableChannel(sink, cipher)) {
+			return out.transferFrom(in);
+		}
+	}
+
+	@Benchmark
+	public long cipherWriteStream() throws IOException {
+		long result = 0;
+		try (InputStream in = new FileInputStream(file); OutputStream out = new CipherOutputStream(sink, cipher)) {
+			int n;
+			while ((n = in.read(buffer, 0, buffer.length)) != -1) {
+				out.write(buffer, 0, n);
+				result += n;
+			}
+		}
+		return result;
+	}
+
+	@Benchmark
+	public byte[] macReadChannel() throws IOException {
+		try (MacReadableChannel in = new MacReadableChannel(FileChannel.open(file.toPath()), mac)) {
+			direct.clear();
+			while (in.read(direct) != -1)
+				direct.clear();
+		}
+		return mac.digest();
+	}
+
+	@Benchmark
+	public byte[] macReadStream() throws IOException {
+		try (InputStream in = new MacInputStream(new FileInputStream(file), mac)) {
+			while (in.read(buffer, 0, buffer.length) != -1)
+				;
+		}
+		return mac.digest();
+	}
+
+	@Setup
+	public void setup() throws GeneralSecurityException, IOException, NoSuchPaddingException {
+		file = File.createTempFile("channel", ".bin");
+		try (FileChannel out = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+			ByteBuffer data = ByteBuffer.wrap(Fixtures.randomBytes(size));
+			while (data.hasRemaining())
+				out.write(data);
+		}
+		cipher = Cipher.getInstance("AES/CBC/NoPadding", new GnuCrypto());
+		cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(Fixtures.randomBytes(16), "AES"),
+				new IvParameterSpec(Fixtures.randomBytes(16)));
+		String macName = Registry.HMAC_NAME_PREFIX + Registry.SHA256_HASH;
+		mac = MacFactory.getInstance(macName);
+		mac.init(Fixtures.macAttributes(macName));
+		buffer = new byte[BUFFER_SIZE];
+		direct = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	}
+
+	@TearDown
+	public void tearDown() {
+		file.delete();
+	}
+}
@@ -0,0 +1,123 @@
+/* CipherBenchmark.java -- block cipher benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+
+/**
+ * Raw throughput and key-setup cost of every algorithm of
+ * {@link CipherFactory}. A message is processed block by block, without any
+ * mode of operation, so that the figures isolate the cost of the block
+ * transformation itself.
+ */
+@State(Scope.Thread)
+public class CipherBenchmark {
+	@Param({ Registry.ANUBIS_CIPHER, Registry.BLOWFISH_CIPHER, Registry.CAST5_CIPHER, Registry.DES_CIPHER,
+			Registry.KHAZAD_CIPHER, Registry.NULL_CIPHER, Registry.RIJNDAEL_CIPHER, Registry.SERPENT_CIPHER,
+			Registry.SQUARE_CIPHER, Registry.TRIPLEDES_CIPHER, Registry.TWOFISH_CIPHER })
+	public String algorithm;
+
+	private Map<Object, Object> attributes;
+
+	private int blockSize;
+
+	private IBlockCipher cipher;
+
+	private byte[] in;
+
+	private byte[] out;
+
+	@Param({ "64", "1024", "16384" })
+	public int size;
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public byte[] decrypt() {
+		for (int i = 0; i + blockSize <= size; i += blockSize)
+			cipher.decryptBlock(in, i, out, i);
+		return out;
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public byte[] encrypt() {
+		for (int i = 0; i + blockSize <= size; i += blockSize)
+			cipher.encryptBlock(in, i, out, i);
+		return out;
+	}
+
+	/**
+	 * Measures the key schedule: the cost paid each time a cipher instance is
+	 * initialised with a new key.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public IBlockCipher keySetup() throws InvalidKeyException {
+		cipher.reset();
+		cipher.init(attributes);
+		return cipher;
+	}
+
+	@Setup
+	public void setup() throws InvalidKeyException {
+		cipher = CipherFactory.getInstance(algorithm);
+		attributes = Fixtures.cipherAttributes(cipher);
+		cipher.init(attributes);
+		blockSize = cipher.currentBlockSize();
+		in = Fixtures.randomBytes(size);
+		out = new byte[size];
+	}
+}
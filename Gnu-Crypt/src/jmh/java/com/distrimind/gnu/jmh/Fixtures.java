@@ -0,0 +1,115 @@
+/* Fixtures.java -- shared benchmark fixtures
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.prng.IRandom;
+import com.distrimind.gnu.jgnu.security.prng.MDGenerator;
+import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.jgnux.crypto.mac.IMac;
+import com.distrimind.gnu.jgnux.crypto.mac.MacFactory;
+import com.distrimind.gnu.jgnux.crypto.mac.TMMH16;
+import com.distrimind.gnu.jgnux.crypto.mac.UMac32;
+import com.distrimind.gnu.jgnux.crypto.prng.PRNGFactory;
+
+/**
+ * Deterministic inputs and key material shared by the benchmarks, so that two
+ * runs of the suite measure exactly the same work.
+ */
+final class Fixtures {
+	private static final long SEED = 0x474e5543L;
+
+	/**
+	 * Returns the attributes initialising the given cipher with a key of its
+	 * default length.
+	 */
+	static Map<Object, Object> cipherAttributes(IBlockCipher cipher) {
+		HashMap<Object, Object> result = new HashMap<>();
+		result.put(IBlockCipher.KEY_MATERIAL, randomBytes(cipher.defaultKeySize()));
+		result.put(IBlockCipher.CIPHER_BLOCK_SIZE, Integer.valueOf(cipher.defaultBlockSize()));
+		return result;
+	}
+
+	private static IRandom keystream() {
+		IRandom result = PRNGFactory.getInstance(Registry.MD_PRNG);
+		HashMap<Object, Object> attributes = new HashMap<>();
+		attributes.put(MDGenerator.SEEED, randomBytes(32));
+		result.init(attributes);
+		return result;
+	}
+
+	/**
+	 * Returns the attributes initialising the designated MAC with a key of the
+	 * length it requires: the digest size for HMACs, the default key size of the
+	 * underlying cipher for OMACs, and a key plus a nonce (or a key stream) for
+	 * the universal hashes.
+	 */
+	static Map<Object, Object> macAttributes(String name) {
+		HashMap<Object, Object> result = new HashMap<>();
+		int keyLength;
+		if (name.startsWith(Registry.HMAC_NAME_PREFIX))
+			keyLength = MacFactory.getInstance(name).macSize();
+		else if (name.startsWith(Registry.OMAC_PREFIX))
+			keyLength = CipherFactory.getInstance(name.substring(Registry.OMAC_PREFIX.length())).defaultKeySize();
+		else
+			keyLength = 16;
+		result.put(IMac.MAC_KEY_MATERIAL, randomBytes(keyLength));
+		result.put(UMac32.NONCE_MATERIAL, randomBytes(8));
+		result.put(TMMH16.TAG_LENGTH, Integer.valueOf(4));
+		result.put(TMMH16.KEYSTREAM, keystream());
+		return result;
+	}
+
+	/**
+	 * Returns <code>length</code> pseudo-random bytes, always the same ones for a
+	 * given length.
+	 */
+	static byte[] randomBytes(int length) {
+		byte[] result = new byte[length];
+		new Random(SEED + length).nextBytes(result);
+		return result;
+	}
+
+	private Fixtures() {
+	}
+}
@@ -0,0 +1,135 @@
+/* HashBenchmark.java -- message digest benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.hash.HashFactory;
+import com.distrimind.gnu.jgnu.security.hash.IMessageDigest;
+
+/**
+ * Throughput of every algorithm of {@link HashFactory}, fed from a byte array,
+ * from a direct buffer, and from a multi-megabyte file mapped in memory; the
+ * size of the file does not depend on <code>size</code>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HashBenchmark {
+	/** The length of the mapped file. */
+	private static final int MAPPED_SIZE = 16 * 1024 * 1024;
+
+	@Param({ Registry.BLAKE2B256_HASH, Registry.BLAKE2B512_HASH, Registry.BLAKE2S256_HASH, Registry.HAVAL_HASH,
+			Registry.MD2_HASH, Registry.MD4_HASH, Registry.MD5_HASH, Registry.RIPEMD128_HASH, Registry.RIPEMD160_HASH,
+			Registry.SHA160_HASH, Registry.SHA256_HASH, Registry.SHA384_HASH, Registry.SHA512_HASH,
+			Registry.SHA3_224_HASH, Registry.SHA3_256_HASH, Registry.SHA3_384_HASH, Registry.SHA3_512_HASH,
+			Registry.SHAKE128_HASH, Registry.SHAKE256_HASH, Registry.TIGER_HASH, Registry.WHIRLPOOL_HASH })
+	public String algorithm;
+
+	private ByteBuffer direct;
+
+	private File file;
+
+	private IMessageDigest hash;
+
+	private byte[] in;
+
+	private MappedByteBuffer mapped;
+
+	@Param({ "64", "1024", "16384" })
+	public int size;
+
+	@Benchmark
+	public byte[] digest() {
+		hash.update(in, 0, size);
+		return hash.digest();
+	}
+
+	@Benchmark
+	public byte[] digestDirectBuffer() {
+		direct.clear();
+		hash.update(direct);
+		return hash.digest();
+	}
+
+	@Benchmark
+	public byte[] digestMappedFile() {
+		mapped.clear();
+		hash.update(mapped);
+		return hash.digest();
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		hash = HashFactory.getInstance(algorithm);
+		in = Fixtures.randomBytes(size);
+		direct = ByteBuffer.allocateDirect(size);
+		direct.put(in);
+		file = File.createTempFile("hash", ".bin");
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			ByteBuffer data = ByteBuffer.wrap(Fixtures.randomBytes(MAPPED_SIZE));
+			while (data.hasRemaining())
+				channel.write(data);
+			mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, MAPPED_SIZE);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		mapped = null;
+		file.delete();
+	}
+}
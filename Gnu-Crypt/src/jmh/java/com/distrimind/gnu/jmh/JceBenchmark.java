@@ -0,0 +1,172 @@
+/* JceBenchmark.java -- JCE adapter overhead benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.hash.HashFactory;
+import com.distrimind.gnu.jgnu.security.hash.IMessageDigest;
+import com.distrimind.gnu.jgnu.security.provider.Gnu;
+import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.jgnux.crypto.jce.GnuCrypto;
+import com.distrimind.gnu.jgnux.crypto.mac.IMac;
+import com.distrimind.gnu.jgnux.crypto.mac.MacFactory;
+import com.distrimind.gnu.jgnux.crypto.mode.IMode;
+import com.distrimind.gnu.jgnux.crypto.mode.ModeFactory;
+import com.distrimind.gnu.vm.jgnu.security.GeneralSecurityException;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+import com.distrimind.gnu.vm.jgnu.security.MessageDigest;
+import com.distrimind.gnu.vm.jgnux.crypto.BadPaddingException;
+import com.distrimind.gnu.vm.jgnux.crypto.Cipher;
+import com.distrimind.gnu.vm.jgnux.crypto.IllegalBlockSizeException;
+import com.distrimind.gnu.vm.jgnux.crypto.Mac;
+import com.distrimind.gnu.vm.jgnux.crypto.NoSuchPaddingException;
+import com.distrimind.gnu.vm.jgnux.crypto.ShortBufferException;
+import com.distrimind.gnu.vm.jgnux.crypto.spec.IvParameterSpec;
+import com.distrimind.gnu.vm.jgnux.crypto.spec.SecretKeySpec;
+
+/**
+ * Overhead of the JCE adapters: each operation is measured once through the
+ * <code>MessageDigest</code>, <code>Mac</code> and <code>Cipher</code> engines
+ * of the GNU providers, and once against the underlying primitive, on the same
+ * input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JceBenchmark {
+	private Cipher cipher;
+
+	private IMessageDigest hash;
+
+	private byte[] in;
+
+	private IMac mac;
+
+	private MessageDigest messageDigest;
+
+	private IMode mode;
+
+	private HashMap<Object, Object> modeAttributes;
+
+	private byte[] out;
+
+	@Param({ "64", "1024", "16384" })
+	public int size;
+
+	private Mac spiMac;
+
+	@Benchmark
+	public int cipherDirect() throws InvalidKeyException {
+		// the adapter re-initialises its mode at the end of each operation
+		mode.reset();
+		mode.init(modeAttributes);
+		for (int i = 0; i < size; i += 16)
+			mode.update(in, i, out, i);
+		return size;
+	}
+
+	@Benchmark
+	public int cipherJce() throws BadPaddingException, IllegalBlockSizeException, ShortBufferException {
+		return cipher.doFinal(in, 0, size, out, 0);
+	}
+
+	@Benchmark
+	public byte[] digestDirect() {
+		hash.update(in, 0, size);
+		return hash.digest();
+	}
+
+	@Benchmark
+	public byte[] digestJce() {
+		messageDigest.update(in, 0, size);
+		return messageDigest.digest();
+	}
+
+	@Benchmark
+	public byte[] macDirect() {
+		mac.update(in, 0, size);
+		return mac.digest();
+	}
+
+	@Benchmark
+	public byte[] macJce() {
+		spiMac.update(in, 0, size);
+		return spiMac.doFinal();
+	}
+
+	@Setup
+	public void setup() throws GeneralSecurityException, NoSuchPaddingException {
+		in = Fixtures.randomBytes(size);
+		out = new byte[size];
+		byte[] key = Fixtures.randomBytes(16);
+		byte[] iv = Fixtures.randomBytes(16);
+		byte[] macKey = Fixtures.randomBytes(32);
+
+		messageDigest = MessageDigest.getInstance("SHA-256", new Gnu());
+		hash = HashFactory.getInstance(Registry.SHA256_HASH);
+
+		spiMac = Mac.getInstance("HMAC-SHA256", new GnuCrypto());
+		spiMac.init(new SecretKeySpec(macKey, "HMAC-SHA256"));
+		mac = MacFactory.getInstance(Registry.HMAC_NAME_PREFIX + Registry.SHA256_HASH);
+		HashMap<Object, Object> attributes = new HashMap<>();
+		attributes.put(IMac.MAC_KEY_MATERIAL, macKey);
+		mac.init(attributes);
+
+		cipher = Cipher.getInstance("AES/CBC/NoPadding", new GnuCrypto());
+		cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new IvParameterSpec(iv));
+		mode = ModeFactory.getInstance(Registry.CBC_MODE, CipherFactory.getInstance(Registry.RIJNDAEL_CIPHER), 16);
+		modeAttributes = new HashMap<>();
+		modeAttributes.put(IBlockCipher.KEY_MATERIAL, key);
+		modeAttributes.put(IMode.IV, iv);
+		modeAttributes.put(IMode.STATE, Integer.valueOf(IMode.ENCRYPTION));
+		mode.init(modeAttributes);
+	}
+}
@@ -0,0 +1,89 @@
+/* KeyPairGeneratorBenchmark.java -- key pair generation benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.key.IKeyPairGenerator;
+import com.distrimind.gnu.jgnu.security.key.KeyPairGeneratorFactory;
+import com.distrimind.gnu.jgnu.security.key.dss.DSSKeyPairGenerator;
+import com.distrimind.gnu.jgnux.crypto.key.srp6.SRPKeyPairGenerator;
+import com.distrimind.gnu.vm.jgnu.security.KeyPair;
+
+/**
+ * Latency of the key pair generation of every algorithm of
+ * {@link KeyPairGeneratorFactory}, with the default sizes. DSS and SRP keys use
+ * the precomputed domain parameters; RSA and Diffie-Hellman keys include the
+ * search for primes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KeyPairGeneratorBenchmark {
+	@Param({ Registry.DH_KPG, Registry.DSS_KPG, Registry.RSA_KPG, Registry.SRP_KPG })
+	public String algorithm;
+
+	private IKeyPairGenerator kpg;
+
+	@Benchmark
+	public KeyPair generate() {
+		return kpg.generate();
+	}
+
+	@Setup
+	public void setup() {
+		HashMap<String, Object> attributes = new HashMap<>();
+		attributes.put(DSSKeyPairGenerator.USE_DEFAULTS, Boolean.TRUE);
+		// the SRP defaults only apply once a modulus length is given
+		attributes.put(SRPKeyPairGenerator.MODULUS_LENGTH, Integer.valueOf(1024));
+		attributes.put(SRPKeyPairGenerator.USE_DEFAULTS, Boolean.TRUE);
+		kpg = KeyPairGeneratorFactory.getInstance(algorithm);
+		kpg.setup(attributes);
+	}
+}
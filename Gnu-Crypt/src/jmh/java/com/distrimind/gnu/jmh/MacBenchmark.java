@@ -0,0 +1,115 @@
+/* MacBenchmark.java -- message authentication code benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnux.crypto.mac.IMac;
+import com.distrimind.gnu.jgnux.crypto.mac.MacFactory;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+
+/**
+ * Throughput and key-setup cost of every algorithm of {@link MacFactory}.
+ */
+@State(Scope.Thread)
+public class MacBenchmark {
+	@Param({ Registry.HMAC_NAME_PREFIX + Registry.BLAKE2B512_HASH, Registry.HMAC_NAME_PREFIX + Registry.BLAKE2S256_HASH,
+			Registry.HMAC_NAME_PREFIX + Registry.HAVAL_HASH, Registry.HMAC_NAME_PREFIX + Registry.MD2_HASH,
+			Registry.HMAC_NAME_PREFIX + Registry.MD4_HASH, Registry.HMAC_NAME_PREFIX + Registry.MD5_HASH,
+			Registry.HMAC_NAME_PREFIX + Registry.RIPEMD128_HASH, Registry.HMAC_NAME_PREFIX + Registry.RIPEMD160_HASH,
+			Registry.HMAC_NAME_PREFIX + Registry.SHA160_HASH, Registry.HMAC_NAME_PREFIX + Registry.SHA256_HASH,
+			Registry.HMAC_NAME_PREFIX + Registry.SHA384_HASH, Registry.HMAC_NAME_PREFIX + Registry.SHA512_HASH,
+			Registry.HMAC_NAME_PREFIX + Registry.SHA3_256_HASH, Registry.HMAC_NAME_PREFIX + Registry.SHA3_512_HASH,
+			Registry.HMAC_NAME_PREFIX + Registry.TIGER_HASH, Registry.HMAC_NAME_PREFIX + Registry.WHIRLPOOL_HASH,
+			Registry.OMAC_PREFIX + Registry.ANUBIS_CIPHER, Registry.OMAC_PREFIX + Registry.BLOWFISH_CIPHER,
+			Registry.OMAC_PREFIX + Registry.CAST5_CIPHER, Registry.OMAC_PREFIX + Registry.DES_CIPHER,
+			Registry.OMAC_PREFIX + Registry.KHAZAD_CIPHER, Registry.OMAC_PREFIX + Registry.NULL_CIPHER,
+			Registry.OMAC_PREFIX + Registry.RIJNDAEL_CIPHER, Registry.OMAC_PREFIX + Registry.SERPENT_CIPHER,
+			Registry.OMAC_PREFIX + Registry.SQUARE_CIPHER, Registry.OMAC_PREFIX + Registry.TRIPLEDES_CIPHER,
+			Registry.OMAC_PREFIX + Registry.TWOFISH_CIPHER, Registry.TMMH16, Registry.UHASH32, Registry.UMAC32 })
+	public String algorithm;
+
+	private Map<Object, Object> attributes;
+
+	private byte[] in;
+
+	private IMac mac;
+
+	@Param({ "64", "1024", "16384" })
+	public int size;
+
+	/**
+	 * Measures the initialisation of a MAC with a new key: the key schedule of
+	 * the underlying cipher for OMACs, the inner and outer pads for HMACs.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public IMac keySetup() throws InvalidKeyException {
+		mac.reset();
+		mac.init(attributes);
+		return mac;
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public byte[] mac() {
+		mac.update(in, 0, size);
+		return mac.digest();
+	}
+
+	@Setup
+	public void setup() throws InvalidKeyException {
+		attributes = Fixtures.macAttributes(algorithm);
+		mac = MacFactory.getInstance(algorithm);
+		mac.init(attributes);
+		in = Fixtures.randomBytes(size);
+	}
+}
@@ -0,0 +1,126 @@
+/* MetricsBenchmark.java -- metrics overhead benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+package com.distrimind.gnu.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.distrimind.gnu.jgnu.security.metrics.Metrics;
+import com.distrimind.gnu.jgnu.security.metrics.MetricsRegistry;
+import com.distrimind.gnu.jgnu.security.provider.Gnu;
+import com.distrimind.gnu.jgnux.crypto.jce.GnuCrypto;
+import com.distrimind.gnu.vm.jgnu.security.GeneralSecurityException;
+import com.distrimind.gnu.vm.jgnu.security.MessageDigest;
+import com.distrimind.gnu.vm.jgnux.crypto.BadPaddingException;
+import com.distrimind.gnu.vm.jgnux.crypto.Cipher;
+import com.distrimind.gnu.vm.jgnux.crypto.IllegalBlockSizeException;
+import com.distrimind.gnu.vm.jgnux.crypto.Mac;
+import com.distrimind.gnu.vm.jgnux.crypto.NoSuchPaddingException;
+import com.distrimind.gnu.vm.jgnux.crypto.ShortBufferException;
+import com.distrimind.gnu.vm.jgnux.crypto.spec.IvParameterSpec;
+import com.distrimind.gnu.vm.jgnux.crypto.spec.SecretKeySpec;
+
+/**
+ * Cost of the instrumentation: the JCE engines are measured with no metrics
+ * sink installed and with a {@link MetricsRegistry}. Small inputs make the
+ * per-call overhead visible; the disabled case should match
+ * {@link JceBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MetricsBenchmark {
+	private Cipher cipher;
+
+	@Param({ "false", "true" })
+	public boolean enabled;
+
+	private byte[] in;
+
+	private Mac mac;
+
+	private MessageDigest messageDigest;
+
+	private byte[] out;
+
+	@Param({ "64", "1024" })
+	public int size;
+
+	@Benchmark
+	public int cipher() throws BadPaddingException, IllegalBlockSizeException, ShortBufferException {
+		return cipher.doFinal(in, 0, size, out, 0);
+	}
+
+	@Benchmark
+	public byte[] digest() {
+		messageDigest.update(in, 0, size);
+		return messageDigest.digest();
+	}
+
+	@Benchmark
+	public byte[] mac() {
+		mac.update(in, 0, size);
+		return mac.doFinal();
+	}
+
+	@Setup
+	public void setup() throws GeneralSecurityException, NoSuchPaddingException {
+		Metrics.setSink(enabled ? new MetricsRegistry() : null);
+		in = Fixtures.randomBytes(size);
+		out = new byte[size];
+		messageDigest = MessageDigest.getInstance("SHA-256", new Gnu());
+		mac = Mac.getInstance("HMAC-SHA256", new GnuCrypto());
+		mac.init(new SecretKeySpec(Fixtures.randomBytes(32), "HMAC-SHA256"));
+		cipher = Cipher.getInstance("AES/CBC/NoPadding", new GnuCrypto());
+		cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(Fixtures.randomBytes(16), "AES"),
+				new IvParameterSpec(Fixtures.randomBytes(16)));
+	}
+
+	@TearDown
+	public void tearDown() {
+		Metrics.setSink(null);
+	}
+}
@@ -0,0 +1,138 @@
+/* ModeBenchmark.java -- mode of operation benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.jgnux.crypto.mode.IMode;
+import com.distrimind.gnu.jgnux.crypto.mode.ModeFactory;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+
+/**
+ * Throughput and initialisation cost of every algorithm of {@link ModeFactory}
+ * wrapped around a block cipher, in both directions.
+ */
+@State(Scope.Thread)
+public class ModeBenchmark {
+	@Param({ Registry.RIJNDAEL_CIPHER })
+	public String cipher;
+
+	private Map<Object, Object> decryption;
+
+	private IMode decryptor;
+
+	private Map<Object, Object> encryption;
+
+	private IMode encryptor;
+
+	private byte[] in;
+
+	@Param({ Registry.CBC_MODE, Registry.CFB_MODE, Registry.CTR_MODE, Registry.EAX_MODE, Registry.ECB_MODE,
+			Registry.ICM_MODE, Registry.OCB_MODE, Registry.OFB_MODE })
+	public String mode;
+
+	private int modeBlockSize;
+
+	private byte[] out;
+
+	@Param({ "64", "1024", "16384" })
+	public int size;
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public byte[] decrypt() {
+		for (int i = 0; i + modeBlockSize <= size; i += modeBlockSize)
+			decryptor.update(in, i, out, i);
+		return out;
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public byte[] encrypt() {
+		for (int i = 0; i + modeBlockSize <= size; i += modeBlockSize)
+			encryptor.update(in, i, out, i);
+		return out;
+	}
+
+	/**
+	 * Measures a complete re-initialisation: the key schedule of the underlying
+	 * cipher followed by the set up of the IV.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public IMode keySetup() throws InvalidKeyException {
+		encryptor.reset();
+		encryptor.init(encryption);
+		return encryptor;
+	}
+
+	@Setup
+	public void setup() throws InvalidKeyException {
+		IBlockCipher underlying = CipherFactory.getInstance(cipher);
+		int blockSize = underlying.defaultBlockSize();
+		encryption = Fixtures.cipherAttributes(underlying);
+		encryption.put(IMode.IV, Fixtures.randomBytes(blockSize));
+		encryption.put(IMode.STATE, Integer.valueOf(IMode.ENCRYPTION));
+		encryptor = ModeFactory.getInstance(mode, underlying, blockSize);
+		encryptor.init(encryption);
+		decryption = new HashMap<>(encryption);
+		decryption.put(IMode.STATE, Integer.valueOf(IMode.DECRYPTION));
+		decryptor = ModeFactory.getInstance(mode, cipher, blockSize);
+		decryptor.init(decryption);
+		modeBlockSize = encryptor.currentBlockSize();
+		in = Fixtures.randomBytes(size);
+		out = new byte[size];
+	}
+}
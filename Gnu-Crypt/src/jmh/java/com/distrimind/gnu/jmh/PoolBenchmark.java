@@ -0,0 +1,124 @@
+/* PoolBenchmark.java -- primitive pool benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+package com.distrimind.gnu.jmh;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.jgnux.crypto.jce.GnuCrypto;
+import com.distrimind.gnu.jgnux.crypto.mac.IMac;
+import com.distrimind.gnu.jgnux.crypto.mac.MacFactory;
+import com.distrimind.gnu.jgnux.crypto.pool.BlockCipherPool;
+import com.distrimind.gnu.jgnux.crypto.pool.MacPool;
+import com.distrimind.gnu.jgnux.crypto.pool.Pools;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+import com.distrimind.gnu.vm.jgnu.security.NoSuchAlgorithmException;
+import com.distrimind.gnu.vm.jgnux.crypto.Cipher;
+import com.distrimind.gnu.vm.jgnux.crypto.NoSuchPaddingException;
+
+/**
+ * Cost of obtaining a keyed primitive per request: through the JCE, through
+ * the <i>Factories</i>, and through the shared pools.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PoolBenchmark {
+	private BlockCipherPool cipherPool;
+
+	private byte[] key;
+
+	private byte[] macKey;
+
+	private MacPool macPool;
+
+	@Benchmark
+	public IBlockCipher cipherFactory() throws InvalidKeyException {
+		IBlockCipher result = CipherFactory.getInstance(Registry.RIJNDAEL_CIPHER);
+		HashMap<Object, Object> attributes = new HashMap<>();
+		attributes.put(IBlockCipher.KEY_MATERIAL, key);
+		result.init(attributes);
+		return result;
+	}
+
+	@Benchmark
+	public Cipher cipherJce() throws NoSuchAlgorithmException, NoSuchPaddingException {
+		return Cipher.getInstance("AES/CBC/PKCS7", new GnuCrypto());
+	}
+
+	@Benchmark
+	public IBlockCipher cipherPool() throws InvalidKeyException {
+		IBlockCipher result = cipherPool.checkout(key);
+		cipherPool.checkin(result);
+		return result;
+	}
+
+	@Benchmark
+	public IMac macFactory() throws InvalidKeyException {
+		IMac result = MacFactory.getInstance(Registry.HMAC_NAME_PREFIX + Registry.SHA256_HASH);
+		HashMap<Object, Object> attributes = new HashMap<>();
+		attributes.put(IMac.MAC_KEY_MATERIAL, macKey);
+		result.init(attributes);
+		return result;
+	}
+
+	@Benchmark
+	public IMac macPool() throws InvalidKeyException {
+		IMac result = macPool.checkout(macKey);
+		macPool.checkin(result);
+		return result;
+	}
+
+	@Setup
+	public void setup() {
+		key = Fixtures.randomBytes(16);
+		macKey = Fixtures.randomBytes(32);
+		cipherPool = Pools.getBlockCipherPool(Registry.RIJNDAEL_CIPHER);
+		macPool = Pools.getMacPool(Registry.HMAC_NAME_PREFIX + Registry.SHA256_HASH);
+	}
+}
@@ -0,0 +1,136 @@
+/* PrngBenchmark.java -- pseudo-random number generator benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.prng.IRandom;
+import com.distrimind.gnu.jgnu.security.prng.LimitReachedException;
+import com.distrimind.gnu.jgnu.security.prng.MDGenerator;
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.jgnux.crypto.prng.ICMGenerator;
+import com.distrimind.gnu.jgnux.crypto.prng.IPBE;
+import com.distrimind.gnu.jgnux.crypto.prng.PRNGFactory;
+
+/**
+ * Output rate and seeding cost of every algorithm of {@link PRNGFactory}. For
+ * the PBKDF2 generators the seeding cost is the cost of a password-based key
+ * derivation, and is governed by {@link #iterations}.
+ */
+@State(Scope.Thread)
+public class PrngBenchmark {
+	private static final String PBKDF2_HMAC = Registry.PBKDF2_PRNG_PREFIX + Registry.HMAC_NAME_PREFIX;
+
+	@Param({ Registry.ICM_PRNG, Registry.MD_PRNG, PBKDF2_HMAC + Registry.HAVAL_HASH, PBKDF2_HMAC + Registry.MD2_HASH,
+			PBKDF2_HMAC + Registry.MD4_HASH, PBKDF2_HMAC + Registry.MD5_HASH, PBKDF2_HMAC + Registry.RIPEMD128_HASH,
+			PBKDF2_HMAC + Registry.RIPEMD160_HASH, PBKDF2_HMAC + Registry.SHA160_HASH,
+			PBKDF2_HMAC + Registry.SHA256_HASH, PBKDF2_HMAC + Registry.SHA384_HASH, PBKDF2_HMAC + Registry.SHA512_HASH,
+			PBKDF2_HMAC + Registry.TIGER_HASH, PBKDF2_HMAC + Registry.WHIRLPOOL_HASH, Registry.UMAC_PRNG })
+	public String algorithm;
+
+	private HashMap<Object, Object> attributes;
+
+	@Param({ "1000" })
+	public int iterations;
+
+	private byte[] out;
+
+	private IRandom prng;
+
+	@Param({ "32", "4096" })
+	public int size;
+
+	/**
+	 * Measures the cost of a fresh generator producing a 256-bit key.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public byte[] derive() throws LimitReachedException {
+		IRandom generator = PRNGFactory.getInstance(algorithm);
+		generator.init(attributes);
+		byte[] key = new byte[32];
+		generator.nextBytes(key, 0, key.length);
+		return key;
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public byte[] nextBytes() throws LimitReachedException {
+		prng.nextBytes(out, 0, size);
+		return out;
+	}
+
+	/**
+	 * Re-seeds the generator before each iteration, so that the bounded
+	 * generators never reach their limit however long the measurement lasts.
+	 */
+	@Setup(Level.Iteration)
+	public void reseed() {
+		prng = PRNGFactory.getInstance(algorithm);
+		prng.init(attributes);
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		attributes = new HashMap<>();
+		attributes.put(IBlockCipher.KEY_MATERIAL, Fixtures.randomBytes(16));
+		attributes.put(ICMGenerator.OFFSET, Fixtures.randomBytes(16));
+		attributes.put(ICMGenerator.BLOCK_INDEX_LENGTH, Integer.valueOf(4));
+		attributes.put(ICMGenerator.SEGMENT_INDEX, BigInteger.ZERO);
+		attributes.put(MDGenerator.SEEED, Fixtures.randomBytes(32));
+		attributes.put(IPBE.PASSWORD, "benchmark".toCharArray());
+		attributes.put(IPBE.SALT, Fixtures.randomBytes(16));
+		attributes.put(IPBE.ITERATION_COUNT, Integer.valueOf(iterations));
+		out = new byte[size];
+	}
+}
@@ -0,0 +1,178 @@
+/* SectorBenchmark.java -- random-access sector encryption benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.jgnux.crypto.mode.CBC;
+import com.distrimind.gnu.jgnux.crypto.mode.IMode;
+import com.distrimind.gnu.jgnux.crypto.mode.ModeFactory;
+import com.distrimind.gnu.jgnux.crypto.mode.SectorEngine;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+
+/**
+ * Time to decrypt a range of sectors at a random position of a 16 MiB blob with
+ * {@link SectorEngine}, in memory and in a file, against the CBC decryption of
+ * the blob up to the end of the same range.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SectorBenchmark {
+	private static final int TOTAL = 4096;
+
+	private ByteBuffer buffer;
+
+	private CBC cbc;
+
+	private Map<Object, Object> cbcAttributes;
+
+	private FileChannel channel;
+
+	private SectorEngine engine;
+
+	private Path file;
+
+	private long next;
+
+	private byte[] out;
+
+	@Param({ "1", "4" })
+	public int parallelism;
+
+	private ForkJoinPool pool;
+
+	@Param({ "1", "256", "4096" })
+	public int sectors;
+
+	@Benchmark
+	public ByteBuffer bufferDecrypt() {
+		final long first = nextSector();
+		pool.invoke(new RecursiveAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				ByteBuffer range = buffer.duplicate();
+				range.position((int) first * SectorEngine.DEFAULT_SECTOR_SIZE);
+				range.limit((int) (first + sectors) * SectorEngine.DEFAULT_SECTOR_SIZE);
+				engine.decrypt(range, first);
+			}
+		});
+		return buffer;
+	}
+
+	@Benchmark
+	public byte[] cbcReplay() throws InvalidKeyException {
+		long first = nextSector();
+		cbc.reset();
+		cbc.init(cbcAttributes);
+		cbc.update(buffer.array(), 0, (int) (first + sectors) * SectorEngine.DEFAULT_SECTOR_SIZE, out, 0);
+		return out;
+	}
+
+	@Benchmark
+	public FileChannel fileDecrypt() {
+		final long first = nextSector();
+		pool.invoke(new RecursiveAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				try {
+					engine.decrypt(channel, first, sectors);
+				} catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		});
+		return channel;
+	}
+
+	private long nextSector() {
+		next = (next * 31 + 7) % (TOTAL - sectors + 1);
+		return next;
+	}
+
+	@Setup
+	public void setup() throws InvalidKeyException, IOException {
+		IBlockCipher underlying = CipherFactory.getInstance(Registry.RIJNDAEL_CIPHER);
+		engine = new SectorEngine(underlying, Fixtures.randomBytes(2 * underlying.defaultKeySize()));
+		byte[] data = Fixtures.randomBytes(TOTAL * SectorEngine.DEFAULT_SECTOR_SIZE);
+		buffer = ByteBuffer.wrap(data);
+		out = new byte[data.length];
+		file = Files.createTempFile("sectors", ".bin");
+		Files.write(file, data);
+		channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		cbcAttributes = Fixtures.cipherAttributes(underlying);
+		cbcAttributes.put(IMode.IV, Fixtures.randomBytes(underlying.defaultBlockSize()));
+		cbcAttributes.put(IMode.STATE, Integer.valueOf(IMode.DECRYPTION));
+		cbc = (CBC) ModeFactory.getInstance(Registry.CBC_MODE, underlying, underlying.defaultBlockSize());
+		pool = new ForkJoinPool(parallelism);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		pool.shutdown();
+		channel.close();
+		Files.delete(file);
+		engine.clear();
+	}
+}
@@ -0,0 +1,126 @@
+/* SignatureBenchmark.java -- signature benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.key.IKeyPairGenerator;
+import com.distrimind.gnu.jgnu.security.key.KeyPairGeneratorFactory;
+import com.distrimind.gnu.jgnu.security.key.dss.DSSKeyPairGenerator;
+import com.distrimind.gnu.jgnu.security.key.rsa.RSAKeyPairGenerator;
+import com.distrimind.gnu.jgnu.security.sig.ISignature;
+import com.distrimind.gnu.jgnu.security.sig.SignatureFactory;
+import com.distrimind.gnu.vm.jgnu.security.KeyPair;
+
+/**
+ * Latency of RSA and DSS signature generation and verification, including the
+ * hashing of a small message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SignatureBenchmark {
+	@Param({ Registry.DSS_SIG, Registry.RSA_PKCS1_V1_5_SIG + "-" + Registry.SHA256_HASH,
+			Registry.RSA_PSS_SIG + "-" + Registry.SHA256_HASH })
+	public String algorithm;
+
+	private byte[] message;
+
+	/**
+	 * The length of the RSA moduli; DSS keys always use the 1024-bit default
+	 * parameters.
+	 */
+	@Param({ "2048" })
+	public int modulusLength;
+
+	private ISignature signature;
+
+	private Object signed;
+
+	private HashMap<String, Object> signer;
+
+	private HashMap<String, Object> verifier;
+
+	@Setup
+	public void setup() {
+		boolean dss = algorithm.equals(Registry.DSS_SIG);
+		HashMap<String, Object> attributes = new HashMap<>();
+		IKeyPairGenerator kpg;
+		if (dss) {
+			kpg = KeyPairGeneratorFactory.getInstance(Registry.DSS_KPG);
+			attributes.put(DSSKeyPairGenerator.USE_DEFAULTS, Boolean.TRUE);
+		} else {
+			kpg = KeyPairGeneratorFactory.getInstance(Registry.RSA_KPG);
+			attributes.put(RSAKeyPairGenerator.MODULUS_LENGTH, Integer.valueOf(modulusLength));
+		}
+		kpg.setup(attributes);
+		KeyPair kp = kpg.generate();
+		signer = new HashMap<>();
+		signer.put(ISignature.SIGNER_KEY, kp.getPrivate());
+		verifier = new HashMap<>();
+		verifier.put(ISignature.VERIFIER_KEY, kp.getPublic());
+		signature = SignatureFactory.getInstance(algorithm);
+		message = Fixtures.randomBytes(1024);
+		signed = sign();
+	}
+
+	@Benchmark
+	public Object sign() {
+		signature.setupSign(signer);
+		signature.update(message, 0, message.length);
+		return signature.sign();
+	}
+
+	@Benchmark
+	public boolean verify() {
+		signature.setupVerify(verifier);
+		signature.update(message, 0, message.length);
+		return signature.verify(signed);
+	}
+}
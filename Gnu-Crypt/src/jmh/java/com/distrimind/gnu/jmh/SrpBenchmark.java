@@ -0,0 +1,202 @@
+/* SrpBenchmark.java -- SRP SASL mechanism benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.security.sasl.SaslException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnux.crypto.sasl.ClientMechanism;
+import com.distrimind.gnu.jgnux.crypto.sasl.ServerMechanism;
+import com.distrimind.gnu.jgnux.crypto.sasl.srp.IndexedPasswordStore;
+import com.distrimind.gnu.jgnux.crypto.sasl.srp.SRPClient;
+import com.distrimind.gnu.jgnux.crypto.sasl.srp.SRPRegistry;
+import com.distrimind.gnu.jgnux.crypto.sasl.srp.SRPServer;
+
+/**
+ * Latency of a complete SRP authentication exchange and of the resumption of
+ * a cached session, and throughput of the security layer they negotiate, for
+ * each quality of protection.
+ * <p>
+ * Clients look up the session to resume by user, authorisation ID, server
+ * name and protocol, in a store shared by the whole VM: every complete
+ * exchange names a server of its own, so that it never finds one.
+ */
+@State(Scope.Thread)
+public class SrpBenchmark {
+	/** The count of server names handed out. */
+	private static final AtomicLong SERVERS = new AtomicLong();
+
+	private static String newServerName() {
+		return "server-" + SERVERS.incrementAndGet();
+	}
+
+	private ClientMechanism client;
+
+	private HashMap<String, Object> clientProperties;
+
+	private File directory;
+
+	private IndexedPasswordStore passwords;
+
+	@Param({ Registry.QOP_AUTH_INT, Registry.QOP_AUTH_CONF })
+	public String qop;
+
+	private byte[] record;
+
+	/** The server name of the resumed sessions. */
+	private String resumed;
+
+	@Param({ "1024", "16384" })
+	public int recordSize;
+
+	private ServerMechanism server;
+
+	private HashMap<String, Object> serverProperties;
+
+	private byte[] wrapped;
+
+	/**
+	 * Runs an authentication between a new client and a new server, the client
+	 * naming a designated server, and keeps them as {@link #client} and
+	 * {@link #server}.
+	 */
+	private ServerMechanism exchange(String serverName) throws SaslException {
+		ServerMechanism s = new SRPServer();
+		ClientMechanism c = new SRPClient();
+		clientProperties.put(Registry.SASL_SERVER_NAME, serverName);
+		s.init(serverProperties);
+		c.init(clientProperties);
+		byte[] challenge = c.hasInitialResponse() ? c.evaluateChallenge(new byte[0]) : new byte[0];
+		while (!s.isComplete() || !c.isComplete()) {
+			byte[] response = s.evaluateResponse(challenge);
+			if (c.isComplete())
+				break;
+			challenge = c.evaluateChallenge(response);
+			if (challenge == null)
+				break;
+		}
+		if (!s.isComplete() || !c.isComplete())
+			throw new SaslException("incomplete exchange");
+		client = c;
+		server = s;
+		return s;
+	}
+
+	/**
+	 * Runs a complete authentication between a new client and a new server.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public ServerMechanism handshake() throws SaslException {
+		return exchange(newServerName());
+	}
+
+	/**
+	 * Protects a record on the client side and checks it on the server side.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public byte[] records() throws SaslException {
+		int length = client.wrap(record, 0, recordSize, wrapped, 0);
+		server.unwrap(wrapped, 0, length, wrapped, 0);
+		return wrapped;
+	}
+
+	/**
+	 * Resumes the session established by {@link #setup()}, with a new client and
+	 * a new server.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public ServerMechanism resume() throws SaslException {
+		return exchange(resumed);
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("srp-jmh").toFile();
+		passwords = new IndexedPasswordStore(new File(directory, "tpasswd").getPath());
+		passwords.add("user", "secret", Fixtures.randomBytes(8), "1");
+		serverProperties = new HashMap<>();
+		serverProperties.put(SRPRegistry.PASSWORD_DB, passwords);
+		serverProperties.put(SRPRegistry.SRP_INTEGRITY_PROTECTION, "true");
+		serverProperties.put(SRPRegistry.SRP_REPLAY_DETECTION, "true");
+		if (qop.equals(Registry.QOP_AUTH_CONF)) {
+			serverProperties.put(SRPRegistry.SRP_CONFIDENTIALITY, "true");
+			serverProperties.put(SRPRegistry.SRP_MANDATORY, SRPRegistry.OPTION_CONFIDENTIALITY);
+		} else
+			serverProperties.put(SRPRegistry.SRP_MANDATORY, SRPRegistry.OPTION_INTEGRITY);
+		clientProperties = new HashMap<>(serverProperties);
+		clientProperties.put(Registry.SASL_USERNAME, "user");
+		clientProperties.put(Registry.SASL_PASSWORD, "secret");
+		resumed = newServerName();
+		exchange(resumed);
+		record = Fixtures.randomBytes(recordSize);
+		wrapped = new byte[client.wrappedSize(recordSize)];
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		client.dispose();
+		server.dispose();
+		passwords.close();
+		for (File f : directory.listFiles())
+			Files.delete(f.toPath());
+		Files.delete(directory.toPath());
+	}
+}
@@ -0,0 +1,106 @@
+/* TreeHashBenchmark.java -- tree-hashing benchmarks
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+package com.distrimind.gnu.jmh;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.hash.HashFactory;
+import com.distrimind.gnu.jgnu.security.hash.IMessageDigest;
+import com.distrimind.gnu.jgnu.security.hash.TreeHash;
+
+/**
+ * Time to hash a large input with a plain digest and with a {@link TreeHash}
+ * over the same digest, on pools of increasing parallelism.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TreeHashBenchmark {
+	@Param({ Registry.SHA256_HASH, Registry.SHA512_HASH })
+	public String algorithm;
+
+	private IMessageDigest hash;
+
+	private byte[] in;
+
+	@Param({ "1", "2", "4", "8" })
+	public int parallelism;
+
+	private ForkJoinPool pool;
+
+	@Param({ "16777216", "67108864" })
+	public int size;
+
+	private TreeHash tree;
+
+	@Benchmark
+	public byte[] plain() {
+		hash.update(in, 0, size);
+		return hash.digest();
+	}
+
+	@Setup
+	public void setup() {
+		in = Fixtures.randomBytes(size);
+		hash = HashFactory.getInstance(algorithm);
+		pool = new ForkJoinPool(parallelism);
+		tree = new TreeHash(HashFactory.getInstance(algorithm), TreeHash.DEFAULT_CHUNK_SIZE, pool);
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public byte[] tree() {
+		tree.update(in, 0, size);
+		return tree.digest();
+	}
+}
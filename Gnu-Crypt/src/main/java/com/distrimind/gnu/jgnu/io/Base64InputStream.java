@@ -37,16 +37,25 @@ exception statement from your version. */
 
 package com.distrimind.gnu.jgnu.io;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+
+import com.distrimind.gnu.jgnu.util.Base64;
 
 /**
  * A filter input stream that decodes data encoded in the Base-64 encoding
  * scheme.
  *
+ * <p>
+ * The first non-white space character that is not part of the Base-64 data (for
+ * example, the first dash of a PEM end line) ends the stream and is consumed.
+ * If the underlying stream supports {@link InputStream#mark(int)}, input is read
+ * and decoded in blocks, and the underlying stream is repositioned just after
+ * that character once it is found; otherwise input is read one byte at a time so
+ * that nothing past it is consumed.
+ *
  * @author Casey Marshall (rsdio@metastatic.org)
  */
 public class Base64InputStream extends FilterInputStream {
@@ -54,12 +63,27 @@ public class Base64InputStream extends FilterInputStream {
 	// Constants and fields.
 	// ------------------------------------------------------------------------
 
-	/** Base-64 digits. */
-	private static final String BASE_64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+	/** Size of the blocks read from the underlying stream. */
+	private static final int BLOCK_SIZE = 4096;
 
 	/** Base-64 padding character. */
 	private static final char BASE_64_PAD = '=';
 
+	/** Digit values by character, negative for non-digits. */
+	private static final int[] DIGITS = new int[256];
+
+	/** White space characters. */
+	private static final boolean[] WHITESPACE = new boolean[256];
+
+	static {
+		Arrays.fill(DIGITS, -1);
+		String digits = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+		for (int i = 0; i < digits.length(); i++)
+			DIGITS[digits.charAt(i)] = i;
+		for (int i = 0; i < 256; i++)
+			WHITESPACE[i] = Character.isWhitespace((char) i);
+	}
+
 	/**
 	 * Decode a single Base-64 string to a byte array.
 	 *
@@ -70,32 +94,35 @@ public class Base64InputStream extends FilterInputStream {
 	 *             If the given data do not compose a valid Base-64 sequence.
 	 */
 	public static byte[] decode(String base64) throws IOException {
-		try (Base64InputStream in = new Base64InputStream(new ByteArrayInputStream(base64.getBytes()))) {
-			try (ByteArrayOutputStream out = new ByteArrayOutputStream((int) (base64.length() / 0.666))) {
-				byte[] buf = new byte[1024];
-				int len;
-				while ((len = in.read(buf)) != -1)
-					out.write(buf, 0, len);
-				return out.toByteArray();
-			}
-		}
+		return Base64.decode(base64);
 	}
 
-	/** Decoding state. */
+	/** Number of digits of the current quantum. */
 	private int state;
 
 	/** Intermediate decoded value. */
 	private int temp;
 
+	/**
+	 * Padding state: 0 before any padding, 1 if a second pad character is
+	 * expected, 2 once padding is complete.
+	 */
+	private int pad;
+
 	/** EOF flag. */
 	private boolean eof;
 
-	// Constructors.
-	// ------------------------------------------------------------------------
+	/** Raw input block. */
+	private final byte[] inBuf;
+
+	/** Decoded bytes not yet returned, between outPos and outLen. */
+	private final byte[] outBuf;
+
+	private int outPos;
 
-	private final byte[] one = new byte[1];
+	private int outLen;
 
-	// Class method.
+	// Constructors.
 	// ------------------------------------------------------------------------
 
 	/**
@@ -111,6 +138,8 @@ public class Base64InputStream extends FilterInputStream {
 		state = 0;
 		temp = 0;
 		eof = false;
+		inBuf = new byte[in.markSupported() ? BLOCK_SIZE : 1];
+		outBuf = new byte[inBuf.length / 4 * 3 + 3];
 	}
 
 	// Instance methods.
@@ -118,7 +147,104 @@ public class Base64InputStream extends FilterInputStream {
 
 	@Override
 	public int available() {
-		return 0;
+		return outLen - outPos;
+	}
+
+	/**
+	 * Decodes <code>inBuf[0..len[</code> into <code>outBuf</code>, and returns the
+	 * number of input bytes consumed, which is less than <code>len</code> only if
+	 * the end of the Base-64 data was found.
+	 */
+	private int decodeBlock(int len) throws IOException {
+		byte[] src = inBuf, dst = outBuf;
+		int[] table = DIGITS;
+		int i = 0, j = 0;
+		while (i < len) {
+			if (state == 0 && pad == 0) {
+				// fast path: whole quanta, no white space.
+				while (i + 4 <= len) {
+					int b = (table[src[i] & 0xFF] << 18) | (table[src[i + 1] & 0xFF] << 12)
+							| (table[src[i + 2] & 0xFF] << 6) | table[src[i + 3] & 0xFF];
+					if (b < 0)
+						break;
+					dst[j] = (byte) (b >>> 16);
+					dst[j + 1] = (byte) (b >>> 8);
+					dst[j + 2] = (byte) b;
+					i += 4;
+					j += 3;
+				}
+				if (i >= len)
+					break;
+			}
+			int c = src[i++] & 0xFF;
+			if (WHITESPACE[c])
+				continue;
+			int pos = table[c];
+			if (pad == 1) {
+				if (c != BASE_64_PAD)
+					throw new IOException("malformed Base-64 input");
+				pad = 2;
+			} else if (pad == 0 && pos >= 0) {
+				temp = (temp << 6) | pos;
+				if (++state == 4) {
+					dst[j++] = (byte) (temp >>> 16);
+					dst[j++] = (byte) (temp >>> 8);
+					dst[j++] = (byte) temp;
+					temp = 0;
+					state = 0;
+				}
+			} else if (pad == 0 && c == BASE_64_PAD) {
+				if (state == 2) {
+					dst[j++] = (byte) (temp >>> 4);
+					pad = 1;
+				} else if (state == 3) {
+					dst[j++] = (byte) (temp >>> 10);
+					dst[j++] = (byte) (temp >>> 2);
+					pad = 2;
+				} else
+					throw new IOException("malformed Base-64 input");
+				temp = 0;
+				state = 0;
+			} else {
+				// First character after the Base-64 data; consider it end-of-stream.
+				if (state != 0)
+					throw new IOException("malformed Base-64 input");
+				eof = true;
+				outLen = j;
+				return i;
+			}
+		}
+		outLen = j;
+		return len;
+	}
+
+	private boolean fill() throws IOException {
+		outPos = outLen = 0;
+		while (outLen == 0 && !eof) {
+			boolean marked = inBuf.length > 1;
+			if (marked)
+				in.mark(inBuf.length);
+			int len = in.read(inBuf, 0, inBuf.length);
+			if (len == -1) {
+				if (state != 0 || pad == 1)
+					throw new IOException("malformed Base-64 input");
+				eof = true;
+				break;
+			}
+			int used = decodeBlock(len);
+			if (used < len && marked) {
+				// give back what follows the end of the Base-64 data.
+				in.reset();
+				long skip = used;
+				while (skip > 0) {
+					long n = in.skip(skip);
+					if (n <= 0)
+						throw new IOException("cannot reposition the underlying stream");
+					skip -= n;
+				}
+			}
+		}
+		return outLen > 0;
 	}
 
 	@Override
@@ -132,75 +258,25 @@ public class Base64InputStream extends FilterInputStream {
 
 	@Override
 	public int read() throws IOException {
-		if (read(one) == 1)
-			return one[0];
-		return -1;
+		if (outPos == outLen && !fill())
+			return -1;
+		return outBuf[outPos++] & 0xFF;
 	}
 
 	@Override
-	@SuppressWarnings("fallthrough")
 	public int read(byte[] buf, int off, int len) throws IOException {
-		if (eof)
-			return -1;
+		if (len == 0)
+			return 0;
 		int count = 0;
 		while (count < len) {
-			int i;
-			do {
-				i = in.read();
-
-			} while (Character.isWhitespace((char) i));
-
-			int pos = BASE_64.indexOf((char) i);
-			if (pos >= 0) {
-				switch (state) {
-				case 0:
-					temp = pos << 2;
-					state = 1;
-					break;
-				case 1:
-					buf[count++] = (byte) (temp | (pos >>> 4));
-					temp = (pos & 0x0F) << 4;
-					state = 2;
-					break;
-				case 2:
-					buf[count++] = (byte) (temp | (pos >>> 2));
-					temp = (pos & 0x03) << 6;
-					state = 3;
-					break;
-				case 3:
-					buf[count++] = (byte) (temp | pos);
-					state = 0;
-					break;
-				}
-			} else if (i == BASE_64_PAD) {
-				switch (state) {
-				case 0:
-				case 1:
-					throw new IOException("malformed Base-64 input");
-				case 2:
-					do {
-						i = in.read();
-
-					} while (Character.isWhitespace((char) i));
-					if (i != BASE_64_PAD)
-						throw new IOException("malformed Base-64 input");
-				case 3:
-					do {
-						i = in.read();
-
-					} while (Character.isWhitespace((char) i));
-				}
-				eof = true;
+			if (outPos == outLen && (count > 0 && in.available() == 0 || !fill()))
 				break;
-			} else // First non-Base-64 character, consider it end-of-stream.
-			{
-				if (state != 0)
-					throw new IOException("malformed Base-64 input");
-				eof = true;
-				break;
-			}
+			int n = Math.min(len - count, outLen - outPos);
+			System.arraycopy(outBuf, outPos, buf, off + count, n);
+			outPos += n;
+			count += n;
 		}
-		return count;
+		return count == 0 && eof ? -1 : count;
 	}
 
 	@Override
@@ -210,10 +286,14 @@ public class Base64InputStream extends FilterInputStream {
 
 	@Override
 	public long skip(long n) throws IOException {
-		long skipped;
-		for (skipped = 0; skipped < n; skipped++)
-			if (read() == -1)
+		long skipped = 0;
+		while (skipped < n) {
+			if (outPos == outLen && !fill())
 				break;
+			int k = (int) Math.min(n - skipped, outLen - outPos);
+			outPos += k;
+			skipped += k;
+		}
 		return skipped;
 	}
 }
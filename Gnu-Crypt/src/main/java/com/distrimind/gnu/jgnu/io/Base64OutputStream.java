@@ -0,0 +1,222 @@
+/* Base64OutputStream.java -- base-64 output stream.
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnu.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.distrimind.gnu.jgnu.util.Base64;
+
+/**
+ * A filter output stream that encodes data in the Base-64 encoding scheme.
+ *
+ * <p>
+ * Input is encoded in blocks, three bytes to four characters at a time, into an
+ * internal buffer that is written to the underlying stream when full. The
+ * encoding is padded, and optionally wrapped into lines (for example 64
+ * characters for PEM, or 76 for MIME). The final, possibly partial, quantum is
+ * only written when the stream is closed.
+ */
+public class Base64OutputStream extends FilterOutputStream {
+
+	// Constants and fields.
+	// ------------------------------------------------------------------------
+
+	/** Size of the encoded block buffer. */
+	private static final int BLOCK_SIZE = 4096;
+
+	/** Line length in characters, 0 for no line wrapping. */
+	private final int lineLength;
+
+	/** Pending input bytes (less than a quantum). */
+	private final byte[] pending = new byte[3];
+
+	private int pendingLen;
+
+	/** Encoded characters not yet written. */
+	private final byte[] outBuf;
+
+	private int outLen;
+
+	/** Number of characters on the current line. */
+	private int column;
+
+	private boolean closed;
+
+	// Constructors.
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Create a new Base-64 output stream, without line wrapping.
+	 *
+	 * @param out
+	 *            The sink of the Base-64 output.
+	 */
+	public Base64OutputStream(OutputStream out) {
+		this(out, 0);
+	}
+
+	/**
+	 * Create a new Base-64 output stream.
+	 *
+	 * @param out
+	 *            The sink of the Base-64 output.
+	 * @param lineLength
+	 *            The number of characters per line, a positive multiple of four,
+	 *            or 0 for no line wrapping. Every line, the last included, ends
+	 *            with a line feed.
+	 * @throws IllegalArgumentException
+	 *             If <code>lineLength</code> is not a multiple of four.
+	 */
+	public Base64OutputStream(OutputStream out, int lineLength) {
+		super(out);
+		if (lineLength < 0 || lineLength % 4 != 0)
+			throw new IllegalArgumentException("line length must be a multiple of 4");
+		this.lineLength = lineLength;
+		outBuf = new byte[Math.max(BLOCK_SIZE, lineLength + 1)];
+	}
+
+	// Instance methods.
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Writes the final quantum, with padding, and the last line feed if lines
+	 * are wrapped, then closes the underlying stream.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed)
+			return;
+		closed = true;
+		if (pendingLen > 0) {
+			reserve(4);
+			outLen += Base64.encode(pending, 0, pendingLen, outBuf, outLen);
+			column += 4;
+			pendingLen = 0;
+		}
+		if (lineLength > 0 && column > 0) {
+			reserve(1);
+			outBuf[outLen++] = '\n';
+			column = 0;
+		}
+		flushBuffer();
+		super.close();
+	}
+
+	/**
+	 * Encodes whole quanta from <code>buf</code> into <code>outBuf</code>,
+	 * wrapping lines; returns the number of bytes consumed.
+	 */
+	private int encodeQuanta(byte[] buf, int off, int len) throws IOException {
+		int done = 0;
+		while (len - done >= 3) {
+			int chars = (len - done) / 3 * 4;
+			if (lineLength > 0)
+				chars = Math.min(chars, lineLength - column);
+			chars = Math.min(chars, (outBuf.length - outLen - 1) & ~3);
+			if (chars <= 0) {
+				flushBuffer();
+				continue;
+			}
+			int bytes = chars / 4 * 3;
+			outLen += Base64.encode(buf, off + done, bytes, outBuf, outLen);
+			done += bytes;
+			column += chars;
+			if (lineLength > 0 && column == lineLength) {
+				outBuf[outLen++] = '\n';
+				column = 0;
+			}
+		}
+		return done;
+	}
+
+	/**
+	 * Writes the encoded characters buffered so far, keeping any partial input
+	 * quantum until more input arrives or the stream is closed.
+	 */
+	@Override
+	public void flush() throws IOException {
+		flushBuffer();
+		out.flush();
+	}
+
+	private void flushBuffer() throws IOException {
+		if (outLen > 0) {
+			out.write(outBuf, 0, outLen);
+			outLen = 0;
+		}
+	}
+
+	private void reserve(int n) throws IOException {
+		if (outBuf.length - outLen < n)
+			flushBuffer();
+	}
+
+	@Override
+	public void write(byte[] buf, int off, int len) throws IOException {
+		if (closed)
+			throw new IOException("stream closed");
+		if (off < 0 || len < 0 || off + len > buf.length)
+			throw new IndexOutOfBoundsException();
+		if (pendingLen > 0) {
+			while (pendingLen < 3 && len > 0) {
+				pending[pendingLen++] = buf[off++];
+				len--;
+			}
+			if (pendingLen < 3)
+				return;
+			encodeQuanta(pending, 0, 3);
+			pendingLen = 0;
+		}
+		int done = encodeQuanta(buf, off, len);
+		while (done < len)
+			pending[pendingLen++] = buf[off + done++];
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		if (closed)
+			throw new IOException("stream closed");
+		pending[pendingLen++] = (byte) b;
+		if (pendingLen == 3) {
+			encodeQuanta(pending, 0, 3);
+			pendingLen = 0;
+		}
+	}
+}
@@ -41,6 +41,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Enumeration;
 
+import com.distrimind.gnu.jgnu.security.metrics.Metrics;
 import com.distrimind.gnu.vm.jgnu.security.NoSuchAlgorithmException;
 import com.distrimind.gnu.vm.jgnu.security.Provider;
 
@@ -162,6 +163,7 @@ public final class Engine {
 	 */
 	public static Object getInstance(String service, String algorithm, Provider provider, Object[] initArgs)
 			throws InvocationTargetException, NoSuchAlgorithmException {
+		long start = Metrics.start();
 		if (service == null)
 			throw new IllegalArgumentException("service MUST NOT be null");
 		service = service.trim();
@@ -227,7 +229,9 @@ public final class Engine {
 			else
 				clazz = Class.forName(className);
 			constructor = getCompatibleConstructor(clazz, initArgs);
-			return constructor.newInstance(initArgs);
+			Object result = constructor.newInstance(initArgs);
+			Metrics.lookup(service, algorithm, start);
+			return result;
 		} catch (ClassNotFoundException x) {
 			sb.append("cannot not be found");
 			cause = x;
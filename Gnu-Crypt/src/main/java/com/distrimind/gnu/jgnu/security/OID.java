@@ -40,7 +40,7 @@ package com.distrimind.gnu.jgnu.security;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.StringTokenizer;
+import java.util.Arrays;
 
 import com.distrimind.gnu.jgnu.security.der.DEREncodingException;
 
@@ -64,6 +64,13 @@ import com.distrimind.gnu.jgnu.security.der.DEREncodingException;
  * OIDs may be relative, in which case the first two elements of the OID are
  * omitted.
  *
+ * <p>
+ * Well-known OIDs (algorithm identifiers, X.509 extensions and X.500 attribute
+ * types) are kept in a global intern table. {@link #valueOf(byte[], int, int)}
+ * looks DER content up in that table before allocating anything, and
+ * {@link #intern()} maps any OID to its shared instance. Interned OIDs have
+ * their hash code, string form and DER encoding computed once, up front.
+ *
  * @author Casey Marshall (csm@com.distrimind.gnu.org)
  */
 public class OID implements Cloneable, Comparable<OID>, java.io.Serializable {
@@ -74,6 +81,101 @@ public class OID implements Cloneable, Comparable<OID>, java.io.Serializable {
 	/* Serial version id for serialization. */
 	static final long serialVersionUID = 5722492029044597779L;
 
+	/**
+	 * Well-known OIDs put in the intern table when this class is loaded.
+	 */
+	private static final String[] WELL_KNOWN = {
+			// X.500 attribute types
+			"2.5.4.3", "2.5.4.5", "2.5.4.6", "2.5.4.7", "2.5.4.8", "2.5.4.9", "2.5.4.10", "2.5.4.11", "2.5.4.12",
+			"2.5.4.41", "2.5.4.42", "2.5.4.43", "2.5.4.44", "2.5.4.46", "1.2.840.113549.1.9.1",
+			"0.9.2342.19200300.100.1.1", "0.9.2342.19200300.100.1.25",
+			// X.509 extensions
+			"2.5.29.14", "2.5.29.15", "2.5.29.16", "2.5.29.17", "2.5.29.18", "2.5.29.19", "2.5.29.20", "2.5.29.21",
+			"2.5.29.30", "2.5.29.31", "2.5.29.32", "2.5.29.32.0", "2.5.29.33", "2.5.29.35", "2.5.29.36", "2.5.29.37",
+			"1.3.6.1.5.5.7.1.1",
+			// extended key usages
+			"1.3.6.1.5.5.7.3.1", "1.3.6.1.5.5.7.3.2", "1.3.6.1.5.5.7.3.3", "1.3.6.1.5.5.7.3.4", "1.3.6.1.5.5.7.3.8",
+			"1.3.6.1.5.5.7.3.9",
+			// key and signature algorithms
+			Registry.DSA_OID_STRING, Registry.RSA_OID_STRING, Registry.DH_OID_STRING, "1.2.840.10040.4.3",
+			"1.2.840.113549.1.1.2", "1.2.840.113549.1.1.4", "1.2.840.113549.1.1.5", "1.2.840.113549.1.1.10",
+			"1.2.840.113549.1.1.11", "1.2.840.113549.1.1.12", "1.2.840.113549.1.1.13", "1.2.840.113549.1.1.14",
+			"1.2.840.10045.2.1", "1.2.840.10045.4.1", "1.2.840.10045.4.3.2", "1.2.840.10045.4.3.3",
+			"1.2.840.10045.4.3.4", "2.16.840.1.101.3.4.3.2",
+			// digests
+			"1.3.14.3.2.26", "2.16.840.1.101.3.4.2.1", "2.16.840.1.101.3.4.2.2", "2.16.840.1.101.3.4.2.3",
+			// PKCS #7
+			"1.2.840.113549.1.7.1", "1.2.840.113549.1.7.2" };
+
+	/**
+	 * The intern table: open addressing, keyed by DER encoding, never more than
+	 * half full. It is replaced (never modified) when an OID is added, so that
+	 * lookups need no lock.
+	 */
+	private static volatile OID[] internTable = new OID[256];
+
+	static {
+		for (int i = 0; i < WELL_KNOWN.length; i++)
+			new OID(WELL_KNOWN[i]).intern();
+	}
+
+	private static int derHash(byte[] der, int off, int len) {
+		int h = len;
+		for (int i = off; i < off + len; i++)
+			h = 31 * h + der[i];
+		return h ^ (h >>> 16);
+	}
+
+	private static OID lookup(OID[] table, byte[] der, int off, int len) {
+		int mask = table.length - 1;
+		for (int i = derHash(der, off, len) & mask;; i = (i + 1) & mask) {
+			OID o = table[i];
+			if (o == null)
+				return null;
+			byte[] d = o.der;
+			if (d.length == len) {
+				int k = 0;
+				while (k < len && d[k] == der[off + k])
+					k++;
+				if (k == len)
+					return o;
+			}
+		}
+	}
+
+	private static void insert(OID[] table, OID oid) {
+		int mask = table.length - 1;
+		int i = derHash(oid.der, 0, oid.der.length) & mask;
+		while (table[i] != null)
+			i = (i + 1) & mask;
+		table[i] = oid;
+	}
+
+	/**
+	 * Returns the OID whose (non-relative) DER encoding, minus the tag and length
+	 * fields, is the given range of bytes. Well-known OIDs are returned from the
+	 * intern table without any allocation; others are created.
+	 *
+	 * @param der
+	 *            The array holding the encoded OID.
+	 * @param off
+	 *            The offset of the encoding.
+	 * @param len
+	 *            The length of the encoding.
+	 * @return The OID.
+	 * @throws IOException
+	 *             If the encoding is malformed.
+	 */
+	public static OID valueOf(byte[] der, int off, int len) throws IOException {
+		OID oid = lookup(internTable, der, off, len);
+		if (oid != null)
+			return oid;
+		oid = new OID();
+		oid.der = Arrays.copyOfRange(der, off, off + len);
+		oid.components = fromDER(oid.der, false);
+		return oid;
+	}
+
 	private static void encodeSubID(ByteArrayOutputStream out, int id) {
 		if (id < 128) {
 			out.write(id);
@@ -93,48 +195,68 @@ public class OID implements Cloneable, Comparable<OID>, java.io.Serializable {
 	}
 
 	private static int[] fromDER(byte[] der, boolean relative) throws DEREncodingException {
-		// cannot be longer than this.
-		int[] components = new int[der.length + 1];
+		// one component per byte with the continuation bit clear.
 		int count = 0;
-		int i = 0;
-		if (!relative && i < der.length) {
-			// Non-relative OIDs have the first two arcs coded as:
-			//
-			// i = first_arc * 40 + second_arc;
-			//
-			int j = (der[i] & 0xFF);
-			components[count++] = j / 40;
-			components[count++] = j % 40;
-			i++;
-		}
+		for (int i = 0; i < der.length; i++)
+			if ((der[i] & 0x80) == 0)
+				count++;
+		if (der.length > 0 && (der[der.length - 1] & 0x80) != 0)
+			throw new DEREncodingException("malformed OID");
+		if (!relative && count > 0)
+			count++;
+		int[] components = new int[count];
+		int i = 0, c = 0;
 		while (i < der.length) {
-			int j = 0;
+			int j, value = 0;
 			do {
 				j = der[i++] & 0xFF;
-				components[count] <<= 7;
-				components[count] |= j & 0x7F;
-				if (i >= der.length && (j & 0x80) != 0)
-					throw new DEREncodingException("malformed OID");
+				value = (value << 7) | (j & 0x7F);
 			} while ((j & 0x80) != 0);
-			count++;
+			if (c == 0 && !relative) {
+				// Non-relative OIDs have the first two arcs coded as:
+				//
+				// i = first_arc * 40 + second_arc;
+				//
+				int first = Math.min(value / 40, 2);
+				components[c++] = first;
+				components[c++] = value - first * 40;
+			} else
+				components[c++] = value;
 		}
-		if (count == components.length)
-			return components;
-		int[] ret = new int[count];
-		System.arraycopy(components, 0, ret, 0, count);
-		return ret;
+		return components;
 	}
 
 	private static int[] fromString(String strRep) throws NumberFormatException {
+		int start = 0;
 		if (strRep.startsWith("OID.") || strRep.startsWith("oid."))
-			strRep = strRep.substring(4);
-		StringTokenizer tok = new StringTokenizer(strRep, ".");
-		if (tok.countTokens() == 0)
+			start = 4;
+		int len = strRep.length();
+		int count = 0;
+		boolean inToken = false;
+		for (int i = start; i < len; i++) {
+			if (strRep.charAt(i) == '.')
+				inToken = false;
+			else if (!inToken) {
+				inToken = true;
+				count++;
+			}
+		}
+		if (count == 0)
 			throw new IllegalArgumentException();
-		int[] components = new int[tok.countTokens()];
-		int i = 0;
-		while (tok.hasMoreTokens()) {
-			components[i++] = Integer.parseInt(tok.nextToken());
+		int[] components = new int[count];
+		int c = 0;
+		for (int i = start; i < len;) {
+			char ch = strRep.charAt(i);
+			if (ch == '.') {
+				i++;
+				continue;
+			}
+			long value = 0;
+			for (; i < len && (ch = strRep.charAt(i)) != '.'; i++) {
+				if (ch < '0' || ch > '9' || (value = value * 10 + (ch - '0')) > Integer.MAX_VALUE)
+					throw new NumberFormatException(strRep);
+			}
+			components[c++] = (int) value;
 		}
 		return components;
 	}
@@ -162,6 +284,15 @@ public class OID implements Cloneable, Comparable<OID>, java.io.Serializable {
 	 */
 	private boolean relative;
 
+	/**
+	 * The hash code, or 0 if not computed yet.
+	 */
+	private transient int hash;
+
+	/** Used by {@link #valueOf(byte[], int, int)}, which sets the fields. */
+	private OID() {
+	}
+
 	/**
 	 * Construct a new OID from the given DER bytes.
 	 *
@@ -353,9 +484,14 @@ public class OID implements Cloneable, Comparable<OID>, java.io.Serializable {
 	 */
 	@Override
 	public boolean equals(Object o) {
+		if (o == this)
+			return true;
 		if (!(o instanceof OID))
 			return false;
-		return java.util.Arrays.equals(components, ((OID) o).components);
+		OID that = (OID) o;
+		if (hash != 0 && that.hash != 0 && hash != that.hash)
+			return false;
+		return Arrays.equals(components, that.components);
 	}
 
 	public OID getChild(int id) {
@@ -443,10 +579,50 @@ public class OID implements Cloneable, Comparable<OID>, java.io.Serializable {
 	 */
 	@Override
 	public int hashCode() {
-		int ret = 0;
-		for (int i = 0; i < components.length; i++)
-			ret += components[i] << (i & 31);
-		return ret;
+		int h = hash;
+		if (h == 0) {
+			h = Arrays.hashCode(components);
+			if (h == 0)
+				h = 1;
+			hash = h;
+		}
+		return h;
+	}
+
+	/**
+	 * Returns the shared instance of this OID from the intern table, adding this
+	 * OID to the table if it is not there yet. Relative OIDs are not interned.
+	 *
+	 * @return The interned OID.
+	 */
+	public OID intern() {
+		if (relative)
+			return this;
+		if (der == null)
+			getDER();
+		OID oid = lookup(internTable, der, 0, der.length);
+		if (oid != null)
+			return oid;
+		// precompute everything before publishing.
+		hashCode();
+		toString();
+		synchronized (OID.class) {
+			OID[] table = internTable;
+			oid = lookup(table, der, 0, der.length);
+			if (oid != null)
+				return oid;
+			int size = 1;
+			for (int i = 0; i < table.length; i++)
+				if (table[i] != null)
+					size++;
+			OID[] newTable = new OID[size * 2 > table.length ? table.length << 1 : table.length];
+			for (int i = 0; i < table.length; i++)
+				if (table[i] != null)
+					insert(newTable, table[i]);
+			insert(newTable, this);
+			internTable = newTable;
+			return this;
+		}
 	}
 
 	public boolean isRelative() {
@@ -141,6 +141,26 @@ public interface Registry {
 
 	String MD2_HASH = "md2";
 
+	String SHA3_224_HASH = "sha3-224";
+
+	String SHA3_256_HASH = "sha3-256";
+
+	String SHA3_384_HASH = "sha3-384";
+
+	String SHA3_512_HASH = "sha3-512";
+
+	/** SHAKE128, with the default 256-bit output. */
+	String SHAKE128_HASH = "shake128";
+
+	/** SHAKE256, with the default 512-bit output. */
+	String SHAKE256_HASH = "shake256";
+
+	String BLAKE2B256_HASH = "blake2b-256";
+
+	String BLAKE2B512_HASH = "blake2b-512";
+
+	String BLAKE2S256_HASH = "blake2s-256";
+
 	/** RIPEMD-128 is synonymous to RIPEMD128. */
 	String RIPEMD_128_HASH = "ripemd-128";
 
@@ -156,6 +176,12 @@ public interface Registry {
 	/** SHA is synonymous to SHA-160. */
 	String SHA_HASH = "sha";
 
+	/**
+	 * Name prefix of the parallel tree-hashing construction over a message
+	 * digest, e.g. <code>tree-sha-256</code>.
+	 */
+	String TREE_HASH_PREFIX = "tree-";
+
 	// Symmetric block cipher modes of operations...............................
 
 	/** Electronic CodeBook mode. */
@@ -179,6 +205,12 @@ public interface Registry {
 	/** Authenticated-Encrypted mode. */
 	String EAX_MODE = "eax";
 
+	/** Offset CodeBook mode, version 3 (RFC 7253). */
+	String OCB_MODE = "ocb";
+
+	/** XEX-based tweaked-codebook mode with ciphertext stealing (IEEE 1619). */
+	String XTS_MODE = "xts";
+
 	// Padding scheme names and synonyms........................................
 
 	/** PKCS#5 padding scheme. */
@@ -375,7 +375,7 @@ public class DERReader implements DER {
 		case GENERALIZED_TIME:
 			return makeTime(tag, value);
 		case OBJECT_IDENTIFIER:
-			return new OID(value);
+			return OID.valueOf(value, 0, value.length);
 		case RELATIVE_OID:
 			return new OID(value, true);
 		default:
@@ -37,7 +37,6 @@ exception statement from your version. */
 
 package com.distrimind.gnu.jgnu.security.der;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 import com.distrimind.gnu.jgnu.security.x509.Util;
@@ -79,33 +78,33 @@ public class DERValue implements DER {
 	// Instance methods.
 	// ------------------------------------------------------------------------
 
-	public byte[] getEncoded() {
+	private void encode() {
 		if (encoded == null) {
 			try {
-				ByteArrayOutputStream out = new ByteArrayOutputStream();
-				length = DERWriter.write(out, this);
-				encoded = out.toByteArray();
+				encoded = DERWriter.encode(this);
+				// read back the content length from the length octets.
+				length = encoded[1] & 0xFF;
+				if (length >= 0x80) {
+					int count = length & 0x7F;
+					length = 0;
+					for (int i = 0; i < count; i++)
+						length = (length << 8) | (encoded[2 + i] & 0xFF);
+				}
 			} catch (IOException ioe) {
 				IllegalArgumentException iae = new IllegalArgumentException();
 				iae.initCause(ioe);
 				throw iae;
 			}
 		}
+	}
+
+	public byte[] getEncoded() {
+		encode();
 		return encoded.clone();
 	}
 
 	public int getEncodedLength() {
-		if (encoded == null) {
-			try {
-				ByteArrayOutputStream out = new ByteArrayOutputStream();
-				length = DERWriter.write(out, this);
-				encoded = out.toByteArray();
-			} catch (IOException ioe) {
-				IllegalArgumentException iae = new IllegalArgumentException();
-				iae.initCause(ioe);
-				throw iae;
-			}
-		}
+		encode();
 		return encoded.length;
 	}
 
@@ -114,17 +113,7 @@ public class DERValue implements DER {
 	}
 
 	public int getLength() {
-		if (encoded == null) {
-			try {
-				ByteArrayOutputStream out = new ByteArrayOutputStream();
-				length = DERWriter.write(out, this);
-				encoded = out.toByteArray();
-			} catch (IOException ioe) {
-				IllegalArgumentException iae = new IllegalArgumentException();
-				iae.initCause(ioe);
-				throw iae;
-			}
-		}
+		encode();
 		return length;
 	}
 
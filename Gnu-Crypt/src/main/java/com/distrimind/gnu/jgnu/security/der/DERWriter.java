@@ -37,11 +37,14 @@ exception statement from your version. */
 
 package com.distrimind.gnu.jgnu.security.der;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -58,6 +61,10 @@ import com.distrimind.gnu.jgnu.security.OID;
  * whatever ASN.1 construct is being output.
  *
  * <p>
+ * Values are encoded in two passes: all lengths are computed first, then the
+ * encoding is written directly into one array of exactly the right size.
+ *
+ * <p>
  * This class only defines static methods; there are no instance variables
  * needed.
  *
@@ -65,6 +72,16 @@ import com.distrimind.gnu.jgnu.security.OID;
  */
 public class DERWriter implements DER {
 
+	// Constants.
+	// ------------------------------------------------------------------------
+
+	/** String encodings, by tag. */
+	private static final int ISO_8859_1 = 0;
+
+	private static final int UTF_16BE = 1;
+
+	private static final int UTF_8 = 2;
+
 	// Constructors.
 	// ------------------------------------------------------------------------
 
@@ -84,196 +101,322 @@ public class DERWriter implements DER {
 	// Class methods.
 	// ------------------------------------------------------------------------
 
-	private static byte[] toIso88591(String string) {
-		byte[] result = new byte[string.length()];
-		for (int i = 0; i < string.length(); i++)
-			result[i] = (byte) string.charAt(i);
-		return result;
-	}
-
-	private static byte[] toUtf16Be(String string) {
-		byte[] result = new byte[string.length() * 2];
-		for (int i = 0; i < string.length(); i++) {
-			result[i * 2] = (byte) ((string.charAt(i) >>> 8) & 0xFF);
-			result[i * 2 + 1] = (byte) (string.charAt(i) & 0xFF);
+	/**
+	 * Returns the number of bytes of the UTF-8 encoding of a string, as written by
+	 * {@link #putUtf8(byte[], int, String)}.
+	 */
+	private static int utf8Length(String string) {
+		int len = string.length();
+		int result = len;
+		for (int i = 0; i < len; i++) {
+			char c = string.charAt(i);
+			if (c >= 0x0800)
+				result += 2;
+			else if (c >= 0x0080)
+				result++;
 		}
 		return result;
 	}
 
-	// Own methods.
-	// ------------------------------------------------------------------------
-
-	private static byte[] toUtf8(String string) {
+	private static int putUtf8(byte[] out, int pos, String string) {
 		int len = string.length();
-		ByteArrayOutputStream buf = new ByteArrayOutputStream(len + (len >> 1));
 		for (int i = 0; i < len; i++) {
 			char c = string.charAt(i);
 			if (c < 0x0080)
-				buf.write(c & 0xFF);
+				out[pos++] = (byte) c;
 			else if (c < 0x0800) {
-				buf.write(0xC0 | ((c >>> 6) & 0x3F));
-				buf.write(0x80 | (c & 0x3F));
+				out[pos++] = (byte) (0xC0 | ((c >>> 6) & 0x3F));
+				out[pos++] = (byte) (0x80 | (c & 0x3F));
 			} else {
-				buf.write(0xE0 | ((c >>> 12) & 0x0F));
-				buf.write(0x80 | ((c >>> 6) & 0x3F));
-				buf.write(0x80 | (c & 0x3F));
+				out[pos++] = (byte) (0xE0 | ((c >>> 12) & 0x0F));
+				out[pos++] = (byte) (0x80 | ((c >>> 6) & 0x3F));
+				out[pos++] = (byte) (0x80 | (c & 0x3F));
 			}
 		}
-		return buf.toByteArray();
+		return pos;
 	}
 
-	@SuppressWarnings("unchecked")
-	public static int write(OutputStream out, DERValue object) throws IOException {
-		if (DER.CONSTRUCTED_VALUE.equals(object.getValue())) {
-			out.write(object.getEncoded());
-			return object.getLength();
-		}
-
-		out.write(object.getExternalTag());
-		Object value = object.getValue();
-		if (value == null) {
-			writeLength(out, 0);
-			return 0;
-		}
-		if (value instanceof Boolean)
-			return writeBoolean(out, (Boolean) value);
-		else if (value instanceof BigInteger)
-			return writeInteger(out, (BigInteger) value);
-		else if (value instanceof Date)
-			return writeDate(out, object.getExternalTag(), (Date) value);
-		else if (value instanceof String)
-			return writeString(out, object.getExternalTag(), (String) value);
-		else if (value instanceof List)
-			return writeSequence(out, (List<DERValue>) value);
-		else if (value instanceof Set)
-			return writeSet(out, (Set<DERValue>) value);
-		else if (value instanceof BitString)
-			return writeBitString(out, (BitString) value);
-		else if (value instanceof OID)
-			return writeOID(out, (OID) value);
-		else if (value instanceof byte[]) {
-			writeLength(out, ((byte[]) value).length);
-			out.write((byte[]) value);
-			return ((byte[]) value).length;
-		} else if (value instanceof DERValue) {
-			ByteArrayOutputStream bout = new ByteArrayOutputStream();
-			write(bout, (DERValue) value);
-			byte[] buf = bout.toByteArray();
-			writeLength(out, buf.length);
-			out.write(buf);
-			return buf.length;
-		} else
-			throw new DEREncodingException("cannot encode " + value.getClass().getName());
+	/**
+	 * Encodes a value into a new array of exactly the right size.
+	 *
+	 * @param object
+	 *            The value to encode.
+	 * @return The encoding, tag and length included.
+	 * @throws DEREncodingException
+	 *             If the value (or one of its components) cannot be encoded.
+	 */
+	public static byte[] encode(DERValue object) throws DEREncodingException {
+		Encoder enc = new Encoder();
+		byte[] out = new byte[enc.measure(object)];
+		enc.emit(out, 0, object);
+		return out;
 	}
 
-	private static int writeBitString(OutputStream out, BitString bs) throws IOException {
-		byte[] buf = bs.getShiftedByteArray();
-		writeLength(out, buf.length + 1);
-		out.write(bs.getIgnoredBits());
-		out.write(buf);
-		return buf.length + 1;
+	/**
+	 * Returns the size of the encoding of a value, tag and length included,
+	 * without encoding it.
+	 *
+	 * @param object
+	 *            The value to measure.
+	 * @return The size of the encoding.
+	 * @throws DEREncodingException
+	 *             If the value (or one of its components) cannot be encoded.
+	 */
+	public static int encodedSize(DERValue object) throws DEREncodingException {
+		return new Encoder().measure(object);
 	}
 
 	/**
-	 * Write a BOOLEAN type to the given output stream.
+	 * Encodes a value into a buffer, starting at its position, which is advanced
+	 * past the encoding.
 	 *
 	 * @param out
-	 *            The sink output stream.
-	 * @param b
-	 *            The boolean value to write.
+	 *            The buffer.
+	 * @param object
+	 *            The value to encode.
+	 * @return The number of bytes of the encoded content, tag and length excluded.
+	 * @throws DEREncodingException
+	 *             If the value (or one of its components) cannot be encoded.
+	 * @throws java.nio.BufferOverflowException
+	 *             If the buffer has not enough room for the encoding.
 	 */
-	private static int writeBoolean(OutputStream out, Boolean b) throws IOException {
-		writeLength(out, 1);
-		if (b.booleanValue())
-			out.write(0xFF);
-		else
-			out.write(0);
-		return 1;
-	}
-
-	private static int writeDate(OutputStream out, int tag, Date date) throws IOException {
-		SimpleDateFormat sdf = null;
-		if ((tag & 0x1F) == UTC_TIME)
-			sdf = new SimpleDateFormat("yyMMddHHmmss'Z'");
-		else
-			sdf = new SimpleDateFormat("yyyyMMddHHmmss'.'SSS'Z'");
-		sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-		byte[] b = sdf.format(date).getBytes("ISO-8859-1");
-		writeLength(out, b.length);
-		out.write(b);
-		return b.length;
+	public static int write(ByteBuffer out, DERValue object) throws DEREncodingException {
+		Encoder enc = new Encoder();
+		int size = enc.measure(object);
+		if (out.remaining() < size)
+			throw new BufferOverflowException();
+		if (out.hasArray()) {
+			enc.emit(out.array(), out.arrayOffset() + out.position(), object);
+			out.position(out.position() + size);
+		} else {
+			byte[] buf = new byte[size];
+			enc.emit(buf, 0, object);
+			out.put(buf);
+		}
+		return enc.contentLength(0);
 	}
 
 	/**
-	 * Write an INTEGER type to the given output stream.
+	 * Encodes a value to an output stream. The value is first encoded into a
+	 * single array of exactly the right size, which is then written with one call.
 	 *
 	 * @param out
 	 *            The sink output stream.
-	 * @param integer
-	 *            The integer to write.
+	 * @param object
+	 *            The value to encode.
+	 * @return The number of bytes of the encoded content, tag and length excluded.
+	 * @throws IOException
+	 *             If the value cannot be encoded, or if writing fails.
 	 */
-	private static int writeInteger(OutputStream out, BigInteger integer) throws IOException {
-		byte[] bytes = integer.toByteArray();
-		writeLength(out, bytes.length);
-		out.write(bytes);
-		return bytes.length;
+	public static int write(OutputStream out, DERValue object) throws IOException {
+		Encoder enc = new Encoder();
+		byte[] buf = new byte[enc.measure(object)];
+		enc.emit(buf, 0, object);
+		out.write(buf);
+		return enc.contentLength(0);
 	}
 
-	static void writeLength(OutputStream out, int len) throws IOException {
+	static int putLength(byte[] out, int pos, int len) {
 		if (len < 128)
-			out.write(len);
+			out[pos++] = (byte) len;
 		else if (len < 256) {
-			out.write(0x81);
-			out.write(len);
+			out[pos++] = (byte) 0x81;
+			out[pos++] = (byte) len;
 		} else if (len < 65536) {
-			out.write(0x82);
-			out.write(len >> 8);
-			out.write(len);
+			out[pos++] = (byte) 0x82;
+			out[pos++] = (byte) (len >> 8);
+			out[pos++] = (byte) len;
 		} else if (len < 16777216) {
-			out.write(0x83);
-			out.write(len >> 16);
-			out.write(len >> 8);
-			out.write(len);
+			out[pos++] = (byte) 0x83;
+			out[pos++] = (byte) (len >> 16);
+			out[pos++] = (byte) (len >> 8);
+			out[pos++] = (byte) len;
 		} else {
-			out.write(0x84);
-			out.write(len >> 24);
-			out.write(len >> 16);
-			out.write(len >> 8);
-			out.write(len);
+			out[pos++] = (byte) 0x84;
+			out[pos++] = (byte) (len >> 24);
+			out[pos++] = (byte) (len >> 16);
+			out[pos++] = (byte) (len >> 8);
+			out[pos++] = (byte) len;
 		}
+		return pos;
 	}
 
-	private static int writeOID(OutputStream out, OID oid) throws IOException {
-		byte[] der = oid.getDER();
-		writeLength(out, der.length);
-		out.write(der);
-		return der.length;
+	static void writeLength(OutputStream out, int len) throws IOException {
+		byte[] buf = new byte[5];
+		out.write(buf, 0, putLength(buf, 0, len));
 	}
 
-	private static int writeSequence(OutputStream out, List<DERValue> sequence) throws IOException {
-		ByteArrayOutputStream bout = new ByteArrayOutputStream();
-		for (Iterator<DERValue> i = sequence.iterator(); i.hasNext();) {
-			write(bout, i.next());
+	/**
+	 * Two-pass encoder. The first pass walks the value tree and computes the
+	 * content length of every node bottom-up; the second pass walks the tree in
+	 * the same order and writes every node directly at its final place, so that no
+	 * intermediate buffer is needed, whatever the nesting depth.
+	 * <p>
+	 * Nodes are numbered in visiting order; <code>lengths</code> holds the
+	 * content length of each node and <code>leaves</code> the bytes of the leaves
+	 * whose encoding cannot be written without first being computed.
+	 */
+	private static final class Encoder {
+		private int[] lengths = new int[16];
+
+		private Object[] leaves = new Object[16];
+
+		private int count;
+
+		private int cursor;
+
+		int contentLength(int node) {
+			return lengths[node];
 		}
-		byte[] buf = bout.toByteArray();
-		writeLength(out, buf.length);
-		out.write(buf);
-		return buf.length;
-	}
 
-	private static int writeSet(OutputStream out, Set<DERValue> set) throws IOException {
-		ByteArrayOutputStream bout = new ByteArrayOutputStream();
-		for (Iterator<DERValue> i = set.iterator(); i.hasNext();) {
-			write(bout, i.next());
+		private int next() {
+			if (count == lengths.length) {
+				lengths = Arrays.copyOf(lengths, count << 1);
+				leaves = Arrays.copyOf(leaves, count << 1);
+			}
+			return count++;
 		}
-		byte[] buf = bout.toByteArray();
-		writeLength(out, buf.length);
-		out.write(buf);
-		return buf.length;
+
+		/**
+		 * First pass: returns the full size of the encoding of <code>object</code>.
+		 */
+		@SuppressWarnings("unchecked")
+		int measure(DERValue object) throws DEREncodingException {
+			int node = next();
+			Object value = object.getValue();
+			if (DER.CONSTRUCTED_VALUE.equals(value)) {
+				byte[] encoded = object.getEncoded();
+				leaves[node] = encoded;
+				lengths[node] = object.getLength();
+				return encoded.length;
+			}
+			int len;
+			if (value == null)
+				len = 0;
+			else if (value instanceof Boolean)
+				len = 1;
+			else if (value instanceof BigInteger)
+				len = ((BigInteger) value).bitLength() / 8 + 1;
+			else if (value instanceof Date) {
+				byte[] b = formatDate(object.getExternalTag(), (Date) value);
+				leaves[node] = b;
+				len = b.length;
+			} else if (value instanceof String) {
+				String str = (String) value;
+				switch (stringEncoding(object.getExternalTag())) {
+				case ISO_8859_1:
+					len = str.length();
+					break;
+				case UTF_16BE:
+					len = str.length() * 2;
+					break;
+				default:
+					len = utf8Length(str);
+				}
+			} else if (value instanceof List) {
+				len = 0;
+				for (Iterator<DERValue> i = ((List<DERValue>) value).iterator(); i.hasNext();)
+					len += measure(i.next());
+			} else if (value instanceof Set) {
+				len = 0;
+				for (Iterator<DERValue> i = ((Set<DERValue>) value).iterator(); i.hasNext();)
+					len += measure(i.next());
+			} else if (value instanceof BitString) {
+				byte[] b = ((BitString) value).getShiftedByteArray();
+				leaves[node] = b;
+				len = b.length + 1;
+			} else if (value instanceof OID) {
+				byte[] b = ((OID) value).getDER();
+				leaves[node] = b;
+				len = b.length;
+			} else if (value instanceof byte[])
+				len = ((byte[]) value).length;
+			else if (value instanceof DERValue)
+				len = measure((DERValue) value);
+			else
+				throw new DEREncodingException("cannot encode " + value.getClass().getName());
+			lengths[node] = len;
+			return 1 + definiteEncodingSize(len) + len;
+		}
+
+		/**
+		 * Second pass: writes the encoding of <code>object</code> at
+		 * <code>out[pos]</code> and returns the position following it.
+		 */
+		@SuppressWarnings("unchecked")
+		int emit(byte[] out, int pos, DERValue object) {
+			int node = cursor++;
+			Object value = object.getValue();
+			if (DER.CONSTRUCTED_VALUE.equals(value)) {
+				byte[] encoded = (byte[]) leaves[node];
+				System.arraycopy(encoded, 0, out, pos, encoded.length);
+				return pos + encoded.length;
+			}
+			int len = lengths[node];
+			out[pos++] = (byte) object.getExternalTag();
+			pos = putLength(out, pos, len);
+			if (value == null)
+				return pos;
+			if (value instanceof Boolean)
+				out[pos++] = ((Boolean) value).booleanValue() ? (byte) 0xFF : 0;
+			else if (value instanceof BigInteger) {
+				byte[] b = ((BigInteger) value).toByteArray();
+				System.arraycopy(b, 0, out, pos, len);
+				pos += len;
+			} else if (value instanceof String) {
+				String str = (String) value;
+				switch (stringEncoding(object.getExternalTag())) {
+				case ISO_8859_1:
+					for (int i = 0; i < str.length(); i++)
+						out[pos++] = (byte) str.charAt(i);
+					break;
+				case UTF_16BE:
+					for (int i = 0; i < str.length(); i++) {
+						char c = str.charAt(i);
+						out[pos++] = (byte) (c >>> 8);
+						out[pos++] = (byte) c;
+					}
+					break;
+				default:
+					pos = putUtf8(out, pos, str);
+				}
+			} else if (value instanceof List) {
+				for (Iterator<DERValue> i = ((List<DERValue>) value).iterator(); i.hasNext();)
+					pos = emit(out, pos, i.next());
+			} else if (value instanceof Set) {
+				for (Iterator<DERValue> i = ((Set<DERValue>) value).iterator(); i.hasNext();)
+					pos = emit(out, pos, i.next());
+			} else if (value instanceof BitString) {
+				out[pos++] = (byte) ((BitString) value).getIgnoredBits();
+				byte[] b = (byte[]) leaves[node];
+				System.arraycopy(b, 0, out, pos, b.length);
+				pos += b.length;
+			} else if (value instanceof byte[]) {
+				System.arraycopy(value, 0, out, pos, len);
+				pos += len;
+			} else if (value instanceof DERValue)
+				pos = emit(out, pos, (DERValue) value);
+			else {
+				// Date and OID
+				byte[] b = (byte[]) leaves[node];
+				System.arraycopy(b, 0, out, pos, b.length);
+				pos += b.length;
+			}
+			return pos;
+		}
+	}
+
+	private static byte[] formatDate(int tag, Date date) {
+		SimpleDateFormat sdf = null;
+		if ((tag & 0x1F) == UTC_TIME)
+			sdf = new SimpleDateFormat("yyMMddHHmmss'Z'");
+		else
+			sdf = new SimpleDateFormat("yyyyMMddHHmmss'.'SSS'Z'");
+		sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+		return sdf.format(date).getBytes(StandardCharsets.ISO_8859_1);
 	}
 
-	private static int writeString(OutputStream out, int tag, String str) throws IOException {
-		byte[] b = null;
+	private static int stringEncoding(int tag) {
 		switch (tag & 0x1F) {
 		case NUMERIC_STRING:
 		case PRINTABLE_STRING:
@@ -283,22 +426,16 @@ public class DERWriter implements DER {
 		case GRAPHIC_STRING:
 		case ISO646_STRING:
 		case GENERAL_STRING:
-			b = toIso88591(str);
-			break;
+			return ISO_8859_1;
 
 		case UNIVERSAL_STRING:
 		case BMP_STRING:
-			b = toUtf16Be(str);
-			break;
+			return UTF_16BE;
 
 		case UTF8_STRING:
 		default:
-			b = toUtf8(str);
-			break;
+			return UTF_8;
 		}
-		writeLength(out, b.length);
-		out.write(b);
-		return b.length;
 	}
 
 	// Package method.
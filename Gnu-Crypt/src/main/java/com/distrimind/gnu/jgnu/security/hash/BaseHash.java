@@ -37,6 +37,8 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnu.security.hash;
 
+import java.nio.ByteBuffer;
+
 /**
  * A base abstract class to facilitate hash implementations.
  */
@@ -56,6 +58,12 @@ public abstract class BaseHash implements IMessageDigest {
 	/** Temporary input buffer. */
 	protected byte[] buffer;
 
+	/**
+	 * <i>blockSize</i> - 1 when <i>blockSize</i> is a power of 2, so that the
+	 * position in the buffer is a mask away from the count; -1 otherwise.
+	 */
+	private final int blockMask;
+
 	/**
 	 * Trivial constructor for use by concrete subclasses.
 	 *
@@ -73,6 +81,7 @@ public abstract class BaseHash implements IMessageDigest {
 		this.hashSize = hashSize;
 		this.blockSize = blockSize;
 		this.buffer = new byte[blockSize];
+		this.blockMask = (blockSize & (blockSize - 1)) == 0 ? blockSize - 1 : -1;
 
 		resetContext();
 	}
@@ -150,7 +159,7 @@ public abstract class BaseHash implements IMessageDigest {
 	@Override
 	public void update(byte b) {
 		// compute number of bytes still unhashed; ie. present in buffer
-		int i = (int) (count % blockSize);
+		int i = blockMask >= 0 ? (int) count & blockMask : (int) (count % blockSize);
 		count++;
 		buffer[i] = b;
 		if (i == (blockSize - 1))
@@ -181,4 +190,27 @@ public abstract class BaseHash implements IMessageDigest {
 		if (i < len)
 			System.arraycopy(b, offset + i, buffer, n, len - i);
 	}
+
+	@Override
+	public void update(ByteBuffer in) {
+		if (in.hasArray()) {
+			update(in.array(), in.arrayOffset() + in.position(), in.remaining());
+			in.position(in.limit());
+			return;
+		}
+		// direct or mapped: fill the block buffer straight from the input
+		int len = in.remaining();
+		int n = (int) (count % blockSize);
+		count += len;
+		while (len > 0) {
+			int part = Math.min(blockSize - n, len);
+			in.get(buffer, n, part);
+			n += part;
+			len -= part;
+			if (n == blockSize) {
+				transform(buffer, 0);
+				n = 0;
+			}
+		}
+	}
 }
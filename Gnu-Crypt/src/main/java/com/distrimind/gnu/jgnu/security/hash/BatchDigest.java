@@ -0,0 +1,224 @@
+/* BatchDigest.java -- digests of many small messages in one call
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnu.security.hash;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes the digests of many independent messages in a single call, writing
+ * them contiguously into one output array.
+ * <p>
+ * The messages are hashed one after the other with the same
+ * {@link IMessageDigest} instance, with no per-message cloning. Batches larger
+ * than the parallel threshold are split into ranges of at least that many
+ * messages, hashed on a {@link ForkJoinPool} with one clone of the algorithm
+ * per range.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class BatchDigest {
+	/** Hashes a range of messages, splitting it while it is large enough. */
+	private static final class Task extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final BatchDigest owner;
+
+		private final IMessageDigest md;
+
+		private final byte[][] in;
+
+		private final int[] offsets;
+
+		private final int[] lengths;
+
+		private final int from;
+
+		private final int to;
+
+		private final byte[] out;
+
+		private final int outOffset;
+
+		Task(BatchDigest owner, IMessageDigest md, byte[][] in, int[] offsets, int[] lengths, int from, int to,
+				byte[] out, int outOffset) {
+			this.owner = owner;
+			this.md = md;
+			this.in = in;
+			this.offsets = offsets;
+			this.lengths = lengths;
+			this.from = from;
+			this.to = to;
+			this.out = out;
+			this.outOffset = outOffset;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from < 2 * owner.threshold)
+				owner.digest(md, in, offsets, lengths, from, to, out, outOffset);
+			else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new Task(owner, md, in, offsets, lengths, from, mid, out, outOffset),
+						new Task(owner, (IMessageDigest) owner.prototype.clone(), in, offsets, lengths, mid, to, out,
+								outOffset));
+			}
+		}
+	}
+
+	/** The default number of messages above which a batch is split. */
+	public static final int DEFAULT_THRESHOLD = 1024;
+
+	private final IMessageDigest md;
+
+	private final ForkJoinPool pool;
+
+	/** A reset instance, never updated, which the parallel ranges clone. */
+	private final IMessageDigest prototype;
+
+	private final int threshold;
+
+	/**
+	 * Creates a batch over the designated algorithm, split on the common
+	 * fork/join pool above {@link #DEFAULT_THRESHOLD} messages.
+	 *
+	 * @param md
+	 *            the algorithm; the instance is reset and owned by the batch.
+	 */
+	public BatchDigest(IMessageDigest md) {
+		this(md, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Creates a batch over the designated algorithm.
+	 *
+	 * @param md
+	 *            the algorithm; the instance is reset and owned by the batch.
+	 * @param pool
+	 *            the pool hashing large batches.
+	 * @param threshold
+	 *            the number of messages above which a batch is split.
+	 * @throws IllegalArgumentException
+	 *             if <code>threshold</code> is not positive.
+	 */
+	public BatchDigest(IMessageDigest md, ForkJoinPool pool, int threshold) {
+		super();
+
+		if (threshold <= 0)
+			throw new IllegalArgumentException("threshold");
+		if (pool == null)
+			throw new NullPointerException();
+		md.reset();
+		this.md = md;
+		this.prototype = (IMessageDigest) md.clone();
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Computes the digests of whole arrays.
+	 *
+	 * @param in
+	 *            the messages.
+	 * @param out
+	 *            the output, receiving {@link #hashSize()} bytes per message in
+	 *            the order of the messages.
+	 * @param outOffset
+	 *            the offset of the first digest in <code>out</code>.
+	 * @throws IndexOutOfBoundsException
+	 *             if <code>out</code> is too short.
+	 */
+	public void digest(byte[][] in, byte[] out, int outOffset) {
+		int[] offsets = new int[in.length];
+		int[] lengths = new int[in.length];
+		for (int i = 0; i < in.length; i++)
+			lengths[i] = in[i].length;
+		digest(in, offsets, lengths, out, outOffset);
+	}
+
+	/**
+	 * Computes the digests of a batch of messages, the message <code>i</code>
+	 * being the <code>lengths[i]</code> bytes of <code>in[i]</code> from
+	 * <code>offsets[i]</code>. The same array may hold several messages.
+	 *
+	 * @param in
+	 *            the arrays holding the messages.
+	 * @param offsets
+	 *            the offsets of the messages.
+	 * @param lengths
+	 *            the lengths of the messages.
+	 * @param out
+	 *            the output, receiving {@link #hashSize()} bytes per message in
+	 *            the order of the messages.
+	 * @param outOffset
+	 *            the offset of the first digest in <code>out</code>.
+	 * @throws IllegalArgumentException
+	 *             if the three input arrays differ in length.
+	 * @throws IndexOutOfBoundsException
+	 *             if <code>out</code> is too short.
+	 */
+	public void digest(byte[][] in, int[] offsets, int[] lengths, byte[] out, int outOffset) {
+		int count = in.length;
+		if (offsets.length != count || lengths.length != count)
+			throw new IllegalArgumentException("batch arrays differ in length");
+		if (outOffset < 0 || out.length - outOffset < (long) count * md.hashSize())
+			throw new IndexOutOfBoundsException("output too short");
+		if (count < 2 * threshold)
+			digest(md, in, offsets, lengths, 0, count, out, outOffset);
+		else
+			pool.invoke(new Task(this, md, in, offsets, lengths, 0, count, out, outOffset));
+	}
+
+	private void digest(IMessageDigest h, byte[][] in, int[] offsets, int[] lengths, int from, int to, byte[] out,
+			int outOffset) {
+		int size = h.hashSize();
+		int o = outOffset + from * size;
+		for (int i = from; i < to; i++, o += size) {
+			h.update(in[i], offsets[i], lengths[i]);
+			System.arraycopy(h.digest(), 0, out, o, size);
+		}
+	}
+
+	public int hashSize() {
+		return md.hashSize();
+	}
+
+	public String name() {
+		return md.name();
+	}
+}
@@ -0,0 +1,403 @@
+/* Blake2b.java -- the BLAKE2b hash function
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnu.security.hash;
+
+import java.nio.ByteBuffer;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.util.Util;
+
+/**
+ * Implementation of the BLAKE2b hash function of RFC 7693, optimised for
+ * 64-bit platforms, with outputs of 1 to 64 bytes and an optional key of
+ * up to 64 bytes.
+ * <p>
+ * The last block of a message is compressed with a finalisation flag, so a
+ * full block is only compressed once more input arrives; BLAKE2b thus
+ * overrides the buffering of {@link BaseHash}. The compression function runs
+ * on local variables and a reused message schedule, without allocating.
+ * <p>
+ * References:
+ * <ol>
+ * <li><a href="http://tools.ietf.org/html/rfc7693">The BLAKE2 Cryptographic
+ * Hash and Message Authentication Code (MAC)</a>, RFC 7693.</li>
+ * </ol>
+ */
+public class Blake2b extends BaseHash {
+	private static final int BLOCK_SIZE = 128; // inner block size in bytes
+
+	private static final String DIGEST0 = "BA80A53F981C4D0D6A2797B69F12F6E94C212F14685AC4B74B12BB6FDBFFA2D1"
+			+ "7D87C5392AAB792DC252D5DE4533CC9518D38AA8DBF1925AB92386EDD4009923";
+
+	/** The digest of the empty message, keyed with the bytes 0, 1, 2... */
+	private static final String DIGEST1 = "10EBB67700B1868EFB4417987ACF4690AE9D972FB7A590C2F02871799AAA4786"
+			+ "B5E996E8F0F4EB981FC214B005F42D2FF4233499391653DF7AEFCBC13FC51568";
+
+	private static final long IV0 = 0x6a09e667f3bcc908L, IV1 = 0xbb67ae8584caa73bL, IV2 = 0x3c6ef372fe94f82bL, IV3 = 0xa54ff53a5f1d36f1L,
+			IV4 = 0x510e527fade682d1L, IV5 = 0x9b05688c2b3e6c1fL, IV6 = 0x1f83d9abfb41bd6bL, IV7 = 0x5be0cd19137e2179L;
+
+	private static final int MAX_SIZE = 64;
+
+	private static final byte[][] SIGMA = {
+			{ 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15 },
+			{ 14, 10, 4, 8, 9, 15, 13, 6, 1, 12, 0, 2, 11, 7, 5, 3 },
+			{ 11, 8, 12, 0, 5, 2, 15, 13, 10, 14, 3, 6, 7, 1, 9, 4 },
+			{ 7, 9, 3, 1, 13, 12, 11, 14, 2, 6, 5, 10, 4, 0, 15, 8 },
+			{ 9, 0, 5, 7, 2, 4, 10, 15, 14, 1, 11, 12, 6, 8, 3, 13 },
+			{ 2, 12, 6, 10, 0, 11, 8, 3, 4, 13, 7, 5, 15, 14, 1, 9 },
+			{ 12, 5, 1, 15, 14, 13, 4, 10, 0, 7, 6, 3, 9, 2, 8, 11 },
+			{ 13, 11, 7, 14, 12, 1, 3, 9, 5, 0, 15, 4, 8, 6, 2, 10 },
+			{ 6, 15, 14, 9, 11, 3, 0, 8, 12, 2, 13, 7, 1, 4, 10, 5 },
+			{ 10, 2, 8, 4, 7, 6, 1, 5, 15, 11, 9, 14, 3, 12, 13, 0 } };
+
+	/** caches the result of the correctness test, once executed. */
+	private static Boolean valid;
+
+	private static String name(int size) {
+		switch (size) {
+		case 32:
+			return Registry.BLAKE2B256_HASH;
+		case 64:
+			return Registry.BLAKE2B512_HASH;
+		default:
+			if (size < 1 || size > MAX_SIZE)
+				throw new IllegalArgumentException("Invalid BLAKE2b output size");
+			return "blake2b-" + (8 * size);
+		}
+	}
+
+	/** 512-bit interim result. */
+	private long h0, h1, h2, h3, h4, h5, h6, h7;
+
+	/** The key, or <code>null</code> for an unkeyed instance. */
+	private byte[] key;
+
+	/** The message words of the block being compressed. */
+	private final long[] m = new long[16];
+
+	/** Calls the constructor with one argument using an output of 64 bytes. */
+	public Blake2b() {
+		this(MAX_SIZE);
+	}
+
+	/**
+	 * Constructs an unkeyed instance of the designated output size.
+	 *
+	 * @param size
+	 *            the output size in bytes of this instance.
+	 * @throws IllegalArgumentException
+	 *             if the designated output size is invalid.
+	 */
+	public Blake2b(int size) {
+		this(size, null);
+	}
+
+	/**
+	 * Constructs an instance of the designated output size, keyed with the
+	 * designated key: the keyed hash is then a message authentication code.
+	 *
+	 * @param size
+	 *            the output size in bytes of this instance.
+	 * @param key
+	 *            the key, or <code>null</code> for an unkeyed instance.
+	 * @throws IllegalArgumentException
+	 *             if the designated output size is invalid, or if the key is
+	 *             longer than 64 bytes.
+	 */
+	public Blake2b(int size, byte[] key) {
+		super(name(size), size, BLOCK_SIZE);
+
+		if (key != null && key.length > MAX_SIZE)
+			throw new IllegalArgumentException("BLAKE2b key too long");
+		if (key != null && key.length > 0) {
+			this.key = key.clone();
+			reset(); // the key is the first block of every message
+		}
+	}
+
+	/**
+	 * Private constructor for cloning purposes.
+	 *
+	 * @param md
+	 *            the instance to clone.
+	 */
+	private Blake2b(Blake2b md) {
+		this(md.hashSize, md.key);
+
+		this.h0 = md.h0;
+		this.h1 = md.h1;
+		this.h2 = md.h2;
+		this.h3 = md.h3;
+		this.h4 = md.h4;
+		this.h5 = md.h5;
+		this.h6 = md.h6;
+		this.h7 = md.h7;
+		this.count = md.count;
+		this.buffer = md.buffer.clone();
+	}
+
+	/**
+	 * Returns the number of bytes waiting in the buffer. A full block stays
+	 * buffered until more input arrives, as it may be the last one.
+	 */
+	private int buffered() {
+		return count == 0L ? 0 : (int) ((count - 1) & (BLOCK_SIZE - 1)) + 1;
+	}
+
+	@Override
+	public Object clone() {
+		return new Blake2b(this);
+	}
+
+	private void compress(byte[] in, int offset, boolean last) {
+		long[] m = this.m;
+		for (int i = 0; i < 16; i++, offset += 8)
+			m[i] = (in[offset] & 0xFFL) | (in[offset + 1] & 0xFFL) << 8 | (in[offset + 2] & 0xFFL) << 16
+					| (in[offset + 3] & 0xFFL) << 24 | (in[offset + 4] & 0xFFL) << 32 | (in[offset + 5] & 0xFFL) << 40
+					| (in[offset + 6] & 0xFFL) << 48 | (long) in[offset + 7] << 56;
+		long v0 = h0, v1 = h1, v2 = h2, v3 = h3, v4 = h4, v5 = h5, v6 = h6, v7 = h7;
+		long v8 = IV0, v9 = IV1, v10 = IV2, v11 = IV3;
+		long v12 = IV4 ^ count;
+		long v13 = IV5;
+		long v14 = last ? ~IV6 : IV6;
+		long v15 = IV7;
+		for (int r = 0; r < 12; r++) {
+			byte[] s = SIGMA[r % 10];
+			// columns
+			v0 += v4 + m[s[0]];
+			v12 = Long.rotateRight(v12 ^ v0, 32);
+			v8 += v12;
+			v4 = Long.rotateRight(v4 ^ v8, 24);
+			v0 += v4 + m[s[1]];
+			v12 = Long.rotateRight(v12 ^ v0, 16);
+			v8 += v12;
+			v4 = Long.rotateRight(v4 ^ v8, 63);
+			v1 += v5 + m[s[2]];
+			v13 = Long.rotateRight(v13 ^ v1, 32);
+			v9 += v13;
+			v5 = Long.rotateRight(v5 ^ v9, 24);
+			v1 += v5 + m[s[3]];
+			v13 = Long.rotateRight(v13 ^ v1, 16);
+			v9 += v13;
+			v5 = Long.rotateRight(v5 ^ v9, 63);
+			v2 += v6 + m[s[4]];
+			v14 = Long.rotateRight(v14 ^ v2, 32);
+			v10 += v14;
+			v6 = Long.rotateRight(v6 ^ v10, 24);
+			v2 += v6 + m[s[5]];
+			v14 = Long.rotateRight(v14 ^ v2, 16);
+			v10 += v14;
+			v6 = Long.rotateRight(v6 ^ v10, 63);
+			v3 += v7 + m[s[6]];
+			v15 = Long.rotateRight(v15 ^ v3, 32);
+			v11 += v15;
+			v7 = Long.rotateRight(v7 ^ v11, 24);
+			v3 += v7 + m[s[7]];
+			v15 = Long.rotateRight(v15 ^ v3, 16);
+			v11 += v15;
+			v7 = Long.rotateRight(v7 ^ v11, 63);
+			// diagonals
+			v0 += v5 + m[s[8]];
+			v15 = Long.rotateRight(v15 ^ v0, 32);
+			v10 += v15;
+			v5 = Long.rotateRight(v5 ^ v10, 24);
+			v0 += v5 + m[s[9]];
+			v15 = Long.rotateRight(v15 ^ v0, 16);
+			v10 += v15;
+			v5 = Long.rotateRight(v5 ^ v10, 63);
+			v1 += v6 + m[s[10]];
+			v12 = Long.rotateRight(v12 ^ v1, 32);
+			v11 += v12;
+			v6 = Long.rotateRight(v6 ^ v11, 24);
+			v1 += v6 + m[s[11]];
+			v12 = Long.rotateRight(v12 ^ v1, 16);
+			v11 += v12;
+			v6 = Long.rotateRight(v6 ^ v11, 63);
+			v2 += v7 + m[s[12]];
+			v13 = Long.rotateRight(v13 ^ v2, 32);
+			v8 += v13;
+			v7 = Long.rotateRight(v7 ^ v8, 24);
+			v2 += v7 + m[s[13]];
+			v13 = Long.rotateRight(v13 ^ v2, 16);
+			v8 += v13;
+			v7 = Long.rotateRight(v7 ^ v8, 63);
+			v3 += v4 + m[s[14]];
+			v14 = Long.rotateRight(v14 ^ v3, 32);
+			v9 += v14;
+			v4 = Long.rotateRight(v4 ^ v9, 24);
+			v3 += v4 + m[s[15]];
+			v14 = Long.rotateRight(v14 ^ v3, 16);
+			v9 += v14;
+			v4 = Long.rotateRight(v4 ^ v9, 63);
+		}
+		h0 ^= v0 ^ v8;
+		h1 ^= v1 ^ v9;
+		h2 ^= v2 ^ v10;
+		h3 ^= v3 ^ v11;
+		h4 ^= v4 ^ v12;
+		h5 ^= v5 ^ v13;
+		h6 ^= v6 ^ v14;
+		h7 ^= v7 ^ v15;
+	}
+
+	@Override
+	public byte[] digest() {
+		int n = buffered();
+		byte[] tail = padBuffer();
+		System.arraycopy(tail, 0, buffer, n, tail.length);
+		compress(buffer, 0, true);
+		byte[] result = getResult();
+
+		reset(); // reset this instance for future re-use
+
+		return result;
+	}
+
+	@Override
+	protected byte[] getResult() {
+		long[] h = { h0, h1, h2, h3, h4, h5, h6, h7 };
+		byte[] result = new byte[hashSize];
+		for (int i = 0; i < hashSize; i++)
+			result[i] = (byte) (h[i / 8] >>> ((i % 8) << 3));
+		return result;
+	}
+
+	/** Returns the zero bytes completing the last block. */
+	@Override
+	protected byte[] padBuffer() {
+		return new byte[BLOCK_SIZE - buffered()];
+	}
+
+	@Override
+	protected void resetContext() {
+		int keyLength = key == null ? 0 : key.length;
+		h0 = IV0 ^ (0x01010000L | (long) keyLength << 8 | hashSize);
+		h1 = IV1;
+		h2 = IV2;
+		h3 = IV3;
+		h4 = IV4;
+		h5 = IV5;
+		h6 = IV6;
+		h7 = IV7;
+		if (keyLength > 0) {
+			// the buffer was cleared by reset()
+			System.arraycopy(key, 0, buffer, 0, keyLength);
+			count = BLOCK_SIZE;
+		}
+	}
+
+	@Override
+	public boolean selfTest() {
+		if (valid == null) {
+			Blake2b md = new Blake2b();
+			md.update((byte) 0x61); // a
+			md.update((byte) 0x62); // b
+			md.update((byte) 0x63); // c
+			boolean result = DIGEST0.equals(Util.toString(md.digest()));
+			byte[] k = new byte[MAX_SIZE];
+			for (int i = 0; i < k.length; i++)
+				k[i] = (byte) i;
+			result &= DIGEST1.equals(Util.toString(new Blake2b(MAX_SIZE, k).digest()));
+			valid = Boolean.valueOf(result);
+		}
+		return valid.booleanValue();
+	}
+
+	/** Compresses a block which is not the last one. */
+	@Override
+	protected void transform(byte[] in, int offset) {
+		compress(in, offset, false);
+	}
+
+	@Override
+	public void update(byte b) {
+		int n = buffered();
+		if (n == BLOCK_SIZE) {
+			compress(buffer, 0, false);
+			n = 0;
+		}
+		buffer[n] = b;
+		count++;
+	}
+
+	@Override
+	public void update(byte[] b, int offset, int len) {
+		if (len <= 0)
+			return;
+		int n = buffered();
+		if (n == BLOCK_SIZE) {
+			compress(buffer, 0, false);
+			n = 0;
+		}
+		int partLen = BLOCK_SIZE - n;
+		if (len > partLen) {
+			System.arraycopy(b, offset, buffer, n, partLen);
+			count += partLen;
+			offset += partLen;
+			len -= partLen;
+			compress(buffer, 0, false);
+			for (; len > BLOCK_SIZE; offset += BLOCK_SIZE, len -= BLOCK_SIZE) {
+				count += BLOCK_SIZE;
+				compress(b, offset, false);
+			}
+			n = 0;
+		}
+		System.arraycopy(b, offset, buffer, n, len);
+		count += len;
+	}
+
+	@Override
+	public void update(ByteBuffer in) {
+		if (in.hasArray()) {
+			update(in.array(), in.arrayOffset() + in.position(), in.remaining());
+			in.position(in.limit());
+			return;
+		}
+		// direct or mapped: fill the block buffer straight from the input
+		while (in.hasRemaining()) {
+			int n = buffered();
+			if (n == BLOCK_SIZE) {
+				compress(buffer, 0, false);
+				n = 0;
+			}
+			int part = Math.min(BLOCK_SIZE - n, in.remaining());
+			in.get(buffer, n, part);
+			count += part;
+		}
+	}
+}
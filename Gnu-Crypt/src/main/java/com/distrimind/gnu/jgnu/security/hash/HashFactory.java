@@ -42,6 +42,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.metrics.Metrics;
 
 /**
  * A <i>Factory</i> to instantiate message digest algorithm instances.
@@ -51,19 +52,26 @@ public class HashFactory {
 	 * Return an instance of a hash algorithm given its name.
 	 *
 	 * @param name
-	 *            the name of the hash algorithm.
+	 *            the name of the hash algorithm, possibly prefixed with
+	 *            {@link Registry#TREE_HASH_PREFIX} for a {@link TreeHash} over
+	 *            that algorithm.
 	 * @return an instance of the hash algorithm, or null if none found.
 	 * @exception InternalError
 	 *                if the implementation does not pass its self- test.
 	 */
 	public static IMessageDigest getInstance(String name) {
+		long start = Metrics.start();
 		if (name == null)
 			throw new NullPointerException();
 
 		name = name.trim();
 		IMessageDigest result = null;
 
-		if (name.equalsIgnoreCase(Registry.WHIRLPOOL_HASH))
+		if (name.regionMatches(true, 0, Registry.TREE_HASH_PREFIX, 0, Registry.TREE_HASH_PREFIX.length())) {
+			IMessageDigest hash = getInstance(name.substring(Registry.TREE_HASH_PREFIX.length()));
+			if (hash != null)
+				result = new TreeHash(hash);
+		} else if (name.equalsIgnoreCase(Registry.WHIRLPOOL_HASH))
 			result = new Whirlpool();
 		else if (name.equalsIgnoreCase(Registry.RIPEMD128_HASH) || name.equalsIgnoreCase(Registry.RIPEMD_128_HASH))
 			result = new RipeMD128();
@@ -79,6 +87,24 @@ public class HashFactory {
 			result = new Sha384();
 		else if (name.equalsIgnoreCase(Registry.SHA512_HASH) || name.equalsIgnoreCase(Registry.SHA512_HASH2))
 			result = new Sha512();
+		else if (name.equalsIgnoreCase(Registry.SHA3_224_HASH))
+			result = new Sha3(Sha3.SHA3_224_BIT);
+		else if (name.equalsIgnoreCase(Registry.SHA3_256_HASH))
+			result = new Sha3(Sha3.SHA3_256_BIT);
+		else if (name.equalsIgnoreCase(Registry.SHA3_384_HASH))
+			result = new Sha3(Sha3.SHA3_384_BIT);
+		else if (name.equalsIgnoreCase(Registry.SHA3_512_HASH))
+			result = new Sha3(Sha3.SHA3_512_BIT);
+		else if (name.equalsIgnoreCase(Registry.SHAKE128_HASH))
+			result = new Shake(Shake.SHAKE_128);
+		else if (name.equalsIgnoreCase(Registry.SHAKE256_HASH))
+			result = new Shake(Shake.SHAKE_256);
+		else if (name.equalsIgnoreCase(Registry.BLAKE2B256_HASH))
+			result = new Blake2b(32);
+		else if (name.equalsIgnoreCase(Registry.BLAKE2B512_HASH))
+			result = new Blake2b(64);
+		else if (name.equalsIgnoreCase(Registry.BLAKE2S256_HASH))
+			result = new Blake2s(32);
 		else if (name.equalsIgnoreCase(Registry.TIGER_HASH))
 			result = new Tiger();
 		else if (name.equalsIgnoreCase(Registry.HAVAL_HASH))
@@ -92,8 +118,14 @@ public class HashFactory {
 		else if (name.equalsIgnoreCase(Registry.HAVAL_HASH))
 			result = new Haval();
 
-		if (result != null && !result.selfTest())
-			throw new InternalError(result.name());
+		if (result != null) {
+			long tested = Metrics.start();
+			boolean passed = result.selfTest();
+			Metrics.selfTest(Metrics.DIGEST, result.name(), tested, passed);
+			if (!passed)
+				throw new InternalError(result.name());
+		}
+		Metrics.lookup(Metrics.DIGEST, name, start);
 
 		return result;
 	}
@@ -113,6 +145,15 @@ public class HashFactory {
 		hs.add(Registry.SHA256_HASH);
 		hs.add(Registry.SHA384_HASH);
 		hs.add(Registry.SHA512_HASH);
+		hs.add(Registry.SHA3_224_HASH);
+		hs.add(Registry.SHA3_256_HASH);
+		hs.add(Registry.SHA3_384_HASH);
+		hs.add(Registry.SHA3_512_HASH);
+		hs.add(Registry.SHAKE128_HASH);
+		hs.add(Registry.SHAKE256_HASH);
+		hs.add(Registry.BLAKE2B256_HASH);
+		hs.add(Registry.BLAKE2B512_HASH);
+		hs.add(Registry.BLAKE2S256_HASH);
 		hs.add(Registry.TIGER_HASH);
 		hs.add(Registry.HAVAL_HASH);
 		hs.add(Registry.MD5_HASH);
@@ -37,6 +37,8 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnu.security.hash;
 
+import java.nio.ByteBuffer;
+
 /**
  * The basic visible methods of any hash algorithm.
  * <p>
@@ -126,4 +128,14 @@ public interface IMessageDigest extends Cloneable {
 	 *            number of bytes, in input block, to consider.
 	 */
 	void update(byte[] in, int offset, int length);
+
+	/**
+	 * Continues a message digest operation with the remaining bytes of a buffer,
+	 * which are read straight out of direct and mapped buffers. The buffer's
+	 * position is advanced to its limit.
+	 *
+	 * @param in
+	 *            the input buffer.
+	 */
+	void update(ByteBuffer in);
 }
@@ -0,0 +1,342 @@
+/* Keccak.java -- the Keccak-f[1600] sponge
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnu.security.hash;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The Keccak sponge over the Keccak-f[1600] permutation, common to the SHA-3
+ * hash functions and to the SHAKE extendable-output functions of FIPS 202.
+ * <p>
+ * The <i>blockSize</i> of the instance is the rate of the sponge. Input blocks
+ * are absorbed as 64-bit little-endian lanes, and the permutation runs on
+ * local variables, without allocating.
+ * <p>
+ * References:
+ * <ol>
+ * <li><a href="http://dx.doi.org/10.6028/NIST.FIPS.202">SHA-3 Standard:
+ * Permutation-Based Hash and Extendable-Output Functions</a>, FIPS PUB 202.</li>
+ * <li><a href="http://keccak.team/keccak.html">The Keccak sponge function
+ * family</a>.</li>
+ * </ol>
+ */
+public abstract class Keccak extends BaseHash {
+	private static final long[] RC = { 0x0000000000000001L, 0x0000000000008082L, 0x800000000000808aL,
+			0x8000000080008000L, 0x000000000000808bL, 0x0000000080000001L, 0x8000000080008081L, 0x8000000000008009L,
+			0x000000000000008aL, 0x0000000000000088L, 0x0000000080008009L, 0x000000008000000aL, 0x000000008000808bL,
+			0x800000000000008bL, 0x8000000000008089L, 0x8000000000008003L, 0x8000000000008002L, 0x8000000000000080L,
+			0x000000000000800aL, 0x800000008000000aL, 0x8000000080008081L, 0x8000000000008080L, 0x0000000080000001L,
+			0x8000000080008008L };
+
+	private static final int ROUNDS = 24;
+
+	/**
+	 * Offset in the rate of the next byte to squeeze, or -1 while the instance
+	 * is absorbing.
+	 */
+	private int squeezed;
+
+	/**
+	 * The 25 lanes of the state. Allocated by the first call to
+	 * {@link #resetContext()}, which the super-class constructor makes.
+	 */
+	private long[] state;
+
+	/** The domain separation bits, followed by the first bit of the padding. */
+	private final byte suffix;
+
+	/**
+	 * Trivial constructor for use by concrete subclasses.
+	 *
+	 * @param name
+	 *            the canonical name of this instance.
+	 * @param hashSize
+	 *            the output size in bytes.
+	 * @param rate
+	 *            the rate of the sponge in bytes, a multiple of 8 smaller than
+	 *            200.
+	 * @param suffix
+	 *            the domain separation bits, followed by a 1 bit, as the first
+	 *            byte of the padding.
+	 */
+	protected Keccak(String name, int hashSize, int rate, byte suffix) {
+		super(name, hashSize, rate);
+
+		this.suffix = suffix;
+	}
+
+	/**
+	 * Copy constructor for cloning purposes.
+	 *
+	 * @param md
+	 *            the instance to clone.
+	 */
+	protected Keccak(Keccak md) {
+		this(md.name, md.hashSize, md.blockSize, md.suffix);
+
+		this.state = md.state.clone();
+		this.squeezed = md.squeezed;
+		this.count = md.count;
+		this.buffer = md.buffer.clone();
+	}
+
+	private void checkAbsorbing() {
+		if (squeezed >= 0)
+			throw new IllegalStateException("output already squeezed");
+	}
+
+	/**
+	 * Returns the first <i>hashSize</i> bytes of the state, which is enough for
+	 * any output not longer than the rate.
+	 */
+	@Override
+	protected byte[] getResult() {
+		byte[] result = new byte[hashSize];
+		for (int i = 0; i < hashSize; i++)
+			result[i] = (byte) (state[i >>> 3] >>> ((i & 7) << 3));
+		return result;
+	}
+
+	/**
+	 * Returns the pad10*1 padding of the last block, preceded by the domain
+	 * separation bits.
+	 */
+	@Override
+	protected byte[] padBuffer() {
+		int n = (int) (count % blockSize);
+		byte[] result = new byte[blockSize - n];
+		result[0] = suffix;
+		result[result.length - 1] |= (byte) 0x80;
+		return result;
+	}
+
+	/** Applies the 24 rounds of Keccak-f[1600] to the state. */
+	private void permute() {
+		long[] state = this.state;
+		long a00 = state[0], a01 = state[1], a02 = state[2], a03 = state[3], a04 = state[4];
+		long a05 = state[5], a06 = state[6], a07 = state[7], a08 = state[8], a09 = state[9];
+		long a10 = state[10], a11 = state[11], a12 = state[12], a13 = state[13], a14 = state[14];
+		long a15 = state[15], a16 = state[16], a17 = state[17], a18 = state[18], a19 = state[19];
+		long a20 = state[20], a21 = state[21], a22 = state[22], a23 = state[23], a24 = state[24];
+		long c0, c1, c2, c3, c4, d0, d1, d2, d3, d4;
+		long b00, b01, b02, b03, b04, b05, b06, b07, b08, b09, b10, b11, b12, b13, b14, b15, b16, b17, b18, b19,
+				b20, b21, b22, b23, b24;
+		for (int round = 0; round < ROUNDS; round++) {
+			// theta
+			c0 = a00 ^ a05 ^ a10 ^ a15 ^ a20;
+			c1 = a01 ^ a06 ^ a11 ^ a16 ^ a21;
+			c2 = a02 ^ a07 ^ a12 ^ a17 ^ a22;
+			c3 = a03 ^ a08 ^ a13 ^ a18 ^ a23;
+			c4 = a04 ^ a09 ^ a14 ^ a19 ^ a24;
+			d0 = c4 ^ Long.rotateLeft(c1, 1);
+			d1 = c0 ^ Long.rotateLeft(c2, 1);
+			d2 = c1 ^ Long.rotateLeft(c3, 1);
+			d3 = c2 ^ Long.rotateLeft(c4, 1);
+			d4 = c3 ^ Long.rotateLeft(c0, 1);
+			a00 ^= d0;
+			a01 ^= d1;
+			a02 ^= d2;
+			a03 ^= d3;
+			a04 ^= d4;
+			a05 ^= d0;
+			a06 ^= d1;
+			a07 ^= d2;
+			a08 ^= d3;
+			a09 ^= d4;
+			a10 ^= d0;
+			a11 ^= d1;
+			a12 ^= d2;
+			a13 ^= d3;
+			a14 ^= d4;
+			a15 ^= d0;
+			a16 ^= d1;
+			a17 ^= d2;
+			a18 ^= d3;
+			a19 ^= d4;
+			a20 ^= d0;
+			a21 ^= d1;
+			a22 ^= d2;
+			a23 ^= d3;
+			a24 ^= d4;
+			// rho and pi
+			b00 = a00;
+			b10 = Long.rotateLeft(a01, 1);
+			b20 = Long.rotateLeft(a02, 62);
+			b05 = Long.rotateLeft(a03, 28);
+			b15 = Long.rotateLeft(a04, 27);
+			b16 = Long.rotateLeft(a05, 36);
+			b01 = Long.rotateLeft(a06, 44);
+			b11 = Long.rotateLeft(a07, 6);
+			b21 = Long.rotateLeft(a08, 55);
+			b06 = Long.rotateLeft(a09, 20);
+			b07 = Long.rotateLeft(a10, 3);
+			b17 = Long.rotateLeft(a11, 10);
+			b02 = Long.rotateLeft(a12, 43);
+			b12 = Long.rotateLeft(a13, 25);
+			b22 = Long.rotateLeft(a14, 39);
+			b23 = Long.rotateLeft(a15, 41);
+			b08 = Long.rotateLeft(a16, 45);
+			b18 = Long.rotateLeft(a17, 15);
+			b03 = Long.rotateLeft(a18, 21);
+			b13 = Long.rotateLeft(a19, 8);
+			b14 = Long.rotateLeft(a20, 18);
+			b24 = Long.rotateLeft(a21, 2);
+			b09 = Long.rotateLeft(a22, 61);
+			b19 = Long.rotateLeft(a23, 56);
+			b04 = Long.rotateLeft(a24, 14);
+			// chi and iota
+			a00 = b00 ^ (~b01 & b02);
+			a01 = b01 ^ (~b02 & b03);
+			a02 = b02 ^ (~b03 & b04);
+			a03 = b03 ^ (~b04 & b00);
+			a04 = b04 ^ (~b00 & b01);
+			a05 = b05 ^ (~b06 & b07);
+			a06 = b06 ^ (~b07 & b08);
+			a07 = b07 ^ (~b08 & b09);
+			a08 = b08 ^ (~b09 & b05);
+			a09 = b09 ^ (~b05 & b06);
+			a10 = b10 ^ (~b11 & b12);
+			a11 = b11 ^ (~b12 & b13);
+			a12 = b12 ^ (~b13 & b14);
+			a13 = b13 ^ (~b14 & b10);
+			a14 = b14 ^ (~b10 & b11);
+			a15 = b15 ^ (~b16 & b17);
+			a16 = b16 ^ (~b17 & b18);
+			a17 = b17 ^ (~b18 & b19);
+			a18 = b18 ^ (~b19 & b15);
+			a19 = b19 ^ (~b15 & b16);
+			a20 = b20 ^ (~b21 & b22);
+			a21 = b21 ^ (~b22 & b23);
+			a22 = b22 ^ (~b23 & b24);
+			a23 = b23 ^ (~b24 & b20);
+			a24 = b24 ^ (~b20 & b21);
+			a00 ^= RC[round];
+		}
+		state[0] = a00;
+		state[1] = a01;
+		state[2] = a02;
+		state[3] = a03;
+		state[4] = a04;
+		state[5] = a05;
+		state[6] = a06;
+		state[7] = a07;
+		state[8] = a08;
+		state[9] = a09;
+		state[10] = a10;
+		state[11] = a11;
+		state[12] = a12;
+		state[13] = a13;
+		state[14] = a14;
+		state[15] = a15;
+		state[16] = a16;
+		state[17] = a17;
+		state[18] = a18;
+		state[19] = a19;
+		state[20] = a20;
+		state[21] = a21;
+		state[22] = a22;
+		state[23] = a23;
+		state[24] = a24;
+	}
+
+	@Override
+	protected void resetContext() {
+		if (state == null)
+			state = new long[25];
+		else
+			Arrays.fill(state, 0L);
+		squeezed = -1;
+	}
+
+	/**
+	 * Pads the input, then writes the next bytes of the output of the sponge.
+	 * Successive calls return successive parts of the same output, and no more
+	 * input is accepted until the instance is reset.
+	 *
+	 * @param out
+	 *            the destination.
+	 * @param offset
+	 *            the offset of the first byte to write in <code>out</code>.
+	 * @param length
+	 *            the number of bytes to write.
+	 */
+	protected void squeeze(byte[] out, int offset, int length) {
+		if (squeezed < 0) {
+			byte[] tail = padBuffer();
+			super.update(tail, 0, tail.length);
+			squeezed = 0;
+		}
+		for (int end = offset + length; offset < end; offset++) {
+			if (squeezed == blockSize) {
+				permute();
+				squeezed = 0;
+			}
+			out[offset] = (byte) (state[squeezed >>> 3] >>> ((squeezed & 7) << 3));
+			squeezed++;
+		}
+	}
+
+	@Override
+	protected void transform(byte[] in, int offset) {
+		long[] state = this.state;
+		for (int i = 0, lanes = blockSize >>> 3; i < lanes; i++, offset += 8)
+			state[i] ^= (in[offset] & 0xFFL) | (in[offset + 1] & 0xFFL) << 8 | (in[offset + 2] & 0xFFL) << 16
+					| (in[offset + 3] & 0xFFL) << 24 | (in[offset + 4] & 0xFFL) << 32 | (in[offset + 5] & 0xFFL) << 40
+					| (in[offset + 6] & 0xFFL) << 48 | (long) in[offset + 7] << 56;
+		permute();
+	}
+
+	@Override
+	public void update(byte b) {
+		checkAbsorbing();
+		super.update(b);
+	}
+
+	@Override
+	public void update(byte[] b, int offset, int len) {
+		checkAbsorbing();
+		super.update(b, offset, len);
+	}
+
+	@Override
+	public void update(ByteBuffer in) {
+		checkAbsorbing();
+		super.update(in);
+	}
+}
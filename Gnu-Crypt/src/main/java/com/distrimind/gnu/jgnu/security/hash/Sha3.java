@@ -0,0 +1,142 @@
+/* Sha3.java -- the SHA-3 hash functions
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnu.security.hash;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.util.Util;
+
+/**
+ * Implementation of the SHA3-224, SHA3-256, SHA3-384 and SHA3-512 hash
+ * functions of FIPS 202, over the {@link Keccak} sponge.
+ * <p>
+ * References:
+ * <ol>
+ * <li><a href="http://dx.doi.org/10.6028/NIST.FIPS.202">SHA-3 Standard:
+ * Permutation-Based Hash and Extendable-Output Functions</a>, FIPS PUB 202.</li>
+ * </ol>
+ */
+public class Sha3 extends Keccak {
+	public static final int SHA3_224_BIT = 28;
+
+	public static final int SHA3_256_BIT = 32;
+
+	public static final int SHA3_384_BIT = 48;
+
+	public static final int SHA3_512_BIT = 64;
+
+	private static final String DIGEST224 = "E642824C3F8CF24AD09234EE7D3C766FC9A3A5168D0C94AD73B46FDF";
+
+	private static final String DIGEST256 = "3A985DA74FE225B2045C172D6BD390BD855F086E3E9D525B46BFE24511431532";
+
+	private static final String DIGEST384 = "EC01498288516FC926459F58E2C6AD8DF9B473CB0FC08C2596DA7CF0E49BE4B2"
+			+ "98D88CEA927AC7F539F1EDF228376D25";
+
+	private static final String DIGEST512 = "B751850B1A57168A5693CD924B6B096E08F621827444F70D884F5D0240D2712E"
+			+ "10E116E9192AF3C91A7EC57647E3934057340B4CF408D5A56592F8274EEC53F0";
+
+	/** caches the result of the correctness test, once executed. */
+	private static Boolean valid;
+
+	private static String name(int size) {
+		switch (size) {
+		case SHA3_224_BIT:
+			return Registry.SHA3_224_HASH;
+		case SHA3_256_BIT:
+			return Registry.SHA3_256_HASH;
+		case SHA3_384_BIT:
+			return Registry.SHA3_384_HASH;
+		case SHA3_512_BIT:
+			return Registry.SHA3_512_HASH;
+		default:
+			throw new IllegalArgumentException("Invalid SHA-3 output size");
+		}
+	}
+
+	private static boolean test(int size, String expected) {
+		Sha3 md = new Sha3(size);
+		md.update((byte) 0x61); // a
+		md.update((byte) 0x62); // b
+		md.update((byte) 0x63); // c
+		return expected.equals(Util.toString(md.digest()));
+	}
+
+	/** Calls the constructor with one argument using {@link #SHA3_256_BIT}. */
+	public Sha3() {
+		this(SHA3_256_BIT);
+	}
+
+	/**
+	 * Constructs a SHA-3 instance of the designated output size. The rate of the
+	 * sponge is 200 bytes minus twice that size.
+	 *
+	 * @param size
+	 *            the output size in bytes of this instance.
+	 * @throws IllegalArgumentException
+	 *             if the designated output size is invalid.
+	 * @see #SHA3_224_BIT
+	 * @see #SHA3_256_BIT
+	 * @see #SHA3_384_BIT
+	 * @see #SHA3_512_BIT
+	 */
+	public Sha3(int size) {
+		super(name(size), size, 200 - 2 * size, (byte) 0x06);
+	}
+
+	/**
+	 * Private constructor for cloning purposes.
+	 *
+	 * @param md
+	 *            the instance to clone.
+	 */
+	private Sha3(Sha3 md) {
+		super(md);
+	}
+
+	@Override
+	public Object clone() {
+		return new Sha3(this);
+	}
+
+	@Override
+	public boolean selfTest() {
+		if (valid == null)
+			valid = Boolean.valueOf(test(SHA3_224_BIT, DIGEST224) && test(SHA3_256_BIT, DIGEST256)
+					&& test(SHA3_384_BIT, DIGEST384) && test(SHA3_512_BIT, DIGEST512));
+		return valid.booleanValue();
+	}
+}
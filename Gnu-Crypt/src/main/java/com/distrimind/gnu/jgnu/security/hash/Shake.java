@@ -0,0 +1,182 @@
+/* Shake.java -- the SHAKE extendable-output functions
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnu.security.hash;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.util.Util;
+
+/**
+ * Implementation of the SHAKE128 and SHAKE256 extendable-output functions of
+ * FIPS 202, over the {@link Keccak} sponge.
+ * <p>
+ * As an {@link IMessageDigest}, an instance returns outputs of a fixed
+ * <i>hashSize</i>, by default twice its security strength. Outputs of any
+ * length are read with {@link #squeeze(byte[], int, int)}, for instance to
+ * derive keys without iterating a MAC.
+ * <p>
+ * References:
+ * <ol>
+ * <li><a href="http://dx.doi.org/10.6028/NIST.FIPS.202">SHA-3 Standard:
+ * Permutation-Based Hash and Extendable-Output Functions</a>, FIPS PUB 202.</li>
+ * </ol>
+ */
+public class Shake extends Keccak {
+	public static final int SHAKE_128 = 128;
+
+	public static final int SHAKE_256 = 256;
+
+	private static final String DIGEST128 = "7F9C2BA4E88F827D616045507605853ED73B8093F6EFBC88EB1A6EACFA66EF26";
+
+	private static final String DIGEST256 = "46B9DD2B0BA88D13233B3FEB743EEB243FCD52EA62B81B82B50C27646ED5762F"
+			+ "D75DC4DDD8C0F200CB05019D67B592F6FC821C49479AB48640292EACB3B7C4BE";
+
+	/** caches the result of the correctness test, once executed. */
+	private static Boolean valid;
+
+	private static String name(int strength) {
+		switch (strength) {
+		case SHAKE_128:
+			return Registry.SHAKE128_HASH;
+		case SHAKE_256:
+			return Registry.SHAKE256_HASH;
+		default:
+			throw new IllegalArgumentException("Invalid SHAKE security strength");
+		}
+	}
+
+	private static boolean test(int strength, String expected) {
+		// the empty message, squeezed in two parts across the output
+		Shake md = new Shake(strength);
+		byte[] out = new byte[md.hashSize()];
+		md.squeeze(out, 0, 5);
+		md.squeeze(out, 5, out.length - 5);
+		return expected.equals(Util.toString(out));
+	}
+
+	/** Calls the constructor with two arguments using {@link #SHAKE_128}. */
+	public Shake() {
+		this(SHAKE_128);
+	}
+
+	/**
+	 * Constructs a SHAKE instance of the designated security strength, with an
+	 * output of twice that strength.
+	 *
+	 * @param strength
+	 *            the security strength in bits.
+	 * @throws IllegalArgumentException
+	 *             if the designated strength is invalid.
+	 * @see #SHAKE_128
+	 * @see #SHAKE_256
+	 */
+	public Shake(int strength) {
+		this(strength, strength / 4);
+	}
+
+	/**
+	 * Constructs a SHAKE instance of the designated security strength and output
+	 * size.
+	 *
+	 * @param strength
+	 *            the security strength in bits.
+	 * @param size
+	 *            the size in bytes of the output of {@link #digest()}.
+	 * @throws IllegalArgumentException
+	 *             if the designated strength is invalid, or if the size is not
+	 *             positive.
+	 * @see #SHAKE_128
+	 * @see #SHAKE_256
+	 */
+	public Shake(int strength, int size) {
+		super(name(strength), size, 200 - strength / 4, (byte) 0x1F);
+
+		if (size <= 0)
+			throw new IllegalArgumentException("Invalid SHAKE output size");
+	}
+
+	/**
+	 * Private constructor for cloning purposes.
+	 *
+	 * @param md
+	 *            the instance to clone.
+	 */
+	private Shake(Shake md) {
+		super(md);
+	}
+
+	@Override
+	public Object clone() {
+		return new Shake(this);
+	}
+
+	@Override
+	public byte[] digest() {
+		byte[] result = new byte[hashSize];
+		squeeze(result, 0, hashSize);
+		reset();
+		return result;
+	}
+
+	@Override
+	public boolean selfTest() {
+		if (valid == null)
+			valid = Boolean.valueOf(test(SHAKE_128, DIGEST128) && test(SHAKE_256, DIGEST256));
+		return valid.booleanValue();
+	}
+
+	/**
+	 * Writes the next bytes of the output. The first call completes the input;
+	 * no more input is accepted until {@link #digest()} or {@link #reset()} is
+	 * called.
+	 *
+	 * @param out
+	 *            the destination.
+	 * @param offset
+	 *            the offset of the first byte to write in <code>out</code>.
+	 * @param length
+	 *            the number of bytes to write.
+	 * @throws IndexOutOfBoundsException
+	 *             if the destination is too short.
+	 */
+	@Override
+	public void squeeze(byte[] out, int offset, int length) {
+		if (offset < 0 || length < 0 || out.length - offset < length)
+			throw new IndexOutOfBoundsException();
+		super.squeeze(out, offset, length);
+	}
+}
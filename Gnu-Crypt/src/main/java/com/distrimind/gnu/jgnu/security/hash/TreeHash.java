@@ -0,0 +1,433 @@
+/* TreeHash.java -- parallel Merkle tree-hashing construction
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnu.security.hash;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+
+/**
+ * A tree-hashing construction over any {@link IMessageDigest}, whose chunks
+ * are hashed in parallel.
+ * <p>
+ * The input is split into chunks of a fixed size, the last one possibly
+ * shorter; an empty input is a single empty chunk. Each chunk is hashed with
+ * the underlying algorithm, prefixed with the byte <code>0x00</code>, into a
+ * leaf; the leaves are combined in a Merkle tree whose nodes are the hash of
+ * the byte <code>0x01</code> followed by the values of their two children,
+ * the left subtree covering the largest power of two of leaves strictly less
+ * than the total, as in RFC 6962. The digest is the root of the tree.
+ * <p>
+ * The digest depends on the chunk size, and is never equal to the digest of
+ * the underlying algorithm, even for inputs shorter than a chunk; instances
+ * are named after the underlying algorithm with the
+ * {@link Registry#TREE_HASH_PREFIX} prefix.
+ * <p>
+ * Complete chunks received through a single update are hashed in parallel on a
+ * {@link ForkJoinPool}; an update returns once its chunks are hashed, so that
+ * the caller may reuse its buffer. Large files are best hashed with
+ * {@link #update(FileChannel, long, long)}, which maps them in windows.
+ * <p>
+ * The leaves computed by {@link #digestLeaves()} allow to verify later any
+ * range of the input, without hashing the rest of it, with
+ * {@link #verifyRange(FileChannel, long, long, byte[][], byte[])}.
+ */
+public class TreeHash implements IMessageDigest {
+	/** Hashes the leaves of a range of complete chunks. */
+	private static final class LeafTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final TreeHash owner;
+
+		private final ByteBuffer src;
+
+		private final int from;
+
+		private final int to;
+
+		private final byte[][] out;
+
+		LeafTask(TreeHash owner, ByteBuffer src, int from, int to, byte[][] out) {
+			this.owner = owner;
+			this.src = src;
+			this.from = from;
+			this.to = to;
+			this.out = out;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				ByteBuffer chunk = src.duplicate();
+				int start = src.position() + from * owner.chunkSize;
+				chunk.position(start);
+				chunk.limit(start + owner.chunkSize);
+				out[from] = owner.leaf(chunk);
+			} else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new LeafTask(owner, src, from, mid, out), new LeafTask(owner, src, mid, to, out));
+			}
+		}
+	}
+
+	/** The default chunk size: 1 MiB. */
+	public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+	private static final byte LEAF = 0x00;
+
+	private static final byte NODE = 0x01;
+
+	/** The number of chunks mapped at a time from a file. */
+	private static final int WINDOW_CHUNKS = 64;
+
+	/** The underlying hash, always reset; cloned for every leaf and node. */
+	private final IMessageDigest hash;
+
+	private final int chunkSize;
+
+	private final ForkJoinPool pool;
+
+	/** The incomplete chunk, allocated on first use. */
+	private byte[] chunk;
+
+	/** The number of bytes in {@link #chunk}. */
+	private int chunkLen;
+
+	/** The leaves of the complete chunks hashed so far. */
+	private List<byte[]> leaves = new ArrayList<>();
+
+	/**
+	 * Creates a tree hash over the designated algorithm, with the default chunk
+	 * size and the common fork/join pool.
+	 *
+	 * @param hash
+	 *            the underlying algorithm; the instance is reset and owned by
+	 *            the new tree hash.
+	 */
+	public TreeHash(IMessageDigest hash) {
+		this(hash, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a tree hash over the designated algorithm.
+	 *
+	 * @param hash
+	 *            the underlying algorithm; the instance is reset and owned by
+	 *            the new tree hash.
+	 * @param chunkSize
+	 *            the size of the chunks, in bytes.
+	 * @param pool
+	 *            the pool hashing the chunks.
+	 * @throws IllegalArgumentException
+	 *             if <code>chunkSize</code> is not positive.
+	 */
+	public TreeHash(IMessageDigest hash, int chunkSize, ForkJoinPool pool) {
+		super();
+
+		if (chunkSize <= 0)
+			throw new IllegalArgumentException("chunkSize");
+		if (pool == null)
+			throw new NullPointerException();
+		hash.reset();
+		this.hash = hash;
+		this.chunkSize = chunkSize;
+		this.pool = pool;
+	}
+
+	@Override
+	public int blockSize() {
+		return hash.blockSize();
+	}
+
+	@Override
+	public Object clone() {
+		TreeHash result = new TreeHash((IMessageDigest) hash.clone(), chunkSize, pool);
+		if (chunk != null)
+			result.chunk = chunk.clone();
+		result.chunkLen = chunkLen;
+		result.leaves = new ArrayList<>(leaves);
+		return result;
+	}
+
+	@Override
+	public byte[] digest() {
+		finish();
+		byte[] result = node(leaves, 0, leaves.size());
+		reset();
+		return result;
+	}
+
+	/**
+	 * Completes the computation like {@link #digest()}, but returns the leaves
+	 * of the tree instead of its root, for later use by
+	 * {@link #verifyRange(FileChannel, long, long, byte[][], byte[])}. The root
+	 * is obtained with {@link #root(byte[][])}.
+	 *
+	 * @return the leaves, one per chunk of the input.
+	 */
+	public byte[][] digestLeaves() {
+		finish();
+		byte[][] result = leaves.toArray(new byte[leaves.size()][]);
+		reset();
+		return result;
+	}
+
+	/** Hashes the incomplete chunk, or the empty input, into a last leaf. */
+	private void finish() {
+		if (chunkLen > 0 || leaves.isEmpty())
+			leaves.add(leaf(ByteBuffer.wrap(chunk == null ? new byte[0] : chunk, 0, chunkLen)));
+		chunkLen = 0;
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	@Override
+	public int hashSize() {
+		return hash.hashSize();
+	}
+
+	/**
+	 * Hashes <code>count</code> complete chunks from the position of
+	 * <code>src</code>, and consumes them.
+	 */
+	private void hashChunks(ByteBuffer src, int count) {
+		byte[][] out = new byte[count][];
+		if (count == 1) {
+			ByteBuffer first = src.duplicate();
+			first.limit(src.position() + chunkSize);
+			out[0] = leaf(first);
+		} else
+			pool.invoke(new LeafTask(this, src, 0, count, out));
+		leaves.addAll(Arrays.asList(out));
+		src.position(src.position() + count * chunkSize);
+	}
+
+	private byte[] leaf(ByteBuffer data) {
+		IMessageDigest md = (IMessageDigest) hash.clone();
+		md.update(LEAF);
+		md.update(data);
+		return md.digest();
+	}
+
+	@Override
+	public String name() {
+		return Registry.TREE_HASH_PREFIX + hash.name();
+	}
+
+	private byte[] node(List<byte[]> l, int from, int to) {
+		if (to - from == 1)
+			return l.get(from);
+		int k = Integer.highestOneBit(to - from - 1);
+		byte[] left = node(l, from, from + k);
+		byte[] right = node(l, from + k, to);
+		IMessageDigest md = (IMessageDigest) hash.clone();
+		md.update(NODE);
+		md.update(left, 0, left.length);
+		md.update(right, 0, right.length);
+		return md.digest();
+	}
+
+	private byte[] nodeOf(byte[] left, byte[] right) {
+		return node(Arrays.asList(left, right), 0, 2);
+	}
+
+	@Override
+	public void reset() {
+		leaves = new ArrayList<>();
+		chunkLen = 0;
+	}
+
+	/**
+	 * Returns the root of the tree built over the designated leaves, that is the
+	 * digest of the input they were computed from.
+	 *
+	 * @param leaves
+	 *            the leaves, as returned by {@link #digestLeaves()}.
+	 * @return the root of the tree.
+	 * @throws IllegalArgumentException
+	 *             if <code>leaves</code> is empty.
+	 */
+	public byte[] root(byte[][] leaves) {
+		if (leaves.length == 0)
+			throw new IllegalArgumentException("leaves");
+		return node(Arrays.asList(leaves), 0, leaves.length);
+	}
+
+	@Override
+	public boolean selfTest() {
+		if (!hash.selfTest())
+			return false;
+		int cs = 64;
+		byte[] data = new byte[3 * cs + 8];
+		for (int i = 0; i < data.length; i++)
+			data[i] = (byte) i;
+		byte[][] l = new byte[4][];
+		for (int i = 0; i < 4; i++)
+			l[i] = leaf(ByteBuffer.wrap(data, i * cs, Math.min(cs, data.length - i * cs)));
+		byte[] expected = nodeOf(nodeOf(l[0], l[1]), nodeOf(l[2], l[3]));
+
+		TreeHash t = new TreeHash((IMessageDigest) hash.clone(), cs, pool);
+		t.update(data, 0, data.length);
+		if (!Arrays.equals(expected, t.digest()))
+			return false;
+		for (int i = 0; i < data.length; i++)
+			t.update(data[i]);
+		if (!Arrays.equals(expected, t.digest()))
+			return false;
+		return Arrays.equals(leaf(ByteBuffer.wrap(new byte[0])), t.digest());
+	}
+
+	@Override
+	public void update(byte b) {
+		if (chunk == null)
+			chunk = new byte[chunkSize];
+		chunk[chunkLen++] = b;
+		if (chunkLen == chunkSize) {
+			leaves.add(leaf(ByteBuffer.wrap(chunk)));
+			chunkLen = 0;
+		}
+	}
+
+	@Override
+	public void update(byte[] in) {
+		update(in, 0, in.length);
+	}
+
+	@Override
+	public void update(byte[] in, int offset, int length) {
+		update(ByteBuffer.wrap(in, offset, length));
+	}
+
+	@Override
+	public void update(ByteBuffer in) {
+		if (chunkLen > 0) {
+			int n = Math.min(in.remaining(), chunkSize - chunkLen);
+			in.get(chunk, chunkLen, n);
+			chunkLen += n;
+			if (chunkLen < chunkSize)
+				return;
+			leaves.add(leaf(ByteBuffer.wrap(chunk)));
+			chunkLen = 0;
+		}
+		int count = in.remaining() / chunkSize;
+		if (count > 0)
+			hashChunks(in, count);
+		if (in.hasRemaining()) {
+			if (chunk == null)
+				chunk = new byte[chunkSize];
+			chunkLen = in.remaining();
+			in.get(chunk, 0, chunkLen);
+		}
+	}
+
+	/**
+	 * Continues the computation with a region of a file, mapped in windows of
+	 * {@value #WINDOW_CHUNKS} chunks whose chunks are hashed in parallel.
+	 *
+	 * @param channel
+	 *            the file.
+	 * @param position
+	 *            the position of the region in the file.
+	 * @param length
+	 *            the length of the region.
+	 * @throws IOException
+	 *             if the file cannot be mapped.
+	 */
+	public void update(FileChannel channel, long position, long length) throws IOException {
+		long window = (long) chunkSize * Math.max(1, Math.min(WINDOW_CHUNKS, Integer.MAX_VALUE / chunkSize));
+		long end = position + length;
+		while (position < end) {
+			long size = Math.min(window, end - position);
+			update(channel.map(FileChannel.MapMode.READ_ONLY, position, size));
+			position += size;
+		}
+	}
+
+	/**
+	 * Verifies a range of a file against the leaves recorded when it was hashed:
+	 * the leaves must match the expected root, and the chunks covering the range
+	 * must match their leaves. Only these chunks are read.
+	 *
+	 * @param channel
+	 *            the file.
+	 * @param position
+	 *            the position of the range in the file.
+	 * @param length
+	 *            the length of the range.
+	 * @param leaves
+	 *            the leaves of the whole file, as returned by
+	 *            {@link #digestLeaves()}.
+	 * @param root
+	 *            the expected digest of the whole file.
+	 * @return <code>true</code> if the range is intact.
+	 * @throws IOException
+	 *             if the file cannot be read.
+	 */
+	public boolean verifyRange(FileChannel channel, long position, long length, byte[][] leaves, byte[] root)
+			throws IOException {
+		if (position < 0 || length < 0 || leaves.length == 0 || !Arrays.equals(root(leaves), root))
+			return false;
+		if (length == 0)
+			return true;
+		long first = position / chunkSize;
+		long last = (position + length - 1) / chunkSize;
+		if (last >= leaves.length)
+			return false;
+		long start = first * chunkSize;
+		long end = Math.min((last + 1) * chunkSize, channel.size());
+		TreeHash t = new TreeHash((IMessageDigest) hash.clone(), chunkSize, pool);
+		if (end > start)
+			t.update(channel, start, end - start);
+		byte[][] actual = t.digestLeaves();
+		if (actual.length != last - first + 1)
+			return false;
+		boolean result = true;
+		for (int i = 0; i < actual.length; i++)
+			result &= Arrays.equals(actual[i], leaves[(int) first + i]);
+		return result;
+	}
+}
@@ -37,8 +37,11 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnu.security.jce.hash;
 
+import java.nio.ByteBuffer;
+
 import com.distrimind.gnu.jgnu.security.hash.HashFactory;
 import com.distrimind.gnu.jgnu.security.hash.IMessageDigest;
+import com.distrimind.gnu.jgnu.security.metrics.Metrics;
 import com.distrimind.gnu.vm.jgnu.security.DigestException;
 import com.distrimind.gnu.vm.jgnu.security.MessageDigestSpi;
 
@@ -91,7 +94,9 @@ class MessageDigestAdapter extends MessageDigestSpi implements Cloneable {
 
 	@Override
 	public byte[] engineDigest() {
-		return adaptee.digest();
+		byte[] result = adaptee.digest();
+		Metrics.completed(Metrics.DIGEST, adaptee.name());
+		return result;
 	}
 
 	@Override
@@ -101,6 +106,7 @@ class MessageDigestAdapter extends MessageDigestSpi implements Cloneable {
 			throw new DigestException();
 
 		byte[] md = adaptee.digest();
+		Metrics.completed(Metrics.DIGEST, adaptee.name());
 		System.arraycopy(md, 0, buf, offset, result);
 		return result;
 	}
@@ -118,10 +124,19 @@ class MessageDigestAdapter extends MessageDigestSpi implements Cloneable {
 	@Override
 	public void engineUpdate(byte input) {
 		adaptee.update(input);
+		Metrics.processed(Metrics.DIGEST, adaptee.name(), 1);
 	}
 
 	@Override
 	public void engineUpdate(byte[] input, int offset, int len) {
 		adaptee.update(input, offset, len);
+		Metrics.processed(Metrics.DIGEST, adaptee.name(), len);
+	}
+
+	@Override
+	protected void engineUpdate(ByteBuffer input) {
+		int len = input.remaining();
+		adaptee.update(input);
+		Metrics.processed(Metrics.DIGEST, adaptee.name(), len);
 	}
 }
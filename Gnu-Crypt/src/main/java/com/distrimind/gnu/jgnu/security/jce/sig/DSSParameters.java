@@ -37,7 +37,6 @@ exception statement from your version. */
 
 package com.distrimind.gnu.jgnu.security.jce.sig;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -104,9 +103,7 @@ public class DSSParameters extends AlgorithmParametersSpi {
 		params.add(derG);
 		DERValue derParams = new DERValue(DER.CONSTRUCTED | DER.SEQUENCE, params);
 
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		DERWriter.write(baos, derParams);
-		byte[] result = baos.toByteArray();
+		byte[] result = DERWriter.encode(derParams);
 
 		return result;
 	}
@@ -139,7 +139,7 @@ public class EncodedKeyFactory extends KeyFactorySpi {
 	 *             its instantiation.
 	 */
 	private DHPrivateKey decodeDHPrivateKey(byte[] encoded) throws InvalidKeySpecException {
-		Object obj = invokeValueOf("com.distrimind.gnu.javax.crypto.key.dh.GnuDHPrivateKey", encoded);
+		Object obj = invokeValueOf("com.distrimind.gnu.jgnux.crypto.key.dh.GnuDHPrivateKey", encoded);
 		return (DHPrivateKey) obj;
 	}
 
@@ -158,7 +158,7 @@ public class EncodedKeyFactory extends KeyFactorySpi {
 		BigInteger g = spec.getG();
 		BigInteger x = spec.getX();
 		Object[] params = new Object[] { Integer.valueOf(Registry.PKCS8_ENCODING_ID), null, p, g, x };
-		Object obj = invokeConstructor("com.distrimind.gnu.javax.crypto.key.dh.GnuDHPrivateKey", params);
+		Object obj = invokeConstructor("com.distrimind.gnu.jgnux.crypto.key.dh.GnuDHPrivateKey", params);
 		return (DHPrivateKey) obj;
 	}
 
@@ -173,7 +173,7 @@ public class EncodedKeyFactory extends KeyFactorySpi {
 	 *             its instantiation.
 	 */
 	private DHPublicKey decodeDHPublicKey(byte[] encoded) throws InvalidKeySpecException {
-		Object obj = invokeValueOf("com.distrimind.gnu.javax.crypto.key.dh.GnuDHPublicKey", encoded);
+		Object obj = invokeValueOf("com.distrimind.gnu.jgnux.crypto.key.dh.GnuDHPublicKey", encoded);
 		return (DHPublicKey) obj;
 	}
 
@@ -192,7 +192,7 @@ public class EncodedKeyFactory extends KeyFactorySpi {
 		BigInteger g = spec.getG();
 		BigInteger y = spec.getY();
 		Object[] params = new Object[] { Integer.valueOf(Registry.X509_ENCODING_ID), null, p, g, y };
-		Object obj = invokeConstructor("com.distrimind.gnu.javax.crypto.key.dh.GnuDHPublicKey", params);
+		Object obj = invokeConstructor("com.distrimind.gnu.jgnux.crypto.key.dh.GnuDHPublicKey", params);
 		return (DHPublicKey) obj;
 	}
 
@@ -40,6 +40,7 @@ package com.distrimind.gnu.jgnu.security.jce.sig;
 import java.security.spec.AlgorithmParameterSpec;
 import java.util.HashMap;
 
+import com.distrimind.gnu.jgnu.security.metrics.Metrics;
 import com.distrimind.gnu.jgnu.security.sig.ISignature;
 import com.distrimind.gnu.jgnu.security.sig.ISignatureCodec;
 import com.distrimind.gnu.jgnu.security.sig.SignatureFactory;
@@ -121,6 +122,7 @@ class SignatureAdapter extends SignatureSpi implements Cloneable {
 		} catch (IllegalArgumentException x) {
 			throw new InvalidKeyException(x.getMessage(), x);
 		}
+		Metrics.keySetup(Metrics.SIGNATURE, adaptee.name());
 	}
 
 	@Override
@@ -133,6 +135,7 @@ class SignatureAdapter extends SignatureSpi implements Cloneable {
 		} catch (IllegalArgumentException x) {
 			throw new InvalidKeyException(x.getMessage(), x);
 		}
+		Metrics.keySetup(Metrics.SIGNATURE, adaptee.name());
 	}
 
 	@Override
@@ -144,6 +147,7 @@ class SignatureAdapter extends SignatureSpi implements Cloneable {
 		} catch (IllegalArgumentException x) {
 			throw new InvalidKeyException(x.getMessage(), x);
 		}
+		Metrics.keySetup(Metrics.SIGNATURE, adaptee.name());
 	}
 
 	public void engineSetParameter(AlgorithmParameterSpec params) {
@@ -158,11 +162,14 @@ class SignatureAdapter extends SignatureSpi implements Cloneable {
 	@Override
 	public byte[] engineSign() throws SignatureException {
 		Object signature = null;
+		long start = Metrics.start();
 		try {
 			signature = adaptee.sign();
 		} catch (IllegalStateException x) {
 			throw new SignatureException(x.getMessage(), x);
 		}
+		Metrics.privateKeyOperation(adaptee.name(), start);
+		Metrics.completed(Metrics.SIGNATURE, adaptee.name());
 		byte[] result = codec.encodeSignature(signature);
 		return result;
 	}
@@ -205,6 +212,7 @@ class SignatureAdapter extends SignatureSpi implements Cloneable {
 		} catch (IllegalStateException x) {
 			throw new SignatureException(x.getMessage(), x);
 		}
+		Metrics.completed(Metrics.SIGNATURE, adaptee.name());
 		return result;
 	}
 }
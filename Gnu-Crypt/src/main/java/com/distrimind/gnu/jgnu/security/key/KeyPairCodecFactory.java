@@ -228,7 +228,7 @@ public class KeyPairCodecFactory {
 		else if (name.equalsIgnoreCase(Registry.RSA_KPG))
 			result = new RSAKeyPairPKCS8Codec();
 		else if (name.equalsIgnoreCase(Registry.DH_KPG))
-			result = makeInstance("com.distrimind.gnu.javax.crypto.key.dh.DHKeyPairPKCS8Codec");
+			result = makeInstance("com.distrimind.gnu.jgnux.crypto.key.dh.DHKeyPairPKCS8Codec");
 
 		return result;
 	}
@@ -245,12 +245,12 @@ public class KeyPairCodecFactory {
 			result = new DSSKeyPairRawCodec();
 		else if ((key instanceof GnuRSAPublicKey) || (key instanceof GnuRSAPrivateKey))
 			result = new RSAKeyPairRawCodec();
-		else if (matches(key, "com.distrimind.gnu.javax.crypto.key.dh.GnuDHPublicKey")
-				|| matches(key, "com.distrimind.gnu.javax.crypto.key.dh.GnuDHPrivateKey"))
-			result = makeInstance("com.distrimind.gnu.javax.crypto.key.dh.DHKeyPairRawCodec");
-		else if (matches(key, "com.distrimind.gnu.javax.crypto.key.srp6.SRPPublicKey")
-				|| matches(key, "com.distrimind.gnu.javax.crypto.key.srp6.SRPPrivateKey"))
-			result = makeInstance("com.distrimind.gnu.javax.crypto.key.srp6.SRPKeyPairRawCodec");
+		else if (matches(key, "com.distrimind.gnu.jgnux.crypto.key.dh.GnuDHPublicKey")
+				|| matches(key, "com.distrimind.gnu.jgnux.crypto.key.dh.GnuDHPrivateKey"))
+			result = makeInstance("com.distrimind.gnu.jgnux.crypto.key.dh.DHKeyPairRawCodec");
+		else if (matches(key, "com.distrimind.gnu.jgnux.crypto.key.srp6.SRPPublicKey")
+				|| matches(key, "com.distrimind.gnu.jgnux.crypto.key.srp6.SRPPrivateKey"))
+			result = makeInstance("com.distrimind.gnu.jgnux.crypto.key.srp6.SRPKeyPairRawCodec");
 
 		return result;
 	}
@@ -268,9 +268,9 @@ public class KeyPairCodecFactory {
 		else if (name.equalsIgnoreCase(Registry.RSA_KPG))
 			result = new RSAKeyPairRawCodec();
 		else if (name.equalsIgnoreCase(Registry.DH_KPG))
-			result = makeInstance("com.distrimind.gnu.javax.crypto.key.dh.DHKeyPairRawCodec");
+			result = makeInstance("com.distrimind.gnu.jgnux.crypto.key.dh.DHKeyPairRawCodec");
 		else if (name.equalsIgnoreCase(Registry.SRP_KPG))
-			result = makeInstance("com.distrimind.gnu.javax.crypto.key.srp6.SRPKeyPairRawCodec");
+			result = makeInstance("com.distrimind.gnu.jgnux.crypto.key.srp6.SRPKeyPairRawCodec");
 
 		return result;
 	}
@@ -304,7 +304,7 @@ public class KeyPairCodecFactory {
 		else if (name.equalsIgnoreCase(Registry.RSA_KPG))
 			result = new RSAKeyPairX509Codec();
 		else if (name.equalsIgnoreCase(Registry.DH_KPG))
-			result = makeInstance("com.distrimind.gnu.javax.crypto.key.dh.DHKeyPairX509Codec");
+			result = makeInstance("com.distrimind.gnu.jgnux.crypto.key.dh.DHKeyPairX509Codec");
 
 		return result;
 	}
@@ -69,9 +69,9 @@ public class KeyPairGeneratorFactory {
 		else if (name.equalsIgnoreCase(Registry.RSA_KPG))
 			result = new RSAKeyPairGenerator();
 		else if (name.equalsIgnoreCase(Registry.DH_KPG))
-			result = makeInstance("com.distrimind.gnu.javax.crypto.key.dh.GnuDHKeyPairGenerator");
+			result = makeInstance("com.distrimind.gnu.jgnux.crypto.key.dh.GnuDHKeyPairGenerator");
 		else if (name.equalsIgnoreCase(Registry.SRP_KPG))
-			result = makeInstance("com.distrimind.gnu.javax.crypto.key.srp6.SRPKeyPairGenerator");
+			result = makeInstance("com.distrimind.gnu.jgnux.crypto.key.srp6.SRPKeyPairGenerator");
 
 		return result;
 	}
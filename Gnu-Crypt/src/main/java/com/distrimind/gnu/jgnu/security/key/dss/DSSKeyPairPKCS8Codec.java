@@ -37,7 +37,6 @@ exception statement from your version. */
 
 package com.distrimind.gnu.jgnu.security.key.dss;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -62,7 +61,7 @@ import com.distrimind.gnu.vm.jgnu.security.PublicKey;
  */
 public class DSSKeyPairPKCS8Codec implements IKeyPairCodec {
 
-	private static final OID DSA_ALG_OID = new OID(Registry.DSA_OID_STRING);
+	private static final OID DSA_ALG_OID = new OID(Registry.DSA_OID_STRING).intern();
 
 	// implicit 0-arguments constructor
 
@@ -203,10 +202,8 @@ public class DSSKeyPairPKCS8Codec implements IKeyPairCodec {
 		DERValue derPKI = new DERValue(DER.CONSTRUCTED | DER.SEQUENCE, pki);
 
 		byte[] result;
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
 		try {
-			DERWriter.write(baos, derPKI);
-			result = baos.toByteArray();
+			result = DERWriter.encode(derPKI);
 		} catch (IOException e) {
 			InvalidParameterException y = new InvalidParameterException(e.getMessage());
 			y.initCause(e);
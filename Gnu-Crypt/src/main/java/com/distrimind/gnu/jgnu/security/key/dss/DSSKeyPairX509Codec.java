@@ -37,7 +37,6 @@ exception statement from your version. */
 
 package com.distrimind.gnu.jgnu.security.key.dss;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -60,7 +59,7 @@ import com.distrimind.gnu.vm.jgnu.security.PublicKey;
  * decode X.509 ASN.1 external representation of DSS public keys.
  */
 public class DSSKeyPairX509Codec implements IKeyPairCodec {
-	private static final OID DSA_ALG_OID = new OID(Registry.DSA_OID_STRING);
+	private static final OID DSA_ALG_OID = new OID(Registry.DSA_OID_STRING).intern();
 
 	// implicit 0-arguments constructor
 
@@ -251,10 +250,8 @@ public class DSSKeyPairX509Codec implements IKeyPairCodec {
 		DERValue derSPKI = new DERValue(DER.CONSTRUCTED | DER.SEQUENCE, spki);
 
 		byte[] result;
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
 		try {
-			DERWriter.write(baos, derSPKI);
-			result = baos.toByteArray();
+			result = DERWriter.encode(derSPKI);
 		} catch (IOException x) {
 			InvalidParameterException e = new InvalidParameterException(x.getMessage());
 			e.initCause(x);
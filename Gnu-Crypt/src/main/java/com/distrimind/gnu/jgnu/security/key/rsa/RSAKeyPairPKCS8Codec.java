@@ -37,7 +37,6 @@ exception statement from your version. */
 
 package com.distrimind.gnu.jgnu.security.key.rsa;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -60,7 +59,7 @@ import com.distrimind.gnu.vm.jgnu.security.PublicKey;
  */
 public class RSAKeyPairPKCS8Codec implements IKeyPairCodec {
 
-	private static final OID RSA_ALG_OID = new OID(Registry.RSA_OID_STRING);
+	private static final OID RSA_ALG_OID = new OID(Registry.RSA_OID_STRING).intern();
 
 	// implicit 0-arguments constructor
 
@@ -254,10 +253,8 @@ public class RSAKeyPairPKCS8Codec implements IKeyPairCodec {
 		DERValue derPKI = new DERValue(DER.CONSTRUCTED | DER.SEQUENCE, pki);
 
 		byte[] result;
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
 		try {
-			DERWriter.write(baos, derPKI);
-			result = baos.toByteArray();
+			result = DERWriter.encode(derPKI);
 		} catch (IOException x) {
 			InvalidParameterException y = new InvalidParameterException();
 			y.initCause(x);
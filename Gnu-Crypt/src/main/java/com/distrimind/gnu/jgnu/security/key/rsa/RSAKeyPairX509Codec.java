@@ -37,7 +37,6 @@ exception statement from your version. */
 
 package com.distrimind.gnu.jgnu.security.key.rsa;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -61,7 +60,7 @@ import com.distrimind.gnu.vm.jgnu.security.PublicKey;
  */
 public class RSAKeyPairX509Codec implements IKeyPairCodec {
 
-	private static final OID RSA_ALG_OID = new OID(Registry.RSA_OID_STRING);
+	private static final OID RSA_ALG_OID = new OID(Registry.RSA_OID_STRING).intern();
 
 	// implicit 0-arguments constructor
 
@@ -215,10 +214,8 @@ public class RSAKeyPairX509Codec implements IKeyPairCodec {
 		DERValue derSPKI = new DERValue(DER.CONSTRUCTED | DER.SEQUENCE, spki);
 
 		byte[] result;
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
 		try {
-			DERWriter.write(baos, derSPKI);
-			result = baos.toByteArray();
+			result = DERWriter.encode(derSPKI);
 		} catch (IOException x) {
 			InvalidParameterException y = new InvalidParameterException(x.getMessage());
 			y.initCause(x);
@@ -0,0 +1,122 @@
+/* IMetricsSink.java -- receiver of cryptographic metrics
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnu.security.metrics;
+
+/**
+ * The receiver of the events reported by the instrumented classes of this
+ * library once installed with {@link Metrics#setSink(IMetricsSink)}.
+ * <p>
+ * Events are identified by a <i>kind</i>, one of the constants of
+ * {@link Metrics} or a JCE service name, and by the name of an algorithm as
+ * returned by the primitive itself; for ciphers used through the JCE the name
+ * includes the mode and the key size, e.g. <code>cbc(rijndael-128)/256</code>.
+ * <p>
+ * Implementations are called from the threads doing the cryptographic work, so
+ * they must be thread-safe and should not block.
+ */
+public interface IMetricsSink {
+	/**
+	 * Reports the completion of an operation: a digest, a MAC, the final block of
+	 * an encryption or decryption, a signature or a verification.
+	 *
+	 * @param kind
+	 *            the kind of primitive.
+	 * @param algorithm
+	 *            the name of the algorithm.
+	 */
+	void completed(String kind, String algorithm);
+
+	/**
+	 * Reports the initialisation of a primitive with a key.
+	 *
+	 * @param kind
+	 *            the kind of primitive.
+	 * @param algorithm
+	 *            the name of the algorithm.
+	 */
+	void keySetup(String kind, String algorithm);
+
+	/**
+	 * Reports the time spent creating an instance through a factory or a
+	 * provider, self-test included.
+	 *
+	 * @param kind
+	 *            the kind of primitive, or the JCE service for provider lookups.
+	 * @param algorithm
+	 *            the name the instance was asked for.
+	 * @param nanos
+	 *            the duration of the lookup, in nanoseconds.
+	 */
+	void lookup(String kind, String algorithm, long nanos);
+
+	/**
+	 * Reports the duration of an operation using a private key.
+	 *
+	 * @param algorithm
+	 *            the name of the algorithm.
+	 * @param nanos
+	 *            the duration of the operation, in nanoseconds.
+	 */
+	void privateKeyOperation(String algorithm, long nanos);
+
+	/**
+	 * Reports bytes fed to a primitive.
+	 *
+	 * @param kind
+	 *            the kind of primitive.
+	 * @param algorithm
+	 *            the name of the algorithm.
+	 * @param bytes
+	 *            the number of bytes.
+	 */
+	void processed(String kind, String algorithm, long bytes);
+
+	/**
+	 * Reports the execution of the self-test of an implementation.
+	 *
+	 * @param kind
+	 *            the kind of primitive.
+	 * @param algorithm
+	 *            the name of the algorithm.
+	 * @param nanos
+	 *            the duration of the self-test, in nanoseconds.
+	 * @param passed
+	 *            whether the implementation passed its self-test.
+	 */
+	void selfTest(String kind, String algorithm, long nanos, boolean passed);
+}
@@ -0,0 +1,147 @@
+/* LatencyHistogram.java -- log-linear latency histogram
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnu.security.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations, in nanoseconds.
+ * <p>
+ * Every power of two is divided into four linear sub-buckets, so that the
+ * relative error of a reported percentile is at most 25% whatever the
+ * magnitude of the recorded values, for a fixed footprint of 248 counters.
+ */
+public class LatencyHistogram {
+	private static final int BUCKETS = 248;
+
+	private static int bucket(long value) {
+		if (value < 4)
+			return (int) value;
+		int e = 63 - Long.numberOfLeadingZeros(value);
+		return 4 * (e - 1) + (int) ((value >>> (e - 2)) & 3);
+	}
+
+	private static long lowerBound(int bucket) {
+		if (bucket < 4)
+			return bucket;
+		return (long) (4 + (bucket & 3)) << ((bucket >>> 2) - 1);
+	}
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	private final LongAdder count = new LongAdder();
+
+	private final AtomicLong max = new AtomicLong();
+
+	private final LongAdder sum = new LongAdder();
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the mean of the recorded values.
+	 *
+	 * @return the mean, or <code>0</code> if no value was recorded.
+	 */
+	public long getMean() {
+		long n = count.sum();
+		return n == 0 ? 0 : sum.sum() / n;
+	}
+
+	/**
+	 * Returns an upper bound of the given percentile of the recorded values.
+	 *
+	 * @param percentile
+	 *            the percentile, between <code>0</code> and <code>100</code>.
+	 * @return the upper bound of the bucket holding the percentile, capped by
+	 *         the largest recorded value, or <code>0</code> if no value was
+	 *         recorded.
+	 * @throws IllegalArgumentException
+	 *             if <code>percentile</code> is out of range.
+	 */
+	public long getPercentile(double percentile) {
+		if (!(percentile >= 0.0 && percentile <= 100.0))
+			throw new IllegalArgumentException("percentile");
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++)
+			total += counts.get(i);
+		if (total == 0)
+			return 0;
+		long rank = Math.max(1L, (long) Math.ceil(total * percentile / 100.0));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank)
+				return i == BUCKETS - 1 ? getMax() : Math.min(lowerBound(i + 1) - 1, getMax());
+		}
+		return getMax();
+	}
+
+	/**
+	 * Records a duration.
+	 *
+	 * @param nanos
+	 *            the duration; negative values are recorded as <code>0</code>.
+	 */
+	public void record(long nanos) {
+		if (nanos < 0)
+			nanos = 0;
+		counts.incrementAndGet(bucket(nanos));
+		count.increment();
+		sum.add(nanos);
+		long m;
+		while (nanos > (m = max.get()) && !max.compareAndSet(m, nanos))
+			;
+	}
+
+	/** Discards every recorded value. */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++)
+			counts.set(i, 0);
+		count.reset();
+		sum.reset();
+		max.set(0);
+	}
+}
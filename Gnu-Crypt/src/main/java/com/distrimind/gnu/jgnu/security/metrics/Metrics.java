@@ -0,0 +1,208 @@
+/* Metrics.java -- entry point of the instrumentation
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnu.security.metrics;
+
+import java.security.AccessController;
+
+import javax.management.JMException;
+
+import com.distrimind.gnu.jgnu.security.action.GetPropertyAction;
+
+/**
+ * The entry point of the optional instrumentation of this library.
+ * <p>
+ * Instrumentation is disabled until an {@link IMetricsSink} is installed, either
+ * with {@link #setSink(IMetricsSink)} or, at class initialisation, through the
+ * {@link #SINK_PROPERTY} system property. While it is disabled each instrumented
+ * call costs a single read of a volatile field: no clock is read and no object
+ * is allocated.
+ * <p>
+ * The static methods of this class are the ones called by the instrumented
+ * classes; they forward the events to the current sink, if any.
+ */
+public final class Metrics {
+	/** Kind of the block ciphers, alone or used through the JCE. */
+	public static final String CIPHER = "cipher";
+
+	/** Kind of the message digests. */
+	public static final String DIGEST = "digest";
+
+	/** Kind of the message authentication codes. */
+	public static final String MAC = "mac";
+
+	/** Kind of the modes of operation. */
+	public static final String MODE = "mode";
+
+	/** Kind of the padding schemes. */
+	public static final String PAD = "pad";
+
+	/** Kind of the pseudo-random number generators. */
+	public static final String PRNG = "prng";
+
+	/** Kind of the signature schemes. */
+	public static final String SIGNATURE = "signature";
+
+	/**
+	 * System property selecting the sink installed at class initialisation:
+	 * <code>memory</code> installs a {@link MetricsRegistry}, <code>jmx</code>
+	 * installs one and registers it with the platform MBean server.
+	 */
+	public static final String SINK_PROPERTY = "com.distrimind.gnu.crypto.metrics";
+
+	private static volatile IMetricsSink sink;
+
+	static {
+		String s = AccessController.doPrivileged(new GetPropertyAction(SINK_PROPERTY));
+		if ("memory".equalsIgnoreCase(s) || "jmx".equalsIgnoreCase(s)) {
+			MetricsRegistry registry = new MetricsRegistry();
+			if ("jmx".equalsIgnoreCase(s))
+				try {
+					registry.register();
+				} catch (JMException e) {
+					throw new ExceptionInInitializerError(e);
+				}
+			sink = registry;
+		}
+	}
+
+	public static void completed(String kind, String algorithm) {
+		IMetricsSink s = sink;
+		if (s != null)
+			s.completed(kind, algorithm);
+	}
+
+	/**
+	 * Returns the current sink.
+	 *
+	 * @return the current sink, or <code>null</code> if instrumentation is
+	 *         disabled.
+	 */
+	public static IMetricsSink getSink() {
+		return sink;
+	}
+
+	public static boolean isEnabled() {
+		return sink != null;
+	}
+
+	public static void keySetup(String kind, String algorithm) {
+		IMetricsSink s = sink;
+		if (s != null)
+			s.keySetup(kind, algorithm);
+	}
+
+	/**
+	 * Reports a lookup that began at <code>start</code>.
+	 *
+	 * @param kind
+	 *            the kind of primitive, or the JCE service.
+	 * @param algorithm
+	 *            the name the instance was asked for.
+	 * @param start
+	 *            the value returned by {@link #start()} before the lookup.
+	 */
+	public static void lookup(String kind, String algorithm, long start) {
+		IMetricsSink s = sink;
+		if (s != null && start != 0L)
+			s.lookup(kind, algorithm, System.nanoTime() - start);
+	}
+
+	/**
+	 * Reports a private-key operation that began at <code>start</code>.
+	 *
+	 * @param algorithm
+	 *            the name of the algorithm.
+	 * @param start
+	 *            the value returned by {@link #start()} before the operation.
+	 */
+	public static void privateKeyOperation(String algorithm, long start) {
+		IMetricsSink s = sink;
+		if (s != null && start != 0L)
+			s.privateKeyOperation(algorithm, System.nanoTime() - start);
+	}
+
+	public static void processed(String kind, String algorithm, long bytes) {
+		IMetricsSink s = sink;
+		if (s != null)
+			s.processed(kind, algorithm, bytes);
+	}
+
+	/**
+	 * Reports a self-test that began at <code>start</code>.
+	 *
+	 * @param kind
+	 *            the kind of primitive.
+	 * @param algorithm
+	 *            the name of the algorithm.
+	 * @param start
+	 *            the value returned by {@link #start()} before the self-test.
+	 * @param passed
+	 *            the result of the self-test.
+	 */
+	public static void selfTest(String kind, String algorithm, long start, boolean passed) {
+		IMetricsSink s = sink;
+		if (s != null && start != 0L)
+			s.selfTest(kind, algorithm, System.nanoTime() - start, passed);
+	}
+
+	/**
+	 * Installs a sink, or disables instrumentation.
+	 *
+	 * @param sink
+	 *            the new sink, or <code>null</code> to disable instrumentation.
+	 */
+	public static void setSink(IMetricsSink sink) {
+		Metrics.sink = sink;
+	}
+
+	/**
+	 * Returns the start time of a timed event.
+	 *
+	 * @return the current value of {@link System#nanoTime()}, or <code>0</code>
+	 *         without reading the clock if instrumentation is disabled; the
+	 *         timed event is then not reported even if a sink is installed in
+	 *         the meantime.
+	 */
+	public static long start() {
+		return sink == null ? 0L : System.nanoTime();
+	}
+
+	/** Trivial constructor to enforce <i>Singleton</i> pattern. */
+	private Metrics() {
+	}
+}
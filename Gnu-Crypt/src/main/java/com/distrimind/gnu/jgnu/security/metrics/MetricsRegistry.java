@@ -0,0 +1,330 @@
+/* MetricsRegistry.java -- in-memory metrics sink
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnu.security.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * An {@link IMetricsSink} accumulating the reported events in memory, per kind
+ * and algorithm, and exposing them as a {@link MetricsRegistryMXBean}.
+ * <p>
+ * Counters are {@link LongAdder}s, so that threads reporting events for the
+ * same algorithm do not contend; the durations of private-key operations are
+ * kept in a {@link LatencyHistogram} per algorithm.
+ */
+public class MetricsRegistry implements IMetricsSink, MetricsRegistryMXBean {
+	/** The counters of one kind:algorithm pair. */
+	private static final class Counters {
+		final LongAdder bytes = new LongAdder();
+
+		final LongAdder keySetups = new LongAdder();
+
+		final LongAdder lookups = new LongAdder();
+
+		final LongAdder lookupNanos = new LongAdder();
+
+		final LongAdder operations = new LongAdder();
+
+		final LongAdder selfTestFailures = new LongAdder();
+
+		final LongAdder selfTestNanos = new LongAdder();
+	}
+
+	/** The domain and type of the registered MBeans. */
+	public static final String OBJECT_NAME = "com.distrimind.gnu:type=Metrics";
+
+	private static final int BYTES = 0;
+
+	private static final int KEY_SETUPS = 1;
+
+	private static final int LOOKUPS = 2;
+
+	private static final int LOOKUP_NANOS = 3;
+
+	private static final int OPERATIONS = 4;
+
+	private static final int SELF_TEST_FAILURES = 5;
+
+	private static final int SELF_TEST_NANOS = 6;
+
+	private static final int LATENCY_COUNT = 0;
+
+	private static final int LATENCY_MAX = 1;
+
+	private static final int LATENCY_MEDIAN = 2;
+
+	private static final int LATENCY_99 = 3;
+
+	private final ConcurrentMap<String, ConcurrentMap<String, Counters>> counters = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+	private ObjectName name;
+
+	@Override
+	public void completed(String kind, String algorithm) {
+		counters(kind, algorithm).operations.increment();
+	}
+
+	private Counters counters(String kind, String algorithm) {
+		ConcurrentMap<String, Counters> m = counters.get(kind);
+		if (m == null) {
+			ConcurrentMap<String, Counters> n = new ConcurrentHashMap<>();
+			m = counters.putIfAbsent(kind, n);
+			if (m == null)
+				m = n;
+		}
+		Counters result = m.get(algorithm);
+		if (result == null) {
+			Counters c = new Counters();
+			result = m.putIfAbsent(algorithm, c);
+			if (result == null)
+				result = c;
+		}
+		return result;
+	}
+
+	@Override
+	public Map<String, Long> getByteCounts() {
+		return snapshot(BYTES);
+	}
+
+	@Override
+	public Map<String, Long> getKeySetupCounts() {
+		return snapshot(KEY_SETUPS);
+	}
+
+	@Override
+	public Map<String, Long> getLatency99thPercentiles() {
+		return latencies(LATENCY_99);
+	}
+
+	@Override
+	public Map<String, Long> getLatencyCounts() {
+		return latencies(LATENCY_COUNT);
+	}
+
+	/**
+	 * Returns the histogram of the private-key operations of an algorithm.
+	 *
+	 * @param algorithm
+	 *            the name of the algorithm.
+	 * @return the histogram, or <code>null</code> if no operation was reported.
+	 */
+	public LatencyHistogram getLatencyHistogram(String algorithm) {
+		return latencies.get(algorithm);
+	}
+
+	@Override
+	public Map<String, Long> getLatencyMaxima() {
+		return latencies(LATENCY_MAX);
+	}
+
+	@Override
+	public Map<String, Long> getLatencyMedians() {
+		return latencies(LATENCY_MEDIAN);
+	}
+
+	@Override
+	public Map<String, Long> getLookupCounts() {
+		return snapshot(LOOKUPS);
+	}
+
+	@Override
+	public Map<String, Long> getLookupTimes() {
+		return snapshot(LOOKUP_NANOS);
+	}
+
+	@Override
+	public Map<String, Long> getOperationCounts() {
+		return snapshot(OPERATIONS);
+	}
+
+	@Override
+	public Map<String, Long> getSelfTestFailures() {
+		return snapshot(SELF_TEST_FAILURES);
+	}
+
+	@Override
+	public Map<String, Long> getSelfTestTimes() {
+		return snapshot(SELF_TEST_NANOS);
+	}
+
+	@Override
+	public void keySetup(String kind, String algorithm) {
+		counters(kind, algorithm).keySetups.increment();
+	}
+
+	private Map<String, Long> latencies(int field) {
+		Map<String, Long> result = new TreeMap<>();
+		for (Map.Entry<String, LatencyHistogram> e : latencies.entrySet()) {
+			LatencyHistogram h = e.getValue();
+			long value;
+			switch (field) {
+			case LATENCY_COUNT:
+				value = h.getCount();
+				break;
+			case LATENCY_MAX:
+				value = h.getMax();
+				break;
+			case LATENCY_MEDIAN:
+				value = h.getPercentile(50.0);
+				break;
+			default:
+				value = h.getPercentile(99.0);
+			}
+			result.put(Metrics.SIGNATURE + ":" + e.getKey(), value);
+		}
+		return result;
+	}
+
+	@Override
+	public void lookup(String kind, String algorithm, long nanos) {
+		Counters c = counters(kind, algorithm);
+		c.lookups.increment();
+		c.lookupNanos.add(nanos);
+	}
+
+	@Override
+	public void privateKeyOperation(String algorithm, long nanos) {
+		LatencyHistogram h = latencies.get(algorithm);
+		if (h == null) {
+			LatencyHistogram n = new LatencyHistogram();
+			h = latencies.putIfAbsent(algorithm, n);
+			if (h == null)
+				h = n;
+		}
+		h.record(nanos);
+	}
+
+	@Override
+	public void processed(String kind, String algorithm, long bytes) {
+		counters(kind, algorithm).bytes.add(bytes);
+	}
+
+	/**
+	 * Registers this registry with the platform MBean server, under
+	 * {@link #OBJECT_NAME} completed with a unique <code>id</code> property.
+	 *
+	 * @return the name under which this registry was registered.
+	 * @throws JMException
+	 *             if the registration fails.
+	 */
+	public synchronized ObjectName register() throws JMException {
+		if (name == null) {
+			ObjectName n = new ObjectName(OBJECT_NAME + ",id=" + Integer.toHexString(System.identityHashCode(this)));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, n);
+			name = n;
+		}
+		return name;
+	}
+
+	@Override
+	public void reset() {
+		counters.clear();
+		latencies.clear();
+	}
+
+	@Override
+	public void selfTest(String kind, String algorithm, long nanos, boolean passed) {
+		Counters c = counters(kind, algorithm);
+		c.selfTestNanos.add(nanos);
+		if (!passed)
+			c.selfTestFailures.increment();
+	}
+
+	private Map<String, Long> snapshot(int field) {
+		Map<String, Long> result = new TreeMap<>();
+		for (Map.Entry<String, ConcurrentMap<String, Counters>> k : counters.entrySet())
+			for (Map.Entry<String, Counters> a : k.getValue().entrySet()) {
+				Counters c = a.getValue();
+				LongAdder value;
+				switch (field) {
+				case BYTES:
+					value = c.bytes;
+					break;
+				case KEY_SETUPS:
+					value = c.keySetups;
+					break;
+				case LOOKUPS:
+					value = c.lookups;
+					break;
+				case LOOKUP_NANOS:
+					value = c.lookupNanos;
+					break;
+				case OPERATIONS:
+					value = c.operations;
+					break;
+				case SELF_TEST_FAILURES:
+					value = c.selfTestFailures;
+					break;
+				default:
+					value = c.selfTestNanos;
+				}
+				long v = value.sum();
+				if (v != 0)
+					result.put(k.getKey() + ":" + a.getKey(), v);
+			}
+		return result;
+	}
+
+	/**
+	 * Unregisters this registry from the platform MBean server, if it was
+	 * registered.
+	 *
+	 * @throws JMException
+	 *             if the unregistration fails.
+	 */
+	public synchronized void unregister() throws JMException {
+		if (name != null) {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			if (server.isRegistered(name))
+				server.unregisterMBean(name);
+			name = null;
+		}
+	}
+}
@@ -42,6 +42,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.metrics.Metrics;
 
 /**
  * A Factory to instantiate pseudo random number generators.
@@ -57,6 +58,7 @@ public class PRNGFactory implements Registry {
 	 *                if the implementation does not pass its self- test.
 	 */
 	public static final IRandom getInstance(String prng) {
+		long start = Metrics.start();
 		if (prng == null)
 			return null;
 
@@ -64,6 +66,7 @@ public class PRNGFactory implements Registry {
 		IRandom result = null;
 		if (prng.equalsIgnoreCase(MD_PRNG))
 			result = new MDGenerator();
+		Metrics.lookup(Metrics.PRNG, prng, start);
 
 		return result;
 	}
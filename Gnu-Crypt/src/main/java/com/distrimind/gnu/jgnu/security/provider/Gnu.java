@@ -175,6 +175,24 @@ public final class Gnu extends Provider {
 				put("MessageDigest.SHA-384 ImplementedIn", "Software");
 				put("MessageDigest.SHA-512", com.distrimind.gnu.jgnu.security.jce.hash.Sha512Spi.class.getName());
 				put("MessageDigest.SHA-512 ImplementedIn", "Software");
+				put("MessageDigest.SHA3-224", com.distrimind.gnu.jgnu.security.jce.hash.Sha3_224Spi.class.getName());
+				put("MessageDigest.SHA3-224 ImplementedIn", "Software");
+				put("MessageDigest.SHA3-256", com.distrimind.gnu.jgnu.security.jce.hash.Sha3_256Spi.class.getName());
+				put("MessageDigest.SHA3-256 ImplementedIn", "Software");
+				put("MessageDigest.SHA3-384", com.distrimind.gnu.jgnu.security.jce.hash.Sha3_384Spi.class.getName());
+				put("MessageDigest.SHA3-384 ImplementedIn", "Software");
+				put("MessageDigest.SHA3-512", com.distrimind.gnu.jgnu.security.jce.hash.Sha3_512Spi.class.getName());
+				put("MessageDigest.SHA3-512 ImplementedIn", "Software");
+				put("MessageDigest.SHAKE128", com.distrimind.gnu.jgnu.security.jce.hash.Shake128Spi.class.getName());
+				put("MessageDigest.SHAKE128 ImplementedIn", "Software");
+				put("MessageDigest.SHAKE256", com.distrimind.gnu.jgnu.security.jce.hash.Shake256Spi.class.getName());
+				put("MessageDigest.SHAKE256 ImplementedIn", "Software");
+				put("MessageDigest.BLAKE2B-256", com.distrimind.gnu.jgnu.security.jce.hash.Blake2b256Spi.class.getName());
+				put("MessageDigest.BLAKE2B-256 ImplementedIn", "Software");
+				put("MessageDigest.BLAKE2B-512", com.distrimind.gnu.jgnu.security.jce.hash.Blake2b512Spi.class.getName());
+				put("MessageDigest.BLAKE2B-512 ImplementedIn", "Software");
+				put("MessageDigest.BLAKE2S-256", com.distrimind.gnu.jgnu.security.jce.hash.Blake2s256Spi.class.getName());
+				put("MessageDigest.BLAKE2S-256 ImplementedIn", "Software");
 				put("MessageDigest.TIGER", com.distrimind.gnu.jgnu.security.jce.hash.TigerSpi.class.getName());
 				put("MessageDigest.TIGER ImplementedIn", "Software");
 				put("MessageDigest.WHIRLPOOL", com.distrimind.gnu.jgnu.security.jce.hash.WhirlpoolSpi.class.getName());
@@ -192,6 +210,26 @@ public final class Gnu extends Provider {
 				put("Alg.Alias.MessageDigest.SHA512", "SHA-512");
 				put("Alg.Alias.MessageDigest.RIPEMD-160", "RIPEMD160");
 				put("Alg.Alias.MessageDigest.RIPEMD-128", "RIPEMD128");
+				put("Alg.Alias.MessageDigest.BLAKE2B", "BLAKE2B-512");
+				put("Alg.Alias.MessageDigest.BLAKE2S", "BLAKE2S-256");
+				put("Alg.Alias.MessageDigest.OID.2.16.840.1.101.3.4.2.7", "SHA3-224");
+				put("Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.7", "SHA3-224");
+				put("Alg.Alias.MessageDigest.OID.2.16.840.1.101.3.4.2.8", "SHA3-256");
+				put("Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.8", "SHA3-256");
+				put("Alg.Alias.MessageDigest.OID.2.16.840.1.101.3.4.2.9", "SHA3-384");
+				put("Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.9", "SHA3-384");
+				put("Alg.Alias.MessageDigest.OID.2.16.840.1.101.3.4.2.10", "SHA3-512");
+				put("Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.10", "SHA3-512");
+				put("Alg.Alias.MessageDigest.OID.2.16.840.1.101.3.4.2.11", "SHAKE128");
+				put("Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.11", "SHAKE128");
+				put("Alg.Alias.MessageDigest.OID.2.16.840.1.101.3.4.2.12", "SHAKE256");
+				put("Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.12", "SHAKE256");
+				put("Alg.Alias.MessageDigest.OID.1.3.6.1.4.1.1722.12.2.1.8", "BLAKE2B-256");
+				put("Alg.Alias.MessageDigest.1.3.6.1.4.1.1722.12.2.1.8", "BLAKE2B-256");
+				put("Alg.Alias.MessageDigest.OID.1.3.6.1.4.1.1722.12.2.1.16", "BLAKE2B-512");
+				put("Alg.Alias.MessageDigest.1.3.6.1.4.1.1722.12.2.1.16", "BLAKE2B-512");
+				put("Alg.Alias.MessageDigest.OID.1.3.6.1.4.1.1722.12.2.2.8", "BLAKE2S-256");
+				put("Alg.Alias.MessageDigest.1.3.6.1.4.1.1722.12.2.2.8", "BLAKE2S-256");
 				put("Alg.Alias.MessageDigest.OID.1.2.840.11359.2.2", "MD2");
 				put("Alg.Alias.MessageDigest.1.2.840.11359.2.2", "MD2");
 				put("Alg.Alias.MessageDigest.OID.1.2.840.11359.2.5", "MD5");
@@ -0,0 +1,418 @@
+/* X509BundleParser.java -- bulk loader for certificate and CRL bundles.
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnu.security.provider;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.distrimind.gnu.jgnu.security.x509.X509CRL;
+import com.distrimind.gnu.jgnu.security.x509.X509Certificate;
+import com.distrimind.gnu.jgnu.util.Base64;
+import com.distrimind.gnu.vm.jgnu.security.cert.CRLException;
+import com.distrimind.gnu.vm.jgnu.security.cert.CertificateException;
+
+/**
+ * Loads large bundles of X.509 certificates or CRLs.
+ * <p>
+ * A bundle is a sequence of DER encoded objects and/or PEM blocks (text outside
+ * of the PEM blocks is ignored), as accepted by
+ * {@link X509CertificateFactory#engineGenerateCertificates(InputStream)}. The
+ * whole bundle is first split into records in one scan, without decoding
+ * anything; the records are then Base-64 decoded and parsed in parallel on a
+ * fork/join pool. Results are always returned in input order.
+ * <p>
+ * Files are best given as a {@link FileChannel}, which is memory-mapped rather
+ * than read through a stream.
+ */
+public final class X509BundleParser {
+	// Constants and fields.
+	// -------------------------------------------------------------------------
+
+	/** Number of records parsed by a single task. */
+	private static final int RECORDS_PER_TASK = 32;
+
+	private static final byte[] BEGIN = "-----BEGIN ".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] END = "-----END ".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] DASHES = "-----".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] CERTIFICATE = "CERTIFICATE".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] X509_CRL = "X509 CRL".getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * Decodes the Base-64 text in the given range of a buffer, skipping white
+	 * space.
+	 */
+	private static byte[] decodeBase64(ByteBuffer in, int start, int end) throws IOException {
+		ByteBuffer text = in.duplicate();
+		text.limit(end).position(start);
+		byte[] out = new byte[Base64.maxDecodedLength(end - start)];
+		int len = Base64.decode(text, ByteBuffer.wrap(out));
+		return len == out.length ? out : Arrays.copyOf(out, len);
+	}
+
+	private static int indexOf(ByteBuffer in, byte[] pattern, int from, int end) {
+		int last = end - pattern.length;
+		outer: for (int i = from; i <= last; i++) {
+			if (in.get(i) != pattern[0])
+				continue;
+			for (int k = 1; k < pattern.length; k++)
+				if (in.get(i + k) != pattern[k])
+					continue outer;
+			return i;
+		}
+		return -1;
+	}
+
+	private static boolean regionMatches(ByteBuffer in, int offset, byte[] pattern, int end) {
+		if (offset + pattern.length > end)
+			return false;
+		for (int k = 0; k < pattern.length; k++)
+			if (in.get(offset + k) != pattern[k])
+				return false;
+		return true;
+	}
+
+	private static ByteBuffer readFully(InputStream in) throws IOException {
+		byte[] buf = new byte[Math.max(8192, in.available())];
+		int len = 0, n;
+		while ((n = in.read(buf, len, buf.length - len)) != -1) {
+			len += n;
+			if (len == buf.length)
+				buf = Arrays.copyOf(buf, buf.length << 1);
+		}
+		return ByteBuffer.wrap(buf, 0, len);
+	}
+
+	/**
+	 * Splits a bundle into records. Each record is described by three integers:
+	 * its start offset, its end offset, and 1 if it is Base-64 text, 0 if it is
+	 * DER.
+	 */
+	private static int[] split(ByteBuffer in, byte[] label) throws IOException {
+		int[] records = new int[48];
+		int count = 0;
+		int pos = in.position();
+		int end = in.limit();
+		while (true) {
+			while (pos < end && Character.isWhitespace((char) (in.get(pos) & 0xFF)))
+				pos++;
+			if (pos >= end)
+				break;
+			int start, stop, pem;
+			if (in.get(pos) == 0x30) {
+				// DER: SEQUENCE tag followed by a definite length.
+				int i = pos + 1;
+				if (i >= end)
+					throw new IOException("truncated DER record at " + pos);
+				int len = in.get(i++) & 0xFF;
+				if ((len & 0x80) != 0) {
+					int count2 = len & 0x7F;
+					if (count2 == 0 || count2 > 4 || i + count2 > end)
+						throw new IOException("bad DER length at " + pos);
+					len = 0;
+					while (count2-- > 0)
+						len = (len << 8) | (in.get(i++) & 0xFF);
+				}
+				if (len < 0 || i + len > end)
+					throw new IOException("truncated DER record at " + pos);
+				start = pos;
+				stop = i + len;
+				pem = 0;
+				pos = stop;
+			} else {
+				// PEM: find the next BEGIN line with the right label.
+				int begin = pos;
+				while (true) {
+					begin = indexOf(in, BEGIN, begin, end);
+					if (begin < 0)
+						break;
+					int l = begin + BEGIN.length;
+					if (regionMatches(in, l, label, end) && regionMatches(in, l + label.length, DASHES, end))
+						break;
+					begin = l;
+				}
+				if (begin < 0)
+					break;
+				start = begin + BEGIN.length + label.length + DASHES.length;
+				stop = indexOf(in, END, start, end);
+				if (stop < 0 || !regionMatches(in, stop + END.length, label, end))
+					throw new IOException("no end marker for record at " + begin);
+				pem = 1;
+				pos = stop + END.length + label.length + DASHES.length;
+			}
+			if (count + 3 > records.length)
+				records = Arrays.copyOf(records, records.length << 1);
+			records[count++] = start;
+			records[count++] = stop;
+			records[count++] = pem;
+		}
+		return Arrays.copyOf(records, count);
+	}
+
+	private final ForkJoinPool pool;
+
+	// Constructors.
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Creates a new parser that runs on the common fork/join pool.
+	 */
+	public X509BundleParser() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a new parser that runs on the given fork/join pool.
+	 *
+	 * @param pool
+	 *            The pool to parse records on.
+	 */
+	public X509BundleParser(ForkJoinPool pool) {
+		if (pool == null)
+			throw new IllegalArgumentException("no fork/join pool");
+		this.pool = pool;
+	}
+
+	// Instance methods.
+	// -------------------------------------------------------------------------
+
+	/**
+	 * Parses every CRL of a bundle.
+	 *
+	 * @param bundle
+	 *            The bundle, between its position and its limit.
+	 * @return The CRLs, in input order.
+	 * @throws CRLException
+	 *             If a record cannot be parsed.
+	 */
+	public List<X509CRL> parseCRLs(ByteBuffer bundle) throws CRLException {
+		Object[] results;
+		try {
+			results = parse(bundle, X509_CRL, false);
+		} catch (IOException | CertificateException e) {
+			CRLException crle = new CRLException(e.getMessage());
+			crle.initCause(e);
+			throw crle;
+		}
+		List<X509CRL> crls = new ArrayList<>(results.length);
+		for (int i = 0; i < results.length; i++)
+			crls.add((X509CRL) results[i]);
+		return crls;
+	}
+
+	/**
+	 * Memory-maps and parses every CRL of a bundle file.
+	 *
+	 * @param bundle
+	 *            The file.
+	 * @return The CRLs, in input order.
+	 * @throws IOException
+	 *             If the file cannot be mapped.
+	 * @throws CRLException
+	 *             If a record cannot be parsed.
+	 */
+	public List<X509CRL> parseCRLs(FileChannel bundle) throws IOException, CRLException {
+		return parseCRLs(bundle.map(FileChannel.MapMode.READ_ONLY, 0, bundle.size()));
+	}
+
+	/**
+	 * Reads and parses every CRL of a bundle stream.
+	 *
+	 * @param bundle
+	 *            The stream, read until its end.
+	 * @return The CRLs, in input order.
+	 * @throws IOException
+	 *             If the stream cannot be read.
+	 * @throws CRLException
+	 *             If a record cannot be parsed.
+	 */
+	public List<X509CRL> parseCRLs(InputStream bundle) throws IOException, CRLException {
+		return parseCRLs(readFully(bundle));
+	}
+
+	/**
+	 * Parses every certificate of a bundle.
+	 *
+	 * @param bundle
+	 *            The bundle, between its position and its limit.
+	 * @return The certificates, in input order.
+	 * @throws CertificateException
+	 *             If a record cannot be parsed.
+	 */
+	public List<X509Certificate> parseCertificates(ByteBuffer bundle) throws CertificateException {
+		Object[] results;
+		try {
+			results = parse(bundle, CERTIFICATE, true);
+		} catch (IOException | CRLException e) {
+			CertificateException ce = new CertificateException(e.getMessage());
+			ce.initCause(e);
+			throw ce;
+		}
+		List<X509Certificate> certs = new ArrayList<>(results.length);
+		for (int i = 0; i < results.length; i++)
+			certs.add((X509Certificate) results[i]);
+		return certs;
+	}
+
+	/**
+	 * Memory-maps and parses every certificate of a bundle file.
+	 *
+	 * @param bundle
+	 *            The file.
+	 * @return The certificates, in input order.
+	 * @throws IOException
+	 *             If the file cannot be mapped.
+	 * @throws CertificateException
+	 *             If a record cannot be parsed.
+	 */
+	public List<X509Certificate> parseCertificates(FileChannel bundle) throws IOException, CertificateException {
+		return parseCertificates(bundle.map(FileChannel.MapMode.READ_ONLY, 0, bundle.size()));
+	}
+
+	/**
+	 * Reads and parses every certificate of a bundle stream.
+	 *
+	 * @param bundle
+	 *            The stream, read until its end.
+	 * @return The certificates, in input order.
+	 * @throws IOException
+	 *             If the stream cannot be read.
+	 * @throws CertificateException
+	 *             If a record cannot be parsed.
+	 */
+	public List<X509Certificate> parseCertificates(InputStream bundle) throws IOException, CertificateException {
+		return parseCertificates(readFully(bundle));
+	}
+
+	private Object[] parse(ByteBuffer bundle, byte[] label, boolean certificates)
+			throws IOException, CertificateException, CRLException {
+		int[] records = split(bundle, label);
+		int count = records.length / 3;
+		Object[] results = new Object[count];
+		Exception[] errors = new Exception[count];
+		ParseTask task = new ParseTask(bundle, records, 0, count, certificates, results, errors);
+		if (count <= RECORDS_PER_TASK)
+			task.compute();
+		else
+			pool.invoke(task);
+		// report the first failure in input order.
+		for (int i = 0; i < count; i++) {
+			Exception e = errors[i];
+			if (e == null)
+				continue;
+			if (e instanceof CertificateException)
+				throw (CertificateException) e;
+			if (e instanceof CRLException)
+				throw (CRLException) e;
+			if (e instanceof IOException)
+				throw (IOException) e;
+			throw (RuntimeException) e;
+		}
+		return results;
+	}
+
+	/**
+	 * Decodes and parses a range of records, forking while the range is large.
+	 */
+	@SuppressWarnings("serial")
+	private static final class ParseTask extends RecursiveAction {
+		private final ByteBuffer bundle;
+
+		private final int[] records;
+
+		private final int from, to;
+
+		private final boolean certificates;
+
+		private final Object[] results;
+
+		private final Exception[] errors;
+
+		ParseTask(ByteBuffer bundle, int[] records, int from, int to, boolean certificates, Object[] results,
+				Exception[] errors) {
+			this.bundle = bundle;
+			this.records = records;
+			this.from = from;
+			this.to = to;
+			this.certificates = certificates;
+			this.results = results;
+			this.errors = errors;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > RECORDS_PER_TASK) {
+				int mid = (from + to) >>> 1;
+				invokeAll(new ParseTask(bundle, records, from, mid, certificates, results, errors),
+						new ParseTask(bundle, records, mid, to, certificates, results, errors));
+				return;
+			}
+			for (int i = from; i < to; i++) {
+				int start = records[3 * i], stop = records[3 * i + 1];
+				try {
+					byte[] der;
+					if (records[3 * i + 2] != 0)
+						der = decodeBase64(bundle, start, stop);
+					else {
+						der = new byte[stop - start];
+						// absolute bulk get, without touching the shared position.
+						ByteBuffer view = bundle.duplicate();
+						view.limit(stop).position(start);
+						view.get(der);
+					}
+					InputStream in = new ByteArrayInputStream(der);
+					results[i] = certificates ? new X509Certificate(in) : new X509CRL(in);
+				} catch (Exception e) {
+					errors[i] = e;
+				}
+			}
+		}
+	}
+}
@@ -41,9 +41,10 @@ import java.io.BufferedInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 
 import com.distrimind.gnu.jgnu.io.Base64InputStream;
@@ -67,6 +68,9 @@ public class X509CertificateFactory extends CertificateFactorySpi {
 
 	public static final String END_X509_CRL = "-----END X509 CRL-----";
 
+	/** Bulk parser used for bundles, shared by all factories. */
+	private static final X509BundleParser bundleParser = new X509BundleParser();
+
 	public X509CertificateFactory() {
 		super();
 	}
@@ -82,21 +86,21 @@ public class X509CertificateFactory extends CertificateFactorySpi {
 		}
 	}
 
+	/**
+	 * Reads the whole stream and parses every certificate it holds with an
+	 * {@link X509BundleParser}, so that large bundles are decoded in parallel.
+	 */
 	@Override
 	public Collection<X509Certificate> engineGenerateCertificates(InputStream inStream) throws CertificateException {
-		LinkedList<X509Certificate> certs = new LinkedList<>();
-		while (true) {
-			try {
-				certs.add(generateCert(inStream));
-			} catch (EOFException eof) {
-				break;
-			} catch (IOException ioe) {
-				CertificateException ce = new CertificateException(ioe.getMessage());
-				ce.initCause(ioe);
-				throw ce;
-			}
+		if (inStream == null)
+			throw new CertificateException("missing input stream");
+		try {
+			return bundleParser.parseCertificates(inStream);
+		} catch (IOException ioe) {
+			CertificateException ce = new CertificateException(ioe.getMessage());
+			ce.initCause(ioe);
+			throw ce;
 		}
-		return certs;
 	}
 
 	@Override
@@ -125,21 +129,21 @@ public class X509CertificateFactory extends CertificateFactorySpi {
 		}
 	}
 
+	/**
+	 * Reads the whole stream and parses every CRL it holds with an
+	 * {@link X509BundleParser}, so that large bundles are decoded in parallel.
+	 */
 	@Override
 	public Collection<X509CRL> engineGenerateCRLs(InputStream inStream) throws CRLException {
-		LinkedList<X509CRL> crls = new LinkedList<>();
-		while (true) {
-			try {
-				crls.add(generateCRL(inStream));
-			} catch (EOFException eof) {
-				break;
-			} catch (IOException ioe) {
-				CRLException crle = new CRLException(ioe.getMessage());
-				crle.initCause(ioe);
-				throw crle;
-			}
+		if (inStream == null)
+			throw new CRLException("missing input stream");
+		try {
+			return bundleParser.parseCRLs(inStream);
+		} catch (IOException ioe) {
+			CRLException crle = new CRLException(ioe.getMessage());
+			crle.initCause(ioe);
+			throw crle;
 		}
-		return crls;
 	}
 
 	@Override
@@ -147,6 +151,62 @@ public class X509CertificateFactory extends CertificateFactorySpi {
 		return X509CertPath.ENCODINGS.iterator();
 	}
 
+	/**
+	 * Parses every certificate of an in-memory bundle.
+	 *
+	 * @param bundle
+	 *            The bundle, between its position and its limit.
+	 * @return The certificates, in input order.
+	 * @throws CertificateException
+	 *             If a record cannot be parsed.
+	 */
+	public List<X509Certificate> generateCertificates(ByteBuffer bundle) throws CertificateException {
+		return bundleParser.parseCertificates(bundle);
+	}
+
+	/**
+	 * Memory-maps a bundle file and parses every certificate it holds.
+	 *
+	 * @param bundle
+	 *            The file.
+	 * @return The certificates, in input order.
+	 * @throws IOException
+	 *             If the file cannot be mapped.
+	 * @throws CertificateException
+	 *             If a record cannot be parsed.
+	 */
+	public List<X509Certificate> generateCertificates(FileChannel bundle) throws IOException, CertificateException {
+		return bundleParser.parseCertificates(bundle);
+	}
+
+	/**
+	 * Parses every CRL of an in-memory bundle.
+	 *
+	 * @param bundle
+	 *            The bundle, between its position and its limit.
+	 * @return The CRLs, in input order.
+	 * @throws CRLException
+	 *             If a record cannot be parsed.
+	 */
+	public List<X509CRL> generateCRLs(ByteBuffer bundle) throws CRLException {
+		return bundleParser.parseCRLs(bundle);
+	}
+
+	/**
+	 * Memory-maps a bundle file and parses every CRL it holds.
+	 *
+	 * @param bundle
+	 *            The file.
+	 * @return The CRLs, in input order.
+	 * @throws IOException
+	 *             If the file cannot be mapped.
+	 * @throws CRLException
+	 *             If a record cannot be parsed.
+	 */
+	public List<X509CRL> generateCRLs(FileChannel bundle) throws IOException, CRLException {
+		return bundleParser.parseCRLs(bundle);
+	}
+
 	private X509Certificate generateCert(InputStream inStream) throws IOException, CertificateException {
 		if (inStream == null)
 			throw new CertificateException("missing input stream");
@@ -42,6 +42,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.metrics.Metrics;
 import com.distrimind.gnu.jgnu.security.sig.dss.DSSSignature;
 import com.distrimind.gnu.jgnu.security.sig.rsa.RSASignatureFactory;
 
@@ -59,6 +60,7 @@ public class SignatureFactory {
 	 * @return an instance of the scheme, or <code>null</code> if none found.
 	 */
 	public static final ISignature getInstance(String ssa) {
+		long start = Metrics.start();
 		if (ssa == null)
 			return null;
 
@@ -69,6 +71,7 @@ public class SignatureFactory {
 			result = new DSSSignature();
 		else if (ssa.startsWith(Registry.RSA_SIG_PREFIX))
 			result = RSASignatureFactory.getInstance(ssa);
+		Metrics.lookup(Metrics.SIGNATURE, ssa, start);
 
 		return result;
 	}
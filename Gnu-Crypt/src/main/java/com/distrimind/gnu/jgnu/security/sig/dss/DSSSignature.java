@@ -38,8 +38,6 @@ exception statement from your version.  */
 package com.distrimind.gnu.jgnu.security.sig.dss;
 
 import java.math.BigInteger;
-import java.security.interfaces.DSAPrivateKey;
-import java.security.interfaces.DSAPublicKey;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -52,6 +50,8 @@ import com.distrimind.gnu.jgnu.security.sig.BaseSignature;
 import com.distrimind.gnu.jgnu.security.sig.ISignature;
 import com.distrimind.gnu.vm.jgnu.security.PrivateKey;
 import com.distrimind.gnu.vm.jgnu.security.PublicKey;
+import com.distrimind.gnu.vm.jgnu.security.interfaces.DSAPrivateKey;
+import com.distrimind.gnu.vm.jgnu.security.interfaces.DSAPublicKey;
 
 /**
  * The DSS (Digital Signature Standard) algorithm makes use of the following
@@ -37,7 +37,6 @@ exception statement from your version. */
 
 package com.distrimind.gnu.jgnu.security.sig.dss;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -166,10 +165,8 @@ public class DSSSignatureX509Codec implements ISignatureCodec {
 		dssSigValue.add(derS);
 		DERValue derDssSigValue = new DERValue(DER.CONSTRUCTED | DER.SEQUENCE, dssSigValue);
 		byte[] result;
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
 		try {
-			DERWriter.write(baos, derDssSigValue);
-			result = baos.toByteArray();
+			result = DERWriter.encode(derDssSigValue);
 		} catch (IOException x) {
 			InvalidParameterException y = new InvalidParameterException();
 			y.initCause(x);
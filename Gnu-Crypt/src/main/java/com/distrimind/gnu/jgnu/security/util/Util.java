@@ -51,6 +51,15 @@ public class Util {
 
 	private static final char[] BASE64_CHARSET = BASE64_CHARS.toCharArray();
 
+	// Base-64 digit values, by character; -1 for illegal characters
+	private static final int[] BASE64_VALUES = new int[128];
+
+	static {
+		java.util.Arrays.fill(BASE64_VALUES, -1);
+		for (int i = 0; i < BASE64_CHARSET.length; i++)
+			BASE64_VALUES[BASE64_CHARSET[i]] = i;
+	}
+
 	/**
 	 * Returns a string of 2 hexadecimal digits (most significant digit first)
 	 * corresponding to the lowest 8 bits of <code>n</code>.
@@ -150,47 +159,32 @@ public class Util {
 		int len = str.length();
 		if (len == 0)
 			throw new NumberFormatException("Empty string");
-		byte[] a = new byte[len + 1];
-		int i, j;
-		for (i = 0; i < len; i++)
-			try {
-				a[i] = (byte) BASE64_CHARS.indexOf(str.charAt(i));
-			} catch (ArrayIndexOutOfBoundsException x) {
+		// the digits are right-aligned: decode from the last one backwards.
+		byte[] a = new byte[(len * 6 + 7) / 8];
+		int j = a.length;
+		int acc = 0, bits = 0;
+		for (int i = len - 1; i >= 0; i--) {
+			char c = str.charAt(i);
+			int v = c < 128 ? BASE64_VALUES[c] : -1;
+			if (v < 0)
 				throw new NumberFormatException("Illegal character at #" + i);
+			acc |= v << bits;
+			bits += 6;
+			if (bits >= 8) {
+				a[--j] = (byte) acc;
+				acc >>>= 8;
+				bits -= 8;
 			}
-		i = len - 1;
-		j = len;
-		try {
-			while (true) {
-				a[j] = a[i];
-				if (--i < 0)
-					break;
-				a[j] |= (a[i] & 0x03) << 6;
-				j--;
-				a[j] = (byte) ((a[i] & 0x3C) >>> 2);
-				if (--i < 0)
-					break;
-				a[j] |= (a[i] & 0x0F) << 4;
-				j--;
-				a[j] = (byte) ((a[i] & 0x30) >>> 4);
-				if (--i < 0)
-					break;
-				a[j] |= (a[i] << 2);
-				j--;
-				a[j] = 0;
-				if (--i < 0)
-					break;
-			}
-		} catch (Exception ignored) {
 		}
-		try { // ignore leading 0-bytes
-			while (a[j] == 0)
-				j++;
-		} catch (Exception x) {
+		if (bits > 0)
+			a[--j] = (byte) acc;
+		// ignore leading 0-bytes
+		while (j < a.length && a[j] == 0)
+			j++;
+		if (j == a.length)
 			return new byte[1]; // one 0-byte
-		}
-		byte[] result = new byte[len - j + 1];
-		System.arraycopy(a, j, result, 0, len - j + 1);
+		byte[] result = new byte[a.length - j];
+		System.arraycopy(a, j, result, 0, result.length);
 		return result;
 	}
 
@@ -225,57 +219,33 @@ public class Util {
 	 *         input.
 	 */
 	public static final String toBase64(byte[] buffer) {
-		int len = buffer.length, pos = len % 3;
-		byte b0 = 0, b1 = 0, b2 = 0;
-		switch (pos) {
-		case 1:
-			b2 = buffer[0];
-			break;
-		case 2:
-			b1 = buffer[0];
-			b2 = buffer[1];
-			break;
+		int len = buffer.length;
+		// groups of 3 bytes are aligned on the end of the buffer.
+		char[] out = new char[(len + 2) / 3 * 4];
+		int head = len % 3;
+		int i = 0, j = 0;
+		if (head != 0) {
+			int b = head == 1 ? buffer[0] & 0xFF : ((buffer[0] & 0xFF) << 8) | (buffer[1] & 0xFF);
+			out[j++] = BASE64_CHARSET[(b >>> 18) & 0x3F];
+			out[j++] = BASE64_CHARSET[(b >>> 12) & 0x3F];
+			out[j++] = BASE64_CHARSET[(b >>> 6) & 0x3F];
+			out[j++] = BASE64_CHARSET[b & 0x3F];
+			i = head;
 		}
-		StringBuilder sb = new StringBuilder();
-		int c;
-		boolean notleading = false;
-		do {
-			c = (b0 & 0xFC) >>> 2;
-			if (notleading || c != 0) {
-				sb.append(BASE64_CHARSET[c]);
-				notleading = true;
-			}
-			c = ((b0 & 0x03) << 4) | ((b1 & 0xF0) >>> 4);
-			if (notleading || c != 0) {
-				sb.append(BASE64_CHARSET[c]);
-				notleading = true;
-			}
-			c = ((b1 & 0x0F) << 2) | ((b2 & 0xC0) >>> 6);
-			if (notleading || c != 0) {
-				sb.append(BASE64_CHARSET[c]);
-				notleading = true;
-			}
-			c = b2 & 0x3F;
-			if (notleading || c != 0) {
-				sb.append(BASE64_CHARSET[c]);
-				notleading = true;
-			}
-			if (pos >= len)
-				break;
-			else {
-				try {
-					b0 = buffer[pos++];
-					b1 = buffer[pos++];
-					b2 = buffer[pos++];
-				} catch (ArrayIndexOutOfBoundsException x) {
-					break;
-				}
-			}
-		} while (true);
-
-		if (notleading)
-			return sb.toString();
-		return "0";
+		for (; i < len; i += 3) {
+			int b = ((buffer[i] & 0xFF) << 16) | ((buffer[i + 1] & 0xFF) << 8) | (buffer[i + 2] & 0xFF);
+			out[j++] = BASE64_CHARSET[b >>> 18];
+			out[j++] = BASE64_CHARSET[(b >>> 12) & 0x3F];
+			out[j++] = BASE64_CHARSET[(b >>> 6) & 0x3F];
+			out[j++] = BASE64_CHARSET[b & 0x3F];
+		}
+		// leading 0-digits are ignored
+		int start = 0;
+		while (start < j && out[start] == BASE64_CHARSET[0])
+			start++;
+		if (start == j)
+			return "0";
+		return new String(out, start, j - start);
 	}
 
 	/**
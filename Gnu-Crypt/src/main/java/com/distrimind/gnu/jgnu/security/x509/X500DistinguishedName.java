@@ -37,12 +37,16 @@ exception statement from your version. */
 
 package com.distrimind.gnu.jgnu.security.x509;
 
+import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -52,6 +56,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
 
 import com.distrimind.gnu.jgnu.security.OID;
 import com.distrimind.gnu.jgnu.security.der.DER;
@@ -63,37 +69,58 @@ public class X500DistinguishedName implements Principal {
 	// Constants and fields.
 	// -------------------------------------------------------------------------
 
-	public static final OID CN = new OID("2.5.4.3");
+	public static final OID CN = new OID("2.5.4.3").intern();
 
-	public static final OID C = new OID("2.5.4.6");
+	public static final OID C = new OID("2.5.4.6").intern();
 
-	public static final OID L = new OID("2.5.4.7");
+	public static final OID L = new OID("2.5.4.7").intern();
 
-	public static final OID ST = new OID("2.5.4.8");
+	public static final OID ST = new OID("2.5.4.8").intern();
 
-	public static final OID STREET = new OID("2.5.4.9");
+	public static final OID STREET = new OID("2.5.4.9").intern();
 
-	public static final OID O = new OID("2.5.4.10");
+	public static final OID O = new OID("2.5.4.10").intern();
 
-	public static final OID OU = new OID("2.5.4.11");
+	public static final OID OU = new OID("2.5.4.11").intern();
 
-	public static final OID T = new OID("2.5.4.12");
+	public static final OID T = new OID("2.5.4.12").intern();
 
-	public static final OID DNQ = new OID("2.5.4.46");
+	public static final OID DNQ = new OID("2.5.4.46").intern();
 
-	public static final OID NAME = new OID("2.5.4.41");
+	public static final OID NAME = new OID("2.5.4.41").intern();
 
-	public static final OID GIVENNAME = new OID("2.5.4.42");
+	public static final OID GIVENNAME = new OID("2.5.4.42").intern();
 
-	public static final OID INITIALS = new OID("2.5.4.43");
+	public static final OID INITIALS = new OID("2.5.4.43").intern();
 
-	public static final OID GENERATION = new OID("2.5.4.44");
+	public static final OID GENERATION = new OID("2.5.4.44").intern();
 
-	public static final OID EMAIL = new OID("1.2.840.113549.1.9.1");
+	public static final OID EMAIL = new OID("1.2.840.113549.1.9.1").intern();
 
-	public static final OID DC = new OID("0.9.2342.19200300.100.1.25");
+	public static final OID DC = new OID("0.9.2342.19200300.100.1.25").intern();
 
-	public static final OID UID = new OID("0.9.2342.19200300.100.1.1");
+	public static final OID UID = new OID("0.9.2342.19200300.100.1.1").intern();
+
+	/**
+	 * Pool of interned, unmodifiable names. Keys are compared by their canonical
+	 * form; {@link #intern()} additionally requires identical encodings before
+	 * handing out a pooled instance.
+	 */
+	private static final Map<X500DistinguishedName, WeakReference<X500DistinguishedName>> pool = new WeakHashMap<>();
+
+	/**
+	 * Returns the canonical form of an attribute value, as used for comparing
+	 * names (RFC 5280, section 7.1): internal white space is compressed to a single
+	 * space, leading and trailing white space is removed and characters are case
+	 * folded the same way {@link String#equalsIgnoreCase(String)} folds them.
+	 */
+	private static String canonicalValue(String str) {
+		String s = compressWS(str);
+		char[] chars = s.toCharArray();
+		for (int i = 0; i < chars.length; i++)
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		return new String(chars);
+	}
 
 	private static String compressWS(String str) {
 		StringBuilder buf = new StringBuilder();
@@ -118,6 +145,22 @@ public class X500DistinguishedName implements Principal {
 
 	private String stringRep;
 
+	/**
+	 * Canonical encoding of this name, computed once the name is fixed.
+	 */
+	private byte[] canonical;
+
+	/**
+	 * Hash code of the canonical encoding, valid when <code>canonical</code> is
+	 * not null.
+	 */
+	private int canonicalHash;
+
+	/**
+	 * Canonical attribute values of each RDN, computed once the name is fixed.
+	 */
+	private List<Map<OID, String>> canonicalComponents;
+
 	// Constructors.
 	// -------------------------------------------------------------------------
 
@@ -153,13 +196,54 @@ public class X500DistinguishedName implements Principal {
 		}
 	}
 
+	private byte[] canonical() {
+		if (canonical != null)
+			return canonical;
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (Iterator<Map<OID, String>> it = components.iterator(); it.hasNext();) {
+			Map<OID, String> m = it.next();
+			if (m.isEmpty())
+				continue;
+			// attributes of a multi-valued RDN form a set; sort them by type.
+			TreeMap<OID, String> sorted = new TreeMap<>();
+			for (Iterator<Entry<OID, String>> it2 = m.entrySet().iterator(); it2.hasNext();) {
+				Entry<OID, String> e = it2.next();
+				sorted.put(e.getKey(), canonicalValue(e.getValue()));
+			}
+			writeLength(out, sorted.size());
+			for (Iterator<Entry<OID, String>> it2 = sorted.entrySet().iterator(); it2.hasNext();) {
+				Entry<OID, String> e = it2.next();
+				byte[] oid = e.getKey().getDER();
+				writeLength(out, oid.length);
+				out.write(oid, 0, oid.length);
+				byte[] value = e.getValue().getBytes(StandardCharsets.UTF_8);
+				writeLength(out, value.length);
+				out.write(value, 0, value.length);
+			}
+		}
+		byte[] result = out.toByteArray();
+		if (fixed) {
+			canonicalHash = Arrays.hashCode(result);
+			canonical = result;
+		}
+		return result;
+	}
+
 	public boolean containsComponent(OID oid, String value) {
+		String canonicalValue = canonicalValue(value);
+		if (canonicalComponents != null) {
+			for (Iterator<Map<OID, String>> it = canonicalComponents.iterator(); it.hasNext();) {
+				if (canonicalValue.equals(it.next().get(oid)))
+					return true;
+			}
+			return false;
+		}
 		for (Iterator<Map<OID, String>> it = components.iterator(); it.hasNext();) {
 			Map<OID, String> rdn = it.next();
 			String s = rdn.get(oid);
 			if (s == null)
 				continue;
-			if (compressWS(value).equalsIgnoreCase(compressWS(s)))
+			if (canonicalValue.equals(canonicalValue(s)))
 				return true;
 		}
 		return false;
@@ -173,24 +257,21 @@ public class X500DistinguishedName implements Principal {
 		return count;
 	}
 
+	/**
+	 * Tests whether this name matches another. Names are compared by their
+	 * canonical form, which for unmodifiable names is computed only once, so that
+	 * this method is a hash check followed by an array comparison.
+	 */
 	@Override
 	public boolean equals(Object o) {
+		if (o == this)
+			return true;
 		if (!(o instanceof X500DistinguishedName))
 			return false;
-		if (size() != ((X500DistinguishedName) o).size())
+		X500DistinguishedName that = (X500DistinguishedName) o;
+		if (fixed && that.fixed && hashCode() != that.hashCode())
 			return false;
-		for (int i = 0; i < size(); i++) {
-			Map<OID, String> m = components.get(i);
-			for (Iterator<Entry<OID, String>> it2 = m.entrySet().iterator(); it2.hasNext();) {
-				Entry<OID, String> e = it2.next();
-				OID oid = e.getKey();
-				String v1 = e.getValue();
-				String v2 = ((X500DistinguishedName) o).getComponent(oid, i);
-				if (!compressWS(v1).equalsIgnoreCase(compressWS(v2)))
-					return false;
-			}
-		}
-		return true;
+		return Arrays.equals(canonical(), that.canonical());
 	}
 
 	public String getComponent(OID oid) {
@@ -239,16 +320,36 @@ public class X500DistinguishedName implements Principal {
 
 	@Override
 	public int hashCode() {
-		int sum = 0;
-		for (Iterator<Map<OID, String>> it = components.iterator(); it.hasNext();) {
-			Map<OID, String> m = it.next();
-			for (Iterator<Entry<OID, String>> it2 = m.entrySet().iterator(); it2.hasNext();) {
-				Entry<OID, String> e = it2.next();
-				sum += e.getKey().hashCode();
-				sum += e.getValue().hashCode();
+		if (fixed && canonical != null)
+			return canonicalHash;
+		return Arrays.hashCode(canonical());
+	}
+
+	/**
+	 * Returns a shared instance for this name. Unmodifiable names with identical
+	 * encodings (for example, the issuer name of every certificate signed by the
+	 * same CA) are mapped to a single instance; modifiable names are returned as
+	 * is.
+	 *
+	 * @return The interned name.
+	 */
+	public X500DistinguishedName intern() {
+		if (!fixed)
+			return this;
+		if (encoded == null)
+			getDer();
+		synchronized (pool) {
+			WeakReference<X500DistinguishedName> ref = pool.get(this);
+			X500DistinguishedName name = ref == null ? null : ref.get();
+			if (name != null) {
+				if (name.encoded != null && Arrays.equals(name.encoded, encoded))
+					return name;
+				// same name, different encoding: do not share the instance.
+				return this;
 			}
+			pool.put(this, new WeakReference<>(this));
+			return this;
 		}
-		return sum;
 	}
 
 	public void newRelativeDistinguishedName() {
@@ -460,6 +561,18 @@ public class X500DistinguishedName implements Principal {
 		}
 		components = Collections.unmodifiableList(newComps);
 		currentRdn = Collections.emptyMap();
+		List<Map<OID, String>> canonComps = new ArrayList<>(components.size());
+		for (Iterator<Map<OID, String>> it = components.iterator(); it.hasNext();) {
+			Map<OID, String> rdn = it.next();
+			Map<OID, String> canonRdn = new LinkedHashMap<>(rdn.size());
+			for (Iterator<Entry<OID, String>> it2 = rdn.entrySet().iterator(); it2.hasNext();) {
+				Entry<OID, String> e = it2.next();
+				canonRdn.put(e.getKey(), canonicalValue(e.getValue()));
+			}
+			canonComps.add(canonRdn);
+		}
+		canonicalComponents = canonComps;
+		canonical();
 	}
 
 	public int size() {
@@ -509,4 +622,12 @@ public class X500DistinguishedName implements Principal {
 		}
 		return (stringRep = str.toString());
 	}
+
+	private static void writeLength(ByteArrayOutputStream out, int len) {
+		while (len >= 0x80) {
+			out.write((len & 0x7F) | 0x80);
+			len >>>= 7;
+		}
+		out.write(len);
+	}
 }
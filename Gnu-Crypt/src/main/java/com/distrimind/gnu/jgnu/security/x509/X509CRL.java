@@ -74,14 +74,14 @@ import com.distrimind.gnu.vm.jgnu.security.cert.Certificate;
 public class X509CRL extends com.distrimind.gnu.vm.jgnu.security.cert.X509CRL implements GnuPKIExtension {
 
 	// private static final OID ID_DSA = new OID("1.2.840.10040.4.1");
-	private static final OID ID_DSA_WITH_SHA1 = new OID("1.2.840.10040.4.3");
+	private static final OID ID_DSA_WITH_SHA1 = new OID("1.2.840.10040.4.3").intern();
 
 	// private static final OID ID_RSA = new OID("1.2.840.113549.1.1.1");
-	private static final OID ID_RSA_WITH_MD2 = new OID("1.2.840.113549.1.1.2");
+	private static final OID ID_RSA_WITH_MD2 = new OID("1.2.840.113549.1.1.2").intern();
 
-	private static final OID ID_RSA_WITH_MD5 = new OID("1.2.840.113549.1.1.4");
+	private static final OID ID_RSA_WITH_MD5 = new OID("1.2.840.113549.1.1.4").intern();
 
-	private static final OID ID_RSA_WITH_SHA1 = new OID("1.2.840.113549.1.1.5");
+	private static final OID ID_RSA_WITH_SHA1 = new OID("1.2.840.113549.1.1.5").intern();
 
 	private byte[] encoded;
 
@@ -344,7 +344,7 @@ public class X509CRL extends com.distrimind.gnu.vm.jgnu.security.cert.X509CRL im
 
 		// issuer Name,
 		val = der.read();
-		issuerDN = new X500DistinguishedName(val.getEncoded());
+		issuerDN = new X500DistinguishedName(val.getEncoded()).intern();
 		der.skip(val.getLength());
 
 		// thisUpdate Time,
@@ -72,9 +72,9 @@ public class X509CertPath extends CertPath {
 	public static final List<String> ENCODINGS = Collections
 			.unmodifiableList(Arrays.asList(new String[] { "PkiPath", "PKCS7" }));
 
-	private static final OID PKCS7_SIGNED_DATA = new OID("1.2.840.113549.1.7.2");
+	private static final OID PKCS7_SIGNED_DATA = new OID("1.2.840.113549.1.7.2").intern();
 
-	private static final OID PKCS7_DATA = new OID("1.2.840.113549.1.7.1");
+	private static final OID PKCS7_DATA = new OID("1.2.840.113549.1.7.1").intern();
 
 	/** The certificate path. */
 	private List<? extends Certificate> path;
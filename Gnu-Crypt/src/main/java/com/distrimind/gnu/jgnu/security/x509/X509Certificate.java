@@ -98,19 +98,19 @@ public class X509Certificate extends com.distrimind.gnu.vm.jgnu.security.cert.X5
 
 	private static final long serialVersionUID = -2491127588187038216L;
 
-	protected static final OID ID_DSA = new OID("1.2.840.10040.4.1");
+	protected static final OID ID_DSA = new OID("1.2.840.10040.4.1").intern();
 
-	protected static final OID ID_DSA_WITH_SHA1 = new OID("1.2.840.10040.4.3");
+	protected static final OID ID_DSA_WITH_SHA1 = new OID("1.2.840.10040.4.3").intern();
 
-	protected static final OID ID_RSA = new OID("1.2.840.113549.1.1.1");
+	protected static final OID ID_RSA = new OID("1.2.840.113549.1.1.1").intern();
 
-	protected static final OID ID_RSA_WITH_MD2 = new OID("1.2.840.113549.1.1.2");
+	protected static final OID ID_RSA_WITH_MD2 = new OID("1.2.840.113549.1.1.2").intern();
 
-	protected static final OID ID_RSA_WITH_MD5 = new OID("1.2.840.113549.1.1.4");
+	protected static final OID ID_RSA_WITH_MD5 = new OID("1.2.840.113549.1.1.4").intern();
 
-	protected static final OID ID_RSA_WITH_SHA1 = new OID("1.2.840.113549.1.1.5");
+	protected static final OID ID_RSA_WITH_SHA1 = new OID("1.2.840.113549.1.1.5").intern();
 
-	protected static final OID ID_ECDSA_WITH_SHA1 = new OID("1.2.840.10045.4.1");
+	protected static final OID ID_ECDSA_WITH_SHA1 = new OID("1.2.840.10045.4.1").intern();
 
 	// This object SHOULD be serialized with an instance of
 	// java.security.cert.Certificate.CertificateRep, thus all fields are
@@ -520,7 +520,7 @@ public class X509Certificate extends com.distrimind.gnu.vm.jgnu.security.cert.X5
 
 		// issuer Name,
 		val = der.read();
-		issuer = new X500DistinguishedName(val.getEncoded());
+		issuer = new X500DistinguishedName(val.getEncoded()).intern();
 		der.skip(val.getLength());
 
 		// Validity ::= SEQUENCE {
@@ -534,7 +534,7 @@ public class X509Certificate extends com.distrimind.gnu.vm.jgnu.security.cert.X5
 
 		// subject Name,
 		val = der.read();
-		subject = new X500DistinguishedName(val.getEncoded());
+		subject = new X500DistinguishedName(val.getEncoded()).intern();
 		der.skip(val.getLength());
 
 		// SubjectPublicKeyInfo ::= SEQUENCE {
@@ -51,7 +51,7 @@ public class AuthorityKeyIdentifier extends Extension.Value {
 	// Constants and fields.
 	// -------------------------------------------------------------------------
 
-	public static final OID ID = new OID("2.5.29.35");
+	public static final OID ID = new OID("2.5.29.35").intern();
 
 	private final byte[] keyIdentifier;
 
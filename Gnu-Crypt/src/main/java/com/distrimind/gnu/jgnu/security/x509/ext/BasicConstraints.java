@@ -52,7 +52,7 @@ public class BasicConstraints extends Extension.Value {
 	// Constants and fields.
 	// -------------------------------------------------------------------------
 
-	public static final OID ID = new OID("2.5.29.19");
+	public static final OID ID = new OID("2.5.29.19").intern();
 
 	private final boolean ca;
 
@@ -50,7 +50,7 @@ public class CRLNumber extends Extension.Value {
 	// Constants and fields.
 	// -------------------------------------------------------------------------
 
-	public static final OID ID = new OID("2.5.29.20");
+	public static final OID ID = new OID("2.5.29.20").intern();
 
 	private final BigInteger number;
 
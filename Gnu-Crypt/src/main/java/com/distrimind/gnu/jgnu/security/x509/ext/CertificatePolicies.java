@@ -58,7 +58,7 @@ public class CertificatePolicies extends Extension.Value {
 	// Constants and fields.
 	// -------------------------------------------------------------------------
 
-	public static final OID ID = new OID("2.5.29.32");
+	public static final OID ID = new OID("2.5.29.32").intern();
 
 	private final List<OID> policies;
 
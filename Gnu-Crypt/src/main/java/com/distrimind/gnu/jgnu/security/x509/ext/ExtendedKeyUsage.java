@@ -52,7 +52,7 @@ public class ExtendedKeyUsage extends Extension.Value {
 	// Constants and fields.
 	// -------------------------------------------------------------------------
 
-	public static final OID ID = new OID("2.5.29.37");
+	public static final OID ID = new OID("2.5.29.37").intern();
 
 	private final List<OID> purposeIds;
 
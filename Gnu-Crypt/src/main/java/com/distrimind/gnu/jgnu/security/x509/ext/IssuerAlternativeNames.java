@@ -47,7 +47,7 @@ public class IssuerAlternativeNames extends Extension.Value {
 	// Constants and fields.
 	// -------------------------------------------------------------------------
 
-	public static final OID ID = new OID("2.5.29.18");
+	public static final OID ID = new OID("2.5.29.18").intern();
 
 	private final GeneralNames names;
 
@@ -50,7 +50,7 @@ public class KeyUsage extends Extension.Value {
 	// Constants and fields.
 	// -------------------------------------------------------------------------
 
-	public static final OID ID = new OID("2.5.29.15");
+	public static final OID ID = new OID("2.5.29.15").intern();
 
 	public static final int DIGITAL_SIGNATURE = 0;
 
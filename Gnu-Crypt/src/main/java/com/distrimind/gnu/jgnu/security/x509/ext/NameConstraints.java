@@ -73,7 +73,7 @@ import com.distrimind.gnu.jgnu.security.x509.ext.Extension.Value;
  * @author csm
  */
 public class NameConstraints extends Value {
-	public static final OID ID = new OID("2.5.29.30");
+	public static final OID ID = new OID("2.5.29.30").intern();
 
 	private List<GeneralSubtree> permittedSubtrees;
 
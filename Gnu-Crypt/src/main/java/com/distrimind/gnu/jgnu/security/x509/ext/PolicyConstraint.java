@@ -49,7 +49,7 @@ public class PolicyConstraint extends Extension.Value {
 	// Constants and fields.
 	// -------------------------------------------------------------------------
 
-	public static final OID ID = new OID("2.5.29.36");
+	public static final OID ID = new OID("2.5.29.36").intern();
 
 	private final int requireExplicitPolicy;
 
@@ -52,7 +52,7 @@ public class PolicyMappings extends Extension.Value {
 	// Constants and fields.
 	// -------------------------------------------------------------------------
 
-	public static final OID ID = new OID("2.5.29.33");
+	public static final OID ID = new OID("2.5.29.33").intern();
 
 	private final Map<OID, OID> mappings;
 
@@ -50,7 +50,7 @@ public class PrivateKeyUsagePeriod extends Extension.Value {
 	// Constants and fields.
 	// -------------------------------------------------------------------------
 
-	public static final OID ID = new OID("2.5.29.16");
+	public static final OID ID = new OID("2.5.29.16").intern();
 
 	private final Date notBefore;
 
@@ -50,7 +50,7 @@ public class ReasonCode extends Extension.Value {
 	// Constants and fields.
 	// -------------------------------------------------------------------------
 
-	public static final OID ID = new OID("2.5.29.21");
+	public static final OID ID = new OID("2.5.29.21").intern();
 
 	public final int reason;
 
@@ -47,7 +47,7 @@ public class SubjectAlternativeNames extends Extension.Value {
 	// Constants and fields.
 	// -------------------------------------------------------------------------
 
-	public static final OID ID = new OID("2.5.29.17");
+	public static final OID ID = new OID("2.5.29.17").intern();
 
 	private final GeneralNames names;
 
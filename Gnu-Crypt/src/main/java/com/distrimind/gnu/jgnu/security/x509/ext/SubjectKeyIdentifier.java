@@ -50,7 +50,7 @@ public class SubjectKeyIdentifier extends Extension.Value {
 	// Constant.
 	// -------------------------------------------------------------------------
 
-	public static final OID ID = new OID("2.5.29.14");
+	public static final OID ID = new OID("2.5.29.14").intern();
 
 	private final byte[] keyIdentifier;
 
@@ -82,20 +82,58 @@ DAMAGES.  */
 
 package com.distrimind.gnu.jgnu.util;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Table-driven Base-64 encoder and decoder (RFC 4648 alphabet).
+ * <p>
+ * Besides the string methods, data can be encoded and decoded between caller
+ * supplied arrays or {@link ByteBuffer}s, three input bytes (respectively four
+ * input characters) at a time, without any intermediate allocation. See
+ * {@link com.distrimind.gnu.jgnu.io.Base64InputStream} and
+ * {@link com.distrimind.gnu.jgnu.io.Base64OutputStream} for streaming.
+ */
 public final class Base64 {
 
 	/** Base-64 characters. */
-	private static final String BASE_64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
-
-	// Class methods.
-	// -------------------------------------------------------------------------
+	private static final byte[] ENCODE = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"
+			.getBytes(StandardCharsets.US_ASCII);
 
 	/** Base-64 padding character. */
 	private static final char BASE_64_PAD = '=';
 
+	/** Decoding table marker for characters that are not Base-64 digits. */
+	private static final int INVALID = -1;
+
+	/** Decoding table marker for white space. */
+	private static final int WHITESPACE = -2;
+
+	/** Decoding table marker for the padding character. */
+	private static final int PAD = -3;
+
+	/**
+	 * Digit values, by character. Every entry that is not a digit is negative, so
+	 * that four entries OR-ed together are negative if any of them is not a digit.
+	 */
+	private static final int[] DECODE = new int[256];
+
+	static {
+		Arrays.fill(DECODE, INVALID);
+		for (int i = 0; i < 256; i++)
+			if (Character.isWhitespace((char) i))
+				DECODE[i] = WHITESPACE;
+		for (int i = 0; i < ENCODE.length; i++)
+			DECODE[ENCODE[i]] = i;
+		DECODE[BASE_64_PAD] = PAD;
+	}
+
+	// Class methods.
+	// -------------------------------------------------------------------------
+
 	/**
 	 * Decode a Base-64 string into a byte array.
 	 *
@@ -105,91 +143,135 @@ public final class Base64 {
 	 * @throws java.io.IOException
 	 *             If the argument is not a valid Base-64 encoding.
 	 */
-	@SuppressWarnings("fallthrough")
 	public static byte[] decode(String b64) throws IOException {
-		ByteArrayOutputStream result = new ByteArrayOutputStream(b64.length() / 3);
-		int state = 0, i;
-		byte temp = 0;
-
-		for (i = 0; i < b64.length(); i++) {
-			if (Character.isWhitespace(b64.charAt(i))) {
-				continue;
-			}
-			if (b64.charAt(i) == BASE_64_PAD) {
-				break;
-			}
-
-			int pos = BASE_64.indexOf(b64.charAt(i));
-			if (pos < 0) {
-				throw new IOException("non-Base64 character " + b64.charAt(i));
-			}
-			switch (state) {
-			case 0:
-				temp = (byte) (pos - BASE_64.indexOf('A') << 2);
-				state = 1;
-				break;
-
-			case 1:
-				temp |= (byte) (pos - BASE_64.indexOf('A') >>> 4);
-				result.write(temp);
-				temp = (byte) ((pos - BASE_64.indexOf('A') & 0x0f) << 4);
-				state = 2;
-				break;
-
-			case 2:
-				temp |= (byte) ((pos - BASE_64.indexOf('A') & 0x7f) >>> 2);
-				result.write(temp);
-				temp = (byte) ((pos - BASE_64.indexOf('A') & 0x03) << 6);
-				state = 3;
-				break;
-
-			case 3:
-				temp |= (byte) (pos - BASE_64.indexOf('A') & 0xff);
-				result.write(temp);
-				state = 0;
-				break;
-
-			default:
-				throw new Error("this statement should be unreachable");
-			}
-		}
-
-		if (i < b64.length() && b64.charAt(i) == BASE_64_PAD) {
-			switch (state) {
-			case 0:
-			case 1:
-				throw new IOException("malformed Base64 sequence");
+		byte[] in = b64.getBytes(StandardCharsets.ISO_8859_1);
+		byte[] out = new byte[maxDecodedLength(in.length)];
+		int len = decode(in, 0, in.length, out, 0);
+		return len == out.length ? out : Arrays.copyOf(out, len);
+	}
 
-			case 2:
-				i++;
-				for (; i < b64.length(); i++) {
-					if (!Character.isWhitespace(b64.charAt(i))) {
+	/**
+	 * Decodes Base-64 text into a caller supplied array. White space is ignored;
+	 * padding, if any, must end the text.
+	 *
+	 * @param src
+	 *            The Base-64 text.
+	 * @param srcOff
+	 *            The offset of the text in <code>src</code>.
+	 * @param srcLen
+	 *            The length of the text.
+	 * @param dst
+	 *            The destination array, which must have at least
+	 *            {@link #maxDecodedLength(int)} bytes available.
+	 * @param dstOff
+	 *            The offset to decode to in <code>dst</code>.
+	 * @return The number of decoded bytes.
+	 * @throws IOException
+	 *             If the text is not a valid Base-64 encoding.
+	 */
+	public static int decode(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) throws IOException {
+		int[] table = DECODE;
+		int i = srcOff, end = srcOff + srcLen, j = dstOff;
+		int acc = 0, n = 0;
+		while (i < end) {
+			if (n == 0) {
+				// fast path: whole quanta, no white space.
+				while (i + 4 <= end) {
+					int b = (table[src[i] & 0xFF] << 18) | (table[src[i + 1] & 0xFF] << 12)
+							| (table[src[i + 2] & 0xFF] << 6) | table[src[i + 3] & 0xFF];
+					if (b < 0)
 						break;
-					}
+					dst[j] = (byte) (b >>> 16);
+					dst[j + 1] = (byte) (b >>> 8);
+					dst[j + 2] = (byte) b;
+					i += 4;
+					j += 3;
 				}
-				// We must see a second pad character here.
-				if (b64.charAt(i) != BASE_64_PAD) {
-					throw new IOException("malformed Base64 sequence");
+				if (i >= end)
+					break;
+			}
+			int c = src[i++] & 0xFF;
+			int v = table[c];
+			if (v >= 0) {
+				acc = (acc << 6) | v;
+				if (++n == 4) {
+					dst[j++] = (byte) (acc >>> 16);
+					dst[j++] = (byte) (acc >>> 8);
+					dst[j++] = (byte) acc;
+					acc = 0;
+					n = 0;
 				}
-				i++;
-				// Fall-through.
-
-			case 3:
-				i++;
-				for (; i < b64.length(); i++) {
-					// We should only see whitespace after this.
-					if (!Character.isWhitespace(b64.charAt(i))) {
+			} else if (v == WHITESPACE)
+				continue;
+			else if (v == PAD) {
+				if (n == 2)
+					dst[j++] = (byte) (acc >>> 4);
+				else if (n == 3) {
+					dst[j++] = (byte) (acc >>> 10);
+					dst[j++] = (byte) (acc >>> 2);
+				} else
+					throw new IOException("malformed Base64 sequence");
+				// n == 2 needs a second pad; then only white space may follow.
+				boolean needPad = n == 2;
+				for (; i < end; i++) {
+					v = table[src[i] & 0xFF];
+					if (needPad && v == PAD)
+						needPad = false;
+					else if (v != WHITESPACE)
 						throw new IOException("malformed Base64 sequence");
-					}
 				}
-			}
-		} else {
-			if (state != 0) {
-				throw new IOException("malformed Base64 sequence");
-			}
+				if (needPad)
+					throw new IOException("malformed Base64 sequence");
+				return j - dstOff;
+			} else
+				throw new IOException("non-Base64 character " + (char) c);
 		}
+		if (n != 0)
+			throw new IOException("malformed Base64 sequence");
+		return j - dstOff;
+	}
 
-		return result.toByteArray();
+	/**
+	 * Decodes the Base-64 text between the position and the limit of
+	 * <code>src</code> into <code>dst</code>. Both buffers' positions are advanced.
+	 * Heap buffers are decoded in place, without any copy.
+	 *
+	 * @param src
+	 *            The Base-64 text.
+	 * @param dst
+	 *            The destination buffer.
+	 * @return The number of decoded bytes.
+	 * @throws IOException
+	 *             If the text is not a valid Base-64 encoding.
+	 * @throws BufferOverflowException
+	 *             If <code>dst</code> has less than
+	 *             {@link #maxDecodedLength(int)} bytes remaining.
+	 */
+	public static int decode(ByteBuffer src, ByteBuffer dst) throws IOException {
+		int srcLen = src.remaining();
+		if (dst.remaining() < maxDecodedLength(srcLen))
+			throw new BufferOverflowException();
+		byte[] in;
+		int inOff;
+		if (src.hasArray()) {
+			in = src.array();
+			inOff = src.arrayOffset() + src.position();
+		} else {
+			in = new byte[srcLen];
+			inOff = 0;
+			src.duplicate().get(in);
+		}
+		int len;
+		if (dst.hasArray()) {
+			len = decode(in, inOff, srcLen, dst.array(), dst.arrayOffset() + dst.position());
+			dst.position(dst.position() + len);
+		} else {
+			byte[] out = new byte[maxDecodedLength(srcLen)];
+			len = decode(in, inOff, srcLen, out, 0);
+			dst.put(out, 0, len);
+		}
+		src.position(src.limit());
+		return len;
 	}
 
 	/**
@@ -232,77 +314,140 @@ public final class Base64 {
 	public static String encode(byte[] buf, int offset, int length, int tw) {
 		if (offset < 0 || length < 0 || offset + length > buf.length)
 			throw new ArrayIndexOutOfBoundsException(buf.length + " " + offset + " " + length);
-		int srcLength = buf.length - offset;
-		byte[] input = new byte[3];
-		int[] output = new int[4];
-		StringBuilder out = new StringBuilder();
-		int i = offset;
-		int chars = 0;
-
-		while (srcLength > 2) {
-			input[0] = buf[i++];
-			input[1] = buf[i++];
-			input[2] = buf[i++];
-			srcLength -= 3;
-
-			output[0] = (input[0] & 0xff) >>> 2;
-			output[1] = ((input[0] & 0x03) << 4) + ((input[1] & 0xff) >>> 4);
-			output[2] = ((input[1] & 0x0f) << 2) + ((input[2] & 0xff) >>> 6);
-			output[3] = input[2] & 0x3f;
-
-			out.append(BASE_64.charAt(output[0]));
-			if (tw > 0 && ++chars % tw == 0) {
-				out.append("\n");
-			}
-			out.append(BASE_64.charAt(output[1]));
-			if (tw > 0 && ++chars % tw == 0) {
-				out.append("\n");
-			}
-			out.append(BASE_64.charAt(output[2]));
-			if (tw > 0 && ++chars % tw == 0) {
-				out.append("\n");
-			}
-			out.append(BASE_64.charAt(output[3]));
-			if (tw > 0 && ++chars % tw == 0) {
-				out.append("\n");
-			}
+		int chars = encodedLength(length);
+		byte[] encoded = new byte[chars];
+		encode(buf, offset, length, encoded, 0);
+		if (tw <= 0)
+			return new String(encoded, StandardCharsets.ISO_8859_1);
+		// one line feed after every tw characters, plus a final one.
+		byte[] wrapped = new byte[chars + chars / tw + 1];
+		int j = 0;
+		for (int i = 0; i < chars; i += tw) {
+			int n = Math.min(tw, chars - i);
+			System.arraycopy(encoded, i, wrapped, j, n);
+			j += n;
+			if (n == tw)
+				wrapped[j++] = '\n';
 		}
+		wrapped[j++] = '\n';
+		return new String(wrapped, 0, j, StandardCharsets.ISO_8859_1);
+	}
 
-		if (srcLength != 0) {
-			input[0] = input[1] = input[2] = 0;
-			for (int j = 0; j < srcLength; j++) {
-				input[j] = buf[i + j];
-			}
-			output[0] = (input[0] & 0xff) >>> 2;
-			output[1] = ((input[0] & 0x03) << 4) + ((input[1] & 0xff) >>> 4);
-			output[2] = ((input[1] & 0x0f) << 2) + ((input[2] & 0xff) >>> 6);
+	/**
+	 * Encodes bytes into a caller supplied array, with padding and without line
+	 * wrapping.
+	 *
+	 * @param src
+	 *            The bytes to encode.
+	 * @param srcOff
+	 *            The offset of the bytes in <code>src</code>.
+	 * @param srcLen
+	 *            The number of bytes to encode.
+	 * @param dst
+	 *            The destination array, which must have at least
+	 *            {@link #encodedLength(int)} bytes available.
+	 * @param dstOff
+	 *            The offset to encode to in <code>dst</code>.
+	 * @return The number of characters written.
+	 */
+	public static int encode(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+		byte[] table = ENCODE;
+		int i = srcOff, j = dstOff;
+		int end = srcOff + srcLen - srcLen % 3;
+		while (i < end) {
+			int b = ((src[i] & 0xFF) << 16) | ((src[i + 1] & 0xFF) << 8) | (src[i + 2] & 0xFF);
+			dst[j] = table[b >>> 18];
+			dst[j + 1] = table[(b >>> 12) & 0x3F];
+			dst[j + 2] = table[(b >>> 6) & 0x3F];
+			dst[j + 3] = table[b & 0x3F];
+			i += 3;
+			j += 4;
+		}
+		switch (srcLen % 3) {
+		case 1: {
+			int b = src[i] & 0xFF;
+			dst[j++] = table[b >>> 2];
+			dst[j++] = table[(b << 4) & 0x3F];
+			dst[j++] = BASE_64_PAD;
+			dst[j++] = BASE_64_PAD;
+			break;
+		}
+		case 2: {
+			int b = ((src[i] & 0xFF) << 8) | (src[i + 1] & 0xFF);
+			dst[j++] = table[b >>> 10];
+			dst[j++] = table[(b >>> 4) & 0x3F];
+			dst[j++] = table[(b << 2) & 0x3F];
+			dst[j++] = BASE_64_PAD;
+			break;
+		}
+		default:
+		}
+		return j - dstOff;
+	}
 
-			out.append(BASE_64.charAt(output[0]));
-			if (tw > 0 && ++chars % tw == 0) {
-				out.append("\n");
-			}
-			out.append(BASE_64.charAt(output[1]));
-			if (tw > 0 && ++chars % tw == 0) {
-				out.append("\n");
-			}
-			if (srcLength == 1) {
-				out.append(BASE_64_PAD);
-			} else {
-				out.append(BASE_64.charAt(output[2]));
-			}
-			if (tw > 0 && ++chars % tw == 0) {
-				out.append("\n");
-			}
-			out.append(BASE_64_PAD);
-			if (tw > 0 && ++chars % tw == 0) {
-				out.append("\n");
-			}
+	/**
+	 * Encodes the bytes between the position and the limit of <code>src</code>
+	 * into <code>dst</code>, with padding and without line wrapping. Both buffers'
+	 * positions are advanced. Heap buffers are encoded in place, without any copy.
+	 *
+	 * @param src
+	 *            The bytes to encode.
+	 * @param dst
+	 *            The destination buffer.
+	 * @return The number of characters written.
+	 * @throws BufferOverflowException
+	 *             If <code>dst</code> has less than {@link #encodedLength(int)}
+	 *             bytes remaining.
+	 */
+	public static int encode(ByteBuffer src, ByteBuffer dst) {
+		int srcLen = src.remaining();
+		int len = encodedLength(srcLen);
+		if (dst.remaining() < len)
+			throw new BufferOverflowException();
+		byte[] in;
+		int inOff;
+		if (src.hasArray()) {
+			in = src.array();
+			inOff = src.arrayOffset() + src.position();
+		} else {
+			in = new byte[srcLen];
+			inOff = 0;
+			src.duplicate().get(in);
 		}
-		if (tw > 0) {
-			out.append("\n");
+		if (dst.hasArray()) {
+			encode(in, inOff, srcLen, dst.array(), dst.arrayOffset() + dst.position());
+			dst.position(dst.position() + len);
+		} else {
+			byte[] out = new byte[len];
+			encode(in, inOff, srcLen, out, 0);
+			dst.put(out);
 		}
+		src.position(src.limit());
+		return len;
+	}
 
-		return out.toString();
+	/**
+	 * Returns the number of characters of the padded encoding of
+	 * <code>length</code> bytes.
+	 *
+	 * @param length
+	 *            The number of bytes.
+	 * @return The length of the encoding.
+	 */
+	public static int encodedLength(int length) {
+		return (length + 2) / 3 * 4;
+	}
+
+	/**
+	 * Returns an upper bound of the number of bytes encoded in <code>length</code>
+	 * characters of Base-64 text.
+	 *
+	 * @param length
+	 *            The number of characters.
+	 * @return The maximum length of the decoded data.
+	 */
+	public static int maxDecodedLength(int length) {
+		return (length + 3) / 4 * 3;
 	}
 
 	// No constructor.
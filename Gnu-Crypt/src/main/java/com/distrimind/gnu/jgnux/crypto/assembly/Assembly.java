@@ -39,6 +39,8 @@ package com.distrimind.gnu.jgnux.crypto.assembly;
 
 import java.util.Map;
 
+import com.distrimind.gnu.vm.jgnux.crypto.ShortBufferException;
+
 /**
  * An <code>Assembly</code> is a construction consisting of a chain of
  * {@link Transformer} elements; each wired in pre- or post- transformation
@@ -48,6 +50,11 @@ import java.util.Map;
  * Once constructed, and correctly initialised, the bulk of the methods
  * available on the <code>Assembly</code> are delegated to the <i>head</i> of
  * the {@link Transformer} chain of the <code>Assembly</code>.
+ * <p>
+ * Besides the methods returning a new array per call, an
+ * <code>Assembly</code> can write its result into a caller-provided array; in
+ * that case, the whole chain works out of reusable buffers, and steady-state
+ * operation does not allocate.
  *
  * @see Transformer
  */
@@ -62,6 +69,12 @@ public class Assembly {
 	/** The first Transformer in the chain. */
 	private Transformer head;
 
+	/**
+	 * Output not yet delivered by the methods writing into a caller-provided
+	 * array.
+	 */
+	private final DataBuffer output = new DataBuffer(2048);
+
 	/**
 	 * Trivial constructor that sets the <i>chain</i> to a
 	 * <code>LoopbackTransformer</code>.
@@ -105,6 +118,21 @@ public class Assembly {
 		wireTransformer(t, Operation.PRE_PROCESSING);
 	}
 
+	/**
+	 * Copies the pending output into <code>out</code>, unless it does not fit.
+	 */
+	private int drain(byte[] out, int outOffset) throws TransformerException {
+		int result = output.length;
+		if (out.length - outOffset < result) {
+			ShortBufferException cause = new ShortBufferException(
+					"need " + result + " bytes, got " + (out.length - outOffset));
+			throw new TransformerException("output buffer too short", cause);
+		}
+		System.arraycopy(output.data, 0, out, outOffset, result);
+		output.reset();
+		return result;
+	}
+
 	/**
 	 * Initialises the <code>Assembly</code> for operation with specific
 	 * characteristics.
@@ -122,6 +150,7 @@ public class Assembly {
 		if (flow == null)
 			flow = Direction.FORWARD;
 		attributes.put(Transformer.DIRECTION, flow);
+		output.reset();
 		head.init(attributes);
 		wired = flow;
 	}
@@ -206,6 +235,56 @@ public class Assembly {
 		return result;
 	}
 
+	/**
+	 * Processes a designated number of bytes from a given byte array, as the last
+	 * <i>push</i> operation for this <code>Assembly</code>, and writes the result
+	 * into <code>out</code>. On success, this <code>Assembly</code> is reset.
+	 * <p>
+	 * If <code>out</code> is too short, a {@link TransformerException} caused by
+	 * a {@link ShortBufferException} is thrown, the chain is nevertheless flushed
+	 * and its output kept: calling this method again, with no input and a large
+	 * enough array, delivers it.
+	 *
+	 * @param in
+	 *            the input data bytes.
+	 * @param offset
+	 *            index of <code>in</code> from which to start considering data.
+	 * @param length
+	 *            the count of bytes to process.
+	 * @param out
+	 *            the output buffer.
+	 * @param outOffset
+	 *            index of <code>out</code> from which to write the result.
+	 * @return the count of bytes written into <code>out</code>.
+	 * @throws IllegalStateException
+	 *             if the instance is not initialised.
+	 * @throws TransformerException
+	 *             if a transformation-related exception occurs during the
+	 *             operation, or if <code>out</code> is too short.
+	 */
+	public int lastUpdate(byte[] in, int offset, int length, byte[] out, int outOffset)
+			throws TransformerException {
+		if (wired != null) {
+			head.lastUpdate(in, offset, length, output);
+			head.reset();
+			wired = null;
+		} else if (output.length == 0)
+			throw new IllegalStateException();
+		return drain(out, outOffset);
+	}
+
+	/**
+	 * Processes a designated number of bytes as the last <i>push</i> operation,
+	 * appending the result to <code>out</code>, then resets this
+	 * <code>Assembly</code>.
+	 */
+	void lastUpdate(byte[] in, int offset, int length, DataBuffer out) throws TransformerException {
+		if (wired == null)
+			throw new IllegalStateException();
+		head.lastUpdate(in, offset, length, out);
+		reset();
+	}
+
 	/**
 	 * Resets the <code>Assembly</code> for re-initialisation and use with other
 	 * characteristics. This method always succeeds.
@@ -213,6 +292,7 @@ public class Assembly {
 	public void reset() {
 		head.reset();
 		wired = null;
+		output.reset();
 	}
 
 	/**
@@ -275,6 +355,48 @@ public class Assembly {
 		return head.update(in, offset, length);
 	}
 
+	/**
+	 * Processes a designated number of bytes from a given byte array and writes
+	 * the result into <code>out</code>.
+	 * <p>
+	 * If <code>out</code> is too short, a {@link TransformerException} caused by
+	 * a {@link ShortBufferException} is thrown and the output is kept: calling
+	 * this method again, with no input and a large enough array, delivers it.
+	 *
+	 * @param in
+	 *            the input data bytes.
+	 * @param offset
+	 *            index of <code>in</code> from which to start considering data.
+	 * @param length
+	 *            the count of bytes to process.
+	 * @param out
+	 *            the output buffer.
+	 * @param outOffset
+	 *            index of <code>out</code> from which to write the result.
+	 * @return the count of bytes written into <code>out</code>.
+	 * @throws IllegalStateException
+	 *             if the instance is not initialised.
+	 * @throws TransformerException
+	 *             if a transformation-related exception occurs during the
+	 *             operation, or if <code>out</code> is too short.
+	 */
+	public int update(byte[] in, int offset, int length, byte[] out, int outOffset) throws TransformerException {
+		if (wired == null)
+			throw new IllegalStateException();
+		head.update(in, offset, length, output);
+		return drain(out, outOffset);
+	}
+
+	/**
+	 * Processes a designated number of bytes, appending the result to
+	 * <code>out</code>.
+	 */
+	void update(byte[] in, int offset, int length, DataBuffer out) throws TransformerException {
+		if (wired == null)
+			throw new IllegalStateException();
+		head.update(in, offset, length, out);
+	}
+
 	private void wireTransformer(Transformer t, Operation mode) {
 		if (t.tail != null)
 			throw new IllegalArgumentException();
@@ -0,0 +1,216 @@
+/* AssemblyReadableChannel.java -- a channel transforming read data through an Assembly
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.assembly;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A {@link ReadableByteChannel} that transforms the data read from an
+ * underlying channel, e.g. a {@link java.nio.channels.FileChannel}, through an
+ * initialised {@link Assembly}. When the underlying channel reaches its end of
+ * stream, the last update is made on the {@link Assembly}.
+ * <p>
+ * Data goes through buffers allocated once, at construction time: a direct
+ * buffer for channel I/O, and arrays for the {@link Assembly}. The memory used
+ * is thus constant, whatever the amount of data read.
+ *
+ * @see AssemblyWritableChannel
+ */
+public class AssemblyReadableChannel implements ReadableByteChannel {
+	private final ReadableByteChannel channel;
+
+	private final Assembly assembly;
+
+	/** Holds the data read from the underlying channel. */
+	private final byte[] inBuffer;
+
+	/** Holds the output of the assembly not yet read. */
+	private final DataBuffer outBuffer;
+
+	/** The offset into {@link #outBuffer} where unread data starts. */
+	private int outOffset;
+
+	/** Carries data from the underlying channel. */
+	private final ByteBuffer directBuffer;
+
+	private boolean open;
+
+	/** Whether the last update was made. */
+	private boolean eof;
+
+	/**
+	 * Creates a new channel using buffers of
+	 * {@link AssemblyWritableChannel#DEFAULT_BUFFER_SIZE} bytes.
+	 *
+	 * @param channel
+	 *            the channel to read the data to transform from.
+	 * @param assembly
+	 *            the initialised {@link Assembly} to transform data with.
+	 */
+	public AssemblyReadableChannel(ReadableByteChannel channel, Assembly assembly) {
+		this(channel, assembly, AssemblyWritableChannel.DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates a new channel.
+	 *
+	 * @param channel
+	 *            the channel to read the data to transform from.
+	 * @param assembly
+	 *            the initialised {@link Assembly} to transform data with.
+	 * @param bufferSize
+	 *            the size of the buffers, in bytes.
+	 */
+	public AssemblyReadableChannel(ReadableByteChannel channel, Assembly assembly, int bufferSize) {
+		super();
+
+		if (channel == null || assembly == null)
+			throw new NullPointerException();
+		if (bufferSize <= 0)
+			throw new IllegalArgumentException("bufferSize");
+		this.channel = channel;
+		this.assembly = assembly;
+		this.inBuffer = new byte[bufferSize];
+		this.outBuffer = new DataBuffer(bufferSize + 1024);
+		this.directBuffer = ByteBuffer.allocateDirect(bufferSize);
+		this.open = true;
+	}
+
+	/**
+	 * Closes the underlying channel. If the end of stream was not reached, the
+	 * {@link Assembly} is reset.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (!open)
+			return;
+		open = false;
+		if (!eof)
+			assembly.reset();
+		channel.close();
+	}
+
+	/**
+	 * Reads and transforms the next piece of input.
+	 *
+	 * @return <code>false</code> if the underlying channel had no data available.
+	 */
+	private boolean fill() throws IOException {
+		directBuffer.clear();
+		int count = channel.read(directBuffer);
+		if (count == 0)
+			return false;
+		outBuffer.reset();
+		outOffset = 0;
+		try {
+			if (count < 0) {
+				eof = true;
+				assembly.lastUpdate(inBuffer, 0, 0, outBuffer);
+			} else {
+				directBuffer.flip();
+				directBuffer.get(inBuffer, 0, count);
+				assembly.update(inBuffer, 0, count, outBuffer);
+			}
+		} catch (TransformerException x) {
+			IOException ioe = new IOException(String.valueOf(x));
+			ioe.initCause(x);
+			throw ioe;
+		}
+		return true;
+	}
+
+	@Override
+	public synchronized boolean isOpen() {
+		return open;
+	}
+
+	@Override
+	public synchronized int read(ByteBuffer dst) throws IOException {
+		if (!open)
+			throw new ClosedChannelException();
+		if (!dst.hasRemaining())
+			return 0;
+		while (outOffset == outBuffer.length) {
+			if (eof)
+				return -1;
+			if (!fill())
+				return 0;
+		}
+		int result = Math.min(dst.remaining(), outBuffer.length - outOffset);
+		dst.put(outBuffer.data, outOffset, result);
+		outOffset += result;
+		return result;
+	}
+
+	/**
+	 * Reads, transforms and writes to a designated channel everything the
+	 * underlying channel has to offer, until its end of stream. Both channels
+	 * remain open.
+	 *
+	 * @param target
+	 *            the channel to write to; e.g. a
+	 *            {@link java.nio.channels.FileChannel}.
+	 * @return the count of bytes written to <code>target</code>.
+	 * @throws IOException
+	 *             if the transformation or an I/O operation fails.
+	 */
+	public synchronized long transferTo(WritableByteChannel target) throws IOException {
+		if (!open)
+			throw new ClosedChannelException();
+		long result = 0;
+		while (true) {
+			while (outOffset < outBuffer.length) {
+				directBuffer.clear();
+				int count = Math.min(directBuffer.capacity(), outBuffer.length - outOffset);
+				directBuffer.put(outBuffer.data, outOffset, count);
+				directBuffer.flip();
+				while (directBuffer.hasRemaining())
+					target.write(directBuffer);
+				outOffset += count;
+				result += count;
+			}
+			if (eof)
+				return result;
+			fill();
+		}
+	}
+}
@@ -0,0 +1,217 @@
+/* AssemblyWritableChannel.java -- a channel transforming written data through an Assembly
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.assembly;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A {@link WritableByteChannel} that transforms the data written to it through
+ * an initialised {@link Assembly} before writing it to an underlying channel;
+ * e.g. a {@link java.nio.channels.FileChannel}. Closing this channel makes the
+ * last update on the {@link Assembly}, writes its result, and closes the
+ * underlying channel.
+ * <p>
+ * Data goes through buffers allocated once, at construction time: a direct
+ * buffer for channel I/O, and arrays for the {@link Assembly}. The memory used
+ * is thus constant, whatever the amount of data written.
+ *
+ * @see AssemblyReadableChannel
+ */
+public class AssemblyWritableChannel implements WritableByteChannel {
+	/** The default size of the buffers, in bytes. */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	private final WritableByteChannel channel;
+
+	private final Assembly assembly;
+
+	/** Holds the input, when it is not backed by an array. */
+	private final byte[] inBuffer;
+
+	/** Holds the output of the assembly. */
+	private final DataBuffer outBuffer;
+
+	/** Carries data to and from the underlying channels. */
+	private final ByteBuffer directBuffer;
+
+	private boolean open;
+
+	/**
+	 * Creates a new channel using buffers of {@link #DEFAULT_BUFFER_SIZE} bytes.
+	 *
+	 * @param channel
+	 *            the channel to write the transformed data to.
+	 * @param assembly
+	 *            the initialised {@link Assembly} to transform data with.
+	 */
+	public AssemblyWritableChannel(WritableByteChannel channel, Assembly assembly) {
+		this(channel, assembly, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates a new channel.
+	 *
+	 * @param channel
+	 *            the channel to write the transformed data to.
+	 * @param assembly
+	 *            the initialised {@link Assembly} to transform data with.
+	 * @param bufferSize
+	 *            the size of the buffers, in bytes.
+	 */
+	public AssemblyWritableChannel(WritableByteChannel channel, Assembly assembly, int bufferSize) {
+		super();
+
+		if (channel == null || assembly == null)
+			throw new NullPointerException();
+		if (bufferSize <= 0)
+			throw new IllegalArgumentException("bufferSize");
+		this.channel = channel;
+		this.assembly = assembly;
+		this.inBuffer = new byte[bufferSize];
+		this.outBuffer = new DataBuffer(bufferSize + 1024);
+		this.directBuffer = ByteBuffer.allocateDirect(bufferSize);
+		this.open = true;
+	}
+
+	/**
+	 * Makes the last update on the {@link Assembly}, writes the result, and
+	 * closes the underlying channel.
+	 *
+	 * @throws IOException
+	 *             if the transformation or an I/O operation fails.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (!open)
+			return;
+		open = false;
+		try {
+			outBuffer.reset();
+			assembly.lastUpdate(inBuffer, 0, 0, outBuffer);
+			flush();
+		} catch (TransformerException x) {
+			throw newIOException(x);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/** Writes the content of {@link #outBuffer} to the underlying channel. */
+	private void flush() throws IOException {
+		for (int offset = 0; offset < outBuffer.length;) {
+			directBuffer.clear();
+			int count = Math.min(directBuffer.capacity(), outBuffer.length - offset);
+			directBuffer.put(outBuffer.data, offset, count);
+			directBuffer.flip();
+			while (directBuffer.hasRemaining())
+				channel.write(directBuffer);
+			offset += count;
+		}
+		outBuffer.reset();
+	}
+
+	@Override
+	public synchronized boolean isOpen() {
+		return open;
+	}
+
+	private IOException newIOException(TransformerException cause) {
+		IOException result = new IOException(String.valueOf(cause));
+		result.initCause(cause);
+		return result;
+	}
+
+	/**
+	 * Transforms and writes everything a designated channel has to offer, until
+	 * its end of stream. This channel remains open.
+	 *
+	 * @param source
+	 *            the channel to read from; e.g. a
+	 *            {@link java.nio.channels.FileChannel}.
+	 * @return the count of bytes read from <code>source</code>.
+	 * @throws IOException
+	 *             if the transformation or an I/O operation fails.
+	 */
+	public synchronized long transferFrom(ReadableByteChannel source) throws IOException {
+		if (!open)
+			throw new ClosedChannelException();
+		long result = 0;
+		while (true) {
+			directBuffer.clear();
+			int count = source.read(directBuffer);
+			if (count < 0)
+				return result;
+			directBuffer.flip();
+			directBuffer.get(inBuffer, 0, count);
+			update(inBuffer, 0, count);
+			result += count;
+		}
+	}
+
+	private void update(byte[] in, int offset, int length) throws IOException {
+		try {
+			assembly.update(in, offset, length, outBuffer);
+		} catch (TransformerException x) {
+			throw newIOException(x);
+		}
+		flush();
+	}
+
+	@Override
+	public synchronized int write(ByteBuffer src) throws IOException {
+		if (!open)
+			throw new ClosedChannelException();
+		int result = src.remaining();
+		while (src.hasRemaining()) {
+			int count = Math.min(src.remaining(), inBuffer.length);
+			if (src.hasArray()) { // no need to copy
+				int position = src.position();
+				update(src.array(), src.arrayOffset() + position, count);
+				src.position(position + count);
+			} else {
+				src.get(inBuffer, 0, count);
+				update(inBuffer, 0, count);
+			}
+		}
+		return result;
+	}
+}
@@ -45,6 +45,10 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
 
@@ -64,6 +68,16 @@ import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
  * {@link com.distrimind.gnu.jgnux.crypto.mode.ECB} mode which basically exposes a
  * symmetric-key block cipher algorithm as a <i>Mode</i> of Operations.
  * <p>
+ * Large inputs can be given to {@link #update(byte[], int, byte[], int, int)},
+ * which runs them through the stages chunk by chunk. When initialised with the
+ * {@link #PIPELINE} attribute set, that method runs each stage on its own
+ * worker: a stage transforms a chunk, in place in the output, as soon as the
+ * previous stage is done with it, while staying at most a few chunks ahead of
+ * the next stage, so that a chunk is still cached when the next stage reads
+ * it. Each stage thus still sees its blocks in order, which feedback modes
+ * require; stages whose mode allows it (ECB, CTR and ICM) additionally split
+ * every chunk among the threads of the common {@link ForkJoinPool}.
+ * <p>
  * References:
  * <ol>
  * <li><a href="http://www.cacr.math.uwaterloo.ca/hac">[HAC]</a>: Handbook of
@@ -75,6 +89,36 @@ import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
 public class Cascade {
 	public static final String DIRECTION = "com.distrimind.gnu.crypto.assembly.cascade.direction";
 
+	/**
+	 * Property name of a {@link Boolean} telling whether bulk updates should be
+	 * pipelined across stages. Defaults to {@link Boolean#FALSE}.
+	 */
+	public static final String PIPELINE = "com.distrimind.gnu.crypto.assembly.cascade.pipeline";
+
+	/**
+	 * Property name of the {@link Executor} running the stages of a pipelined
+	 * bulk update, except the last one which runs on the calling thread. Stage
+	 * workers wait on each other through {@link ForkJoinPool#managedBlock}, so
+	 * that a {@link ForkJoinPool} compensates for them. Defaults to
+	 * {@link ForkJoinPool#commonPool()}.
+	 */
+	public static final String EXECUTOR = "com.distrimind.gnu.crypto.assembly.cascade.executor";
+
+	/**
+	 * Property name of an {@link Integer} giving the size, in bytes, of the
+	 * chunks a bulk update is processed by. It is rounded down to a multiple of
+	 * the block size. Defaults to 64 KiB.
+	 */
+	public static final String CHUNK_SIZE = "com.distrimind.gnu.crypto.assembly.cascade.chunk.size";
+
+	private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+	/** How many chunks a pipelined stage may be ahead of the next one. */
+	private static final int PIPELINE_DEPTH = 4;
+
+	/** The smallest part of a chunk a forked stage is given. */
+	private static final int MIN_SEGMENT_SIZE = 8 * 1024;
+
 	/**
 	 * Returns the Least Common Multiple of two integers.
 	 *
@@ -102,6 +146,21 @@ public class Cascade {
 	/** The curently set block-size for this instance. */
 	protected int blockSize;
 
+	/** Holds the output of a stage while the next one reads it. */
+	private byte[] scratch;
+
+	/** The stages, in processing order, while initialised. */
+	private Stage[] pipeline;
+
+	/** The block size of each element of {@link #pipeline}. */
+	private int[] stageBlockSizes;
+
+	/** The size of bulk update chunks. */
+	private int chunkSize;
+
+	/** Runs pipelined stages, or <code>null</code> if not pipelining. */
+	private Executor executor;
+
 	public Cascade() {
 		super();
 
@@ -195,6 +254,23 @@ public class Cascade {
 			Collections.reverse(stageKeys);
 		wired = flow;
 		blockSize = optimalSize;
+		scratch = new byte[optimalSize];
+		pipeline = new Stage[stageKeys.size()];
+		stageBlockSizes = new int[pipeline.length];
+		int i = 0;
+		for (Iterator<Object> it = stageKeys.listIterator(); it.hasNext(); i++) {
+			pipeline[i] = stages.get(it.next());
+			stageBlockSizes[i] = pipeline[i].currentBlockSize();
+		}
+		Integer chunk = (Integer) attributes.get(CHUNK_SIZE);
+		chunkSize = chunk == null ? DEFAULT_CHUNK_SIZE : chunk.intValue();
+		chunkSize = Math.max(blockSize, chunkSize - chunkSize % blockSize);
+		executor = null;
+		if (Boolean.TRUE.equals(attributes.get(PIPELINE))) {
+			executor = (Executor) attributes.get(EXECUTOR);
+			if (executor == null)
+				executor = ForkJoinPool.commonPool();
+		}
 	}
 
 	/**
@@ -266,6 +342,47 @@ public class Cascade {
 			Collections.reverse(stageKeys);
 		wired = null;
 		blockSize = 0;
+		scratch = null;
+		pipeline = null;
+		stageBlockSizes = null;
+		executor = null;
+	}
+
+	/**
+	 * Runs a designated stage over a range of whole blocks; forked copies of the
+	 * stage share the work when <code>parallel</code> is set and the stage allows
+	 * it.
+	 */
+	private void run(int index, byte[] in, int inOffset, byte[] out, int outOffset, int length, boolean parallel) {
+		Stage stage = pipeline[index];
+		int stageBlockSize = stageBlockSizes[index];
+		if (parallel && stage instanceof ForkableStage) {
+			ForkableStage forkable = (ForkableStage) stage;
+			int count = Math.min(ForkJoinPool.getCommonPoolParallelism(), length / MIN_SEGMENT_SIZE);
+			if (count > 1) {
+				int blocks = length / stageBlockSize;
+				Segment[] segments = new Segment[count];
+				for (int i = 0, first = 0; i < count; i++) {
+					int n = (blocks - first) / (count - i);
+					Stage fork = forkable.fork(first, n);
+					if (fork == null)
+						break;
+					int offset = first * stageBlockSize;
+					segments[i] = new Segment(fork, stageBlockSize, in, inOffset + offset, out, outOffset + offset,
+							n * stageBlockSize);
+					first += n;
+				}
+				if (segments[count - 1] != null) {
+					ForkJoinTask.invokeAll(segments);
+					forkable.skip(blocks);
+					return;
+				}
+				for (int i = 0; i < count && segments[i] != null; i++)
+					segments[i].stage.reset();
+			}
+		}
+		for (int j = 0; j < length; j += stageBlockSize)
+			stage.update(in, inOffset + j, out, outOffset + j);
 	}
 
 	/**
@@ -328,15 +445,225 @@ public class Cascade {
 	public void update(byte[] in, int inOffset, byte[] out, int outOffset) {
 		if (wired == null)
 			throw new IllegalStateException();
-		int stageBlockSize, j, i = stages.size();
-		for (Iterator<Object> it = stageKeys.listIterator(); it.hasNext();) {
-			Stage stage = stages.get(it.next());
-			stageBlockSize = stage.currentBlockSize();
+		int stageBlockSize, j, i = pipeline.length;
+		for (int s = 0; s < pipeline.length; s++) {
+			Stage stage = pipeline[s];
+			stageBlockSize = stageBlockSizes[s];
 			for (j = 0; j < blockSize; j += stageBlockSize)
 				stage.update(in, inOffset + j, out, outOffset + j);
 			i--;
-			if (i > 0)
-				System.arraycopy(out, outOffset, in, inOffset, blockSize);
+			if (i > 0) {
+				System.arraycopy(out, outOffset, scratch, 0, blockSize);
+				in = scratch;
+				inOffset = 0;
+			}
+		}
+	}
+
+	/**
+	 * Processes a designated number of bytes, a multiple of the block size, of
+	 * <i>plaintext</i> (if initialised in the {@link Direction#FORWARD} state) or
+	 * <i>ciphertext</i> (if initialised in the {@link Direction#REVERSED} state).
+	 * The result is the same as calling {@link #update(byte[], int, byte[], int)}
+	 * for each block in turn.
+	 * <p>
+	 * The input is processed in chunks, each of them going through all the
+	 * stages, in place in <code>out</code>, before the next one; if this instance
+	 * was initialised with the {@link #PIPELINE} attribute set, and the input
+	 * spans more than one chunk, the stages run concurrently. <code>in</code> and
+	 * <code>out</code> may be the same array if the offsets are the same.
+	 *
+	 * @param in
+	 *            the input data.
+	 * @param inOffset
+	 *            index of <code>in</code> from which to start considering data.
+	 * @param out
+	 *            the output buffer.
+	 * @param outOffset
+	 *            index of <code>out</code> from which to store result.
+	 * @param length
+	 *            the count of bytes to process.
+	 * @throws IllegalStateException
+	 *             if the instance is not initialised.
+	 * @throws IllegalArgumentException
+	 *             if <code>length</code> is not a multiple of the block size.
+	 */
+	public void update(byte[] in, int inOffset, byte[] out, int outOffset, int length) {
+		if (wired == null)
+			throw new IllegalStateException();
+		if (length % blockSize != 0)
+			throw new IllegalArgumentException("length is not a multiple of the block size");
+		if (executor != null && length > chunkSize) {
+			new Pipeline(in, inOffset, out, outOffset, length).run();
+			return;
+		}
+		for (int n, done = 0; done < length; done += n) {
+			n = Math.min(chunkSize, length - done);
+			run(0, in, inOffset + done, out, outOffset + done, n, false);
+			for (int s = 1; s < pipeline.length; s++)
+				run(s, out, outOffset + done, out, outOffset + done, n, false);
+		}
+	}
+
+	/**
+	 * The state of one pipelined bulk update: every stage but the last runs on
+	 * the executor, and the last one on the calling thread. Chunk <i>c</i> goes
+	 * through stage <i>s</i> once stage <i>s - 1</i> is done with it, and once
+	 * stage <i>s + 1</i> is done with chunk <i>c - </i>{@link #PIPELINE_DEPTH}.
+	 */
+	private final class Pipeline {
+		private final byte[] in, out;
+
+		private final int inOffset, outOffset, length, chunks;
+
+		/** The count of chunks each stage is done with. */
+		private final int[] done;
+
+		/** The count of stage workers still running. */
+		private int running;
+
+		private Throwable failure;
+
+		Pipeline(byte[] in, int inOffset, byte[] out, int outOffset, int length) {
+			super();
+
+			this.in = in;
+			this.inOffset = inOffset;
+			this.out = out;
+			this.outOffset = outOffset;
+			this.length = length;
+			this.chunks = (length + chunkSize - 1) / chunkSize;
+			this.done = new int[pipeline.length];
+		}
+
+		/** Waits until a stage may process a chunk. */
+		private void await(final int stage, final int chunk) throws InterruptedException {
+			ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+				@Override
+				public boolean block() throws InterruptedException {
+					synchronized (Pipeline.this) {
+						while (!isReleasable())
+							Pipeline.this.wait();
+					}
+					return true;
+				}
+
+				@Override
+				public boolean isReleasable() {
+					synchronized (Pipeline.this) {
+						return failure != null || ((stage == 0 || done[stage - 1] > chunk)
+								&& (stage == done.length - 1 || chunk - done[stage + 1] < PIPELINE_DEPTH));
+					}
+				}
+			});
+			synchronized (this) {
+				if (failure != null)
+					throw new InterruptedException("pipeline aborted");
+			}
+		}
+
+		private synchronized void completed(int stage) {
+			done[stage]++;
+			notifyAll();
+		}
+
+		private synchronized void exited(Throwable t) {
+			if (t != null && failure == null)
+				failure = t;
+			running--;
+			notifyAll();
+		}
+
+		void run() {
+			int last = pipeline.length - 1;
+			running = pipeline.length;
+			for (int s = 0; s < last; s++) {
+				final int stage = s;
+				try {
+					executor.execute(new Runnable() {
+						@Override
+						public void run() {
+							work(stage);
+						}
+					});
+				} catch (RuntimeException x) {
+					for (; s < last; s++)
+						exited(x);
+					break;
+				}
+			}
+			work(last);
+			boolean interrupted = false;
+			synchronized (this) {
+				while (running > 0)
+					try {
+						wait();
+					} catch (InterruptedException x) {
+						interrupted = true;
+					}
+			}
+			if (interrupted)
+				Thread.currentThread().interrupt();
+			if (failure instanceof RuntimeException)
+				throw (RuntimeException) failure;
+			if (failure instanceof Error)
+				throw (Error) failure;
+			if (failure != null)
+				throw (IllegalStateException) new IllegalStateException("update()").initCause(failure);
+		}
+
+		private void work(int stage) {
+			Throwable t = null;
+			try {
+				for (int c = 0; c < chunks; c++) {
+					await(stage, c);
+					int offset = c * chunkSize;
+					int n = Math.min(chunkSize, length - offset);
+					if (stage == 0)
+						Cascade.this.run(stage, in, inOffset + offset, out, outOffset + offset, n, true);
+					else
+						Cascade.this.run(stage, out, outOffset + offset, out, outOffset + offset, n, true);
+					completed(stage);
+				}
+			} catch (Throwable x) {
+				t = x;
+			}
+			exited(t);
+		}
+	}
+
+	/** Processes a range of blocks with a forked {@link Stage}. */
+	private static final class Segment extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		final Stage stage;
+
+		private final int stageBlockSize;
+
+		private final byte[] in, out;
+
+		private final int inOffset, outOffset, length;
+
+		Segment(Stage stage, int stageBlockSize, byte[] in, int inOffset, byte[] out, int outOffset, int length) {
+			super();
+
+			this.stage = stage;
+			this.stageBlockSize = stageBlockSize;
+			this.in = in;
+			this.inOffset = inOffset;
+			this.out = out;
+			this.outOffset = outOffset;
+			this.length = length;
+		}
+
+		@Override
+		protected void compute() {
+			try {
+				for (int j = 0; j < length; j += stageBlockSize)
+					stage.update(in, inOffset + j, out, outOffset + j);
+			} finally {
+				stage.reset();
+			}
 		}
 	}
 }
@@ -73,13 +73,12 @@ class CascadeTransformer extends Transformer {
 	}
 
 	@Override
-	byte[] lastUpdateDelegate() throws TransformerException {
+	void lastUpdateDelegate(DataBuffer out) throws TransformerException {
 		if (inBuffer.size() != 0) {
 			IllegalStateException cause = new IllegalStateException(
 					"Cascade transformer, after last update, must be empty but isn't");
 			throw new TransformerException("lastUpdateDelegate()", cause);
 		}
-		return new byte[0];
 	}
 
 	@Override
@@ -88,25 +87,30 @@ class CascadeTransformer extends Transformer {
 		blockSize = 0;
 	}
 
+	/**
+	 * Completes the block held in {@link #inBuffer}, if any, then runs every
+	 * whole block straight from <code>in</code> into <code>out</code>. Only the
+	 * incomplete trailing block, if any, is kept.
+	 */
 	@Override
-	byte[] updateDelegate(byte[] in, int offset, int length) {
-		byte[] result = updateInternal(in, offset, length);
-		return result;
-	}
-
-	private byte[] updateInternal(byte[] in, int offset, int length) {
-		byte[] result;
-		for (int i = 0; i < length; i++) {
-			inBuffer.write(in[offset++] & 0xFF);
-			if (inBuffer.size() >= blockSize) {
-				result = inBuffer.toByteArray();
-				inBuffer.reset();
-				delegate.update(result, 0, result, 0);
-				outBuffer.write(result, 0, blockSize);
-			}
+	void updateDelegate(byte[] in, int offset, int length, DataBuffer out) {
+		if (inBuffer.size() != 0) {
+			int count = Math.min(blockSize - inBuffer.size(), length);
+			inBuffer.write(in, offset, count);
+			offset += count;
+			length -= count;
+			if (inBuffer.size() < blockSize)
+				return;
+			int o = out.append(blockSize);
+			delegate.update(inBuffer.data, 0, out.data, o);
+			inBuffer.reset();
+		}
+		int count = length - length % blockSize;
+		if (count > 0) {
+			int o = out.append(count);
+			delegate.update(in, offset, out.data, o, count);
 		}
-		result = outBuffer.toByteArray();
-		outBuffer.reset();
-		return result;
+		if (count < length)
+			inBuffer.write(in, offset + count, length - count);
 	}
 }
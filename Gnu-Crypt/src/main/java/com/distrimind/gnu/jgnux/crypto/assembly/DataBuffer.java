@@ -0,0 +1,105 @@
+/* DataBuffer.java -- a reusable, growable byte buffer for transformer chains
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.assembly;
+
+import java.util.Arrays;
+
+/**
+ * A growable byte buffer shared between the elements of a {@link Transformer}
+ * chain. Unlike a {@link java.io.ByteArrayOutputStream}, its backing array is
+ * exposed so that a stage can transform data directly into it, and the next
+ * stage can read it in place; clearing the buffer keeps the array for reuse.
+ */
+final class DataBuffer {
+	/** The backing array; valid bytes are at <code>[0, length)</code>. */
+	byte[] data;
+
+	/** The count of valid bytes in {@link #data}. */
+	int length;
+
+	DataBuffer(int capacity) {
+		super();
+
+		data = new byte[capacity];
+	}
+
+	/**
+	 * Reserves <code>count</code> bytes at the end of this buffer and returns the
+	 * index of the first one. The caller is expected to fill them.
+	 */
+	int append(int count) {
+		ensureCapacity(length + count);
+		int result = length;
+		length += count;
+		return result;
+	}
+
+	/** Discards the first <code>count</code> valid bytes. */
+	void discard(int count) {
+		length -= count;
+		System.arraycopy(data, count, data, 0, length);
+	}
+
+	/** Grows the backing array, if needed, to hold <code>capacity</code> bytes. */
+	void ensureCapacity(int capacity) {
+		if (capacity > data.length)
+			data = Arrays.copyOf(data, Math.max(capacity, data.length << 1));
+	}
+
+	/** Returns the count of free bytes after the valid ones. */
+	int remaining() {
+		return data.length - length;
+	}
+
+	void reset() {
+		length = 0;
+	}
+
+	int size() {
+		return length;
+	}
+
+	byte[] toByteArray() {
+		return Arrays.copyOf(data, length);
+	}
+
+	void write(byte[] in, int offset, int count) {
+		int o = append(count);
+		System.arraycopy(in, offset, data, o, count);
+	}
+}
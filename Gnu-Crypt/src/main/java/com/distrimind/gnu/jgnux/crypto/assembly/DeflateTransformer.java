@@ -37,6 +37,7 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.assembly;
 
+import java.util.ArrayDeque;
 import java.util.Map;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
@@ -50,43 +51,130 @@ import java.util.zip.Inflater;
  * original data.
  * <p>
  * This {@link Transformer} uses a {@link Deflater} instance to carry on the
- * compression, and an {@link Inflater} to do the decompression.
+ * compression, and an {@link Inflater} to do the decompression. Both hold
+ * native zlib state, so they are borrowed from a shared pool at initialisation
+ * time, and given back, reset, when this instance is reset; e.g. after the
+ * last update of its {@link Assembly}.
+ * <p>
+ * The compression is tuned with the {@link Transformer#DEFLATE_LEVEL},
+ * {@link Transformer#DEFLATE_STRATEGY}, {@link Transformer#DEFLATE_DICTIONARY}
+ * and {@link Transformer#DEFLATE_SYNC_FLUSH} attributes. With the latter, every
+ * update flushes the compressor, so that its output can be decompressed as soon
+ * as it is received, at some cost in compression ratio.
  * <p>
  * When using such a {@link Transformer}, in an {@link Assembly}, there must be
  * at least one element behind this instance in the constructed chain;
  * otherwise, a {@link TransformerException} is thrown at initialisation time.
  */
 class DeflateTransformer extends Transformer {
+	/** The maximum number of idle instances kept in each pool. */
+	private static final int POOL_SIZE = 16;
+
+	/** The minimal room made for each call to zlib, in bytes. */
+	private static final int MIN_CHUNK_SIZE = 4096;
+
+	private static final ArrayDeque<Deflater> deflaters = new ArrayDeque<>();
+
+	private static final ArrayDeque<Inflater> inflaters = new ArrayDeque<>();
+
+	private static Deflater borrowDeflater() {
+		synchronized (deflaters) {
+			Deflater result = deflaters.poll();
+			if (result != null)
+				return result;
+		}
+		return new Deflater();
+	}
+
+	private static Inflater borrowInflater() {
+		synchronized (inflaters) {
+			Inflater result = inflaters.poll();
+			if (result != null)
+				return result;
+		}
+		return new Inflater();
+	}
+
+	private static void release(Deflater deflater) {
+		deflater.reset();
+		deflater.setLevel(Deflater.DEFAULT_COMPRESSION);
+		deflater.setStrategy(Deflater.DEFAULT_STRATEGY);
+		synchronized (deflaters) {
+			if (deflaters.size() < POOL_SIZE) {
+				deflaters.push(deflater);
+				return;
+			}
+		}
+		deflater.end();
+	}
+
+	private static void release(Inflater inflater) {
+		inflater.reset();
+		synchronized (inflaters) {
+			if (inflaters.size() < POOL_SIZE) {
+				inflaters.push(inflater);
+				return;
+			}
+		}
+		inflater.end();
+	}
+
 	private Deflater compressor;
 
 	private Inflater decompressor;
 
-	private int outputBlockSize = 512; // default zlib buffer size
+	private byte[] dictionary;
+
+	private boolean syncFlush;
 
-	private byte[] zlibBuffer;
+	private int outputBlockSize = MIN_CHUNK_SIZE;
 
 	DeflateTransformer() {
 		super();
 
 	}
 
-	private void compress() {
-		int len = compressor.deflate(zlibBuffer);
-		if (len > 0)
-			inBuffer.write(zlibBuffer, 0, len);
+	/**
+	 * Compresses with a given flush mode, until the compressor asks for more
+	 * input and, when flushing, has nothing more to output.
+	 */
+	private void compress(int flush, DataBuffer out) {
+		while (true) {
+			out.ensureCapacity(out.length + outputBlockSize);
+			int room = out.remaining();
+			int len = compressor.deflate(out.data, out.length, room, flush);
+			out.length += len;
+			// a pending level or strategy change may take a call of its own
+			if (compressor.needsInput() && (flush == Deflater.NO_FLUSH || len < room))
+				return;
+		}
 	}
 
-	private void decompress(byte[] in, int offset, int length) throws TransformerException {
+	private void decompress(byte[] in, int offset, int length, DataBuffer out) throws TransformerException {
 		decompressor.setInput(in, offset, length);
-		int len = 1;
-		while (len > 0) {
+		while (true) {
+			out.ensureCapacity(out.length + outputBlockSize);
+			int len;
 			try {
-				len = decompressor.inflate(zlibBuffer);
+				len = decompressor.inflate(out.data, out.length, out.remaining());
 			} catch (DataFormatException x) {
 				throw new TransformerException("decompress()", x);
 			}
-			if (len > 0)
-				inBuffer.write(zlibBuffer, 0, len);
+			out.length += len;
+			if (len == 0) {
+				if (!decompressor.needsDictionary())
+					return;
+				if (dictionary == null) {
+					IllegalStateException cause = new IllegalStateException(
+							"Compressed data requires a preset dictionary");
+					throw new TransformerException("decompress()", cause);
+				}
+				try {
+					decompressor.setDictionary(dictionary);
+				} catch (IllegalArgumentException x) {
+					throw new TransformerException("decompress()", x);
+				}
+			}
 		}
 	}
 
@@ -101,24 +189,42 @@ class DeflateTransformer extends Transformer {
 			IllegalStateException cause = new IllegalStateException("Compression transformer missing its tail!");
 			throw new TransformerException("initDelegate()", cause);
 		}
-		outputBlockSize = tail.currentBlockSize();
-		zlibBuffer = new byte[outputBlockSize];
+		releaseDelegates();
+		outputBlockSize = Math.max(tail.currentBlockSize(), MIN_CHUNK_SIZE);
+		dictionary = (byte[]) attributes.get(DEFLATE_DICTIONARY);
+		Boolean flush = (Boolean) attributes.get(DEFLATE_SYNC_FLUSH);
+		syncFlush = flush != null && flush.booleanValue();
 		Direction flow = (Direction) attributes.get(DIRECTION);
-		if (flow == Direction.FORWARD)
-			compressor = new Deflater();
-		else
-			decompressor = new Inflater();
+		if (flow == Direction.FORWARD) {
+			compressor = borrowDeflater();
+			try {
+				Integer level = (Integer) attributes.get(DEFLATE_LEVEL);
+				if (level != null)
+					compressor.setLevel(level.intValue());
+				Integer strategy = (Integer) attributes.get(DEFLATE_STRATEGY);
+				if (strategy != null)
+					compressor.setStrategy(strategy.intValue());
+			} catch (IllegalArgumentException x) {
+				releaseDelegates();
+				throw new TransformerException("initDelegate()", x);
+			}
+			if (dictionary != null)
+				compressor.setDictionary(dictionary);
+		} else
+			decompressor = borrowInflater();
 	}
 
 	@Override
-	byte[] lastUpdateDelegate() throws TransformerException {
+	void lastUpdateDelegate(DataBuffer out) throws TransformerException {
 		// process multiples of blocksize as much as possible
 		if (wired == Direction.FORWARD) // compressing
 		{
 			if (!compressor.finished()) {
 				compressor.finish();
-				while (!compressor.finished())
-					compress();
+				while (!compressor.finished()) {
+					out.ensureCapacity(out.length + outputBlockSize);
+					out.length += compressor.deflate(out.data, out.length, out.remaining());
+				}
 			}
 		} else // decompressing
 		{
@@ -128,30 +234,34 @@ class DeflateTransformer extends Transformer {
 				throw new TransformerException("lastUpdateDelegate()", cause);
 			}
 		}
-		byte[] result = inBuffer.toByteArray();
-		inBuffer.reset();
-		return result;
+	}
+
+	/** Gives the zlib instances in use, if any, back to their pool. */
+	private void releaseDelegates() {
+		if (compressor != null) {
+			release(compressor);
+			compressor = null;
+		}
+		if (decompressor != null) {
+			release(decompressor);
+			decompressor = null;
+		}
 	}
 
 	@Override
 	void resetDelegate() {
-		compressor = null;
-		decompressor = null;
-		outputBlockSize = 1;
-		zlibBuffer = null;
+		releaseDelegates();
+		dictionary = null;
+		syncFlush = false;
+		outputBlockSize = MIN_CHUNK_SIZE;
 	}
 
 	@Override
-	byte[] updateDelegate(byte[] in, int offset, int length) throws TransformerException {
-		byte[] result;
+	void updateDelegate(byte[] in, int offset, int length, DataBuffer out) throws TransformerException {
 		if (wired == Direction.FORWARD) {
 			compressor.setInput(in, offset, length);
-			while (!compressor.needsInput())
-				compress();
+			compress(syncFlush ? Deflater.SYNC_FLUSH : Deflater.NO_FLUSH, out);
 		} else // decompression: inflate first and then update tail
-			decompress(in, offset, length);
-		result = inBuffer.toByteArray();
-		inBuffer.reset();
-		return result;
+			decompress(in, offset, length, out);
 	}
 }
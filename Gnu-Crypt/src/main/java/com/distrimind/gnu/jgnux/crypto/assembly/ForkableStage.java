@@ -0,0 +1,73 @@
+/* ForkableStage.java -- a stage that parallel copies can share
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.assembly;
+
+/**
+ * A {@link Stage} whose blocks are transformed independently of each other, or
+ * of a position-derived counter, so that positioned copies of it can process
+ * ranges of blocks in parallel. A {@link Cascade} only splits the blocks of
+ * the stages implementing this interface.
+ *
+ * @see ModeStage
+ */
+interface ForkableStage {
+	/**
+	 * Returns an independent, initialised copy of this stage, positioned to
+	 * process the <code>count</code> blocks that start <code>index</code> blocks
+	 * after the next one this stage would process; or <code>null</code> if the
+	 * stage, as currently initialised, does not allow it.
+	 *
+	 * @param index
+	 *            the position of the first block, relative to this stage.
+	 * @param count
+	 *            the count of blocks the copy will process.
+	 * @return a positioned copy of this stage, or <code>null</code>.
+	 * @see #skip(long)
+	 */
+	Stage fork(long index, long count);
+
+	/**
+	 * Notifies this stage that the next <code>count</code> blocks were processed
+	 * by copies obtained from {@link #fork(long, long)}, so that it resumes after
+	 * them.
+	 *
+	 * @param count
+	 *            the count of blocks processed by the copies.
+	 */
+	void skip(long count);
+}
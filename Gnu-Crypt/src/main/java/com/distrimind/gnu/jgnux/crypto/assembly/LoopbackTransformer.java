@@ -63,32 +63,45 @@ final class LoopbackTransformer extends Transformer {
 	}
 
 	@Override
-	public byte[] lastUpdate() {
-		return lastUpdateDelegate();
+	boolean isLoopback() {
+		return true;
 	}
 
 	@Override
-	byte[] lastUpdateDelegate() {
+	public byte[] lastUpdate() {
 		return new byte[0];
 	}
 
 	@Override
-	public void reset() {
+	void lastUpdate(DataBuffer out) {
 	}
 
 	@Override
-	void resetDelegate() {
+	void lastUpdateDelegate(DataBuffer out) {
 	}
 
 	@Override
-	public byte[] update(byte[] in, int offset, int length) {
-		return updateDelegate(in, offset, length);
+	public void reset() {
 	}
 
 	@Override
-	byte[] updateDelegate(byte[] in, int offset, int length) {
+	void resetDelegate() {
+	}
+
+	@Override
+	public byte[] update(byte[] in, int offset, int length) {
 		byte[] result = new byte[length];
 		System.arraycopy(in, offset, result, 0, length);
 		return result;
 	}
+
+	@Override
+	void update(byte[] in, int offset, int length, DataBuffer out) {
+		out.write(in, offset, length);
+	}
+
+	@Override
+	void updateDelegate(byte[] in, int offset, int length, DataBuffer out) {
+		out.write(in, offset, length);
+	}
 }
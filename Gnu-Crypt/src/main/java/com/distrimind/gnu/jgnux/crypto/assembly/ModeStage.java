@@ -37,12 +37,17 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.assembly;
 
+import java.math.BigInteger;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
+import com.distrimind.gnu.jgnux.crypto.mode.CTR;
+import com.distrimind.gnu.jgnux.crypto.mode.ECB;
+import com.distrimind.gnu.jgnux.crypto.mode.ICM;
 import com.distrimind.gnu.jgnux.crypto.mode.IMode;
 import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
 
@@ -52,12 +57,25 @@ import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
  * Such a stage wraps an implementation of a Block Cipher Mode of Operation
  * ({@link IMode}) to allow inclusion of such an instance in a cascade of block
  * ciphers.
+ * <p>
+ * Stages wrapping an {@link ECB}, a {@link CTR} or an {@link ICM} mode can be
+ * forked: a copy of the mode is keyed with the same attributes, and, for the
+ * counter modes, with an initial vector advanced to the wanted block.
  */
-class ModeStage extends Stage {
+class ModeStage extends Stage implements ForkableStage {
 	private IMode delegate;
 
 	private transient Set<Integer> cachedBlockSizes;
 
+	/** The attributes the mode was initialised with; used to set up forks. */
+	private Map<Object, Object> attributes;
+
+	/** The count of blocks processed so far, by this stage or its forks. */
+	private long position;
+
+	/** Whether forks processed blocks this stage's mode has not seen. */
+	private boolean stale;
+
 	ModeStage(IMode mode, Direction forwardDirection) {
 		super(forwardDirection);
 
@@ -81,16 +99,83 @@ class ModeStage extends Stage {
 		return delegate.currentBlockSize();
 	}
 
+	@Override
+	public Stage fork(long index, long count) {
+		if (!isForkable(position + index + count))
+			return null;
+		Map<Object, Object> attr = new HashMap<>(attributes);
+		if (!(delegate instanceof ECB))
+			attr.put(IMode.IV, ivAt(position + index));
+		IMode mode = (IMode) delegate.clone();
+		try {
+			mode.init(attr);
+		} catch (InvalidKeyException x) { // the same key worked for this stage
+			throw (IllegalStateException) new IllegalStateException("fork()").initCause(x);
+		}
+		ModeStage result = new ModeStage(mode, forward);
+		result.wired = wired;
+		result.attributes = attr;
+		return result;
+	}
+
 	@Override
 	void initDelegate(Map<Object, Object> attributes) throws InvalidKeyException {
 		Direction flow = (Direction) attributes.get(DIRECTION);
 		attributes.put(IMode.STATE, Integer.valueOf(flow.equals(forward) ? IMode.ENCRYPTION : IMode.DECRYPTION));
 		delegate.init(attributes);
+		this.attributes = new HashMap<>(attributes);
+		position = 0;
+		stale = false;
+	}
+
+	/**
+	 * Returns <code>true</code> if the mode can be forked to process blocks up
+	 * to, excluding, the designated position. Counter modes qualify as long as
+	 * their counter can be derived by adding the position to the initial vector:
+	 * a {@link CTR} counter whose increment would carry into its leading byte, or
+	 * an {@link ICM} one past its segment, does not.
+	 */
+	private boolean isForkable(long end) {
+		if (delegate instanceof ECB)
+			return true;
+		int blockSize = delegate.defaultBlockSize();
+		if (delegate.currentBlockSize() != blockSize)
+			return false;
+		if (delegate instanceof ICM)
+			return BigInteger.valueOf(end).bitLength() <= 4 * blockSize;
+		if (delegate instanceof CTR) {
+			BigInteger low = new BigInteger(1, initialVector()).mod(BigInteger.ONE.shiftLeft(8 * blockSize - 8));
+			return low.add(BigInteger.valueOf(end)).bitLength() <= 8 * blockSize - 8;
+		}
+		return false;
+	}
+
+	private byte[] initialVector() {
+		byte[] result = (byte[]) attributes.get(IMode.IV);
+		return result == null ? new byte[delegate.currentBlockSize()] : result;
+	}
+
+	/**
+	 * Returns the initial vector that makes a counter mode start at the
+	 * designated block; i.e. the initial counter plus <code>index</code>, modulo
+	 * 2<sup>8 * block size</sup>.
+	 */
+	private byte[] ivAt(long index) {
+		int blockSize = delegate.defaultBlockSize();
+		BigInteger counter = new BigInteger(1, initialVector()).add(BigInteger.valueOf(index));
+		byte[] bytes = counter.toByteArray();
+		byte[] result = new byte[blockSize];
+		int count = Math.min(bytes.length, blockSize);
+		System.arraycopy(bytes, bytes.length - count, result, blockSize - count, count);
+		return result;
 	}
 
 	@Override
 	void resetDelegate() {
 		delegate.reset();
+		attributes = null;
+		position = 0;
+		stale = false;
 	}
 
 	@Override
@@ -98,8 +183,26 @@ class ModeStage extends Stage {
 		return delegate.selfTest();
 	}
 
+	@Override
+	public void skip(long count) {
+		position += count;
+		stale = !(delegate instanceof ECB);
+	}
+
 	@Override
 	void updateDelegate(byte[] in, int inOffset, byte[] out, int outOffset) {
+		if (stale) { // move the counter past the blocks processed by forks
+			Map<Object, Object> attr = new HashMap<>(attributes);
+			attr.put(IMode.IV, ivAt(position));
+			delegate.reset();
+			try {
+				delegate.init(attr);
+			} catch (InvalidKeyException x) { // the same key worked before
+				throw (IllegalStateException) new IllegalStateException("update()").initCause(x);
+			}
+			stale = false;
+		}
 		delegate.update(in, inOffset, out, outOffset);
+		position++;
 	}
 }
@@ -77,31 +77,24 @@ class PaddingTransformer extends Transformer {
 	}
 
 	@Override
-	byte[] lastUpdateDelegate() throws TransformerException {
-		byte[] result;
-		// process multiples of blocksize as much as possible
-		// catenate result from processing inBuffer with last-update( tail )
+	void lastUpdateDelegate(DataBuffer out) throws TransformerException {
 		if (wired == Direction.FORWARD) // padding
 		{
-			result = inBuffer.toByteArray();
-			byte[] padding = delegate.pad(result, 0, result.length);
-			inBuffer.write(padding, 0, padding.length);
+			byte[] padding = delegate.pad(inBuffer.data, 0, inBuffer.length);
+			out.write(inBuffer.data, 0, inBuffer.length);
+			out.write(padding, 0, padding.length);
 		} else // unpadding
 		{
-			byte[] tmp = inBuffer.toByteArray();
-			inBuffer.reset();
 			int realLength;
 			try {
-				realLength = tmp.length; // should be outputBlockSize
-				realLength -= delegate.unpad(tmp, 0, tmp.length);
+				realLength = inBuffer.length; // should be outputBlockSize
+				realLength -= delegate.unpad(inBuffer.data, 0, inBuffer.length);
 			} catch (WrongPaddingException x) {
 				throw new TransformerException("lastUpdateDelegate()", x);
 			}
-			inBuffer.write(tmp, 0, realLength);
+			out.write(inBuffer.data, 0, realLength);
 		}
-		result = inBuffer.toByteArray();
 		inBuffer.reset();
-		return result;
 	}
 
 	@Override
@@ -111,37 +104,28 @@ class PaddingTransformer extends Transformer {
 	}
 
 	@Override
-	byte[] updateDelegate(byte[] in, int offset, int length) {
-		inBuffer.write(in, offset, length);
-		byte[] tmp = inBuffer.toByteArray();
-		inBuffer.reset();
-		byte[] result;
+	void updateDelegate(byte[] in, int offset, int length, DataBuffer out) {
+		int total = inBuffer.length + length;
+		int count;
 		if (wired == Direction.FORWARD) // padding
-		{
-			// buffers remaining bytes from (inBuffer + in) that are less than 1
-			// block
-			if (tmp.length < outputBlockSize) {
-				inBuffer.write(tmp, 0, tmp.length);
-				result = new byte[0];
-			} else {
-				int newlen = outputBlockSize * (tmp.length / outputBlockSize);
-				inBuffer.write(tmp, newlen, tmp.length - newlen);
-				result = new byte[newlen];
-				System.arraycopy(tmp, 0, result, 0, newlen);
-			}
-		} else // unpadding
-		{
+			// outputs as many whole blocks from (inBuffer + in) as possible
+			count = total - total % outputBlockSize;
+		else // unpadding
 			// always keep in own buffer a max of 1 block to cater for
 			// lastUpdate
-			if (tmp.length < outputBlockSize) {
-				inBuffer.write(tmp, 0, tmp.length);
-				result = new byte[0];
-			} else {
-				result = new byte[tmp.length - outputBlockSize];
-				System.arraycopy(tmp, 0, result, 0, result.length);
-				inBuffer.write(tmp, result.length, outputBlockSize);
-			}
+			count = Math.max(total - outputBlockSize, 0);
+		if (count == 0)
+			inBuffer.write(in, offset, length);
+		else if (count <= inBuffer.length) {
+			out.write(inBuffer.data, 0, count);
+			inBuffer.discard(count);
+			inBuffer.write(in, offset, length);
+		} else {
+			int buffered = inBuffer.length;
+			out.write(inBuffer.data, 0, buffered);
+			out.write(in, offset, count - buffered);
+			inBuffer.reset();
+			inBuffer.write(in, offset + count - buffered, total - count);
 		}
-		return result;
 	}
 }
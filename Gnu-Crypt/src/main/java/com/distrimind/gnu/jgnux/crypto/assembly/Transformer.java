@@ -37,7 +37,6 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.assembly;
 
-import java.io.ByteArrayOutputStream;
 import java.util.Map;
 
 import com.distrimind.gnu.jgnux.crypto.pad.IPad;
@@ -72,6 +71,12 @@ import com.distrimind.gnu.jgnux.crypto.pad.IPad;
  * buffering, from the previous element, is needed --which is independant of
  * buffering the input if the <code>Transformer</code> implementation itself is
  * block-based.
+ * <p>
+ * Internally, the elements of a chain process data in bulk: each element
+ * transforms whole blocks straight from its input into a reusable
+ * {@link DataBuffer}, only buffering the incomplete trailing block, and hands
+ * that buffer's backing array, in place, to the next element. The
+ * <code>byte[]</code>-returning methods allocate once, for their result.
  *
  * @see CascadeTransformer
  * @see PaddingTransformer
@@ -80,6 +85,36 @@ import com.distrimind.gnu.jgnux.crypto.pad.IPad;
 public abstract class Transformer {
 	public static final String DIRECTION = "com.distrimind.gnu.crypto.assembly.transformer.direction";
 
+	/**
+	 * Property name of the compression level, an {@link Integer} from
+	 * <code>0</code> to <code>9</code>, of a {@link #getDeflateTransformer()
+	 * DEFLATE transformer}. If undefined, the zlib default level is used.
+	 */
+	public static final String DEFLATE_LEVEL = "com.distrimind.gnu.crypto.assembly.transformer.deflate.level";
+
+	/**
+	 * Property name of the compression strategy, an {@link Integer} among the
+	 * {@link java.util.zip.Deflater} strategy constants, of a
+	 * {@link #getDeflateTransformer() DEFLATE transformer}. If undefined, the
+	 * default strategy is used.
+	 */
+	public static final String DEFLATE_STRATEGY = "com.distrimind.gnu.crypto.assembly.transformer.deflate.strategy";
+
+	/**
+	 * Property name of the preset dictionary, a <code>byte[]</code>, of a
+	 * {@link #getDeflateTransformer() DEFLATE transformer}. Both ends must use
+	 * the same dictionary.
+	 */
+	public static final String DEFLATE_DICTIONARY = "com.distrimind.gnu.crypto.assembly.transformer.deflate.dictionary";
+
+	/**
+	 * Property name of the flush mode of a {@link #getDeflateTransformer()
+	 * DEFLATE transformer}. If {@link Boolean#TRUE}, every update outputs all the
+	 * data compressed so far, as with the zlib <code>Z_SYNC_FLUSH</code> mode.
+	 * If undefined, the compressor outputs data as it sees fit.
+	 */
+	public static final String DEFLATE_SYNC_FLUSH = "com.distrimind.gnu.crypto.assembly.transformer.deflate.sync.flush";
+
 	public static final Transformer getCascadeTransformer(Cascade cascade) {
 		return new CascadeTransformer(cascade);
 	}
@@ -98,9 +133,14 @@ public abstract class Transformer {
 
 	protected Transformer tail = null;
 
-	protected ByteArrayOutputStream inBuffer = new ByteArrayOutputStream(2048);
+	/** Bytes held back by this element until more input, or the last update. */
+	final DataBuffer inBuffer = new DataBuffer(256);
 
-	protected ByteArrayOutputStream outBuffer = new ByteArrayOutputStream(2048);
+	/** Output of this element, or of its tail, on its way to the other one. */
+	final DataBuffer outBuffer = new DataBuffer(2048);
+
+	/** Collects the result of the <code>byte[]</code>-returning methods. */
+	private final DataBuffer result = new DataBuffer(2048);
 
 	/** Trivial protected constructor. */
 	protected Transformer() {
@@ -123,10 +163,6 @@ public abstract class Transformer {
 
 	abstract int delegateBlockSize();
 
-	private byte[] forwardUpdate(byte[] in, int off, int len) throws TransformerException {
-		return (isPreProcessing() ? preTransform(in, off, len) : postTransform(in, off, len));
-	}
-
 	/**
 	 * Initialises the <code>Transformer</code> for operation with specific
 	 * characteristics.
@@ -152,8 +188,19 @@ public abstract class Transformer {
 
 	abstract void initDelegate(Map<Object, Object> attributes) throws TransformerException;
 
-	private byte[] inverseUpdate(byte[] in, int off, int len) throws TransformerException {
-		return (isPreProcessing() ? postTransform(in, off, len) : preTransform(in, off, len));
+	/**
+	 * Returns <code>true</code> if, given the wiring direction and operational
+	 * mode, data goes through this instance before its tail.
+	 */
+	private boolean isDelegateFirst() {
+		return (wired == Direction.FORWARD) == isPreProcessing();
+	}
+
+	/**
+	 * Returns <code>true</code> if this instance is the one closing a chain.
+	 */
+	boolean isLoopback() {
+		return false;
 	}
 
 	/**
@@ -186,14 +233,6 @@ public abstract class Transformer {
 		return (mode == Operation.PRE_PROCESSING);
 	}
 
-	private byte[] lastForwardUpdate() throws TransformerException {
-		return (isPreProcessing() ? preLastTransform() : postLastTransform());
-	}
-
-	private byte[] lastInverseUpdate() throws TransformerException {
-		return (isPreProcessing() ? postLastTransform() : preLastTransform());
-	}
-
 	/**
 	 * Convenience method that calls the same method with three arguments. A
 	 * zero-long byte array is used.
@@ -207,10 +246,33 @@ public abstract class Transformer {
 	 * @see #lastUpdate(byte[], int, int)
 	 */
 	public byte[] lastUpdate() throws TransformerException {
-		byte[] result = (wired == Direction.FORWARD ? lastForwardUpdate() : lastInverseUpdate());
+		result.reset();
+		lastUpdate(result);
+		return result.toByteArray();
+	}
+
+	/**
+	 * Flushes this chain, starting with this element, appending the result to
+	 * <code>out</code>.
+	 */
+	void lastUpdate(DataBuffer out) throws TransformerException {
+		if (wired == null)
+			throw new IllegalStateException();
+		if (tail.isLoopback())
+			lastUpdateDelegate(out);
+		else {
+			outBuffer.reset();
+			if (isDelegateFirst()) {
+				lastUpdateDelegate(outBuffer);
+				tail.lastUpdate(outBuffer.data, 0, outBuffer.length, out);
+			} else {
+				tail.lastUpdate(outBuffer);
+				updateDelegate(outBuffer.data, 0, outBuffer.length, out);
+				lastUpdateDelegate(out);
+			}
+		}
 		if (inBuffer.size() != 0) // we still have some buffered bytes
 			throw new TransformerException("lastUpdate(): input buffer not empty");
-		return result;
 	}
 
 	/**
@@ -270,49 +332,25 @@ public abstract class Transformer {
 	 *             operation.
 	 */
 	public byte[] lastUpdate(byte[] in, int offset, int length) throws TransformerException {
-		byte[] result = update(in, offset, length);
-		byte[] rest = lastUpdate();
-		if (rest.length > 0) {
-			byte[] newResult = new byte[result.length + rest.length];
-			System.arraycopy(result, 0, newResult, 0, result.length);
-			System.arraycopy(rest, 0, newResult, result.length, rest.length);
-			result = newResult;
-		}
-		return result;
-	}
-
-	abstract byte[] lastUpdateDelegate() throws TransformerException;
-
-	private byte[] postLastTransform() throws TransformerException {
-		byte[] result = tail.lastUpdate();
-		result = updateDelegate(result, 0, result.length);
-		byte[] rest = lastUpdateDelegate();
-		if (rest.length > 0) {
-			byte[] newResult = new byte[result.length + rest.length];
-			System.arraycopy(result, 0, newResult, 0, result.length);
-			System.arraycopy(rest, 0, newResult, result.length, rest.length);
-			result = newResult;
-		}
-		return result;
-	}
-
-	private byte[] postTransform(byte[] in, int off, int len) throws TransformerException {
-		byte[] result = tail.update(in, off, len);
-		result = updateDelegate(result, 0, result.length);
-		return result;
+		result.reset();
+		lastUpdate(in, offset, length, result);
+		return result.toByteArray();
 	}
 
-	private byte[] preLastTransform() throws TransformerException {
-		byte[] result = lastUpdateDelegate();
-		result = tail.lastUpdate(result);
-		return result;
+	/**
+	 * Processes the designated bytes as the last <i>push</i> operation on this
+	 * chain, appending the result to <code>out</code>.
+	 */
+	void lastUpdate(byte[] in, int offset, int length, DataBuffer out) throws TransformerException {
+		update(in, offset, length, out);
+		lastUpdate(out);
 	}
 
-	private byte[] preTransform(byte[] in, int off, int len) throws TransformerException {
-		byte[] result = updateDelegate(in, off, len);
-		result = tail.update(result);
-		return result;
-	}
+	/**
+	 * Flushes the bytes this instance still holds, appending the result to
+	 * <code>out</code>.
+	 */
+	abstract void lastUpdateDelegate(DataBuffer out) throws TransformerException;
 
 	/**
 	 * Resets the <code>Transformer</code> for re-initialisation and use with other
@@ -398,12 +436,37 @@ public abstract class Transformer {
 	 *             operation.
 	 */
 	public byte[] update(byte[] in, int offset, int length) throws TransformerException {
+		result.reset();
+		update(in, offset, length, result);
+		return result.toByteArray();
+	}
+
+	/**
+	 * Processes the designated bytes through this chain, starting with this
+	 * element, appending the result to <code>out</code>. The intermediate output
+	 * is handed from one element to the next in place; an element followed by
+	 * the loopback writes straight into <code>out</code>.
+	 */
+	void update(byte[] in, int offset, int length, DataBuffer out) throws TransformerException {
 		if (wired == null)
 			throw new IllegalStateException();
-		byte[] result = (wired == Direction.FORWARD ? forwardUpdate(in, offset, length)
-				: inverseUpdate(in, offset, length));
-		return result;
+		if (tail.isLoopback())
+			updateDelegate(in, offset, length, out);
+		else {
+			outBuffer.reset();
+			if (isDelegateFirst()) {
+				updateDelegate(in, offset, length, outBuffer);
+				tail.update(outBuffer.data, 0, outBuffer.length, out);
+			} else {
+				tail.update(in, offset, length, outBuffer);
+				updateDelegate(outBuffer.data, 0, outBuffer.length, out);
+			}
+		}
 	}
 
-	abstract byte[] updateDelegate(byte[] in, int off, int len) throws TransformerException;
+	/**
+	 * Transforms the designated bytes, appending whatever output is ready to
+	 * <code>out</code> and keeping any incomplete block in {@link #inBuffer}.
+	 */
+	abstract void updateDelegate(byte[] in, int off, int len, DataBuffer out) throws TransformerException;
 }
@@ -84,6 +84,26 @@ public abstract class BaseCipher implements IBlockCipher, IBlockCipherSpi {
 		this.defaultKeySize = defaultKeySize;
 	}
 
+	/**
+	 * Overwrites the session key material of this instance before it is
+	 * discarded by {@link #reset()}. This implementation zeroes the
+	 * <code>byte</code> and <code>int</code> arrays of a key held as an array,
+	 * possibly nested, which is the layout used by most ciphers; the others
+	 * override this method.
+	 *
+	 * @param k
+	 *            the session key, as returned by {@link #makeKey(byte[], int)}.
+	 */
+	protected void clearKey(Object k) {
+		if (k instanceof Object[])
+			for (Object o : (Object[]) k)
+				clearKey(o);
+		else if (k instanceof int[])
+			Arrays.fill((int[]) k, 0);
+		else if (k instanceof byte[])
+			Arrays.fill((byte[]) k, (byte) 0);
+	}
+
 	@Override
 	public abstract Object clone();
 
@@ -164,6 +184,8 @@ public abstract class BaseCipher implements IBlockCipher, IBlockCipherSpi {
 	@Override
 	public void reset() {
 		synchronized (lock) {
+			if (currentKey != null)
+				clearKey(currentKey);
 			currentKey = null;
 		}
 	}
@@ -43,6 +43,7 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.cipher;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 
@@ -338,6 +339,16 @@ public class Blowfish extends BaseCipher {
 		x.right ^= p[17];
 	}
 
+	@Override
+	protected void clearKey(Object k) {
+		Context ctx = (Context) k;
+		Arrays.fill(ctx.p, 0);
+		Arrays.fill(ctx.s0, 0);
+		Arrays.fill(ctx.s1, 0);
+		Arrays.fill(ctx.s2, 0);
+		Arrays.fill(ctx.s3, 0);
+	}
+
 	@Override
 	public Object clone() {
 		Blowfish result = new Blowfish();
@@ -389,6 +389,44 @@ public class Cast5 extends BaseCipher {
 		return Collections.unmodifiableList(al).iterator();
 	}
 
+	@Override
+	protected void clearKey(Object k) {
+		Cast5Key K = (Cast5Key) k;
+		K.rounds = 0;
+		K.Km0 = 0;
+		K.Km1 = 0;
+		K.Km2 = 0;
+		K.Km3 = 0;
+		K.Km4 = 0;
+		K.Km5 = 0;
+		K.Km6 = 0;
+		K.Km7 = 0;
+		K.Km8 = 0;
+		K.Km9 = 0;
+		K.Km10 = 0;
+		K.Km11 = 0;
+		K.Km12 = 0;
+		K.Km13 = 0;
+		K.Km14 = 0;
+		K.Km15 = 0;
+		K.Kr0 = 0;
+		K.Kr1 = 0;
+		K.Kr2 = 0;
+		K.Kr3 = 0;
+		K.Kr4 = 0;
+		K.Kr5 = 0;
+		K.Kr6 = 0;
+		K.Kr7 = 0;
+		K.Kr8 = 0;
+		K.Kr9 = 0;
+		K.Kr10 = 0;
+		K.Kr11 = 0;
+		K.Kr12 = 0;
+		K.Kr13 = 0;
+		K.Kr14 = 0;
+		K.Kr15 = 0;
+	}
+
 	@Override
 	public Object clone() {
 		Cast5 result = new Cast5();
@@ -42,6 +42,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.metrics.Metrics;
 
 /**
  * A <i>Factory</i> to instantiate symmetric block cipher instances.
@@ -59,6 +60,7 @@ public class CipherFactory implements Registry {
 	 *                if the implementation does not pass its self-test.
 	 */
 	public static final IBlockCipher getInstance(String name) {
+		long start = Metrics.start();
 		if (name == null)
 			return null;
 		name = name.trim();
@@ -87,8 +89,14 @@ public class CipherFactory implements Registry {
 		else if (name.equalsIgnoreCase(NULL_CIPHER))
 			result = new NullCipher();
 
-		if (result != null && !result.selfTest())
-			throw new InternalError(result.name());
+		if (result != null) {
+			long tested = Metrics.start();
+			boolean passed = result.selfTest();
+			Metrics.selfTest(Metrics.CIPHER, result.name(), tested, passed);
+			if (!passed)
+				throw new InternalError(result.name());
+		}
+		Metrics.lookup(Metrics.CIPHER, name, start);
 
 		return result;
 	}
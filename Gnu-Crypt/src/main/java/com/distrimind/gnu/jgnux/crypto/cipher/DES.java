@@ -473,6 +473,13 @@ public class DES extends BaseCipher {
 		return Collections.singleton(Integer.valueOf(BLOCK_SIZE)).iterator();
 	}
 
+	@Override
+	protected void clearKey(Object k) {
+		Context ctx = (Context) k;
+		Arrays.fill(ctx.ek, 0);
+		Arrays.fill(ctx.dk, 0);
+	}
+
 	@Override
 	public Object clone() {
 		return new DES();
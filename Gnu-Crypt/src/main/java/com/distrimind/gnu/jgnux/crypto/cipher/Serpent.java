@@ -260,6 +260,143 @@ public class Serpent extends BaseCipher {
 		return Collections.singleton(Integer.valueOf(DEFAULT_BLOCK_SIZE)).iterator();
 	}
 
+	@Override
+	protected void clearKey(Object k) {
+		Key key = (Key) k;
+		key.k0 = 0;
+		key.k1 = 0;
+		key.k2 = 0;
+		key.k3 = 0;
+		key.k4 = 0;
+		key.k5 = 0;
+		key.k6 = 0;
+		key.k7 = 0;
+		key.k8 = 0;
+		key.k9 = 0;
+		key.k10 = 0;
+		key.k11 = 0;
+		key.k12 = 0;
+		key.k13 = 0;
+		key.k14 = 0;
+		key.k15 = 0;
+		key.k16 = 0;
+		key.k17 = 0;
+		key.k18 = 0;
+		key.k19 = 0;
+		key.k20 = 0;
+		key.k21 = 0;
+		key.k22 = 0;
+		key.k23 = 0;
+		key.k24 = 0;
+		key.k25 = 0;
+		key.k26 = 0;
+		key.k27 = 0;
+		key.k28 = 0;
+		key.k29 = 0;
+		key.k30 = 0;
+		key.k31 = 0;
+		key.k32 = 0;
+		key.k33 = 0;
+		key.k34 = 0;
+		key.k35 = 0;
+		key.k36 = 0;
+		key.k37 = 0;
+		key.k38 = 0;
+		key.k39 = 0;
+		key.k40 = 0;
+		key.k41 = 0;
+		key.k42 = 0;
+		key.k43 = 0;
+		key.k44 = 0;
+		key.k45 = 0;
+		key.k46 = 0;
+		key.k47 = 0;
+		key.k48 = 0;
+		key.k49 = 0;
+		key.k50 = 0;
+		key.k51 = 0;
+		key.k52 = 0;
+		key.k53 = 0;
+		key.k54 = 0;
+		key.k55 = 0;
+		key.k56 = 0;
+		key.k57 = 0;
+		key.k58 = 0;
+		key.k59 = 0;
+		key.k60 = 0;
+		key.k61 = 0;
+		key.k62 = 0;
+		key.k63 = 0;
+		key.k64 = 0;
+		key.k65 = 0;
+		key.k66 = 0;
+		key.k67 = 0;
+		key.k68 = 0;
+		key.k69 = 0;
+		key.k70 = 0;
+		key.k71 = 0;
+		key.k72 = 0;
+		key.k73 = 0;
+		key.k74 = 0;
+		key.k75 = 0;
+		key.k76 = 0;
+		key.k77 = 0;
+		key.k78 = 0;
+		key.k79 = 0;
+		key.k80 = 0;
+		key.k81 = 0;
+		key.k82 = 0;
+		key.k83 = 0;
+		key.k84 = 0;
+		key.k85 = 0;
+		key.k86 = 0;
+		key.k87 = 0;
+		key.k88 = 0;
+		key.k89 = 0;
+		key.k90 = 0;
+		key.k91 = 0;
+		key.k92 = 0;
+		key.k93 = 0;
+		key.k94 = 0;
+		key.k95 = 0;
+		key.k96 = 0;
+		key.k97 = 0;
+		key.k98 = 0;
+		key.k99 = 0;
+		key.k100 = 0;
+		key.k101 = 0;
+		key.k102 = 0;
+		key.k103 = 0;
+		key.k104 = 0;
+		key.k105 = 0;
+		key.k106 = 0;
+		key.k107 = 0;
+		key.k108 = 0;
+		key.k109 = 0;
+		key.k110 = 0;
+		key.k111 = 0;
+		key.k112 = 0;
+		key.k113 = 0;
+		key.k114 = 0;
+		key.k115 = 0;
+		key.k116 = 0;
+		key.k117 = 0;
+		key.k118 = 0;
+		key.k119 = 0;
+		key.k120 = 0;
+		key.k121 = 0;
+		key.k122 = 0;
+		key.k123 = 0;
+		key.k124 = 0;
+		key.k125 = 0;
+		key.k126 = 0;
+		key.k127 = 0;
+		key.k128 = 0;
+		key.k129 = 0;
+		key.k130 = 0;
+		key.k131 = 0;
+	}
+
 	@Override
 	public Object clone() {
 		Serpent result = new Serpent();
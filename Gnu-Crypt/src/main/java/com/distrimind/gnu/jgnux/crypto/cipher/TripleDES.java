@@ -189,6 +189,14 @@ public class TripleDES extends BaseCipher {
 		return Collections.singleton(Integer.valueOf(BLOCK_SIZE)).iterator();
 	}
 
+	@Override
+	protected void clearKey(Object k) {
+		Context ctx = (Context) k;
+		des.clearKey(ctx.k1);
+		des.clearKey(ctx.k2);
+		des.clearKey(ctx.k3);
+	}
+
 	@Override
 	public Object clone() {
 		return new TripleDES();
@@ -382,6 +382,13 @@ public final class GnuCrypto extends Provider {
 				put("Mac.HMAC-SHA256", com.distrimind.gnu.jgnux.crypto.jce.mac.HMacSHA256Spi.class.getName());
 				put("Mac.HMAC-SHA384", com.distrimind.gnu.jgnux.crypto.jce.mac.HMacSHA384Spi.class.getName());
 				put("Mac.HMAC-SHA512", com.distrimind.gnu.jgnux.crypto.jce.mac.HMacSHA512Spi.class.getName());
+				put("Mac.HMAC-SHA3-224", com.distrimind.gnu.jgnux.crypto.jce.mac.HMacSHA3_224Spi.class.getName());
+				put("Mac.HMAC-SHA3-256", com.distrimind.gnu.jgnux.crypto.jce.mac.HMacSHA3_256Spi.class.getName());
+				put("Mac.HMAC-SHA3-384", com.distrimind.gnu.jgnux.crypto.jce.mac.HMacSHA3_384Spi.class.getName());
+				put("Mac.HMAC-SHA3-512", com.distrimind.gnu.jgnux.crypto.jce.mac.HMacSHA3_512Spi.class.getName());
+				put("Mac.HMAC-BLAKE2B-256", com.distrimind.gnu.jgnux.crypto.jce.mac.HMacBlake2b256Spi.class.getName());
+				put("Mac.HMAC-BLAKE2B-512", com.distrimind.gnu.jgnux.crypto.jce.mac.HMacBlake2b512Spi.class.getName());
+				put("Mac.HMAC-BLAKE2S-256", com.distrimind.gnu.jgnux.crypto.jce.mac.HMacBlake2s256Spi.class.getName());
 				put("Mac.HMAC-TIGER", com.distrimind.gnu.jgnux.crypto.jce.mac.HMacTigerSpi.class.getName());
 				put("Mac.HMAC-HAVAL", com.distrimind.gnu.jgnux.crypto.jce.mac.HMacHavalSpi.class.getName());
 				put("Mac.HMAC-WHIRLPOOL", com.distrimind.gnu.jgnux.crypto.jce.mac.HMacWhirlpoolSpi.class.getName());
@@ -447,6 +454,13 @@ public final class GnuCrypto extends Provider {
 				put("Alg.Alias.Mac.HmacTiger", "HMAC-TIGER");
 				put("Alg.Alias.Mac.HmacHaval", "HMAC-HAVAL");
 				put("Alg.Alias.Mac.HmacWhirlpool", "HMAC-WHIRLPOOL");
+				put("Alg.Alias.Mac.HmacSHA3-224", "HMAC-SHA3-224");
+				put("Alg.Alias.Mac.HmacSHA3-256", "HMAC-SHA3-256");
+				put("Alg.Alias.Mac.HmacSHA3-384", "HMAC-SHA3-384");
+				put("Alg.Alias.Mac.HmacSHA3-512", "HMAC-SHA3-512");
+				put("Alg.Alias.Mac.HmacBLAKE2B-256", "HMAC-BLAKE2B-256");
+				put("Alg.Alias.Mac.HmacBLAKE2B-512", "HMAC-BLAKE2B-512");
+				put("Alg.Alias.Mac.HmacBLAKE2S-256", "HMAC-BLAKE2S-256");
 
 				// KeyAgreement
 				put("KeyAgreement.DH", com.distrimind.gnu.jgnux.crypto.jce.DiffieHellmanImpl.class.getName());
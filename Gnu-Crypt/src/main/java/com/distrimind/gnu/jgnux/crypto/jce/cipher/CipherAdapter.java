@@ -37,16 +37,19 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.jce.cipher;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
 import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.metrics.Metrics;
 import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
 import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
 import com.distrimind.gnu.jgnux.crypto.jce.spec.BlockCipherParameterSpec;
 import com.distrimind.gnu.jgnux.crypto.mode.IMode;
 import com.distrimind.gnu.jgnux.crypto.mode.ModeFactory;
+import com.distrimind.gnu.jgnux.crypto.mode.OCB;
 import com.distrimind.gnu.jgnux.crypto.pad.IPad;
 import com.distrimind.gnu.jgnux.crypto.pad.PadFactory;
 import com.distrimind.gnu.jgnux.crypto.pad.WrongPaddingException;
@@ -82,6 +85,12 @@ import com.distrimind.gnu.vm.jgnux.crypto.spec.IvParameterSpec;
  * and the initialization vector, the subclass should override those methods.
  * Otherwise a subclass need only call the {@link #CipherAdapter(String)}
  * constructor with the name of the cipher.
+ * <p>
+ * In {@link OCB} mode, the IV is the nonce, of 1 to 15 bytes and of
+ * {@link OCB#NONCE_SIZE} bytes when generated; the tag is appended to the
+ * ciphertext by the encryption, and checked and removed by the decryption,
+ * which then throws a {@link BadPaddingException} on a mismatch. The
+ * {@link Cipher} has no way to pass a header, which is thus always empty.
  */
 class CipherAdapter extends CipherSpi {
 	/** Our cipher instance. */
@@ -108,6 +117,15 @@ class CipherAdapter extends CipherSpi {
 	/** The length of blocks we are processing. */
 	protected int blockLen;
 
+	/** The name under which this instance reports its metrics. */
+	private String metricsName;
+
+	/**
+	 * The length of the tag appended to the ciphertext, or 0 if the mode does
+	 * not authenticate.
+	 */
+	private int tagLen;
+
 	/**
 	 * Creates a new cipher adapter with the default block size.
 	 *
@@ -146,7 +164,9 @@ class CipherAdapter extends CipherSpi {
 			throws IllegalBlockSizeException, BadPaddingException {
 		final byte[] result;
 		final byte[] buf = engineUpdate(input, off, len);
-		if (pad != null) {
+		if (tagLen > 0)
+			result = finishMessage(buf);
+		else if (pad != null) {
 			switch (((Integer) attributes.get(IMode.STATE)).intValue()) {
 			case IMode.ENCRYPTION:
 				byte[] padding = pad.pad(partBlock, 0, partLen);
@@ -178,6 +198,8 @@ class CipherAdapter extends CipherSpi {
 				throw new IllegalBlockSizeException(partLen + " trailing bytes");
 			result = buf;
 		}
+		if (result != null)
+			Metrics.completed(Metrics.CIPHER, metricsName);
 
 		try {
 			reset();
@@ -186,6 +208,8 @@ class CipherAdapter extends CipherSpi {
 			// parameters before, we should be able to do it again.
 			throw new Error(ike);
 		}
+		if (result == null)
+			throw new BadPaddingException("tag mismatch");
 		return result;
 	}
 
@@ -216,6 +240,11 @@ class CipherAdapter extends CipherSpi {
 
 	@Override
 	protected int engineGetOutputSize(int inputLen) {
+		if (tagLen > 0) {
+			if (((Integer) attributes.get(IMode.STATE)).intValue() == IMode.ENCRYPTION)
+				return inputLen + partLen + tagLen;
+			return Math.max(0, inputLen + partLen - tagLen);
+		}
 		final int blockSize = mode.currentBlockSize();
 		int l = inputLen + partLen;
 
@@ -269,7 +298,7 @@ class CipherAdapter extends CipherSpi {
 				switch (opmode) {
 				case Cipher.ENCRYPT_MODE:
 				case Cipher.WRAP_MODE:
-					byte[] iv = new byte[blockLen];
+					byte[] iv = new byte[mode instanceof OCB ? OCB.NONCE_SIZE : blockLen];
 					random.nextBytes(iv);
 					attributes.put(IMode.IV, iv);
 					break;
@@ -289,8 +318,11 @@ class CipherAdapter extends CipherSpi {
 			attributes.put(IMode.IV, bcps.getIV());
 			keyLen = bcps.getKeySize();
 		} else if (params instanceof IvParameterSpec) {
-			// The size of the IV must match the block size
-			if (((IvParameterSpec) params).getIV().length != cipher.defaultBlockSize()) {
+			// The size of the IV must match the block size, or be that of an
+			// OCB nonce
+			int ivLen = ((IvParameterSpec) params).getIV().length;
+			if (mode instanceof OCB ? ivLen < 1 || ivLen >= mode.defaultBlockSize()
+					: ivLen != cipher.defaultBlockSize()) {
 				throw new InvalidAlgorithmParameterException();
 			}
 
@@ -374,6 +406,8 @@ class CipherAdapter extends CipherSpi {
 		}
 		attributes.put(IBlockCipher.KEY_MATERIAL, kb);
 		reset();
+		metricsName = mode.name() + "/" + (8 * keyLen);
+		Metrics.keySetup(Metrics.CIPHER, metricsName);
 	}
 
 	@Override
@@ -418,6 +452,10 @@ class CipherAdapter extends CipherSpi {
 		if (pad != null && ((Integer) attributes.get(IMode.STATE)).intValue() == IMode.DECRYPTION
 				&& (partLen + inLen) % blockSize == 0)
 			blockCount--;
+		// and the tag, which ends the ciphertext, for the authenticated
+		// decryption
+		else if (tagLen > 0 && ((Integer) attributes.get(IMode.STATE)).intValue() == IMode.DECRYPTION)
+			blockCount = Math.max(0, partLen + inLen - tagLen) / blockSize;
 
 		final byte[] out = new byte[blockCount * blockSize];
 		try {
@@ -433,6 +471,7 @@ class CipherAdapter extends CipherSpi {
 	protected int engineUpdate(byte[] in, int inOff, int inLen, byte[] out, int outOff) throws ShortBufferException {
 		if (inLen == 0) // nothing to process
 			return 0;
+		Metrics.processed(Metrics.CIPHER, metricsName, inLen);
 		final int blockSize = mode.currentBlockSize();
 		int blockCount = (partLen + inLen) / blockSize;
 
@@ -441,6 +480,10 @@ class CipherAdapter extends CipherSpi {
 		if (pad != null && ((Integer) attributes.get(IMode.STATE)).intValue() == IMode.DECRYPTION
 				&& (partLen + inLen) % blockSize == 0)
 			blockCount--;
+		// and the tag, which ends the ciphertext, for the authenticated
+		// decryption
+		else if (tagLen > 0 && ((Integer) attributes.get(IMode.STATE)).intValue() == IMode.DECRYPTION)
+			blockCount = Math.max(0, partLen + inLen - tagLen) / blockSize;
 
 		final int result = blockCount * blockSize;
 		if (result > out.length - outOff)
@@ -475,6 +518,41 @@ class CipherAdapter extends CipherSpi {
 		return result;
 	}
 
+	/**
+	 * Ends an {@link OCB} message: encrypts the last, partial, block and
+	 * appends the tag, or decrypts the last block and checks the tag held back
+	 * from the ciphertext.
+	 *
+	 * @param buf
+	 *            the output of the full blocks.
+	 * @return the whole output, or <code>null</code> if the tag does not match.
+	 */
+	private byte[] finishMessage(byte[] buf) {
+		final OCB ocb = (OCB) mode;
+		final byte[] result;
+		if (((Integer) attributes.get(IMode.STATE)).intValue() == IMode.ENCRYPTION) {
+			result = new byte[buf.length + partLen + tagLen];
+			System.arraycopy(buf, 0, result, 0, buf.length);
+			ocb.updateFinal(partBlock, 0, partLen, result, buf.length);
+			ocb.digest(result, buf.length + partLen);
+			return result;
+		}
+		if (partLen < tagLen)
+			return null;
+		final int last = partLen - tagLen;
+		result = new byte[buf.length + last];
+		System.arraycopy(buf, 0, result, 0, buf.length);
+		ocb.updateFinal(partBlock, 0, last, result, buf.length);
+		final byte[] tag = ocb.digest();
+		int diff = 0;
+		for (int i = 0; i < tagLen; i++)
+			diff |= tag[i] ^ partBlock[last + i];
+		if (diff == 0)
+			return result;
+		Arrays.fill(result, (byte) 0);
+		return null;
+	}
+
 	private void reset() throws InvalidKeyException {
 		mode.reset();
 		mode.init(attributes);
@@ -482,7 +560,8 @@ class CipherAdapter extends CipherSpi {
 			pad.reset();
 			pad.init(blockLen);
 		}
-		partBlock = new byte[blockLen];
+		tagLen = mode instanceof OCB ? ((OCB) mode).macSize() : 0;
+		partBlock = new byte[blockLen + tagLen];
 		partLen = 0;
 	}
 }
@@ -56,6 +56,7 @@ import com.distrimind.gnu.jgnux.crypto.keyring.GnuPublicKeyring;
 import com.distrimind.gnu.jgnux.crypto.keyring.IKeyring;
 import com.distrimind.gnu.jgnux.crypto.keyring.IPrivateKeyring;
 import com.distrimind.gnu.jgnux.crypto.keyring.IPublicKeyring;
+import com.distrimind.gnu.jgnux.crypto.keyring.IndexedPrivateKeyring;
 import com.distrimind.gnu.jgnux.crypto.keyring.MalformedKeyringException;
 import com.distrimind.gnu.jgnux.crypto.keyring.PrimitiveEntry;
 import com.distrimind.gnu.vm.jgnu.security.Key;
@@ -326,12 +327,13 @@ public class GnuKeyring extends KeyStoreSpi {
 	 *             if an I/O related exception occurs during the process.
 	 */
 	private void loadPrivateKeyring(InputStream in, char[] password) throws MalformedKeyringException, IOException {
-		in.mark(5);
+		in.mark(6);
 		for (int i = 0; i < 4; i++)
 			if (in.read() != Registry.GKR_MAGIC[i])
 				throw new MalformedKeyringException("incorrect magic");
 
 		int usage = in.read();
+		int format = in.read();
 		in.reset();
 		if (usage != GnuPrivateKeyring.USAGE)
 			throw new MalformedKeyringException(
@@ -339,7 +341,10 @@ public class GnuKeyring extends KeyStoreSpi {
 		HashMap<String, Object> attr = new HashMap<>();
 		attr.put(IKeyring.KEYRING_DATA_IN, in);
 		attr.put(IKeyring.KEYRING_PASSWORD, password);
-		privateKR = new GnuPrivateKeyring();
+		if (format == IndexedPrivateKeyring.FORMAT)
+			privateKR = new IndexedPrivateKeyring();
+		else
+			privateKR = new GnuPrivateKeyring();
 		privateKR.load(attr);
 	}
 
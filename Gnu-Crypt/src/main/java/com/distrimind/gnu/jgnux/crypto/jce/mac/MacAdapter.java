@@ -37,9 +37,11 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.jce.mac;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.distrimind.gnu.jgnu.security.metrics.Metrics;
 import com.distrimind.gnu.jgnux.crypto.mac.IMac;
 import com.distrimind.gnu.jgnux.crypto.mac.MacFactory;
 import com.distrimind.gnu.vm.jgnu.security.InvalidAlgorithmParameterException;
@@ -98,6 +100,7 @@ class MacAdapter extends MacSpi implements Cloneable {
 	@Override
 	protected byte[] engineDoFinal() {
 		byte[] result = mac.digest();
+		Metrics.completed(Metrics.MAC, mac.name());
 		engineReset();
 		return result;
 	}
@@ -116,6 +119,7 @@ class MacAdapter extends MacSpi implements Cloneable {
 		attributes.put(IMac.MAC_KEY_MATERIAL, key.getEncoded());
 		mac.reset();
 		mac.init(attributes);
+		Metrics.keySetup(Metrics.MAC, mac.name());
 	}
 
 	@Override
@@ -126,10 +130,19 @@ class MacAdapter extends MacSpi implements Cloneable {
 	@Override
 	protected void engineUpdate(byte b) {
 		mac.update(b);
+		Metrics.processed(Metrics.MAC, mac.name(), 1);
 	}
 
 	@Override
 	protected void engineUpdate(byte[] in, int off, int len) {
 		mac.update(in, off, len);
+		Metrics.processed(Metrics.MAC, mac.name(), len);
+	}
+
+	@Override
+	protected void engineUpdate(ByteBuffer in) {
+		int len = in.remaining();
+		mac.update(in);
+		Metrics.processed(Metrics.MAC, mac.name(), len);
 	}
 }
@@ -37,7 +37,6 @@ exception statement from your version. */
 
 package com.distrimind.gnu.jgnux.crypto.jce.sig;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -96,9 +95,7 @@ public class DHParameters extends AlgorithmParametersSpi {
 		params.add(derQ);
 		DERValue derParams = new DERValue(DER.CONSTRUCTED | DER.SEQUENCE, params);
 
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		DERWriter.write(baos, derParams);
-		byte[] result = baos.toByteArray();
+		byte[] result = DERWriter.encode(derParams);
 
 		return result;
 	}
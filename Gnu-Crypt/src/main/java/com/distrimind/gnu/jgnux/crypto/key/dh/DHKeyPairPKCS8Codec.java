@@ -37,7 +37,6 @@ exception statement from your version. */
 
 package com.distrimind.gnu.jgnux.crypto.key.dh;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -56,7 +55,7 @@ import com.distrimind.gnu.vm.jgnu.security.PrivateKey;
 import com.distrimind.gnu.vm.jgnu.security.PublicKey;
 
 public class DHKeyPairPKCS8Codec implements IKeyPairCodec {
-	private static final OID DH_ALG_OID = new OID(Registry.DH_OID_STRING);
+	private static final OID DH_ALG_OID = new OID(Registry.DH_OID_STRING).intern();
 
 	// implicit 0-arguments constructor
 
@@ -205,10 +204,8 @@ public class DHKeyPairPKCS8Codec implements IKeyPairCodec {
 		DERValue derPKI = new DERValue(DER.CONSTRUCTED | DER.SEQUENCE, pki);
 
 		byte[] result;
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
 		try {
-			DERWriter.write(baos, derPKI);
-			result = baos.toByteArray();
+			result = DERWriter.encode(derPKI);
 		} catch (IOException e) {
 			InvalidParameterException y = new InvalidParameterException();
 			y.initCause(e);
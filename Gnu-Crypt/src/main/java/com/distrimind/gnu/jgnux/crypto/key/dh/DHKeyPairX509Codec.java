@@ -37,7 +37,6 @@ exception statement from your version. */
 
 package com.distrimind.gnu.jgnux.crypto.key.dh;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -56,7 +55,7 @@ import com.distrimind.gnu.vm.jgnu.security.PrivateKey;
 import com.distrimind.gnu.vm.jgnu.security.PublicKey;
 
 public class DHKeyPairX509Codec implements IKeyPairCodec {
-	private static final OID DH_ALG_OID = new OID(Registry.DH_OID_STRING);
+	private static final OID DH_ALG_OID = new OID(Registry.DH_OID_STRING).intern();
 
 	// implicit 0-arguments constructor
 
@@ -232,10 +231,8 @@ public class DHKeyPairX509Codec implements IKeyPairCodec {
 		DERValue derSPKI = new DERValue(DER.CONSTRUCTED | DER.SEQUENCE, spki);
 
 		byte[] result;
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
 		try {
-			DERWriter.write(baos, derSPKI);
-			result = baos.toByteArray();
+			result = DERWriter.encode(derSPKI);
 		} catch (IOException x) {
 			InvalidParameterException e = new InvalidParameterException();
 			e.initCause(x);
@@ -101,7 +101,7 @@ public final class AuthenticatedEntry extends MaskableEnvelopeEntry implements R
 			Entry entry = it.next();
 			entry.encode(out2);
 		}
-		bout.write(m.digest());
+		bout.write(macout.getMac().digest());
 		payload = bout.toByteArray();
 	}
 
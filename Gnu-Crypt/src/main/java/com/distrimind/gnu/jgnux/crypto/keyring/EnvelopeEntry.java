@@ -128,47 +128,51 @@ public abstract class EnvelopeEntry extends Entry {
 		return false;
 	}
 
+	/**
+	 * Decodes an entry of any type.
+	 *
+	 * @param type
+	 *            The type of the entry, as read from the stream, or -1 at the
+	 *            end of the stream.
+	 * @param in
+	 *            The input stream, positioned after the type.
+	 * @return The entry, or <code>null</code> if <code>type</code> is -1.
+	 * @throws IOException
+	 *             If an I/O error occurs, or if the type is unknown.
+	 */
+	static Entry decodeEntry(int type, DataInputStream in) throws IOException {
+		switch (type) {
+		case EncryptedEntry.TYPE:
+			return EncryptedEntry.decode(in);
+		case PasswordEncryptedEntry.TYPE:
+			return PasswordEncryptedEntry.decode(in);
+		case PasswordAuthenticatedEntry.TYPE:
+			return PasswordAuthenticatedEntry.decode(in);
+		case AuthenticatedEntry.TYPE:
+			return AuthenticatedEntry.decode(in);
+		case CompressedEntry.TYPE:
+			return CompressedEntry.decode(in);
+		case CertificateEntry.TYPE:
+			return CertificateEntry.decode(in);
+		case PublicKeyEntry.TYPE:
+			return PublicKeyEntry.decode(in);
+		case PrivateKeyEntry.TYPE:
+			return PrivateKeyEntry.decode(in);
+		case CertPathEntry.TYPE:
+			return CertPathEntry.decode(in);
+		case BinaryDataEntry.TYPE:
+			return BinaryDataEntry.decode(in);
+		case -1:
+			return null;
+		default:
+			throw new MalformedKeyringException("unknown type " + type);
+		}
+	}
+
 	protected void decodeEnvelope(DataInputStream in) throws IOException {
 		this.entries.clear();
-		while (true) {
-			int type = in.read();
-			switch (type) {
-			case EncryptedEntry.TYPE:
-				add(EncryptedEntry.decode(in));
-				break;
-			case PasswordEncryptedEntry.TYPE:
-				add(PasswordEncryptedEntry.decode(in));
-				break;
-			case PasswordAuthenticatedEntry.TYPE:
-				add(PasswordAuthenticatedEntry.decode(in));
-				break;
-			case AuthenticatedEntry.TYPE:
-				add(AuthenticatedEntry.decode(in));
-				break;
-			case CompressedEntry.TYPE:
-				add(CompressedEntry.decode(in));
-				break;
-			case CertificateEntry.TYPE:
-				add(CertificateEntry.decode(in));
-				break;
-			case PublicKeyEntry.TYPE:
-				add(PublicKeyEntry.decode(in));
-				break;
-			case PrivateKeyEntry.TYPE:
-				add(PrivateKeyEntry.decode(in));
-				break;
-			case CertPathEntry.TYPE:
-				add(CertPathEntry.decode(in));
-				break;
-			case BinaryDataEntry.TYPE:
-				add(BinaryDataEntry.decode(in));
-				break;
-			case -1:
-				return;
-			default:
-				throw new MalformedKeyringException("unknown type " + type);
-			}
-		}
+		for (Entry entry = decodeEntry(in.read(), in); entry != null; entry = decodeEntry(in.read(), in))
+			add(entry);
 	}
 
 	@Override
@@ -137,6 +137,11 @@ public class GnuPrivateKeyring extends BaseKeyring implements IPrivateKeyring {
 
 	@Override
 	public Key getPrivateKey(String alias, char[] password) throws UnrecoverableKeyException {
+		return getPrivateKey(alias, password, null);
+	}
+
+	private Key getPrivateKey(String alias, char[] password, KeyringSession session)
+			throws UnrecoverableKeyException {
 		Key result = null;
 		if (containsAlias(alias)) {
 			PasswordAuthenticatedEntry e1 = null;
@@ -149,7 +154,7 @@ public class GnuPrivateKeyring extends BaseKeyring implements IPrivateKeyring {
 			}
 			if (e1 != null) {
 				try {
-					e1.verify(password);
+					e1.verify(password, session);
 				} catch (Exception e) {
 					throw new UnrecoverableKeyException("authentication failed");
 				}
@@ -163,7 +168,7 @@ public class GnuPrivateKeyring extends BaseKeyring implements IPrivateKeyring {
 				}
 				if (e2 != null) {
 					try {
-						e2.decrypt(password);
+						e2.decrypt(password, session);
 					} catch (Exception e) {
 						log.throwing(this.getClass().getName(), "getPrivateKey", e);
 						throw new UnrecoverableKeyException("decryption failed");
@@ -182,6 +187,24 @@ public class GnuPrivateKeyring extends BaseKeyring implements IPrivateKeyring {
 		return result;
 	}
 
+	/**
+	 * Returns the private key of a designated alias, using the key material of an
+	 * unlocked keyring session, so that looking up the same key again does not
+	 * derive the password-based keys again.
+	 *
+	 * @param alias
+	 *            the alias of the key.
+	 * @param session
+	 *            the keyring session, opened with the password of the key.
+	 * @return the key, or <code>null</code> if there is none.
+	 * @throws UnrecoverableKeyException
+	 *             if the key cannot be verified or decrypted, or if the session is
+	 *             closed or expired.
+	 */
+	public Key getPrivateKey(String alias, KeyringSession session) throws UnrecoverableKeyException {
+		return getPrivateKey(alias, null, session);
+	}
+
 	@Override
 	public PublicKey getPublicKey(String alias) {
 		PublicKey result = null;
@@ -42,11 +42,16 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 
 import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.provider.X509BundleParser;
+import com.distrimind.gnu.jgnu.security.x509.X509Certificate;
 import com.distrimind.gnu.vm.jgnu.security.cert.Certificate;
+import com.distrimind.gnu.vm.jgnu.security.cert.CertificateException;
 
 public class GnuPublicKeyring extends BaseKeyring implements IPublicKeyring {
 	public static final int USAGE = Registry.GKR_CERTIFICATES;
@@ -86,6 +91,42 @@ public class GnuPublicKeyring extends BaseKeyring implements IPublicKeyring {
 		return result;
 	}
 
+	/**
+	 * Imports every certificate of a bundle file (DER and/or PEM), using an
+	 * {@link X509BundleParser}. The certificates are added with the aliases
+	 * <code>prefix + index</code>, where <code>index</code> is the position of
+	 * the certificate in the bundle; aliases already holding a certificate are
+	 * left untouched.
+	 *
+	 * @param bundle
+	 *            The bundle file.
+	 * @param prefix
+	 *            The alias prefix.
+	 * @return The number of certificates added.
+	 * @throws IOException
+	 *             If the bundle cannot be read or parsed.
+	 */
+	public int importCertificates(FileChannel bundle, String prefix) throws IOException {
+		List<X509Certificate> certs;
+		try {
+			certs = new X509BundleParser().parseCertificates(bundle);
+		} catch (CertificateException ce) {
+			throw new MalformedKeyringException(ce.toString());
+		}
+		int count = 0;
+		Date now = new Date();
+		for (int i = 0; i < certs.size(); i++) {
+			String alias = fixAlias(prefix + i);
+			if (containsCertificate(alias))
+				continue;
+			Properties p = new Properties();
+			p.put("alias", alias);
+			add(new CertificateEntry(certs.get(i), now, p));
+			count++;
+		}
+		return count;
+	}
+
 	@Override
 	protected void load(InputStream in, char[] password) throws IOException {
 		if (in.read() != USAGE)
@@ -0,0 +1,435 @@
+/* IndexedPrivateKeyring.java -- a private keyring with an alias index
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.keyring;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.hash.HashFactory;
+import com.distrimind.gnu.jgnu.security.hash.IMessageDigest;
+import com.distrimind.gnu.jgnu.security.util.PRNG;
+import com.distrimind.gnu.jgnu.security.util.Util;
+import com.distrimind.gnu.jgnux.crypto.mac.IMac;
+
+/**
+ * A private keyring stored in a random-access format.
+ * <p>
+ * The {@link GnuPrivateKeyring} format nests every entry in one
+ * password-authenticated envelope, which has to be read, verified and decoded
+ * as a whole before any entry can be looked up. This format instead stores
+ * every top-level entry as a separate record, preceded by an index giving, for
+ * every record, its type, position, length, SHA-256 digest and aliases. Only
+ * the index is authenticated with the keyring password: a record is read,
+ * checked against its digest, and decoded when one of its aliases is first
+ * looked up. Private keys keep their own password-authenticated and
+ * password-encrypted envelopes, so that only the requested key is ever
+ * decrypted.
+ * <p>
+ * The layout is:
+ *
+ * <pre>
+ *   magic        4 bytes, {@link Registry#GKR_MAGIC}
+ *   usage        1 byte, {@link GnuPrivateKeyring#USAGE}
+ *   format       1 byte, {@link #FORMAT}
+ *   properties   the MAC algorithm, length and salt
+ *   length       4 bytes, the length of the index
+ *   index        4 bytes count, then per record: type (1 byte), offset (8
+ *                bytes, from the first record), length (4 bytes), digest (32
+ *                bytes), alias count (4 bytes) and aliases (UTF)
+ *   mac          the MAC of the index
+ *   records      the records, each an encoded entry
+ * </pre>
+ *
+ * A keyring may be loaded from a {@link FileChannel}, given as the
+ * {@link #KEYRING_DATA_CHANNEL} attribute, in which case the file is mapped
+ * instead of being read. Entries added after loading are kept in memory until
+ * the keyring is stored.
+ */
+public class IndexedPrivateKeyring extends GnuPrivateKeyring {
+	/** A record of a loaded keyring. */
+	private static final class Slot {
+		final int type;
+
+		final long offset;
+
+		final int length;
+
+		final byte[] digest;
+
+		final String[] aliases;
+
+		/**
+		 * The decoded entry, once looked up. Maskable envelopes are not kept, so
+		 * that they are always returned masked, and that decrypted keys do not
+		 * linger.
+		 */
+		Entry entry;
+
+		Slot(int type, long offset, int length, byte[] digest, String[] aliases) {
+			this.type = type;
+			this.offset = offset;
+			this.length = length;
+			this.digest = digest;
+			this.aliases = aliases;
+		}
+	}
+
+	/** The format tag following the usage byte. */
+	public static final int FORMAT = 0x80;
+
+	/**
+	 * Property name of a {@link FileChannel} to map the keyring from, in place
+	 * of {@link IKeyring#KEYRING_DATA_IN}.
+	 */
+	public static final String KEYRING_DATA_CHANNEL = "com.distrimind.gnu.crypto.keyring.data.channel";
+
+	private static final int DIGEST_SIZE = 32;
+
+	private static String[] aliasesOf(Entry entry) {
+		if (entry instanceof PrimitiveEntry)
+			return new String[] { ((PrimitiveEntry) entry).getAlias() };
+		final StringTokenizer tok = new StringTokenizer(((EnvelopeEntry) entry).getAliasList(), ";");
+		final String[] result = new String[tok.countTokens()];
+		for (int i = 0; i < result.length; i++)
+			result[i] = tok.nextToken();
+		return result;
+	}
+
+	private static IMessageDigest newDigest() {
+		return HashFactory.getInstance(Registry.SHA256_HASH);
+	}
+
+	/** The records of the loaded keyring. */
+	private ByteBuffer records;
+
+	/** alias --> records having that alias. */
+	private final LinkedHashMap<String, List<Slot>> index = new LinkedHashMap<>();
+
+	public IndexedPrivateKeyring() {
+		super();
+	}
+
+	public IndexedPrivateKeyring(String mac, int maclen, String cipher, String mode, int keylen) {
+		super(mac, maclen, cipher, mode, keylen);
+	}
+
+	@Override
+	public Enumeration<Object> aliases() {
+		if (keyring == null)
+			throw new IllegalStateException("keyring not loaded");
+		final LinkedHashSet<Object> result = new LinkedHashSet<Object>(index.keySet());
+		for (StringTokenizer tok = new StringTokenizer(keyring.getAliasList(), ";"); tok.hasMoreTokens();)
+			result.add(tok.nextToken());
+		return Collections.enumeration(result);
+	}
+
+	@Override
+	public boolean containsAlias(String alias) {
+		if (keyring == null)
+			throw new IllegalStateException("keyring not loaded");
+		return index.containsKey(alias) || keyring.containsAlias(alias);
+	}
+
+	/**
+	 * Reads, checks and decodes a record.
+	 */
+	private Entry decode(Slot slot) throws IOException {
+		final byte[] record = new byte[slot.length];
+		final ByteBuffer b = records.duplicate();
+		b.position((int) slot.offset);
+		b.get(record);
+		final IMessageDigest md = newDigest();
+		md.update(record, 0, record.length);
+		if (!Arrays.equals(slot.digest, md.digest()))
+			throw new MalformedKeyringException("record digest verification failed");
+		final Entry result = EnvelopeEntry.decodeEntry(record[0] & 0xFF,
+				new DataInputStream(new ByteArrayInputStream(record, 1, record.length - 1)));
+		if (result == null || result.type != slot.type)
+			throw new MalformedKeyringException("record type mismatch");
+		return result;
+	}
+
+	/**
+	 * Returns the entries having a designated alias, reading and decoding the
+	 * records holding them if needed.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if one of the records is corrupt.
+	 */
+	@Override
+	public List<Entry> get(String alias) {
+		if (keyring == null)
+			throw new IllegalStateException("keyring not loaded");
+		final List<Entry> result = new ArrayList<>();
+		final List<Slot> slots = index.get(alias);
+		if (slots != null)
+			for (Slot slot : slots) {
+				Entry e = slot.entry;
+				if (e == null)
+					try {
+						e = decode(slot);
+					} catch (IOException x) {
+						throw new IllegalArgumentException("malformed keyring record", x);
+					}
+				if (e instanceof MaskableEnvelopeEntry)
+					result.add(e);
+				else {
+					slot.entry = e;
+					if (e instanceof EnvelopeEntry)
+						result.addAll(((EnvelopeEntry) e).get(alias));
+					else
+						result.add(e);
+				}
+			}
+		result.addAll(keyring.get(alias));
+		return result;
+	}
+
+	@Override
+	protected void load(InputStream in, char[] password) throws IOException {
+		final ByteArrayOutputStream bout = new ByteArrayOutputStream(8192);
+		final byte[] buffer = new byte[8192];
+		for (int n = in.read(buffer); n != -1; n = in.read(buffer))
+			bout.write(buffer, 0, n);
+		load(ByteBuffer.wrap(bout.toByteArray()), password);
+	}
+
+	/**
+	 * Parses a keyring, positioned after the magic, and authenticates its index.
+	 */
+	private void load(ByteBuffer in, char[] password) throws IOException {
+		try {
+			if ((in.get() & 0xFF) != USAGE)
+				throw new MalformedKeyringException("incompatible keyring usage");
+			if ((in.get() & 0xFF) != FORMAT)
+				throw new MalformedKeyringException("expecting indexed keyring format");
+			final byte[] header = new byte[4 + in.getInt(in.position())];
+			in.get(header);
+			final Properties properties = new Properties();
+			properties.decode(new DataInputStream(new ByteArrayInputStream(header)));
+			final byte[] encodedIndex = new byte[in.getInt()];
+			in.get(encodedIndex);
+			final IMac mac = PasswordAuthenticatedEntry.getMac(properties, password);
+			mac.update(encodedIndex, 0, encodedIndex.length);
+			final byte[] macValue = new byte[mac.macSize()];
+			in.get(macValue);
+			if (!Arrays.equals(macValue, mac.digest()))
+				throw new MalformedKeyringException("MAC verification failed");
+			reset();
+			records = in.slice();
+			final DataInputStream din = new DataInputStream(new ByteArrayInputStream(encodedIndex));
+			for (int count = din.readInt(); count > 0; count--) {
+				final int type = din.readUnsignedByte();
+				final long offset = din.readLong();
+				final int length = din.readInt();
+				if (offset < 0 || length < 1 || offset + length > records.limit())
+					throw new MalformedKeyringException("record out of bounds");
+				final byte[] digest = new byte[DIGEST_SIZE];
+				din.readFully(digest);
+				final String[] aliases = new String[din.readInt()];
+				for (int i = 0; i < aliases.length; i++)
+					aliases[i] = din.readUTF();
+				final Slot slot = new Slot(type, offset, length, digest, aliases);
+				for (int i = 0; i < aliases.length; i++) {
+					List<Slot> l = index.get(aliases[i]);
+					if (l == null)
+						index.put(aliases[i], l = new ArrayList<>(1));
+					l.add(slot);
+				}
+			}
+		} catch (BufferUnderflowException x) {
+			throw new MalformedKeyringException("truncated keyring");
+		}
+	}
+
+	/**
+	 * Loads the keyring, either mapping the {@link FileChannel} designated by
+	 * {@link #KEYRING_DATA_CHANNEL}, or reading the input stream designated by
+	 * {@link IKeyring#KEYRING_DATA_IN}.
+	 */
+	@Override
+	public void load(Map<String, Object> attributes) throws IOException {
+		final FileChannel channel = (FileChannel) attributes.get(KEYRING_DATA_CHANNEL);
+		if (channel == null) {
+			super.load(attributes);
+			return;
+		}
+		char[] password = (char[]) attributes.get(KEYRING_PASSWORD);
+		if (password == null)
+			password = new char[0];
+		final ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		for (int i = 0; i < Registry.GKR_MAGIC.length; i++)
+			if (!in.hasRemaining() || in.get() != Registry.GKR_MAGIC[i])
+				throw new MalformedKeyringException("magic");
+		load(in, password);
+	}
+
+	@Override
+	public void remove(String alias) {
+		if (keyring == null)
+			throw new IllegalStateException("keyring not loaded");
+		index.remove(alias);
+		for (Iterator<Entry> it = keyring.getEntries().iterator(); it.hasNext();) {
+			final Entry e = it.next();
+			if (e == keyring2)
+				keyring2.remove(alias);
+			else if (e instanceof EnvelopeEntry && ((EnvelopeEntry) e).containsAlias(alias))
+				keyring.remove(e);
+		}
+	}
+
+	/**
+	 * Clears the index and the entries added since the keyring was loaded.
+	 */
+	@Override
+	public void reset() {
+		index.clear();
+		records = null;
+		keyring = new PasswordAuthenticatedEntry(mac, maclen, new Properties());
+		keyring2 = new CompressedEntry(new Properties());
+		keyring.add(keyring2);
+	}
+
+	@Override
+	public int size() {
+		if (keyring == null)
+			throw new IllegalStateException("keyring not loaded");
+		return Collections.list(aliases()).size();
+	}
+
+	/**
+	 * Stores the keyring. Records of the loaded keyring are copied as they are,
+	 * without being decoded.
+	 */
+	@Override
+	protected void store(OutputStream out, char[] password) throws IOException {
+		final List<Slot> slots = new ArrayList<>();
+		final List<byte[]> encoded = new ArrayList<>();
+		final IdentityHashMap<Slot, Boolean> seen = new IdentityHashMap<>();
+		long offset = 0;
+		for (List<Slot> l : index.values())
+			for (Slot slot : l)
+				if (seen.put(slot, Boolean.TRUE) == null) {
+					final byte[] record = new byte[slot.length];
+					final ByteBuffer b = records.duplicate();
+					b.position((int) slot.offset);
+					b.get(record);
+					// drop the aliases since removed
+					final ArrayList<String> aliases = new ArrayList<>();
+					for (String alias : slot.aliases)
+						if (index.containsKey(alias))
+							aliases.add(alias);
+					slots.add(new Slot(slot.type, offset, record.length, slot.digest,
+							aliases.toArray(new String[aliases.size()])));
+					encoded.add(record);
+					offset += record.length;
+				}
+		final List<Entry> added = new ArrayList<>();
+		for (Entry e : keyring.getEntries())
+			if (e == keyring2)
+				added.addAll(keyring2.getEntries());
+			else
+				added.add(e);
+		for (Entry e : added) {
+			final ByteArrayOutputStream bout = new ByteArrayOutputStream(1024);
+			e.encode(new DataOutputStream(bout));
+			final byte[] record = bout.toByteArray();
+			final IMessageDigest md = newDigest();
+			md.update(record, 0, record.length);
+			slots.add(new Slot(e.type, offset, record.length, md.digest(), aliasesOf(e)));
+			encoded.add(record);
+			offset += record.length;
+		}
+
+		final ByteArrayOutputStream bout = new ByteArrayOutputStream(64 * slots.size() + 4);
+		final DataOutputStream dout = new DataOutputStream(bout);
+		dout.writeInt(slots.size());
+		for (Slot slot : slots) {
+			dout.writeByte(slot.type);
+			dout.writeLong(slot.offset);
+			dout.writeInt(slot.length);
+			dout.write(slot.digest);
+			dout.writeInt(slot.aliases.length);
+			for (String alias : slot.aliases)
+				dout.writeUTF(alias);
+		}
+		dout.flush();
+		final byte[] encodedIndex = bout.toByteArray();
+
+		final Properties properties = new Properties();
+		final byte[] salt = new byte[8];
+		PRNG.getInstance().nextBytes(salt);
+		properties.put("mac", mac);
+		properties.put("maclen", String.valueOf(maclen));
+		properties.put("salt", Util.toString(salt));
+		final IMac m = PasswordAuthenticatedEntry.getMac(properties, password);
+		m.update(encodedIndex, 0, encodedIndex.length);
+
+		final DataOutputStream dos = new DataOutputStream(out);
+		dos.write(USAGE);
+		dos.write(FORMAT);
+		properties.encode(dos);
+		dos.writeInt(encodedIndex.length);
+		dos.write(encodedIndex);
+		dos.write(m.digest());
+		for (byte[] record : encoded)
+			dos.write(record);
+		dos.flush();
+	}
+}
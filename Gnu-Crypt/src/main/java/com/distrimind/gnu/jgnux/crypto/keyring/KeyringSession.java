@@ -0,0 +1,244 @@
+/* KeyringSession.java -- a cache of password-derived keyring keys
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.keyring;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.distrimind.gnu.jgnu.security.prng.IRandom;
+import com.distrimind.gnu.jgnu.security.prng.LimitReachedException;
+import com.distrimind.gnu.jgnu.security.util.Util;
+import com.distrimind.gnu.jgnux.crypto.prng.IPBE;
+import com.distrimind.gnu.jgnux.crypto.prng.PRNGFactory;
+
+/**
+ * An unlocked keyring session.
+ * <p>
+ * Password-protected entries derive their MAC and cipher keys from the
+ * password with PBKDF2, which is deliberately expensive. A session holds a
+ * password for a limited time, and caches the key material derived for every
+ * salt, so that looking up the same entries again, through
+ * {@link GnuPrivateKeyring#getPrivateKey(String, KeyringSession)},
+ * {@link PasswordAuthenticatedEntry#verify(KeyringSession)} or
+ * {@link PasswordEncryptedEntry#decrypt(KeyringSession)}, does not derive them
+ * again. The password and the cached material are zeroed when the session is
+ * closed or, even if it is not used any more, when it expires.
+ * <p>
+ * Sessions are safe for use by multiple threads.
+ */
+public final class KeyringSession implements Closeable {
+	/**
+	 * The task that closes the session when its lifetime elapses.
+	 */
+	private static final class Expirer extends TimerTask {
+		private final KeyringSession target;
+
+		Expirer(final KeyringSession target) {
+			super();
+			this.target = target;
+		}
+
+		@Override
+		public void run() {
+			target.close();
+		}
+	}
+
+	/**
+	 * The timer that expires sessions.
+	 */
+	private static final Timer EXPIRER = new Timer("KeyringSession expirer", true);
+
+	/**
+	 * Derives key material from a password with PBKDF2.
+	 *
+	 * @param password
+	 *            the password.
+	 * @param salt
+	 *            the salt.
+	 * @param length
+	 *            the count of bytes to derive.
+	 * @return the derived bytes.
+	 */
+	static byte[] derive(char[] password, byte[] salt, int length) {
+		HashMap<Object, Object> pbAttr = new HashMap<>();
+		pbAttr.put(IPBE.PASSWORD, password);
+		pbAttr.put(IPBE.SALT, salt);
+		pbAttr.put(IPBE.ITERATION_COUNT, PasswordProtectedEntry.ITERATION_COUNT);
+		IRandom kdf = PRNGFactory.getInstance("PBKDF2-HMAC-SHA");
+		kdf.init(pbAttr);
+		byte[] result = new byte[length];
+		try {
+			kdf.nextBytes(result, 0, length);
+		} catch (LimitReachedException shouldNotHappen) {
+			throw new Error(shouldNotHappen.toString());
+		}
+		return result;
+	}
+
+	private final char[] password;
+
+	/** The session deadline, in {@link System#nanoTime()} units. */
+	private final long deadline;
+
+	/** salt/length --> derived bytes. */
+	private final ConcurrentHashMap<String, byte[]> keys = new ConcurrentHashMap<>();
+
+	private volatile boolean closed;
+
+	/** The task that will close this session when it expires. */
+	private final Expirer expirer;
+
+	private final LongAdder derivations = new LongAdder();
+
+	private final LongAdder avoidedDerivations = new LongAdder();
+
+	/**
+	 * Opens a session.
+	 *
+	 * @param password
+	 *            the password; it is copied, and may be cleared by the caller.
+	 * @param lifetime
+	 *            the lifetime of the session.
+	 * @param unit
+	 *            the unit of <code>lifetime</code>.
+	 */
+	public KeyringSession(char[] password, long lifetime, TimeUnit unit) {
+		super();
+
+		if (password == null)
+			throw new IllegalArgumentException("no password");
+		if (lifetime <= 0)
+			throw new IllegalArgumentException("lifetime must be positive");
+		this.password = password.clone();
+		final long nanos = unit.toNanos(lifetime);
+		this.deadline = System.nanoTime() + nanos;
+		this.expirer = new Expirer(this);
+		// rounded up, so that the session never expires before its deadline.
+		EXPIRER.schedule(expirer, TimeUnit.NANOSECONDS.toMillis(nanos) + 1);
+	}
+
+	/**
+	 * Zeroes the password and the cached key material, and cancels the expiry of
+	 * the session. The session may not be used afterwards.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		expirer.cancel();
+		Arrays.fill(password, '\0');
+		for (Iterator<byte[]> it = keys.values().iterator(); it.hasNext();) {
+			Arrays.fill(it.next(), (byte) 0);
+			it.remove();
+		}
+	}
+
+	/**
+	 * Returns key material derived from the session password, deriving it only
+	 * the first time a salt and length are seen.
+	 *
+	 * @param salt
+	 *            the salt.
+	 * @param length
+	 *            the count of bytes to derive.
+	 * @return a copy of the derived bytes.
+	 * @throws IllegalStateException
+	 *             if the session is closed or expired.
+	 */
+	byte[] derive(byte[] salt, int length) {
+		if (!isOpen())
+			throw new IllegalStateException("keyring session closed or expired");
+		final String id = Util.toString(salt) + '/' + length;
+		byte[] result = keys.get(id);
+		if (result != null)
+			avoidedDerivations.increment();
+		else {
+			result = derive(password, salt, length);
+			derivations.increment();
+			final byte[] previous = keys.putIfAbsent(id, result);
+			if (previous != null) {
+				Arrays.fill(result, (byte) 0);
+				result = previous;
+			}
+		}
+		if (closed) {
+			// close() may have emptied the map before the key was stored
+			Arrays.fill(result, (byte) 0);
+			keys.remove(id, result);
+			throw new IllegalStateException("keyring session closed or expired");
+		}
+		return result.clone();
+	}
+
+	/**
+	 * Returns the count of key derivations avoided by this session.
+	 *
+	 * @return the count of cache hits.
+	 */
+	public long getAvoidedDerivationCount() {
+		return avoidedDerivations.sum();
+	}
+
+	/**
+	 * Returns the count of key derivations done by this session.
+	 *
+	 * @return the count of cache misses.
+	 */
+	public long getDerivationCount() {
+		return derivations.sum();
+	}
+
+	/**
+	 * Tells whether this session may still be used, closing it if it just
+	 * expired.
+	 *
+	 * @return <code>true</code> if the session is neither closed nor expired.
+	 */
+	public boolean isOpen() {
+		if (!closed && System.nanoTime() - deadline >= 0)
+			close();
+		return !closed;
+	}
+}
@@ -48,16 +48,12 @@ import java.util.Iterator;
 import java.util.logging.Logger;
 
 import com.distrimind.gnu.jgnu.security.Registry;
-import com.distrimind.gnu.jgnu.security.prng.IRandom;
-import com.distrimind.gnu.jgnu.security.prng.LimitReachedException;
 import com.distrimind.gnu.jgnu.security.util.PRNG;
 import com.distrimind.gnu.jgnu.security.util.Util;
 import com.distrimind.gnu.jgnux.crypto.mac.IMac;
 import com.distrimind.gnu.jgnux.crypto.mac.MacFactory;
 import com.distrimind.gnu.jgnux.crypto.mac.MacInputStream;
 import com.distrimind.gnu.jgnux.crypto.mac.MacOutputStream;
-import com.distrimind.gnu.jgnux.crypto.prng.IPBE;
-import com.distrimind.gnu.jgnux.crypto.prng.PRNGFactory;
 import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
 
 /**
@@ -93,7 +89,7 @@ public final class PasswordAuthenticatedEntry extends MaskableEnvelopeEntry
 		entry.decodeEnvelope(in2);
 		byte[] macValue = new byte[mac.macSize()];
 		in.readFully(macValue);
-		if (!Arrays.equals(macValue, mac.digest()))
+		if (!Arrays.equals(macValue, macin.getMac().digest()))
 			throw new MalformedKeyringException("MAC verification failed");
 		return entry;
 	}
@@ -131,7 +127,7 @@ public final class PasswordAuthenticatedEntry extends MaskableEnvelopeEntry
 			entry.encode(out2);
 			// t1 += System.currentTimeMillis();
 		}
-		bout.write(m.digest());
+		bout.write(macout.getMac().digest());
 		payload = bout.toByteArray();
 		setMasked(true);
 		// tt += System.currentTimeMillis();
@@ -150,7 +146,24 @@ public final class PasswordAuthenticatedEntry extends MaskableEnvelopeEntry
 		}
 	}
 
-	private IMac getMac(char[] password) throws MalformedKeyringException {
+	/**
+	 * Returns a MAC keyed with a password-derived key, as designated by the
+	 * <code>mac</code>, <code>maclen</code> and <code>salt</code> properties.
+	 *
+	 * @param properties
+	 *            The properties designating the MAC.
+	 * @param password
+	 *            The password.
+	 * @return The initialised MAC.
+	 * @throws MalformedKeyringException
+	 *             If a property is missing or invalid.
+	 */
+	static IMac getMac(Properties properties, char[] password) throws MalformedKeyringException {
+		return getMac(properties, password, null);
+	}
+
+	private static IMac getMac(Properties properties, char[] password, KeyringSession session)
+			throws MalformedKeyringException {
 		String saltString = properties.get("salt");
 		if (saltString == null)
 			throw new MalformedKeyringException("no salt");
@@ -168,19 +181,8 @@ public final class PasswordAuthenticatedEntry extends MaskableEnvelopeEntry
 		} catch (NumberFormatException nfe) {
 			throw new MalformedKeyringException("bad MAC length");
 		}
-		HashMap<Object, Object> pbAttr = new HashMap<>();
-		pbAttr.put(IPBE.PASSWORD, password);
-		pbAttr.put(IPBE.SALT, salt);
-		pbAttr.put(IPBE.ITERATION_COUNT, ITERATION_COUNT);
-		IRandom kdf = PRNGFactory.getInstance("PBKDF2-HMAC-SHA");
-		kdf.init(pbAttr);
 		int keylen = mac.macSize();
-		byte[] dk = new byte[keylen];
-		try {
-			kdf.nextBytes(dk, 0, keylen);
-		} catch (LimitReachedException shouldNotHappen) {
-			throw new Error(shouldNotHappen.toString());
-		}
+		byte[] dk = session == null ? KeyringSession.derive(password, salt, keylen) : session.derive(salt, keylen);
 		HashMap<Object, Object> macAttr = new HashMap<>();
 		macAttr.put(IMac.MAC_KEY_MATERIAL, dk);
 		macAttr.put(IMac.TRUNCATED_SIZE, Integer.valueOf(maclen));
@@ -192,12 +194,20 @@ public final class PasswordAuthenticatedEntry extends MaskableEnvelopeEntry
 		return mac;
 	}
 
+	private IMac getMac(char[] password) throws MalformedKeyringException {
+		return getMac(properties, password, null);
+	}
+
 	public void verify(char[] password) {
+		verify(password, null);
+	}
+
+	void verify(char[] password, KeyringSession session) {
 		if (isMasked() && payload != null) {
 			// long tt = -System.currentTimeMillis();
 			IMac m = null;
 			try {
-				m = getMac(password);
+				m = getMac(properties, password, session);
 			} catch (Exception x) {
 				throw new IllegalArgumentException(x.toString(), x);
 			}
@@ -219,4 +229,17 @@ public final class PasswordAuthenticatedEntry extends MaskableEnvelopeEntry
 			// tt += System.currentTimeMillis();
 		}
 	}
+
+	/**
+	 * Verifies this entry with the key material of an unlocked keyring session,
+	 * deriving it only if the session has not done it yet.
+	 *
+	 * @param session
+	 *            The keyring session.
+	 * @throws IllegalStateException
+	 *             If the session is closed or expired.
+	 */
+	public void verify(KeyringSession session) {
+		verify(null, session);
+	}
 }
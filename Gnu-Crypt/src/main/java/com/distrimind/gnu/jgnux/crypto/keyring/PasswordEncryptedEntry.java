@@ -42,12 +42,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 
 import com.distrimind.gnu.jgnu.security.Registry;
-import com.distrimind.gnu.jgnu.security.prng.IRandom;
-import com.distrimind.gnu.jgnu.security.prng.LimitReachedException;
 import com.distrimind.gnu.jgnu.security.util.PRNG;
 import com.distrimind.gnu.jgnu.security.util.Util;
 import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
@@ -57,8 +56,6 @@ import com.distrimind.gnu.jgnux.crypto.mode.ModeFactory;
 import com.distrimind.gnu.jgnux.crypto.pad.IPad;
 import com.distrimind.gnu.jgnux.crypto.pad.PadFactory;
 import com.distrimind.gnu.jgnux.crypto.pad.WrongPaddingException;
-import com.distrimind.gnu.jgnux.crypto.prng.IPBE;
-import com.distrimind.gnu.jgnux.crypto.prng.PRNGFactory;
 import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
 
 /**
@@ -99,9 +96,13 @@ public class PasswordEncryptedEntry extends MaskableEnvelopeEntry implements Pas
 	}
 
 	public void decrypt(char[] password) throws IllegalArgumentException, WrongPaddingException {
+		decrypt(password, null);
+	}
+
+	void decrypt(char[] password, KeyringSession session) throws WrongPaddingException {
 		if (isMasked() && payload != null) {
 			// long tt = -System.currentTimeMillis();
-			IMode mode = getMode(password, IMode.DECRYPTION);
+			IMode mode = getMode(password, IMode.DECRYPTION, session);
 			IPad padding = PadFactory.getInstance("PKCS7");
 			padding.init(mode.currentBlockSize());
 			byte[] buf = new byte[payload.length];
@@ -124,6 +125,21 @@ public class PasswordEncryptedEntry extends MaskableEnvelopeEntry implements Pas
 		}
 	}
 
+	/**
+	 * Decrypts this entry with the key material of an unlocked keyring session,
+	 * deriving it only if the session has not done it yet.
+	 *
+	 * @param session
+	 *            The keyring session.
+	 * @throws WrongPaddingException
+	 *             If the decrypted data is not properly padded.
+	 * @throws IllegalStateException
+	 *             If the session is closed or expired.
+	 */
+	public void decrypt(KeyringSession session) throws WrongPaddingException {
+		decrypt(null, session);
+	}
+
 	@Override
 	public void encode(DataOutputStream out, char[] password) throws IOException {
 		encrypt(password);
@@ -144,7 +160,7 @@ public class PasswordEncryptedEntry extends MaskableEnvelopeEntry implements Pas
 		PRNG.getInstance().nextBytes(salt);
 		// t1 += System.currentTimeMillis();
 		properties.put("salt", Util.toString(salt));
-		IMode mode = getMode(password, IMode.ENCRYPTION);
+		IMode mode = getMode(password, IMode.ENCRYPTION, null);
 		IPad pad = PadFactory.getInstance("PKCS7");
 		pad.init(mode.currentBlockSize());
 		ByteArrayOutputStream bout = new ByteArrayOutputStream(1024);
@@ -163,7 +179,7 @@ public class PasswordEncryptedEntry extends MaskableEnvelopeEntry implements Pas
 		System.arraycopy(plaintext, plaintext.length - l, lastBlock, 0, l);
 		System.arraycopy(padding, 0, lastBlock, l, padding.length);
 		int count = 0;
-		while (count + mode.currentBlockSize() < plaintext.length) {
+		while (count + mode.currentBlockSize() <= plaintext.length - l) {
 			mode.update(plaintext, count, payload, count);
 			count += mode.currentBlockSize();
 		}
@@ -172,7 +188,7 @@ public class PasswordEncryptedEntry extends MaskableEnvelopeEntry implements Pas
 		// tt += System.currentTimeMillis();
 	}
 
-	private IMode getMode(char[] password, int state) {
+	private IMode getMode(char[] password, int state, KeyringSession session) {
 		String s = properties.get("salt");
 		if (s == null)
 			throw new IllegalArgumentException("no salt");
@@ -191,12 +207,6 @@ public class PasswordEncryptedEntry extends MaskableEnvelopeEntry implements Pas
 		IMode mode = ModeFactory.getInstance(modeName, cipher, blockSize);
 		if (mode == null)
 			throw new IllegalArgumentException("no such mode: " + modeName);
-		HashMap<Object, Object> pbAttr = new HashMap<>();
-		pbAttr.put(IPBE.PASSWORD, password);
-		pbAttr.put(IPBE.SALT, salt);
-		pbAttr.put(IPBE.ITERATION_COUNT, ITERATION_COUNT);
-		IRandom kdf = PRNGFactory.getInstance("PBKDF2-HMAC-SHA");
-		kdf.init(pbAttr);
 		int keylen = 0;
 		if (!properties.containsKey("keylen"))
 			throw new IllegalArgumentException("no key length");
@@ -204,14 +214,11 @@ public class PasswordEncryptedEntry extends MaskableEnvelopeEntry implements Pas
 			keylen = Integer.parseInt(properties.get("keylen"));
 		} catch (NumberFormatException nfe) {
 		}
-		byte[] dk = new byte[keylen];
-		byte[] iv = new byte[blockSize];
-		try {
-			kdf.nextBytes(dk, 0, keylen);
-			kdf.nextBytes(iv, 0, blockSize);
-		} catch (LimitReachedException shouldNotHappen) {
-			throw new Error(shouldNotHappen.toString());
-		}
+		byte[] material = session == null ? KeyringSession.derive(password, salt, keylen + blockSize)
+				: session.derive(salt, keylen + blockSize);
+		byte[] dk = Arrays.copyOfRange(material, 0, keylen);
+		byte[] iv = Arrays.copyOfRange(material, keylen, material.length);
+		Arrays.fill(material, (byte) 0);
 		HashMap<Object, Object> modeAttr = new HashMap<>();
 		modeAttr.put(IBlockCipher.KEY_MATERIAL, dk);
 		modeAttr.put(IMode.STATE, Integer.valueOf(state));
@@ -120,12 +120,12 @@ public class Properties implements Cloneable {
 	public void decode(DataInputStream in) throws IOException {
 		int len = in.readInt();
 		MeteredInputStream min = new MeteredInputStream(in, len);
-		try (DataInputStream in2 = new DataInputStream(min)) {
-			while (!min.limitReached()) {
-				String name = in2.readUTF();
-				String value = in2.readUTF();
-				put(name, value);
-			}
+		// the underlying stream is not ours to close
+		DataInputStream in2 = new DataInputStream(min);
+		while (!min.limitReached()) {
+			String name = in2.readUTF();
+			String value = in2.readUTF();
+			put(name, value);
 		}
 	}
 
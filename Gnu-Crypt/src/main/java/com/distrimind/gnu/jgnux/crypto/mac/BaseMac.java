@@ -37,6 +37,7 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.mac;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 import com.distrimind.gnu.jgnu.security.hash.IMessageDigest;
@@ -126,4 +127,21 @@ public abstract class BaseMac implements IMac {
 	public void update(byte[] b, int offset, int len) {
 		underlyingHash.update(b, offset, len);
 	}
+
+	@Override
+	public void update(ByteBuffer in) {
+		if (underlyingHash != null)
+			underlyingHash.update(in);
+		else if (in.hasArray()) {
+			update(in.array(), in.arrayOffset() + in.position(), in.remaining());
+			in.position(in.limit());
+		} else {
+			final byte[] chunk = new byte[Math.min(in.remaining(), 4096)];
+			while (in.hasRemaining()) {
+				final int n = Math.min(chunk.length, in.remaining());
+				in.get(chunk, 0, n);
+				update(chunk, 0, n);
+			}
+		}
+	}
 }
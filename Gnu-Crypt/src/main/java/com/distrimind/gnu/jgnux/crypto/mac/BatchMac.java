@@ -0,0 +1,250 @@
+/* BatchMac.java -- MACs of many small messages in one call
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.mac;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes the MACs of many independent messages under the same key in a
+ * single call, writing them contiguously into one output array.
+ * <p>
+ * The messages are processed one after the other with the same initialised
+ * {@link IMac} instance, reset between messages; for an {@link HMac} the reset
+ * restores the keyed inner state without hashing the key again. Batches larger
+ * than the parallel threshold are split into ranges of at least that many
+ * messages, processed on a {@link ForkJoinPool} with one clone of the MAC per
+ * range. Only {@link HMac} instances are split that way: their output depends
+ * on the key and the message alone, and their clones carry the keyed state.
+ * The clones derive from a copy of the MAC taken by each call, so a batch
+ * follows any change of key made by initialising the MAC again.
+ * The other MACs, which may carry state from one message to the next, such as
+ * a nonce, are always processed sequentially.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class BatchMac {
+	/** Processes a range of messages, splitting it while it is large enough. */
+	private static final class Task extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final BatchMac owner;
+
+		private final IMac mac;
+
+		/** A reset instance, never updated, which the split ranges clone. */
+		private final IMac prototype;
+
+		private final byte[][] in;
+
+		private final int[] offsets;
+
+		private final int[] lengths;
+
+		private final int from;
+
+		private final int to;
+
+		private final byte[] out;
+
+		private final int outOffset;
+
+		Task(BatchMac owner, IMac mac, IMac prototype, byte[][] in, int[] offsets, int[] lengths, int from, int to,
+				byte[] out, int outOffset) {
+			this.owner = owner;
+			this.mac = mac;
+			this.prototype = prototype;
+			this.in = in;
+			this.offsets = offsets;
+			this.lengths = lengths;
+			this.from = from;
+			this.to = to;
+			this.out = out;
+			this.outOffset = outOffset;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from < 2 * owner.threshold)
+				owner.mac(mac, in, offsets, lengths, from, to, out, outOffset);
+			else {
+				int mid = (from + to) >>> 1;
+				IMac copy;
+				try {
+					copy = (IMac) prototype.clone();
+				} catch (CloneNotSupportedException x) {
+					throw new Error(x); // the prototype is itself a clone
+				}
+				invokeAll(new Task(owner, mac, prototype, in, offsets, lengths, from, mid, out, outOffset),
+						new Task(owner, copy, prototype, in, offsets, lengths, mid, to, out, outOffset));
+			}
+		}
+	}
+
+	/** The default number of messages above which a batch is split. */
+	public static final int DEFAULT_THRESHOLD = 1024;
+
+	private final IMac mac;
+
+	private final ForkJoinPool pool;
+
+	private final int threshold;
+
+	/**
+	 * Creates a batch over the designated MAC, split on the common fork/join
+	 * pool above {@link #DEFAULT_THRESHOLD} messages.
+	 *
+	 * @param mac
+	 *            the initialised MAC; the instance is reset and owned by the
+	 *            batch.
+	 */
+	public BatchMac(IMac mac) {
+		this(mac, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Creates a batch over the designated MAC.
+	 *
+	 * @param mac
+	 *            the initialised MAC; the instance is reset and owned by the
+	 *            batch.
+	 * @param pool
+	 *            the pool processing large batches.
+	 * @param threshold
+	 *            the number of messages above which a batch is split.
+	 * @throws IllegalArgumentException
+	 *             if <code>threshold</code> is not positive.
+	 */
+	public BatchMac(IMac mac, ForkJoinPool pool, int threshold) {
+		super();
+
+		if (threshold <= 0)
+			throw new IllegalArgumentException("threshold");
+		if (pool == null)
+			throw new NullPointerException();
+		mac.reset();
+		this.mac = mac;
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Computes the MACs of whole arrays.
+	 *
+	 * @param in
+	 *            the messages.
+	 * @param out
+	 *            the output, receiving {@link #macSize()} bytes per message in
+	 *            the order of the messages.
+	 * @param outOffset
+	 *            the offset of the first MAC in <code>out</code>.
+	 * @throws IndexOutOfBoundsException
+	 *             if <code>out</code> is too short.
+	 */
+	public void mac(byte[][] in, byte[] out, int outOffset) {
+		int[] offsets = new int[in.length];
+		int[] lengths = new int[in.length];
+		for (int i = 0; i < in.length; i++)
+			lengths[i] = in[i].length;
+		mac(in, offsets, lengths, out, outOffset);
+	}
+
+	/**
+	 * Computes the MACs of a batch of messages, the message <code>i</code> being
+	 * the <code>lengths[i]</code> bytes of <code>in[i]</code> from
+	 * <code>offsets[i]</code>. The same array may hold several messages.
+	 *
+	 * @param in
+	 *            the arrays holding the messages.
+	 * @param offsets
+	 *            the offsets of the messages.
+	 * @param lengths
+	 *            the lengths of the messages.
+	 * @param out
+	 *            the output, receiving {@link #macSize()} bytes per message in
+	 *            the order of the messages.
+	 * @param outOffset
+	 *            the offset of the first MAC in <code>out</code>.
+	 * @throws IllegalArgumentException
+	 *             if the three input arrays differ in length.
+	 * @throws IndexOutOfBoundsException
+	 *             if <code>out</code> is too short.
+	 */
+	public void mac(byte[][] in, int[] offsets, int[] lengths, byte[] out, int outOffset) {
+		int count = in.length;
+		if (offsets.length != count || lengths.length != count)
+			throw new IllegalArgumentException("batch arrays differ in length");
+		if (outOffset < 0 || out.length - outOffset < (long) count * mac.macSize())
+			throw new IndexOutOfBoundsException("output too short");
+		IMac prototype = null;
+		if (count >= 2 * threshold && mac instanceof HMac)
+			try {
+				// cloned now, to carry the current key
+				prototype = (IMac) mac.clone();
+			} catch (CloneNotSupportedException ignored) {
+			}
+		if (prototype == null)
+			mac(mac, in, offsets, lengths, 0, count, out, outOffset);
+		else
+			pool.invoke(new Task(this, mac, prototype, in, offsets, lengths, 0, count, out, outOffset));
+	}
+
+	private void mac(IMac m, byte[][] in, int[] offsets, int[] lengths, int from, int to, byte[] out,
+			int outOffset) {
+		int size = m.macSize();
+		int o = outOffset + from * size;
+		for (int i = from; i < to; i++, o += size) {
+			m.update(in[i], offsets[i], lengths[i]);
+			System.arraycopy(m.digest(), 0, out, o, size);
+			m.reset();
+		}
+	}
+
+	/**
+	 * Returns the size of each MAC written by this batch, truncation included.
+	 *
+	 * @return the size of a MAC, in bytes.
+	 */
+	public int macSize() {
+		return mac.macSize();
+	}
+
+	public String name() {
+		return mac.name();
+	}
+}
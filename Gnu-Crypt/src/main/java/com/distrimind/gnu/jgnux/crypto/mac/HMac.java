@@ -37,6 +37,7 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.mac;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -109,6 +110,25 @@ public class HMac extends BaseMac implements Cloneable {
 		ipadHash = opadHash = null;
 	}
 
+	/**
+	 * Overwrites the key material of this instance and returns it to its
+	 * uninitialised state; {@link #init(Map)} must be called again before any
+	 * further use. Unlike {@link #reset()}, which prepares the instance for a new
+	 * message under the same key, this method forgets the key.
+	 */
+	public void clearKey() {
+		if (ipad != null) {
+			Arrays.fill(ipad, (byte) 0);
+			ipad = null;
+		}
+		if (ipadHash != null)
+			ipadHash.reset();
+		if (opadHash != null)
+			opadHash.reset();
+		ipadHash = opadHash = null;
+		underlyingHash.reset();
+	}
+
 	@Override
 	public Object clone() throws CloneNotSupportedException {
 		HMac result = (HMac) super.clone();
@@ -210,11 +230,12 @@ public class HMac extends BaseMac implements Cloneable {
 
 	@Override
 	public void reset() {
-		super.reset();
-		if (ipad != null) {
-			underlyingHash.update(ipad, 0, blockSize);
-			ipadHash = (IMessageDigest) underlyingHash.clone();
-		}
+		// restart from the state saved after the inner padded key, rather than
+		// hashing it again
+		if (ipadHash != null)
+			underlyingHash = (IMessageDigest) ipadHash.clone();
+		else
+			super.reset();
 	}
 
 	@Override
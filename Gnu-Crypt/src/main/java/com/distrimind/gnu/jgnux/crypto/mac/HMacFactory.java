@@ -43,6 +43,7 @@ import java.util.Iterator;
 import java.util.Set;
 
 import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.metrics.Metrics;
 import com.distrimind.gnu.jgnu.security.hash.HashFactory;
 import com.distrimind.gnu.jgnu.security.hash.IMessageDigest;
 
@@ -67,6 +68,7 @@ public class HMacFactory implements Registry {
 	 *                if the implementation does not pass its self-test.
 	 */
 	public static IMac getInstance(String name) {
+		long start = Metrics.start();
 		if (name == null)
 			return null;
 
@@ -83,8 +85,14 @@ public class HMacFactory implements Registry {
 			throw new NullPointerException("name");
 		}
 		IMac result = new HMac(imd);
-		if (result != null && !result.selfTest())
-			throw new InternalError(result.name());
+		if (result != null) {
+			long tested = Metrics.start();
+			boolean passed = result.selfTest();
+			Metrics.selfTest(Metrics.MAC, result.name(), tested, passed);
+			if (!passed)
+				throw new InternalError(result.name());
+		}
+		Metrics.lookup(Metrics.MAC, name, start);
 
 		return result;
 	}
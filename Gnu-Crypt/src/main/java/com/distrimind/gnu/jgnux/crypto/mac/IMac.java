@@ -37,6 +37,7 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.mac;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
@@ -186,4 +187,14 @@ public interface IMac {
 	 *            number of bytes, in input block, to consider.
 	 */
 	void update(byte[] in, int offset, int length);
+
+	/**
+	 * Continues a <i>MAC</i> operation with the remaining bytes of a buffer,
+	 * which, for hash-based <i>MAC</i>s, are read straight out of direct and
+	 * mapped buffers. The buffer's position is advanced to its limit.
+	 *
+	 * @param in
+	 *            the input buffer.
+	 */
+	void update(ByteBuffer in);
 }
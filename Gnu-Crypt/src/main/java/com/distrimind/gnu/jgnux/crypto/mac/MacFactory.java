@@ -43,6 +43,7 @@ import java.util.Iterator;
 import java.util.Set;
 
 import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.metrics.Metrics;
 import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
 import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
 
@@ -64,6 +65,7 @@ public class MacFactory implements Registry {
 	 *                if the implementation does not pass its self-test.
 	 */
 	public static IMac getInstance(String name) {
+		long start = Metrics.start();
 		if (name == null)
 			return null;
 
@@ -87,8 +89,14 @@ public class MacFactory implements Registry {
 		else if (name.equalsIgnoreCase(TMMH16))
 			result = new TMMH16();
 
-		if (result != null && !result.selfTest())
-			throw new InternalError(result.name());
+		if (result != null) {
+			long tested = Metrics.start();
+			boolean passed = result.selfTest();
+			Metrics.selfTest(Metrics.MAC, result.name(), tested, passed);
+			if (!passed)
+				throw new InternalError(result.name());
+		}
+		Metrics.lookup(Metrics.MAC, name, start);
 
 		return result;
 	}
@@ -40,6 +40,7 @@ package com.distrimind.gnu.jgnux.crypto.mac;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * A filtering input stream that computes a MAC (message authentication code)
@@ -120,4 +121,24 @@ public class MacInputStream extends FilterInputStream {
 			throw new NullPointerException();
 		this.mac = mac;
 	}
+
+	/**
+	 * Reads all the remaining bytes of this stream, and writes them to a
+	 * designated output stream, updating the MAC in large blocks.
+	 *
+	 * @param out
+	 *            The output stream.
+	 * @return The count of bytes transferred.
+	 * @throws IOException
+	 *             If an I/O error occurs.
+	 */
+	public long transferTo(OutputStream out) throws IOException {
+		final byte[] buf = new byte[8192];
+		long result = 0;
+		for (int n = read(buf, 0, buf.length); n != -1; n = read(buf, 0, buf.length)) {
+			out.write(buf, 0, n);
+			result += n;
+		}
+		return result;
+	}
 }
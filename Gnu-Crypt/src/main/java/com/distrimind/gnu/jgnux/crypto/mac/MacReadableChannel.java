@@ -0,0 +1,138 @@
+/* MacReadableChannel.java -- a channel computing a MAC over read data
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.mac;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A filtering channel that computes a MAC (message authentication code) over
+ * all data read from an underlying channel, e.g. a
+ * {@link java.nio.channels.FileChannel}.
+ * <p>
+ * The MAC is updated straight from the buffers read into, whether heap, direct
+ * or mapped.
+ *
+ * @see MacInputStream
+ */
+public class MacReadableChannel implements ReadableByteChannel {
+	/** The underlying channel. */
+	private final ReadableByteChannel channel;
+
+	/** The digesting state. The MAC is updated only if this flag is true. */
+	private boolean digesting;
+
+	/** The MAC being updated. */
+	private IMac mac;
+
+	/**
+	 * Creates a new <code>MacReadableChannel</code>. The channel is initially set
+	 * to digest data read, the <code>mac</code> argument must have already been
+	 * initialized, and the <code>mac</code> argument is <b>not</b> cloned.
+	 *
+	 * @param channel
+	 *            The underlying channel.
+	 * @param mac
+	 *            The mac instance to use.
+	 */
+	public MacReadableChannel(ReadableByteChannel channel, IMac mac) {
+		if (channel == null || mac == null)
+			throw new NullPointerException();
+		this.channel = channel;
+		this.mac = mac;
+		digesting = true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Returns the MAC this channel is updating.
+	 *
+	 * @return The MAC.
+	 */
+	public IMac getMac() {
+		return mac;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return channel.isOpen();
+	}
+
+	/**
+	 * Turns the digesting state on or off. When off, the MAC will not be updated
+	 * when data is read from the channel.
+	 *
+	 * @param flag
+	 *            The new digesting state.
+	 */
+	public void on(boolean flag) {
+		digesting = flag;
+	}
+
+	@Override
+	public int read(ByteBuffer dst) throws IOException {
+		if (!channel.isOpen())
+			throw new ClosedChannelException();
+		int from = dst.position();
+		int result = channel.read(dst);
+		if (digesting && result > 0)
+			MacWritableChannel.update(mac, dst, from, from + result);
+		return result;
+	}
+
+	/**
+	 * Sets the MAC this channel is updating, which must have already been
+	 * initialized. The argument is not cloned by this method.
+	 *
+	 * @param mac
+	 *            The non-null new MAC.
+	 * @throws NullPointerException
+	 *             If the argument is null.
+	 */
+	public void setMac(IMac mac) {
+		if (mac == null)
+			throw new NullPointerException();
+		this.mac = mac;
+	}
+}
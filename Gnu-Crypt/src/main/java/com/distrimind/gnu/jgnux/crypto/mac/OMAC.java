@@ -37,6 +37,7 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.mac;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -270,4 +271,19 @@ public class OMAC implements IMac {
 			i += count;
 		}
 	}
+
+	@Override
+	public void update(ByteBuffer in) {
+		if (!init)
+			throw new IllegalStateException("not initialized");
+		while (in.hasRemaining()) {
+			if (index == blockSize) {
+				process();
+				index = 0;
+			}
+			int count = Math.min(blockSize - index, in.remaining());
+			in.get(M, index, count);
+			index += count;
+		}
+	}
 }
@@ -37,8 +37,11 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.mode;
 
+import java.util.Map;
+
 import com.distrimind.gnu.jgnu.security.Registry;
 import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
 
 /**
  * The Cipher Block Chaining mode. This mode introduces feedback into the cipher
@@ -54,6 +57,10 @@ import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
  * <pre>
  *  P<sub>i</sub> = C<sub>i-1</sub> &circ; D<sub>K</sub>(C<sub>i</sub>)
  * </pre>
+ * <p>
+ * The decryption of large inputs given to
+ * {@link #update(byte[], int, int, byte[], int)} runs in parallel, as each
+ * plaintext block only depends on two blocks of ciphertext.
  */
 public class CBC extends BaseMode implements Cloneable {
 	/** The last (de|en)crypted block */
@@ -62,6 +69,9 @@ public class CBC extends BaseMode implements Cloneable {
 	/** An intermediate buffer. */
 	private byte[] scratch;
 
+	/** The parallel decryption path. */
+	private ParallelBlocks parallel;
+
 	/** Our constructor for cloning. */
 	private CBC(CBC that) {
 		this((IBlockCipher) that.cipher.clone(), that.cipherBlockSize);
@@ -102,6 +112,14 @@ public class CBC extends BaseMode implements Cloneable {
 		System.arraycopy(out, o, lastBlock, 0, cipherBlockSize);
 	}
 
+	@Override
+	public void init(Map<Object, Object> attributes) throws InvalidKeyException, IllegalStateException {
+		synchronized (lock) {
+			super.init(attributes);
+			parallel = new ParallelBlocks(cipher, cipherBlockSize, attributes);
+		}
+	}
+
 	@Override
 	public void setup() {
 		if (modeBlockSize != cipherBlockSize)
@@ -117,5 +135,48 @@ public class CBC extends BaseMode implements Cloneable {
 	public void teardown() {
 		lastBlock = null;
 		scratch = null;
+		if (parallel != null) {
+			parallel.clear();
+			parallel = null;
+		}
+	}
+
+	/**
+	 * Processes several blocks at once, with the same result as as many calls to
+	 * {@link #update(byte[], int, byte[], int)}. Decryption deciphers a few blocks
+	 * back to back, and splits inputs of at least twice the parallel threshold
+	 * into ranges decrypted on a fork/join pool; see
+	 * {@link IMode#PARALLEL_THRESHOLD}. Encryption remains sequential.
+	 *
+	 * @param in
+	 *            the input.
+	 * @param inOff
+	 *            the offset of the input.
+	 * @param len
+	 *            the number of bytes to process, a multiple of the block size.
+	 * @param out
+	 *            the output, which may be the same region as the input.
+	 * @param outOff
+	 *            the offset of the output.
+	 * @throws IllegalArgumentException
+	 *             if <code>len</code> is not a multiple of the block size.
+	 * @throws IllegalStateException
+	 *             if the instance is not initialised.
+	 */
+	public void update(byte[] in, int inOff, int len, byte[] out, int outOff) {
+		synchronized (lock) {
+			if (state == -1)
+				throw new IllegalStateException();
+			if (len % modeBlockSize != 0)
+				throw new IllegalArgumentException("length is not a multiple of the block size");
+			int blocks = len / modeBlockSize;
+			if (state == ENCRYPTION)
+				for (int i = 0; i < len; i += modeBlockSize)
+					encryptBlock(in, inOff + i, out, outOff + i);
+			else if (parallel.parallel(len))
+				parallel.chained(false, lastBlock, modeBlockSize, in, inOff, out, outOff, blocks);
+			else
+				ParallelBlocks.cbcDecrypt(cipher, lastBlock, in, inOff, out, outOff, blocks);
+		}
 	}
 }
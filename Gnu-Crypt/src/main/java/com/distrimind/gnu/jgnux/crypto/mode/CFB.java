@@ -37,8 +37,11 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.mode;
 
+import java.util.Map;
+
 import com.distrimind.gnu.jgnu.security.Registry;
 import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
 
 /**
  * The cipher feedback mode. CFB mode is a stream mode that operates on <i>s</i>
@@ -63,6 +66,10 @@ import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
  * <p>
  * CFB mode requires an initialization vector, which need not be kept secret.
  * <p>
+ * The decryption of large inputs given to
+ * {@link #update(byte[], int, int, byte[], int)} runs in parallel, as the shift
+ * register of each block only holds ciphertext.
+ * <p>
  * References:
  * <ol>
  * <li>Bruce Schneier, <i>Applied Cryptography: Protocols, Algorithms, and
@@ -81,6 +88,9 @@ public class CFB extends BaseMode {
 	/** The output block from the block cipher. */
 	private byte[] scratch;
 
+	/** The parallel decryption path. */
+	private ParallelBlocks parallel;
+
 	/**
 	 * Cloneing constructor.
 	 *
@@ -111,10 +121,11 @@ public class CFB extends BaseMode {
 	@Override
 	public void decryptBlock(byte[] in, int inOffset, byte[] out, int outOffset) {
 		cipher.encryptBlock(shiftRegister, 0, scratch, 0);
-		for (int i = 0; i < modeBlockSize; i++)
-			out[outOffset + i] = (byte) (in[inOffset + i] ^ scratch[i]);
+		// shift the ciphertext in first, so that in and out may be the same
 		System.arraycopy(shiftRegister, modeBlockSize, shiftRegister, 0, cipherBlockSize - modeBlockSize);
 		System.arraycopy(in, inOffset, shiftRegister, cipherBlockSize - modeBlockSize, modeBlockSize);
+		for (int i = 0; i < modeBlockSize; i++)
+			out[outOffset + i] = (byte) (in[inOffset + i] ^ scratch[i]);
 	}
 
 	@Override
@@ -126,6 +137,14 @@ public class CFB extends BaseMode {
 		System.arraycopy(out, outOffset, shiftRegister, cipherBlockSize - modeBlockSize, modeBlockSize);
 	}
 
+	@Override
+	public void init(Map<Object, Object> attributes) throws InvalidKeyException, IllegalStateException {
+		synchronized (lock) {
+			super.init(attributes);
+			parallel = new ParallelBlocks(cipher, cipherBlockSize, attributes);
+		}
+	}
+
 	@Override
 	public void setup() {
 		if (modeBlockSize > cipherBlockSize)
@@ -141,5 +160,48 @@ public class CFB extends BaseMode {
 			for (int i = 0; i < shiftRegister.length; i++)
 				shiftRegister[i] = 0;
 		shiftRegister = null;
+		if (parallel != null) {
+			parallel.clear();
+			parallel = null;
+		}
+	}
+
+	/**
+	 * Processes several blocks at once, with the same result as as many calls to
+	 * {@link #update(byte[], int, byte[], int)}. Decryption deciphers a few blocks
+	 * back to back, and splits inputs of at least twice the parallel threshold
+	 * into ranges decrypted on a fork/join pool; see
+	 * {@link IMode#PARALLEL_THRESHOLD}. Encryption remains sequential.
+	 *
+	 * @param in
+	 *            the input.
+	 * @param inOff
+	 *            the offset of the input.
+	 * @param len
+	 *            the number of bytes to process, a multiple of the mode block size.
+	 * @param out
+	 *            the output, which may be the same region as the input.
+	 * @param outOff
+	 *            the offset of the output.
+	 * @throws IllegalArgumentException
+	 *             if <code>len</code> is not a multiple of the mode block size.
+	 * @throws IllegalStateException
+	 *             if the instance is not initialised.
+	 */
+	public void update(byte[] in, int inOff, int len, byte[] out, int outOff) {
+		synchronized (lock) {
+			if (state == -1)
+				throw new IllegalStateException();
+			if (len % modeBlockSize != 0)
+				throw new IllegalArgumentException("length is not a multiple of the block size");
+			int blocks = len / modeBlockSize;
+			if (state == ENCRYPTION)
+				for (int i = 0; i < len; i += modeBlockSize)
+					encryptBlock(in, inOff + i, out, outOff + i);
+			else if (parallel.parallel(len))
+				parallel.chained(true, shiftRegister, modeBlockSize, in, inOff, out, outOff, blocks);
+			else
+				ParallelBlocks.cfbDecrypt(cipher, shiftRegister, modeBlockSize, in, inOff, out, outOff, blocks);
+		}
 	}
 }
@@ -39,10 +39,12 @@ package com.distrimind.gnu.jgnux.crypto.mode;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Map;
 
 import com.distrimind.gnu.jgnu.security.Registry;
 import com.distrimind.gnu.jgnu.security.util.Sequence;
 import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
 
 /**
  * The implementation of the Counter Mode.
@@ -65,6 +67,11 @@ import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
  * This implementation, uses a standard incrementing function with a step of 1,
  * and an initial value similar to that described in the NIST document.
  * <p>
+ * Large inputs given to {@link #update(byte[], int, int, byte[], int)} are split
+ * into counter-aligned ranges, encrypted on a fork/join pool with one
+ * keyed clone of the underlying cipher per range. The output is the same as
+ * that of the sequential path; see {@link IMode#PARALLEL_THRESHOLD}.
+ * <p>
  * References:
  * <ol>
  * <li><a href=
@@ -78,6 +85,8 @@ public class CTR extends BaseMode implements Cloneable {
 
 	private byte[] counter, enc;
 
+	private ParallelBlocks parallel;
+
 	/**
 	 * Private constructor for cloning purposes.
 	 *
@@ -110,8 +119,8 @@ public class CTR extends BaseMode implements Cloneable {
 		return new CTR(this);
 	}
 
-	private void ctr(byte[] in, int inOffset, byte[] out, int outOffset) {
-		for (int i = 0; i < modeBlockSize; i++) {
+	private void ctr(byte[] in, int inOffset, byte[] out, int outOffset, int len) {
+		for (int i = 0; i < len; i++) {
 			out[outOffset++] = (byte) (in[inOffset++] ^ enc[off++]);
 			if (off == cipherBlockSize) {
 				int j;
@@ -130,12 +139,20 @@ public class CTR extends BaseMode implements Cloneable {
 
 	@Override
 	public void decryptBlock(byte[] in, int i, byte[] out, int o) {
-		ctr(in, i, out, o);
+		ctr(in, i, out, o, modeBlockSize);
 	}
 
 	@Override
 	public void encryptBlock(byte[] in, int i, byte[] out, int o) {
-		ctr(in, i, out, o);
+		ctr(in, i, out, o, modeBlockSize);
+	}
+
+	@Override
+	public void init(Map<Object, Object> attributes) throws InvalidKeyException, IllegalStateException {
+		synchronized (lock) {
+			super.init(attributes);
+			parallel = new ParallelBlocks(cipher, cipherBlockSize, attributes);
+		}
 	}
 
 	@Override
@@ -158,5 +175,51 @@ public class CTR extends BaseMode implements Cloneable {
 			Arrays.fill(counter, (byte) 0);
 		if (enc != null)
 			Arrays.fill(enc, (byte) 0);
+		if (parallel != null) {
+			parallel.clear();
+			parallel = null;
+		}
+	}
+
+	/**
+	 * Processes several mode blocks at once, with the same result as as many calls
+	 * to {@link #update(byte[], int, byte[], int)}.
+	 *
+	 * @param in
+	 *            the input.
+	 * @param inOff
+	 *            the offset of the input.
+	 * @param len
+	 *            the number of bytes to process, a multiple of the mode block
+	 *            size.
+	 * @param out
+	 *            the output.
+	 * @param outOff
+	 *            the offset of the output.
+	 * @throws IllegalArgumentException
+	 *             if <code>len</code> is not a multiple of the mode block size.
+	 * @throws IllegalStateException
+	 *             if the instance is not initialised.
+	 */
+	public void update(byte[] in, int inOff, int len, byte[] out, int outOff) {
+		synchronized (lock) {
+			if (state == -1)
+				throw new IllegalStateException();
+			if (len % modeBlockSize != 0)
+				throw new IllegalArgumentException("length is not a multiple of the block size");
+			if (!parallel.parallel(len)) {
+				ctr(in, inOff, out, outOff, len);
+				return;
+			}
+			// complete the current keystream block, if any
+			int head = (cipherBlockSize - off) % cipherBlockSize;
+			ctr(in, inOff, out, outOff, head);
+			int blocks = (len - head) / cipherBlockSize;
+			int n = blocks * cipherBlockSize;
+			parallel.counter(counter, true, in, inOff + head, out, outOff + head, blocks);
+			ParallelBlocks.add(counter, blocks, true);
+			cipher.encryptBlock(counter, 0, enc, 0);
+			ctr(in, inOff + head + n, out, outOff + head + n, len - head - n);
+		}
 	}
 }
@@ -37,6 +37,7 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.mode;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -81,7 +82,7 @@ public class EAX implements IAuthenticatedMode {
 	private IMac msgOmac;
 
 	/** The CTR instance. */
-	private IMode ctr;
+	private CTR ctr;
 
 	/** The direction state (encrypting or decrypting). */
 	private int state;
@@ -110,7 +111,7 @@ public class EAX implements IAuthenticatedMode {
 		nonceOmac = MacFactory.getInstance(omacname);
 		headerOmac = MacFactory.getInstance(omacname);
 		msgOmac = MacFactory.getInstance(omacname);
-		ctr = ModeFactory.getInstance(Registry.CTR_MODE, cipher, cipherBlockSize);
+		ctr = (CTR) ModeFactory.getInstance(Registry.CTR_MODE, cipher, cipherBlockSize);
 		t_n = new byte[cipherBlockSize];
 		init = false;
 	}
@@ -212,6 +213,8 @@ public class EAX implements IAuthenticatedMode {
 		ctrAttr.put(IV, N);
 		ctrAttr.put(STATE, Integer.valueOf(ENCRYPTION));
 		ctrAttr.put(MODE_BLOCK_SIZE, modeSize);
+		if (attrib.containsKey(PARALLEL_THRESHOLD))
+			ctrAttr.put(PARALLEL_THRESHOLD, attrib.get(PARALLEL_THRESHOLD));
 		ctr.reset();
 		ctr.init(ctrAttr);
 		Integer st = (Integer) attrib.get(STATE);
@@ -281,10 +284,54 @@ public class EAX implements IAuthenticatedMode {
 		}
 	}
 
+	/**
+	 * Processes several blocks of message at once, with the same result as as
+	 * many calls to {@link #update(byte[], int, byte[], int)}. The counter-mode
+	 * encryption of large inputs runs in parallel, as in
+	 * {@link CTR#update(byte[], int, int, byte[], int)}; the authentication of the
+	 * ciphertext remains sequential.
+	 *
+	 * @param in
+	 *            the input.
+	 * @param inOff
+	 *            the offset of the input.
+	 * @param len
+	 *            the number of bytes to process, a multiple of the block size.
+	 * @param out
+	 *            the output.
+	 * @param outOff
+	 *            the offset of the output.
+	 * @throws IllegalArgumentException
+	 *             if <code>len</code> is not a multiple of the block size.
+	 */
+	public void update(byte[] in, int inOff, int len, byte[] out, int outOff) {
+		if (!init)
+			throw new IllegalStateException("not initialized");
+		switch (state) {
+		case ENCRYPTION:
+			ctr.update(in, inOff, len, out, outOff);
+			msgOmac.update(out, outOff, len);
+			break;
+		case DECRYPTION:
+			msgOmac.update(in, inOff, len);
+			ctr.update(in, inOff, len, out, outOff);
+			break;
+		default:
+			throw new IllegalStateException("impossible state " + state);
+		}
+	}
+
 	@Override
 	public void update(byte[] buf, int off, int len) {
 		if (!init)
 			throw new IllegalStateException("not initialized");
 		headerOmac.update(buf, off, len);
 	}
+
+	@Override
+	public void update(ByteBuffer in) {
+		if (!init)
+			throw new IllegalStateException("not initialized");
+		headerOmac.update(in);
+	}
 }
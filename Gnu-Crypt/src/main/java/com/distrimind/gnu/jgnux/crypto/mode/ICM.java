@@ -38,9 +38,11 @@ exception statement from your version.  */
 package com.distrimind.gnu.jgnux.crypto.mode;
 
 import java.math.BigInteger;
+import java.util.Map;
 
 import com.distrimind.gnu.jgnu.security.Registry;
 import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
 
 /**
  * An implementation of <i>David McGrew</i> Integer Counter Mode (ICM) as an
@@ -77,6 +79,11 @@ import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
  * Finally, for this implementation of the ICM, the IV placeholder will be used
  * to pass the value of the <i>Offset</i> in the keystream segment.
  * <p>
+ * Large inputs given to {@link #update(byte[], int, int, byte[], int)} are split
+ * into ranges of counter blocks, encrypted on a fork/join pool with
+ * one keyed clone of the underlying cipher per range; see
+ * {@link IMode#PARALLEL_THRESHOLD}.
+ * <p>
  * References:
  * <ol>
  * <li><a href=
@@ -100,6 +107,9 @@ public class ICM extends BaseMode implements Cloneable {
 	/** The index of the next block for a given keystream segment. */
 	private BigInteger blockNdx;
 
+	/** The parallel bulk path. */
+	private ParallelBlocks parallel;
+
 	/**
 	 * Trivial package-private constructor for use by the Factory class.
 	 *
@@ -157,6 +167,14 @@ public class ICM extends BaseMode implements Cloneable {
 			out[outOffset++] = (byte) (in[inOffset++] ^ result[ndx++]);
 	}
 
+	@Override
+	public void init(Map<Object, Object> attributes) throws InvalidKeyException, IllegalStateException {
+		synchronized (lock) {
+			super.init(attributes);
+			parallel = new ParallelBlocks(cipher, cipherBlockSize, attributes);
+		}
+	}
+
 	@Override
 	public void setup() {
 		if (modeBlockSize != cipherBlockSize)
@@ -174,5 +192,52 @@ public class ICM extends BaseMode implements Cloneable {
 		maxBlocksPerSegment = null;
 		C0 = null;
 		blockNdx = null;
+		if (parallel != null) {
+			parallel.clear();
+			parallel = null;
+		}
+	}
+
+	/**
+	 * Processes several blocks at once, with the same result as as many calls to
+	 * {@link #update(byte[], int, byte[], int)}.
+	 *
+	 * @param in
+	 *            the input.
+	 * @param inOff
+	 *            the offset of the input.
+	 * @param len
+	 *            the number of bytes to process, a multiple of the block size.
+	 * @param out
+	 *            the output.
+	 * @param outOff
+	 *            the offset of the output.
+	 * @throws IllegalArgumentException
+	 *             if <code>len</code> is not a multiple of the block size.
+	 * @throws IllegalStateException
+	 *             if the instance is not initialised.
+	 */
+	public void update(byte[] in, int inOff, int len, byte[] out, int outOff) {
+		synchronized (lock) {
+			if (state == -1)
+				throw new IllegalStateException();
+			if (len % modeBlockSize != 0)
+				throw new IllegalArgumentException("length is not a multiple of the block size");
+			if (!parallel.parallel(len)) {
+				for (int i = 0; i < len; i += modeBlockSize)
+					icm(in, inOff + i, out, outOff + i);
+				return;
+			}
+			int blocks = len / modeBlockSize;
+			BigInteger last = blockNdx.add(BigInteger.valueOf(blocks));
+			if (last.compareTo(maxBlocksPerSegment) > 0)
+				throw new RuntimeException("Maximum blocks for segment reached");
+			byte[] Ci = C0.add(blockNdx).mod(counterRange).toByteArray();
+			byte[] counter = new byte[cipherBlockSize];
+			int limit = Math.min(Ci.length, cipherBlockSize);
+			System.arraycopy(Ci, Ci.length - limit, counter, cipherBlockSize - limit, limit);
+			parallel.counter(counter, false, in, inOff, out, outOff, blocks);
+			blockNdx = last;
+		}
 	}
 }
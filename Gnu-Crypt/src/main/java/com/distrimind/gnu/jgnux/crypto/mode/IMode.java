@@ -101,6 +101,16 @@ public interface IMode extends IBlockCipher {
 	 */
 	String IV = "com.distrimind.gnu.crypto.mode.iv";
 
+	/**
+	 * Property name of the number of bytes above which the modes supporting bulk
+	 * updates split their work over the fork/join pool of the calling thread, or
+	 * the common pool when called from outside any pool. The value
+	 * associated with this property name is taken to be an {@link Integer}; each
+	 * parallel range holds at least that many bytes. If it is not specified, a
+	 * default of 64 KiB shall be used.
+	 */
+	String PARALLEL_THRESHOLD = "com.distrimind.gnu.crypto.mode.parallel.threshold";
+
 	/** Constant indicating the instance is being used for <i>encryption</i>. */
 	int ENCRYPTION = 1;
 
@@ -41,8 +41,11 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.metrics.Metrics;
 import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
 import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
 
@@ -52,7 +55,14 @@ import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
 public class ModeFactory implements Registry {
 	private static Set<String> names;
 
+	/**
+	 * The results of the self-tests already run, by mode name, which includes
+	 * the names of the cipher and of the block size.
+	 */
+	private static final ConcurrentMap<String, Boolean> valid = new ConcurrentHashMap<>();
+
 	public static IMode getInstance(String mode, IBlockCipher cipher, int cipherBlockSize) {
+		long start = Metrics.start();
 		// ensure that cipherBlockSize is valid for the chosen underlying cipher
 		boolean ok = false;
 		for (Iterator<Integer> it = cipher.blockSizes(); it.hasNext();) {
@@ -77,9 +87,23 @@ public class ModeFactory implements Registry {
 			result = new CFB(cipher, cipherBlockSize);
 		else if (mode.equalsIgnoreCase(EAX_MODE))
 			result = new EAX(cipher, cipherBlockSize);
-
-		if (result != null && !result.selfTest())
-			throw new InternalError(result.name());
+		else if (mode.equalsIgnoreCase(OCB_MODE))
+			result = new OCB(cipher, cipherBlockSize);
+		else if (mode.equalsIgnoreCase(XTS_MODE))
+			result = new XTS(cipher, cipherBlockSize);
+
+		if (result != null) {
+			Boolean passed = valid.get(result.name());
+			if (passed == null) {
+				long tested = Metrics.start();
+				passed = Boolean.valueOf(result.selfTest());
+				Metrics.selfTest(Metrics.MODE, result.name(), tested, passed.booleanValue());
+				valid.put(result.name(), passed);
+			}
+			if (!passed.booleanValue())
+				throw new InternalError(result.name());
+		}
+		Metrics.lookup(Metrics.MODE, mode, start);
 
 		return result;
 	}
@@ -129,6 +153,8 @@ public class ModeFactory implements Registry {
 				hs.add(CBC_MODE);
 				hs.add(CFB_MODE);
 				hs.add(EAX_MODE);
+				hs.add(OCB_MODE);
+				hs.add(XTS_MODE);
 				names = Collections.unmodifiableSet(hs);
 			}
 		}
@@ -0,0 +1,661 @@
+/* OCB.java -- the OCB3 authenticated-encryption mode
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.mode;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.util.Util;
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.jgnux.crypto.jce.GnuCrypto;
+import com.distrimind.gnu.jgnux.crypto.mac.IMac;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+import com.distrimind.gnu.vm.jgnux.crypto.BadPaddingException;
+import com.distrimind.gnu.vm.jgnux.crypto.Cipher;
+import com.distrimind.gnu.vm.jgnux.crypto.spec.IvParameterSpec;
+import com.distrimind.gnu.vm.jgnux.crypto.spec.SecretKeySpec;
+
+/**
+ * The single-pass authenticated-encryption mode OCB, in its third version. OCB
+ * is a <i>Authenticated Encryption with Additional Data</i> (<b>AEAD</b>)
+ * scheme over a 128-bit block cipher, which costs one block cipher call per
+ * block of message and of header, against two for {@link EAX}.
+ * <p>
+ * The offsets of the blocks are derived from a table of the <i>L</i> values of
+ * the key, computed once by {@link #init(Map)}, and from the number of trailing
+ * zeros of the block index. The header is authenticated through the
+ * {@link IMac} update methods, in any amount and at any time before
+ * {@link #digest()}. The message is processed one block at a time through
+ * {@link #update(byte[], int, byte[], int)}, or many blocks at a time through
+ * {@link #update(byte[], int, int, byte[], int)}; a last, partial, block goes
+ * through {@link #updateFinal(byte[], int, int, byte[], int)}. When decrypting,
+ * the caller compares the result of {@link #digest()} with the received tag.
+ * <p>
+ * The nonce is passed as the {@link IMode#IV}, of 1 to 15 bytes, and the tag
+ * size as the {@link IMac#TRUNCATED_SIZE}, of 1 to 16 bytes; the tag is 16
+ * bytes long by default.
+ * <p>
+ * References:
+ * <ol>
+ * <li><a href="http://tools.ietf.org/html/rfc7253">The OCB
+ * Authenticated-Encryption Algorithm</a>, RFC 7253.</li>
+ * </ol>
+ */
+public class OCB implements IAuthenticatedMode {
+	private static final int BLOCK_SIZE = 16;
+
+	/** The nonce size, in bytes, recommended by RFC 7253. */
+	public static final int NONCE_SIZE = 12;
+
+	/** Whether a self-test is going through the JCE. */
+	private static final AtomicBoolean jceTesting = new AtomicBoolean();
+
+	/**
+	 * Test vectors of RFC 7253, with AES-128 and the key 000102...0F: the last
+	 * byte of the nonce BBAA99887766554433221100, then the lengths of the header
+	 * and of the message, both made of the bytes 0, 1, 2...
+	 */
+	private static final int[][] TV = { { 0x00, 0, 0 }, { 0x01, 8, 8 }, { 0x0D, 40, 40 } };
+
+	/** The ciphertexts, followed by the tags, of the test vectors. */
+	private static final String[] TV_OUT = { "785407BFFFC8AD9EDCC5520AC9111EE6",
+			"6820B3657B6F615A5725BDA0D3B4EB3A257C9AF1F8F03009",
+			"D5CA91748410C1751FF8A2F618255B68A0A12E093FF454606E59F9C1D0DDC54B"
+					+ "65E8628E568BAD7AED07BA06A4A69483A7035490C5769E60" };
+
+	private static byte[] counting(int length) {
+		byte[] result = new byte[length];
+		for (int i = 0; i < length; i++)
+			result[i] = (byte) i;
+		return result;
+	}
+
+	/** Doubles a value in GF(2^128), into the designated destination. */
+	private static void dbl(byte[] in, byte[] out) {
+		int carry = (in[0] >>> 7) & 1;
+		for (int i = 0; i < BLOCK_SIZE - 1; i++)
+			out[i] = (byte) (in[i] << 1 | (in[i + 1] & 0xFF) >>> 7);
+		out[BLOCK_SIZE - 1] = (byte) (in[BLOCK_SIZE - 1] << 1 ^ (0x87 & -carry));
+	}
+
+	/**
+	 * Seals a message through the JCE, with no header and with the nonce given
+	 * then generated, compares it with {@link #seal}, opens it in two parts,
+	 * and checks that an altered tag is rejected.
+	 */
+	private static boolean jceRoundTrip(OCB ocb, Cipher jce, byte[] key, byte[] pt) throws Exception {
+		SecretKeySpec k = new SecretKeySpec(key, "AES");
+		byte[] nonce = counting(NONCE_SIZE);
+		jce.init(Cipher.ENCRYPT_MODE, k, new IvParameterSpec(nonce));
+		byte[] ct = jce.doFinal(pt);
+		if (!Arrays.equals(seal(ocb, ENCRYPTION, key, nonce, new byte[0], pt), ct))
+			return false;
+		jce.init(Cipher.ENCRYPT_MODE, k);
+		nonce = jce.getIV();
+		if (nonce.length != NONCE_SIZE
+				|| !Arrays.equals(seal(ocb, ENCRYPTION, key, nonce, new byte[0], pt), jce.doFinal(pt)))
+			return false;
+		jce.init(Cipher.DECRYPT_MODE, k, new IvParameterSpec(counting(NONCE_SIZE)));
+		int half = ct.length / 2;
+		byte[] first = jce.update(ct, 0, half);
+		byte[] out = Arrays.copyOf(first, pt.length);
+		byte[] last = jce.doFinal(ct, half, ct.length - half);
+		if (first.length + last.length != pt.length)
+			return false;
+		System.arraycopy(last, 0, out, first.length, last.length);
+		if (!Arrays.equals(pt, out))
+			return false;
+		ct[ct.length - 1] ^= 1;
+		try {
+			jce.doFinal(ct);
+			return false;
+		} catch (BadPaddingException expected) {
+			return true;
+		}
+	}
+
+	/**
+	 * Encrypts or decrypts a header and a message in one go, returning the
+	 * output followed by the tag.
+	 */
+	private static byte[] seal(OCB ocb, int state, byte[] key, byte[] nonce, byte[] header, byte[] in)
+			throws InvalidKeyException {
+		HashMap<Object, Object> map = new HashMap<>();
+		map.put(KEY_MATERIAL, key);
+		map.put(IV, nonce);
+		map.put(STATE, Integer.valueOf(state));
+		ocb.init(map);
+		ocb.update(header, 0, header.length);
+		byte[] result = new byte[in.length + BLOCK_SIZE];
+		int full = in.length - in.length % BLOCK_SIZE;
+		ocb.update(in, 0, full, result, 0);
+		ocb.updateFinal(in, full, in.length - full, result, full);
+		ocb.digest(result, in.length);
+		return result;
+	}
+
+	/** The block cipher, keyed by {@link #init(Map)}. */
+	private final IBlockCipher cipher;
+
+	/** The cipher block size. */
+	private final int cipherBlockSize;
+
+	/** The running checksum of the plaintext. */
+	private final byte[] checksum = new byte[BLOCK_SIZE];
+
+	/** Whether the last, partial, message block was processed. */
+	private boolean finished;
+
+	/** The pending bytes of the header. */
+	private final byte[] header = new byte[BLOCK_SIZE];
+
+	/** The number of full header blocks processed. */
+	private long headerBlocks;
+
+	/** The number of pending bytes of the header. */
+	private int headerLength;
+
+	/** The offset of the last header block. */
+	private final byte[] headerOffset = new byte[BLOCK_SIZE];
+
+	/** The running sum of the enciphered header blocks. */
+	private final byte[] headerSum = new byte[BLOCK_SIZE];
+
+	/** Whether we're initialized or not. */
+	private boolean init;
+
+	/** <i>L</i><sub>i</sub>, for the 64 possible numbers of trailing zeros. */
+	private final byte[][] l = new byte[64][BLOCK_SIZE];
+
+	/** <i>L</i><sub>$</sub>. */
+	private final byte[] lDollar = new byte[BLOCK_SIZE];
+
+	/** <i>L</i><sub>*</sub>. */
+	private final byte[] lStar = new byte[BLOCK_SIZE];
+
+	/** The number of full message blocks processed. */
+	private long messageBlocks;
+
+	/** The offset of the last message block. */
+	private final byte[] offset = new byte[BLOCK_SIZE];
+
+	/** The direction state (encrypting or decrypting). */
+	private int state;
+
+	/** The tag size, in bytes. */
+	private int tagSize;
+
+	/** Working blocks of the cipher, input then output. */
+	private final byte[] tmp = new byte[BLOCK_SIZE], tmp2 = new byte[BLOCK_SIZE];
+
+	/**
+	 * Creates an OCB instance over the designated cipher.
+	 *
+	 * @param cipher
+	 *            the underlying block cipher.
+	 * @param cipherBlockSize
+	 *            the block size of the cipher, which must be 16 bytes.
+	 * @throws IllegalArgumentException
+	 *             if the block size is not 16 bytes.
+	 */
+	public OCB(IBlockCipher cipher, int cipherBlockSize) {
+		if (cipherBlockSize != BLOCK_SIZE)
+			throw new IllegalArgumentException("OCB requires a 128-bit block cipher");
+		this.cipher = cipher;
+		this.cipherBlockSize = cipherBlockSize;
+	}
+
+	@Override
+	public Iterator<Integer> blockSizes() {
+		return Collections.singletonList(Integer.valueOf(BLOCK_SIZE)).iterator();
+	}
+
+	private void checkMessage(int expected) {
+		if (!init)
+			throw new IllegalStateException("not initialized");
+		if (state != expected)
+			throw new IllegalStateException(expected == ENCRYPTION ? "not encrypting" : "not decrypting");
+		if (finished)
+			throw new IllegalStateException("last block already processed");
+	}
+
+	@Override
+	public Object clone() {
+		return new OCB((IBlockCipher) cipher.clone(), cipherBlockSize);
+	}
+
+	@Override
+	public int currentBlockSize() {
+		return BLOCK_SIZE;
+	}
+
+	@Override
+	public void decryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+		checkMessage(DECRYPTION);
+		decryptBlocks(in, inOff, 1, out, outOff);
+	}
+
+	private void decryptBlocks(byte[] in, int inOff, int blocks, byte[] out, int outOff) {
+		byte[] offset = this.offset, checksum = this.checksum, tmp = this.tmp, tmp2 = this.tmp2;
+		for (; blocks > 0; blocks--, inOff += BLOCK_SIZE, outOff += BLOCK_SIZE) {
+			byte[] li = l[Long.numberOfTrailingZeros(++messageBlocks)];
+			for (int i = 0; i < BLOCK_SIZE; i++) {
+				offset[i] ^= li[i];
+				tmp[i] = (byte) (in[inOff + i] ^ offset[i]);
+			}
+			cipher.decryptBlock(tmp, 0, tmp2, 0);
+			for (int i = 0; i < BLOCK_SIZE; i++) {
+				byte p = (byte) (tmp2[i] ^ offset[i]);
+				checksum[i] ^= p;
+				out[outOff + i] = p;
+			}
+		}
+	}
+
+	@Override
+	public int defaultBlockSize() {
+		return BLOCK_SIZE;
+	}
+
+	@Override
+	public int defaultKeySize() {
+		return cipher.defaultKeySize();
+	}
+
+	@Override
+	public byte[] digest() {
+		byte[] tag = new byte[tagSize];
+		digest(tag, 0);
+		return tag;
+	}
+
+	/**
+	 * Completes the header, computes the tag into the designated array, and
+	 * resets the instance.
+	 *
+	 * @param out
+	 *            the destination of the tag.
+	 * @param outOffset
+	 *            the offset of the tag in <code>out</code>.
+	 * @throws IndexOutOfBoundsException
+	 *             if the tag does not fit in <code>out</code>.
+	 */
+	public void digest(byte[] out, int outOffset) {
+		if (!init)
+			throw new IllegalStateException("not initialized");
+		if (outOffset < 0 || outOffset + tagSize > out.length)
+			throw new IndexOutOfBoundsException();
+		if (headerLength > 0) {
+			// the last, partial, header block: padded with 10*, offset by L_*
+			header[headerLength] = (byte) 0x80;
+			for (int i = 0; i < BLOCK_SIZE; i++) {
+				headerOffset[i] ^= lStar[i];
+				tmp[i] = (byte) ((i <= headerLength ? header[i] : 0) ^ headerOffset[i]);
+			}
+			cipher.encryptBlock(tmp, 0, tmp2, 0);
+			for (int i = 0; i < BLOCK_SIZE; i++)
+				headerSum[i] ^= tmp2[i];
+		}
+		for (int i = 0; i < BLOCK_SIZE; i++)
+			tmp[i] = (byte) (checksum[i] ^ offset[i] ^ lDollar[i]);
+		cipher.encryptBlock(tmp, 0, tmp2, 0);
+		for (int i = 0; i < tagSize; i++)
+			out[outOffset + i] = (byte) (tmp2[i] ^ headerSum[i]);
+		reset();
+	}
+
+	@Override
+	public void encryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+		checkMessage(ENCRYPTION);
+		encryptBlocks(in, inOff, 1, out, outOff);
+	}
+
+	private void encryptBlocks(byte[] in, int inOff, int blocks, byte[] out, int outOff) {
+		byte[] offset = this.offset, checksum = this.checksum, tmp = this.tmp, tmp2 = this.tmp2;
+		for (; blocks > 0; blocks--, inOff += BLOCK_SIZE, outOff += BLOCK_SIZE) {
+			byte[] li = l[Long.numberOfTrailingZeros(++messageBlocks)];
+			for (int i = 0; i < BLOCK_SIZE; i++) {
+				byte p = in[inOff + i];
+				checksum[i] ^= p;
+				offset[i] ^= li[i];
+				tmp[i] = (byte) (p ^ offset[i]);
+			}
+			cipher.encryptBlock(tmp, 0, tmp2, 0);
+			for (int i = 0; i < BLOCK_SIZE; i++)
+				out[outOff + i] = (byte) (tmp2[i] ^ offset[i]);
+		}
+	}
+
+	/** Authenticates a full header block. */
+	private void headerBlock(byte[] in, int inOff) {
+		byte[] li = l[Long.numberOfTrailingZeros(++headerBlocks)];
+		for (int i = 0; i < BLOCK_SIZE; i++) {
+			headerOffset[i] ^= li[i];
+			tmp[i] = (byte) (in[inOff + i] ^ headerOffset[i]);
+		}
+		cipher.encryptBlock(tmp, 0, tmp2, 0);
+		for (int i = 0; i < BLOCK_SIZE; i++)
+			headerSum[i] ^= tmp2[i];
+	}
+
+	@Override
+	public void init(Map<Object, Object> attrib) throws InvalidKeyException {
+		byte[] nonce = (byte[]) attrib.get(IV);
+		if (nonce == null)
+			throw new IllegalArgumentException("no nonce provided");
+		if (nonce.length < 1 || nonce.length >= BLOCK_SIZE)
+			throw new IllegalArgumentException("nonce size out of range");
+		byte[] key = (byte[]) attrib.get(KEY_MATERIAL);
+		if (key == null)
+			throw new IllegalArgumentException("no key provided");
+		Integer st = (Integer) attrib.get(STATE);
+		if (st != null) {
+			state = st.intValue();
+			if (state != ENCRYPTION && state != DECRYPTION)
+				throw new IllegalArgumentException("invalid state");
+		} else
+			state = ENCRYPTION;
+		Integer ts = (Integer) attrib.get(TRUNCATED_SIZE);
+		tagSize = ts == null ? BLOCK_SIZE : ts.intValue();
+		if (tagSize < 1 || tagSize > BLOCK_SIZE)
+			throw new IllegalArgumentException("tag size out of range");
+
+		HashMap<Object, Object> cipherAttr = new HashMap<>();
+		cipherAttr.put(KEY_MATERIAL, key);
+		cipherAttr.put(CIPHER_BLOCK_SIZE, Integer.valueOf(BLOCK_SIZE));
+		cipher.reset();
+		cipher.init(cipherAttr);
+
+		// L_* = E(0), L_$ = double(L_*), L_0 = double(L_$), L_i = double(L_i-1)
+		Arrays.fill(tmp, (byte) 0);
+		cipher.encryptBlock(tmp, 0, lStar, 0);
+		dbl(lStar, lDollar);
+		dbl(lDollar, l[0]);
+		for (int i = 1; i < l.length; i++)
+			dbl(l[i - 1], l[i]);
+
+		// Nonce = num2str(TAGLEN mod 128, 7) || zeros || 1 || N
+		Arrays.fill(tmp, (byte) 0);
+		tmp[0] = (byte) (((tagSize * 8) % 128) << 1);
+		tmp[BLOCK_SIZE - 1 - nonce.length] |= 1;
+		System.arraycopy(nonce, 0, tmp, BLOCK_SIZE - nonce.length, nonce.length);
+		int bottom = tmp[BLOCK_SIZE - 1] & 0x3F;
+		tmp[BLOCK_SIZE - 1] &= (byte) 0xC0;
+		// Stretch = Ktop || (Ktop[1..64] xor Ktop[9..72]), Offset_0 = its
+		// bits bottom+1..bottom+128
+		byte[] stretch = new byte[BLOCK_SIZE + 9];
+		cipher.encryptBlock(tmp, 0, stretch, 0);
+		for (int i = 0; i < 8; i++)
+			stretch[BLOCK_SIZE + i] = (byte) (stretch[i] ^ stretch[i + 1]);
+		int bytes = bottom >>> 3, bits = bottom & 7;
+		for (int i = 0; i < BLOCK_SIZE; i++)
+			offset[i] = (byte) (stretch[i + bytes] << bits | (stretch[i + bytes + 1] & 0xFF) >>> (8 - bits));
+
+		Arrays.fill(checksum, (byte) 0);
+		Arrays.fill(headerOffset, (byte) 0);
+		Arrays.fill(headerSum, (byte) 0);
+		messageBlocks = headerBlocks = 0L;
+		headerLength = 0;
+		finished = false;
+		init = true;
+	}
+
+	@Override
+	public Iterator<Integer> keySizes() {
+		return cipher.keySizes();
+	}
+
+	@Override
+	public int macSize() {
+		return tagSize;
+	}
+
+	@Override
+	public String name() {
+		return Registry.OCB_MODE + "(" + cipher.name() + ")";
+	}
+
+	/** Clears the key schedule and every value derived from the key. */
+	@Override
+	public void reset() {
+		cipher.reset();
+		for (int i = 0; i < l.length; i++)
+			Arrays.fill(l[i], (byte) 0);
+		Arrays.fill(lStar, (byte) 0);
+		Arrays.fill(lDollar, (byte) 0);
+		Arrays.fill(offset, (byte) 0);
+		Arrays.fill(checksum, (byte) 0);
+		Arrays.fill(header, (byte) 0);
+		Arrays.fill(headerOffset, (byte) 0);
+		Arrays.fill(headerSum, (byte) 0);
+		Arrays.fill(tmp, (byte) 0);
+		Arrays.fill(tmp2, (byte) 0);
+		headerLength = 0;
+		init = false;
+	}
+
+	/**
+	 * Checks the RFC 7253 vectors when the cipher is AES, then, with any
+	 * cipher, that messages of every length up to three blocks decrypt to the
+	 * plaintext with the same tag. With AES, these messages also go through
+	 * the JCE {@link Cipher}, which must seal them in the same way, open them
+	 * again, and reject them once altered.
+	 */
+	@Override
+	public boolean selfTest() {
+		boolean aes = cipher.name().startsWith(Registry.RIJNDAEL_CIPHER);
+		// the JCE gets its mode from the ModeFactory, which tests it in turn:
+		// only the outermost test goes through the JCE
+		boolean viaJce = aes && jceTesting.compareAndSet(false, true);
+		try {
+			OCB ocb = (OCB) clone();
+			Cipher jce = viaJce ? Cipher.getInstance("AES/OCB/NoPadding", new GnuCrypto()) : null;
+			if (aes)
+				for (int i = 0; i < TV.length; i++) {
+					byte[] nonce = Util.toBytesFromString("BBAA99887766554433221100");
+					nonce[nonce.length - 1] = (byte) TV[i][0];
+					byte[] ct = seal(ocb, ENCRYPTION, counting(16), nonce, counting(TV[i][1]), counting(TV[i][2]));
+					if (!TV_OUT[i].equals(Util.toString(ct)))
+						return false;
+				}
+			for (Iterator<Integer> it = keySizes(); it.hasNext();) {
+				byte[] key = counting(it.next().intValue());
+				for (int length = 0; length <= 3 * BLOCK_SIZE; length++) {
+					byte[] pt = counting(length);
+					byte[] ct = seal(ocb, ENCRYPTION, key, counting(12), pt, pt);
+					byte[] out = seal(ocb, DECRYPTION, key, counting(12), pt, Arrays.copyOf(ct, length));
+					if (jce != null && !jceRoundTrip(ocb, jce, key, pt))
+						return false;
+					// same plaintext, same tag
+					System.arraycopy(pt, 0, ct, 0, length);
+					if (!Arrays.equals(ct, out))
+						return false;
+				}
+			}
+			return true;
+		} catch (Exception x) {
+			x.printStackTrace(System.err);
+			return false;
+		} finally {
+			if (viaJce)
+				jceTesting.set(false);
+		}
+	}
+
+	@Override
+	public void update(byte b) {
+		if (!init)
+			throw new IllegalStateException("not initialized");
+		header[headerLength++] = b;
+		if (headerLength == BLOCK_SIZE) {
+			headerBlock(header, 0);
+			headerLength = 0;
+		}
+	}
+
+	@Override
+	public void update(byte[] in, int inOff, byte[] out, int outOff) {
+		switch (state) {
+		case ENCRYPTION:
+			encryptBlock(in, inOff, out, outOff);
+			break;
+		case DECRYPTION:
+			decryptBlock(in, inOff, out, outOff);
+			break;
+		default:
+			throw new IllegalStateException("impossible state " + state);
+		}
+	}
+
+	@Override
+	public void update(byte[] buf, int off, int len) {
+		if (!init)
+			throw new IllegalStateException("not initialized");
+		if (headerLength > 0) {
+			int part = Math.min(BLOCK_SIZE - headerLength, len);
+			System.arraycopy(buf, off, header, headerLength, part);
+			headerLength += part;
+			off += part;
+			len -= part;
+			if (headerLength < BLOCK_SIZE)
+				return;
+			headerBlock(header, 0);
+			headerLength = 0;
+		}
+		for (; len >= BLOCK_SIZE; off += BLOCK_SIZE, len -= BLOCK_SIZE)
+			headerBlock(buf, off);
+		System.arraycopy(buf, off, header, 0, len);
+		headerLength = len;
+	}
+
+	/**
+	 * Encrypts or decrypts many full blocks, the cipher being called once per
+	 * block.
+	 *
+	 * @param in
+	 *            the input.
+	 * @param inOff
+	 *            the offset of the input in <code>in</code>.
+	 * @param len
+	 *            the length of the input, a multiple of 16 bytes.
+	 * @param out
+	 *            the output, which may be the input.
+	 * @param outOff
+	 *            the offset of the output in <code>out</code>.
+	 * @throws IllegalArgumentException
+	 *             if <code>len</code> is not a multiple of the block size.
+	 * @throws IllegalStateException
+	 *             if the instance is not initialised, or if the last block was
+	 *             already processed.
+	 */
+	public void update(byte[] in, int inOff, int len, byte[] out, int outOff) {
+		if (len % BLOCK_SIZE != 0)
+			throw new IllegalArgumentException("not a multiple of the block size");
+		if (state == DECRYPTION) {
+			checkMessage(DECRYPTION);
+			decryptBlocks(in, inOff, len / BLOCK_SIZE, out, outOff);
+		} else {
+			checkMessage(ENCRYPTION);
+			encryptBlocks(in, inOff, len / BLOCK_SIZE, out, outOff);
+		}
+	}
+
+	@Override
+	public void update(ByteBuffer in) {
+		if (!init)
+			throw new IllegalStateException("not initialized");
+		if (in.hasArray()) {
+			update(in.array(), in.arrayOffset() + in.position(), in.remaining());
+			in.position(in.limit());
+			return;
+		}
+		while (in.hasRemaining()) {
+			int part = Math.min(BLOCK_SIZE - headerLength, in.remaining());
+			in.get(header, headerLength, part);
+			headerLength += part;
+			if (headerLength == BLOCK_SIZE) {
+				headerBlock(header, 0);
+				headerLength = 0;
+			}
+		}
+	}
+
+	/**
+	 * Encrypts or decrypts the end of the message, of at most one block. A
+	 * partial block is enciphered with the offset <i>L</i><sub>*</sub>; no more
+	 * message blocks are accepted until the instance is initialised again.
+	 *
+	 * @param in
+	 *            the input.
+	 * @param inOff
+	 *            the offset of the input in <code>in</code>.
+	 * @param len
+	 *            the length of the input, from 0 to 16 bytes.
+	 * @param out
+	 *            the output, which may be the input.
+	 * @param outOff
+	 *            the offset of the output in <code>out</code>.
+	 * @throws IllegalArgumentException
+	 *             if <code>len</code> is longer than a block.
+	 */
+	public void updateFinal(byte[] in, int inOff, int len, byte[] out, int outOff) {
+		if (len < 0 || len > BLOCK_SIZE)
+			throw new IllegalArgumentException("len");
+		checkMessage(state);
+		if (len == BLOCK_SIZE)
+			update(in, inOff, len, out, outOff);
+		else if (len > 0) {
+			for (int i = 0; i < BLOCK_SIZE; i++)
+				offset[i] ^= lStar[i];
+			cipher.encryptBlock(offset, 0, tmp2, 0);
+			for (int i = 0; i < len; i++) {
+				byte c = (byte) (in[inOff + i] ^ tmp2[i]);
+				checksum[i] ^= state == ENCRYPTION ? in[inOff + i] : c;
+				out[outOff + i] = c;
+			}
+			checksum[len] ^= (byte) 0x80;
+		}
+		finished = true;
+	}
+}
@@ -0,0 +1,481 @@
+/* ParallelBlocks.java -- parallel bulk processing for modes
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.mode;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+
+/**
+ * The parallel bulk path shared by the modes whose blocks can be processed
+ * independently of each other: the counter modes, and the decryption of the
+ * chained modes, where each block only depends on ciphertext already known.
+ * <p>
+ * An instance keeps a copy of the session key, taken when the owning mode is
+ * initialised, so that every parallel range can key its own clone of the
+ * underlying cipher. Inputs shorter than twice the threshold are left to the
+ * sequential path of the mode.
+ */
+final class ParallelBlocks {
+	/**
+	 * Decrypts a range of CBC or CFB blocks, given the ciphertext preceding the
+	 * range.
+	 */
+	private static final class ChainedTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final ParallelBlocks owner;
+
+		private final boolean cfb;
+
+		private final byte[] register;
+
+		private final int step;
+
+		private final byte[] in;
+
+		private final int inOff;
+
+		private final byte[] out;
+
+		private final int outOff;
+
+		private final int blocks;
+
+		ChainedTask(ParallelBlocks owner, boolean cfb, byte[] register, int step, byte[] in, int inOff, byte[] out,
+				int outOff, int blocks) {
+			this.owner = owner;
+			this.cfb = cfb;
+			this.register = register;
+			this.step = step;
+			this.in = in;
+			this.inOff = inOff;
+			this.out = out;
+			this.outOff = outOff;
+			this.blocks = blocks;
+		}
+
+		@Override
+		protected void compute() {
+			if (blocks < 2 * owner.minBlocks(step)) {
+				IBlockCipher c = owner.keyedClone();
+				try {
+					if (cfb)
+						cfbDecrypt(c, register, step, in, inOff, out, outOff, blocks);
+					else
+						cbcDecrypt(c, register, in, inOff, out, outOff, blocks);
+				} finally {
+					c.reset();
+				}
+			} else {
+				// the ciphertext the right half depends on, read before the left half
+				// may overwrite it
+				int mid = blocks >>> 1;
+				byte[] right = window(register, in, inOff, mid * step);
+				invokeAll(new ChainedTask(owner, cfb, register, step, in, inOff, out, outOff, mid),
+						new ChainedTask(owner, cfb, right, step, in, inOff + mid * step, out, outOff + mid * step,
+								blocks - mid));
+			}
+		}
+	}
+
+	/** Generates and applies the keystream of a range of counter blocks. */
+	private static final class CounterTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final ParallelBlocks owner;
+
+		private final byte[] counter;
+
+		private final boolean carry;
+
+		private final byte[] in;
+
+		private final int inOff;
+
+		private final byte[] out;
+
+		private final int outOff;
+
+		private final int blocks;
+
+		CounterTask(ParallelBlocks owner, byte[] counter, boolean carry, byte[] in, int inOff, byte[] out, int outOff,
+				int blocks) {
+			this.owner = owner;
+			this.counter = counter;
+			this.carry = carry;
+			this.in = in;
+			this.inOff = inOff;
+			this.out = out;
+			this.outOff = outOff;
+			this.blocks = blocks;
+		}
+
+		@Override
+		protected void compute() {
+			int bs = counter.length;
+			if (blocks < 2 * owner.minBlocks(bs)) {
+				IBlockCipher c = owner.keyedClone();
+				try {
+					byte[] ks = new byte[bs];
+					for (int b = 0, i = inOff, o = outOff; b < blocks; b++) {
+						c.encryptBlock(counter, 0, ks, 0);
+						for (int j = 0; j < bs; j++)
+							out[o++] = (byte) (in[i++] ^ ks[j]);
+						increment(counter, carry);
+					}
+				} finally {
+					c.reset();
+				}
+			} else {
+				int mid = blocks >>> 1;
+				byte[] right = counter.clone();
+				add(right, mid, carry);
+				invokeAll(new CounterTask(owner, counter, carry, in, inOff, out, outOff, mid),
+						new CounterTask(owner, right, carry, in, inOff + mid * bs, out, outOff + mid * bs,
+								blocks - mid));
+			}
+		}
+	}
+
+	/** The default number of bytes above which an input is split. */
+	static final int DEFAULT_THRESHOLD = 64 * 1024;
+
+	/** The number of blocks deciphered back to back by the sequential loops. */
+	private static final int WIDTH = 8;
+
+	/**
+	 * Adds a number of steps to a big-endian counter.
+	 *
+	 * @param counter
+	 *            the counter.
+	 * @param steps
+	 *            the number of increments, smaller than the range of all but the
+	 *            first byte of the counter.
+	 * @param carry
+	 *            whether the counter follows the increment of {@link CTR}, which
+	 *            adds one more step when a carry stops on its first byte.
+	 */
+	static void add(byte[] counter, long steps, boolean carry) {
+		int c = 0;
+		long s = steps;
+		for (int j = counter.length - 1; j > 0; j--) {
+			int v = (counter[j] & 0xFF) + (int) (s & 0xFF) + c;
+			counter[j] = (byte) v;
+			c = v >>> 8;
+			s >>>= 8;
+		}
+		if (c != 0) {
+			counter[0]++;
+			if (carry && counter[0] != 0)
+				increment(counter, false);
+		}
+	}
+
+	/**
+	 * Decrypts CBC blocks, a few at a time so that the cipher calls do not wait for
+	 * the XOR of the previous block.
+	 *
+	 * @param c
+	 *            the keyed cipher.
+	 * @param prev
+	 *            the ciphertext block preceding the input; updated to the last
+	 *            block of the input.
+	 * @param in
+	 *            the ciphertext, which may be the same as the output.
+	 * @param inOff
+	 *            the offset of the ciphertext.
+	 * @param out
+	 *            the plaintext.
+	 * @param outOff
+	 *            the offset of the plaintext.
+	 * @param blocks
+	 *            the number of blocks.
+	 */
+	static void cbcDecrypt(IBlockCipher c, byte[] prev, byte[] in, int inOff, byte[] out, int outOff, int blocks) {
+		int bs = prev.length;
+		byte[] buf = new byte[WIDTH * bs];
+		for (int b = 0; b < blocks; b += WIDTH) {
+			int n = Math.min(WIDTH, blocks - b) * bs;
+			int o = outOff + b * bs;
+			System.arraycopy(in, inOff + b * bs, buf, 0, n);
+			for (int k = 0; k < n; k += bs)
+				c.decryptBlock(buf, k, out, o + k);
+			for (int k = 0; k < bs; k++)
+				out[o + k] ^= prev[k];
+			for (int k = bs; k < n; k++)
+				out[o + k] ^= buf[k - bs];
+			System.arraycopy(buf, n - bs, prev, 0, bs);
+		}
+	}
+
+	/**
+	 * Decrypts CFB blocks. When the mode block size is that of the cipher, the
+	 * keystream of a few blocks is produced at once from the ciphertext.
+	 *
+	 * @param c
+	 *            the keyed cipher.
+	 * @param register
+	 *            the shift register, updated as the input is consumed.
+	 * @param step
+	 *            the mode block size.
+	 * @param in
+	 *            the ciphertext, which may be the same as the output.
+	 * @param inOff
+	 *            the offset of the ciphertext.
+	 * @param out
+	 *            the plaintext.
+	 * @param outOff
+	 *            the offset of the plaintext.
+	 * @param blocks
+	 *            the number of mode blocks.
+	 */
+	static void cfbDecrypt(IBlockCipher c, byte[] register, int step, byte[] in, int inOff, byte[] out, int outOff,
+			int blocks) {
+		int bs = register.length;
+		if (step != bs) {
+			byte[] ks = new byte[bs];
+			for (int b = 0, i = inOff, o = outOff; b < blocks; b++) {
+				c.encryptBlock(register, 0, ks, 0);
+				System.arraycopy(register, step, register, 0, bs - step);
+				System.arraycopy(in, i, register, bs - step, step);
+				for (int k = 0; k < step; k++)
+					out[o++] = (byte) (in[i++] ^ ks[k]);
+			}
+			return;
+		}
+		byte[] buf = new byte[WIDTH * bs];
+		for (int b = 0; b < blocks; b += WIDTH) {
+			int n = Math.min(WIDTH, blocks - b) * bs;
+			int o = outOff + b * bs;
+			System.arraycopy(in, inOff + b * bs, buf, 0, n);
+			c.encryptBlock(register, 0, out, o);
+			for (int k = bs; k < n; k += bs)
+				c.encryptBlock(buf, k - bs, out, o + k);
+			for (int k = 0; k < n; k++)
+				out[o + k] ^= buf[k];
+			System.arraycopy(buf, n - bs, register, 0, bs);
+		}
+	}
+
+	/**
+	 * Increments a big-endian counter by one step.
+	 *
+	 * @param counter
+	 *            the counter.
+	 * @param carry
+	 *            whether the counter follows the increment of {@link CTR}.
+	 */
+	static void increment(byte[] counter, boolean carry) {
+		int j;
+		for (j = counter.length - 1; j >= 0; j--)
+			if (++counter[j] != 0)
+				break;
+		if (carry && j == 0)
+			counter[counter.length - 1]++;
+	}
+
+	/**
+	 * Runs a task on the fork/join pool of the calling thread, if any, else on the
+	 * common pool.
+	 *
+	 * @param task
+	 *            the task.
+	 */
+	static void invoke(RecursiveAction task) {
+		if (ForkJoinTask.inForkJoinPool())
+			task.invoke();
+		else
+			ForkJoinPool.commonPool().invoke(task);
+	}
+
+	/**
+	 * Returns the block of ciphertext ending at a position of the input, that is
+	 * the CBC or CFB register of the block starting there.
+	 *
+	 * @param register
+	 *            the register of the first block of the input.
+	 * @param in
+	 *            the ciphertext.
+	 * @param inOff
+	 *            the offset of the ciphertext.
+	 * @param end
+	 *            the position, relative to <code>inOff</code>.
+	 * @return the register at <code>end</code>.
+	 */
+	private static byte[] window(byte[] register, byte[] in, int inOff, int end) {
+		int bs = register.length;
+		byte[] result = new byte[bs];
+		int fromIn = Math.min(bs, end);
+		System.arraycopy(register, fromIn, result, 0, bs - fromIn);
+		System.arraycopy(in, inOff + end - fromIn, result, bs - fromIn, fromIn);
+		return result;
+	}
+
+	private final IBlockCipher cipher;
+
+	private Map<Object, Object> key;
+
+	private final int threshold;
+
+	/**
+	 * Captures the session key of a mode being initialised.
+	 *
+	 * @param cipher
+	 *            the underlying cipher of the mode, cloned by the parallel
+	 *            ranges.
+	 * @param cipherBlockSize
+	 *            the block size of the underlying cipher.
+	 * @param attributes
+	 *            the attributes the mode is initialised with.
+	 * @throws IllegalArgumentException
+	 *             if the threshold attribute is not positive.
+	 */
+	ParallelBlocks(IBlockCipher cipher, int cipherBlockSize, Map<Object, Object> attributes) {
+		super();
+
+		Integer t = (Integer) attributes.get(IMode.PARALLEL_THRESHOLD);
+		threshold = t == null ? DEFAULT_THRESHOLD : t.intValue();
+		if (threshold <= 0)
+			throw new IllegalArgumentException(IMode.PARALLEL_THRESHOLD);
+		this.cipher = cipher;
+		byte[] k = (byte[]) attributes.get(IBlockCipher.KEY_MATERIAL);
+		if (k != null) {
+			key = new HashMap<>();
+			key.put(IBlockCipher.KEY_MATERIAL, k.clone());
+			key.put(IBlockCipher.CIPHER_BLOCK_SIZE, Integer.valueOf(cipherBlockSize));
+		}
+	}
+
+	/** Wipes the copy of the session key. */
+	void clear() {
+		if (key != null) {
+			Arrays.fill((byte[]) key.get(IBlockCipher.KEY_MATERIAL), (byte) 0);
+			key = null;
+		}
+	}
+
+	/**
+	 * XORs the input with the keystream of a counter mode, on the fork/join pool of
+	 * the calling thread, if any, else on the common pool.
+	 *
+	 * @param counter
+	 *            the counter of the first block; left unchanged.
+	 * @param carry
+	 *            whether the counter follows the increment of {@link CTR}.
+	 * @param in
+	 *            the input.
+	 * @param inOff
+	 *            the offset of the input.
+	 * @param out
+	 *            the output.
+	 * @param outOff
+	 *            the offset of the output.
+	 * @param blocks
+	 *            the number of whole blocks to process.
+	 */
+	void counter(byte[] counter, boolean carry, byte[] in, int inOff, byte[] out, int outOff, int blocks) {
+		invoke(new CounterTask(this, counter.clone(), carry, in, inOff, out, outOff, blocks));
+	}
+
+	/**
+	 * Decrypts CBC or CFB blocks on the fork/join pool of the calling thread, if
+	 * any, else on the common pool.
+	 *
+	 * @param cfb
+	 *            <code>true</code> for CFB, <code>false</code> for CBC.
+	 * @param register
+	 *            the ciphertext preceding the input; updated to the register
+	 *            following it.
+	 * @param step
+	 *            the mode block size.
+	 * @param in
+	 *            the ciphertext, which may be the same as the output.
+	 * @param inOff
+	 *            the offset of the ciphertext.
+	 * @param out
+	 *            the plaintext.
+	 * @param outOff
+	 *            the offset of the plaintext.
+	 * @param blocks
+	 *            the number of mode blocks.
+	 */
+	void chained(boolean cfb, byte[] register, int step, byte[] in, int inOff, byte[] out, int outOff, int blocks) {
+		byte[] next = window(register, in, inOff, blocks * step);
+		invoke(new ChainedTask(this, cfb, register.clone(), step, in, inOff, out, outOff, blocks));
+		System.arraycopy(next, 0, register, 0, next.length);
+	}
+
+	/**
+	 * Returns a clone of the underlying cipher keyed with the session key.
+	 *
+	 * @return a keyed cipher, to be reset by the caller.
+	 */
+	IBlockCipher keyedClone() {
+		IBlockCipher result = (IBlockCipher) cipher.clone();
+		try {
+			result.init(key);
+		} catch (InvalidKeyException e) {
+			// the key already keyed the mode's cipher
+			throw new IllegalStateException(e);
+		}
+		return result;
+	}
+
+	private int minBlocks(int step) {
+		return Math.max(1, threshold / step);
+	}
+
+	/**
+	 * Tells whether an input goes through the parallel path.
+	 *
+	 * @param len
+	 *            the length of the input, in bytes.
+	 * @return <code>true</code> if the input is at least twice the threshold and
+	 *         the session key is known.
+	 */
+	boolean parallel(int len) {
+		return key != null && len / 2 >= threshold;
+	}
+}
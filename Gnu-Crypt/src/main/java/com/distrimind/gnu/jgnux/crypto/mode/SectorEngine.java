@@ -0,0 +1,358 @@
+/* SectorEngine.java -- random-access encryption of sectors
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.mode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RecursiveAction;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+
+/**
+ * Encrypts and decrypts ranges of sectors in place, with {@link XTS}, each
+ * sector being a data unit whose sequence number is its index. Any sector can
+ * thus be read or written on its own, whatever its position.
+ * <p>
+ * The sectors are either those of a {@link FileChannel}, or consecutive sectors
+ * held by a {@link ByteBuffer}, such as a region of a file mapped in memory. The
+ * last sector may be shorter than the others, but not shorter than a cipher
+ * block. Ranges larger than twice the parallel threshold are split over the
+ * fork/join pool of the calling thread, or the common pool, each part with its
+ * own {@link XTS} instance. As with {@link IMode#PARALLEL_THRESHOLD}, the
+ * threshold is a number of bytes, 64 KiB by default, which each part holds at
+ * least, rounded down to whole sectors.
+ * <p>
+ * Instances are thread-safe, as long as concurrent calls do not touch the same
+ * sectors.
+ */
+public class SectorEngine {
+	/** Encrypts or decrypts a range of sectors, splitting it if large enough. */
+	private static final class Task extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final SectorEngine owner;
+
+		private final int state;
+
+		private final FileChannel channel;
+
+		private final ByteBuffer buffer;
+
+		private final long origin;
+
+		private final long limit;
+
+		private final long first;
+
+		private final long from;
+
+		private final long to;
+
+		Task(SectorEngine owner, int state, FileChannel channel, ByteBuffer buffer, long origin, long limit,
+				long first, long from, long to) {
+			this.owner = owner;
+			this.state = state;
+			this.channel = channel;
+			this.buffer = buffer;
+			this.origin = origin;
+			this.limit = limit;
+			this.first = first;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from >= 2 * owner.minSectors) {
+				long mid = (from + to) >>> 1;
+				invokeAll(new Task(owner, state, channel, buffer, origin, limit, first, from, mid),
+						new Task(owner, state, channel, buffer, origin, limit, first, mid, to));
+				return;
+			}
+			int size = owner.sectorSize;
+			long start = origin + from * size;
+			int len = (int) (Math.min(limit, origin + to * size) - start);
+			byte[] data = new byte[len];
+			try {
+				if (channel != null)
+					read(channel, start, data);
+				else
+					((ByteBuffer) buffer.duplicate().position((int) start)).get(data);
+				XTS xts = owner.newInstance(state);
+				try {
+					for (int off = 0; off < len; off += size) {
+						xts.setDataUnit(first + from + off / size);
+						xts.updateFinal(data, off, Math.min(size, len - off), data, off);
+					}
+				} finally {
+					xts.reset();
+				}
+				if (channel != null)
+					write(channel, start, data);
+				else
+					((ByteBuffer) buffer.duplicate().position((int) start)).put(data);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} catch (InvalidKeyException e) {
+				// the key already keyed an instance in the constructor
+				throw new IllegalStateException(e);
+			} finally {
+				Arrays.fill(data, (byte) 0);
+			}
+		}
+	}
+
+	/** The default sector size, in bytes. */
+	public static final int DEFAULT_SECTOR_SIZE = 4096;
+
+	private static final int BLOCK_SIZE = 16;
+
+	private static void read(FileChannel channel, long position, byte[] data) throws IOException {
+		ByteBuffer b = ByteBuffer.wrap(data);
+		while (b.hasRemaining())
+			if (channel.read(b, position + b.position()) < 0)
+				throw new IOException("unexpected end of file");
+	}
+
+	private static void write(FileChannel channel, long position, byte[] data) throws IOException {
+		ByteBuffer b = ByteBuffer.wrap(data);
+		while (b.hasRemaining())
+			channel.write(b, position + b.position());
+	}
+
+	/** The attributes keying the {@link XTS} instances. */
+	private final Map<Object, Object> attributes = new HashMap<>();
+
+	/** The minimum number of sectors of a parallel range. */
+	private final long minSectors;
+
+	/** A self-tested instance, never initialised, which the ranges clone. */
+	private final XTS prototype;
+
+	private final int sectorSize;
+
+	/**
+	 * Creates an engine with sectors of {@link #DEFAULT_SECTOR_SIZE} bytes.
+	 *
+	 * @param cipher
+	 *            the underlying 128-bit block cipher.
+	 * @param key
+	 *            the XTS key: the data key followed by the tweak key.
+	 * @throws InvalidKeyException
+	 *             if the key is invalid for the cipher.
+	 */
+	public SectorEngine(IBlockCipher cipher, byte[] key) throws InvalidKeyException {
+		this(cipher, key, DEFAULT_SECTOR_SIZE);
+	}
+
+	/**
+	 * Creates an engine.
+	 *
+	 * @param cipher
+	 *            the underlying 128-bit block cipher.
+	 * @param key
+	 *            the XTS key: the data key followed by the tweak key.
+	 * @param sectorSize
+	 *            the size of the sectors, in bytes.
+	 * @throws InvalidKeyException
+	 *             if the key is invalid for the cipher.
+	 * @throws IllegalArgumentException
+	 *             if the cipher block size is not 16 bytes, or if the sectors
+	 *             are shorter than a block.
+	 */
+	public SectorEngine(IBlockCipher cipher, byte[] key, int sectorSize) throws InvalidKeyException {
+		this(cipher, key, sectorSize, ParallelBlocks.DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Creates an engine with a designated parallel threshold.
+	 *
+	 * @param cipher
+	 *            the underlying 128-bit block cipher.
+	 * @param key
+	 *            the XTS key: the data key followed by the tweak key.
+	 * @param sectorSize
+	 *            the size of the sectors, in bytes.
+	 * @param threshold
+	 *            the number of bytes above which a range is split, as the
+	 *            {@link IMode#PARALLEL_THRESHOLD} of the modes.
+	 * @throws InvalidKeyException
+	 *             if the key is invalid for the cipher.
+	 * @throws IllegalArgumentException
+	 *             if the cipher block size is not 16 bytes, if the sectors are
+	 *             shorter than a block, or if <code>threshold</code> is not
+	 *             positive.
+	 */
+	public SectorEngine(IBlockCipher cipher, byte[] key, int sectorSize, int threshold) throws InvalidKeyException {
+		super();
+
+		if (sectorSize < BLOCK_SIZE)
+			throw new IllegalArgumentException("sector size");
+		if (threshold <= 0)
+			throw new IllegalArgumentException("threshold");
+		prototype = (XTS) ModeFactory.getInstance(Registry.XTS_MODE, cipher, BLOCK_SIZE);
+		this.sectorSize = sectorSize;
+		minSectors = Math.max(1, threshold / sectorSize);
+		attributes.put(IMode.KEY_MATERIAL, key.clone());
+		// fail now rather than in a parallel range
+		newInstance(IMode.ENCRYPTION).reset();
+	}
+
+	/** Wipes the copy of the key; the engine is unusable afterwards. */
+	public void clear() {
+		byte[] key = (byte[]) attributes.remove(IMode.KEY_MATERIAL);
+		if (key != null)
+			Arrays.fill(key, (byte) 0);
+	}
+
+	/**
+	 * Decrypts in place the sectors held by a buffer, from its position to its
+	 * limit. The position of the buffer is left unchanged.
+	 *
+	 * @param buffer
+	 *            the buffer.
+	 * @param firstSector
+	 *            the index of the sector at the position of the buffer.
+	 * @throws IllegalArgumentException
+	 *             if the last sector is shorter than a block.
+	 */
+	public void decrypt(ByteBuffer buffer, long firstSector) {
+		process(IMode.DECRYPTION, buffer, firstSector);
+	}
+
+	/**
+	 * Decrypts in place a range of sectors of a file. The range stops at the end
+	 * of the file.
+	 *
+	 * @param channel
+	 *            the file, open for reading and writing.
+	 * @param firstSector
+	 *            the index of the first sector.
+	 * @param count
+	 *            the number of sectors.
+	 * @throws IOException
+	 *             if the file cannot be read or written, or if its last sector
+	 *             is shorter than a block.
+	 */
+	public void decrypt(FileChannel channel, long firstSector, long count) throws IOException {
+		process(IMode.DECRYPTION, channel, firstSector, count);
+	}
+
+	/**
+	 * Encrypts in place the sectors held by a buffer, from its position to its
+	 * limit. The position of the buffer is left unchanged.
+	 *
+	 * @param buffer
+	 *            the buffer.
+	 * @param firstSector
+	 *            the index of the sector at the position of the buffer.
+	 * @throws IllegalArgumentException
+	 *             if the last sector is shorter than a block.
+	 */
+	public void encrypt(ByteBuffer buffer, long firstSector) {
+		process(IMode.ENCRYPTION, buffer, firstSector);
+	}
+
+	/**
+	 * Encrypts in place a range of sectors of a file. The range stops at the end
+	 * of the file.
+	 *
+	 * @param channel
+	 *            the file, open for reading and writing.
+	 * @param firstSector
+	 *            the index of the first sector.
+	 * @param count
+	 *            the number of sectors.
+	 * @throws IOException
+	 *             if the file cannot be read or written, or if its last sector
+	 *             is shorter than a block.
+	 */
+	public void encrypt(FileChannel channel, long firstSector, long count) throws IOException {
+		process(IMode.ENCRYPTION, channel, firstSector, count);
+	}
+
+	/** Returns a keyed instance of {@link XTS}, to be reset by the caller. */
+	private XTS newInstance(int state) throws InvalidKeyException {
+		XTS result = (XTS) prototype.clone();
+		Map<Object, Object> map = new HashMap<>(attributes);
+		map.put(IMode.STATE, Integer.valueOf(state));
+		result.init(map);
+		return result;
+	}
+
+	private void process(int state, ByteBuffer buffer, long firstSector) {
+		int tail = buffer.remaining() % sectorSize;
+		if (tail > 0 && tail < BLOCK_SIZE)
+			throw new IllegalArgumentException("last sector shorter than a block");
+		long count = (buffer.remaining() + sectorSize - 1) / sectorSize;
+		ParallelBlocks.invoke(
+				new Task(this, state, null, buffer, buffer.position(), buffer.limit(), firstSector, 0, count));
+	}
+
+	private void process(int state, FileChannel channel, long firstSector, long count) throws IOException {
+		long origin = firstSector * sectorSize;
+		long limit = Math.min(channel.size(), origin + count * sectorSize);
+		if (limit <= origin)
+			return;
+		long tail = (limit - origin) % sectorSize;
+		if (tail > 0 && tail < BLOCK_SIZE)
+			throw new IOException("last sector shorter than a block");
+		try {
+			ParallelBlocks.invoke(new Task(this, state, channel, null, origin, limit, firstSector, 0,
+					(limit - origin + sectorSize - 1) / sectorSize));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Returns the size of the sectors.
+	 *
+	 * @return the sector size, in bytes.
+	 */
+	public int sectorSize() {
+		return sectorSize;
+	}
+}
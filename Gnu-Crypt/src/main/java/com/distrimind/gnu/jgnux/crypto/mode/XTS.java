@@ -0,0 +1,421 @@
+/* XTS.java -- XEX-based tweaked-codebook mode with ciphertext stealing
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.mode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.util.Util;
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+
+/**
+ * The XTS mode (XEX-based tweaked-codebook mode with ciphertext stealing), for
+ * the encryption of storage, over a 128-bit block cipher.
+ * <p>
+ * Data is encrypted by <i>data units</i>, typically disk sectors, each of them
+ * being processed with a different tweak derived from its sequence number. The
+ * key is made of two keys of the same length, one for the data and one for the
+ * tweak:
+ *
+ * <pre>
+ *  T<sub>0</sub> = E<sub>K2</sub>(i)
+ *  C<sub>j</sub> = E<sub>K1</sub>(P<sub>j</sub> &circ; T<sub>j</sub>) &circ; T<sub>j</sub>
+ *  T<sub>j+1</sub> = T<sub>j</sub> &middot; &alpha;
+ * </pre>
+ * <p>
+ * where <code>i</code> is the sequence number of the data unit, encoded as 16
+ * little-endian bytes, and <code>&alpha;</code> the primitive element of
+ * GF(2<sup>128</sup>). A data unit whose length is not a multiple of the block
+ * size ends with ciphertext stealing, through
+ * {@link #updateFinal(byte[], int, int, byte[], int)}.
+ * <p>
+ * The initialisation vector is the tweak value <code>i</code> of the first data
+ * unit; {@link #setDataUnit(long)} moves to another data unit without keying the
+ * cipher again.
+ * <p>
+ * References:
+ * <ol>
+ * <li>IEEE Std 1619-2007, <i>IEEE Standard for Cryptographic Protection of Data
+ * on Block-Oriented Storage Devices</i>.</li>
+ * <li><a href=
+ * "http://csrc.nist.gov/publications/nistpubs/800-38E/nist-sp-800-38E.pdf">
+ * Recommendation for Block Cipher Modes of Operation: The XTS-AES Mode for
+ * Confidentiality on Storage Devices</a>, NIST SP 800-38E.</li>
+ * </ol>
+ */
+public class XTS extends BaseMode implements Cloneable {
+	private static final int BLOCK_SIZE = 16;
+
+	/**
+	 * Test vectors with AES: the key, the data unit, and the plaintext made of the
+	 * bytes 0, 1, 2... or of zeroes; the first two are the vectors 1 and 15 of
+	 * IEEE 1619.
+	 */
+	private static final String[] TV_KEY = {
+			"0000000000000000000000000000000000000000000000000000000000000000",
+			"FFFEFDFCFBFAF9F8F7F6F5F4F3F2F1F0BFBEBDBCBBBAB9B8B7B6B5B4B3B2B1B0",
+			"000102030405060708090A0B0C0D0E0F101112131415161718191A1B1C1D1E1F"
+					+ "202122232425262728292A2B2C2D2E2F303132333435363738393A3B3C3D3E3F" };
+
+	private static final long[] TV_UNIT = { 0L, 0x123456789AL, 0x0102L };
+
+	private static final int[] TV_LENGTH = { -32, 17, 40 };
+
+	private static final String[] TV_OUT = { "917CF69EBD68B2EC9B9FE9A3EADDA692CD43D2F59598ED858C02C2652FBF922E",
+			"6C1625DB4671522D3D7599601DE7CA09ED",
+			"66070844F2E55CAB95A95303527BD9003E5080DD51E7A5898348DDC497A7CD6113F9FBDBDE479D4F" };
+
+	/** Multiplies a tweak by the primitive element of GF(2^128), in place. */
+	private static void multiply(byte[] t) {
+		int carry = 0;
+		for (int i = 0; i < BLOCK_SIZE; i++) {
+			int b = t[i] & 0xFF;
+			t[i] = (byte) (b << 1 | carry);
+			carry = b >>> 7;
+		}
+		t[0] ^= (byte) (0x87 & -carry);
+	}
+
+	/** Processes a whole data unit, returning the output. */
+	private static byte[] process(XTS xts, int state, byte[] key, long unit, byte[] in) throws InvalidKeyException {
+		HashMap<Object, Object> map = new HashMap<>();
+		map.put(KEY_MATERIAL, key);
+		map.put(STATE, Integer.valueOf(state));
+		xts.reset();
+		xts.init(map);
+		xts.setDataUnit(unit);
+		byte[] result = new byte[in.length];
+		xts.updateFinal(in, 0, in.length, result, 0);
+		return result;
+	}
+
+	/** The tweak of the next block. */
+	private byte[] tweak;
+
+	/** The cipher of the tweaks, keyed with the second half of the key. */
+	private final IBlockCipher tweakCipher;
+
+	/** An intermediate buffer. */
+	private byte[] scratch;
+
+	/** Our constructor for cloning. */
+	private XTS(XTS that) {
+		this((IBlockCipher) that.cipher.clone(), that.cipherBlockSize);
+	}
+
+	/**
+	 * Package-private constructor for the factory class.
+	 *
+	 * @param underlyingCipher
+	 *            The cipher implementation.
+	 * @param cipherBlockSize
+	 *            The cipher's block size, which must be 16 bytes.
+	 * @throws IllegalArgumentException
+	 *             if the block size is not 16 bytes.
+	 */
+	XTS(IBlockCipher underlyingCipher, int cipherBlockSize) {
+		super(Registry.XTS_MODE, underlyingCipher, cipherBlockSize);
+		if (cipherBlockSize != BLOCK_SIZE)
+			throw new IllegalArgumentException("XTS requires a 128-bit block cipher");
+		tweakCipher = (IBlockCipher) underlyingCipher.clone();
+	}
+
+	@Override
+	public Object clone() {
+		return new XTS(this);
+	}
+
+	@Override
+	public void decryptBlock(byte[] in, int i, byte[] out, int o) {
+		xex(false, tweak, in, i, out, o);
+		multiply(tweak);
+	}
+
+	/**
+	 * Returns the default key size: twice that of the underlying cipher.
+	 *
+	 * @return the default value, in bytes, of the XTS key size.
+	 */
+	@Override
+	public int defaultKeySize() {
+		return 2 * cipher.defaultKeySize();
+	}
+
+	@Override
+	public void encryptBlock(byte[] in, int i, byte[] out, int o) {
+		xex(true, tweak, in, i, out, o);
+		multiply(tweak);
+	}
+
+	/**
+	 * Initialises the mode. The key material holds the data key followed by the
+	 * tweak key, of the same length.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if no key is provided, or if its length is odd.
+	 */
+	@Override
+	public void init(Map<Object, Object> attributes) throws InvalidKeyException, IllegalStateException {
+		synchronized (lock) {
+			byte[] key = (byte[]) attributes.get(KEY_MATERIAL);
+			if (key == null)
+				throw new IllegalArgumentException("no key provided");
+			if (key.length % 2 != 0)
+				throw new IllegalArgumentException("XTS key length must be even");
+			int half = key.length / 2;
+			HashMap<Object, Object> map = new HashMap<>(attributes);
+			byte[] k1 = Arrays.copyOfRange(key, 0, half);
+			byte[] k2 = Arrays.copyOfRange(key, half, key.length);
+			try {
+				map.put(KEY_MATERIAL, k1);
+				super.init(map);
+				map.put(KEY_MATERIAL, k2);
+				map.put(CIPHER_BLOCK_SIZE, Integer.valueOf(BLOCK_SIZE));
+				try {
+					tweakCipher.init(map);
+				} catch (InvalidKeyException e) {
+					reset();
+					throw e;
+				}
+				tweakCipher.encryptBlock(iv, 0, tweak, 0);
+			} finally {
+				Arrays.fill(k1, (byte) 0);
+				Arrays.fill(k2, (byte) 0);
+			}
+		}
+	}
+
+	/**
+	 * Returns the supported key sizes: twice those of the underlying cipher.
+	 *
+	 * @return an {@link Iterator} over the supported key sizes.
+	 */
+	@Override
+	public Iterator<Integer> keySizes() {
+		ArrayList<Integer> al = new ArrayList<>();
+		for (Iterator<Integer> it = cipher.keySizes(); it.hasNext();)
+			al.add(Integer.valueOf(2 * it.next().intValue()));
+		return al.iterator();
+	}
+
+	/**
+	 * Checks the IEEE 1619 vectors when the cipher is AES, then, with any cipher,
+	 * that data units of every length from one to three blocks decrypt to the
+	 * plaintext.
+	 */
+	@Override
+	public boolean selfTest() {
+		if (!super.selfTest())
+			return false;
+		try {
+			XTS xts = (XTS) clone();
+			if (cipher.name().startsWith(Registry.RIJNDAEL_CIPHER))
+				for (int i = 0; i < TV_KEY.length; i++) {
+					byte[] pt = new byte[Math.abs(TV_LENGTH[i])];
+					if (TV_LENGTH[i] > 0)
+						for (int j = 0; j < pt.length; j++)
+							pt[j] = (byte) j;
+					byte[] ct = process(xts, ENCRYPTION, Util.toBytesFromString(TV_KEY[i]), TV_UNIT[i], pt);
+					if (!TV_OUT[i].equals(Util.toString(ct)))
+						return false;
+				}
+			for (Iterator<Integer> it = keySizes(); it.hasNext();) {
+				byte[] key = new byte[it.next().intValue()];
+				for (int i = 0; i < key.length; i++)
+					key[i] = (byte) i;
+				for (int length = BLOCK_SIZE; length <= 3 * BLOCK_SIZE; length++) {
+					byte[] pt = new byte[length];
+					for (int i = 0; i < length; i++)
+						pt[i] = (byte) i;
+					byte[] ct = process(xts, ENCRYPTION, key, length, pt);
+					if (!Arrays.equals(pt, process(xts, DECRYPTION, key, length, ct)))
+						return false;
+				}
+			}
+			return true;
+		} catch (Exception x) {
+			x.printStackTrace(System.err);
+			return false;
+		}
+	}
+
+	/**
+	 * Moves to the beginning of a data unit, without keying the cipher again.
+	 *
+	 * @param unit
+	 *            the sequence number of the data unit, taken as unsigned.
+	 * @throws IllegalStateException
+	 *             if the instance is not initialised.
+	 */
+	public void setDataUnit(long unit) {
+		synchronized (lock) {
+			if (state == -1)
+				throw new IllegalStateException();
+			for (int i = 0; i < BLOCK_SIZE; i++)
+				tweak[i] = (byte) (i < 8 ? unit >>> (8 * i) : 0);
+			tweakCipher.encryptBlock(tweak, 0, tweak, 0);
+		}
+	}
+
+	@Override
+	public void setup() {
+		if (modeBlockSize != cipherBlockSize)
+			throw new IllegalArgumentException();
+		if (iv.length != BLOCK_SIZE)
+			throw new IllegalArgumentException("XTS tweak must be 16 bytes");
+		tweak = new byte[BLOCK_SIZE];
+		scratch = new byte[BLOCK_SIZE];
+	}
+
+	@Override
+	public void teardown() {
+		tweakCipher.reset();
+		if (tweak != null)
+			Arrays.fill(tweak, (byte) 0);
+		if (scratch != null)
+			Arrays.fill(scratch, (byte) 0);
+		tweak = null;
+		scratch = null;
+	}
+
+	/**
+	 * Processes several blocks at once, with the same result as as many calls to
+	 * {@link #update(byte[], int, byte[], int)}.
+	 *
+	 * @param in
+	 *            the input.
+	 * @param inOff
+	 *            the offset of the input.
+	 * @param len
+	 *            the number of bytes to process, a multiple of the block size.
+	 * @param out
+	 *            the output, which may be the same region as the input.
+	 * @param outOff
+	 *            the offset of the output.
+	 * @throws IllegalArgumentException
+	 *             if <code>len</code> is not a multiple of the block size.
+	 * @throws IllegalStateException
+	 *             if the instance is not initialised.
+	 */
+	public void update(byte[] in, int inOff, int len, byte[] out, int outOff) {
+		synchronized (lock) {
+			if (state == -1)
+				throw new IllegalStateException();
+			if (len % BLOCK_SIZE != 0)
+				throw new IllegalArgumentException("length is not a multiple of the block size");
+			boolean encrypt = state == ENCRYPTION;
+			for (int i = 0; i < len; i += BLOCK_SIZE) {
+				xex(encrypt, tweak, in, inOff + i, out, outOff + i);
+				multiply(tweak);
+			}
+		}
+	}
+
+	/**
+	 * Processes the rest of the current data unit, stealing ciphertext from the
+	 * last full block when its length is not a multiple of the block size. The
+	 * next data unit is selected with {@link #setDataUnit(long)}.
+	 *
+	 * @param in
+	 *            the input.
+	 * @param inOff
+	 *            the offset of the input.
+	 * @param len
+	 *            the number of bytes to process: zero, or at least one block.
+	 * @param out
+	 *            the output, which may be the same region as the input.
+	 * @param outOff
+	 *            the offset of the output.
+	 * @throws IllegalArgumentException
+	 *             if <code>len</code> is shorter than a block, but not zero.
+	 * @throws IllegalStateException
+	 *             if the instance is not initialised.
+	 */
+	public void updateFinal(byte[] in, int inOff, int len, byte[] out, int outOff) {
+		synchronized (lock) {
+			if (state == -1)
+				throw new IllegalStateException();
+			if (len > 0 && len < BLOCK_SIZE)
+				throw new IllegalArgumentException("XTS data unit shorter than a block");
+			int r = len % BLOCK_SIZE;
+			int full = r == 0 ? len : len - r - BLOCK_SIZE;
+			update(in, inOff, full, out, outOff);
+			if (r == 0)
+				return;
+			int i = inOff + full;
+			int o = outOff + full;
+			byte[] last = new byte[BLOCK_SIZE];
+			byte[] stolen = new byte[BLOCK_SIZE];
+			if (state == ENCRYPTION) {
+				xex(true, tweak, in, i, last, 0);
+				multiply(tweak);
+				System.arraycopy(in, i + BLOCK_SIZE, stolen, 0, r);
+				System.arraycopy(last, r, stolen, r, BLOCK_SIZE - r);
+				System.arraycopy(last, 0, out, o + BLOCK_SIZE, r);
+				xex(true, tweak, stolen, 0, out, o);
+			} else {
+				// the last two blocks are decrypted in the reverse order of the tweaks
+				byte[] previous = tweak.clone();
+				multiply(tweak);
+				xex(false, tweak, in, i, last, 0);
+				System.arraycopy(in, i + BLOCK_SIZE, stolen, 0, r);
+				System.arraycopy(last, r, stolen, r, BLOCK_SIZE - r);
+				System.arraycopy(last, 0, out, o + BLOCK_SIZE, r);
+				xex(false, previous, stolen, 0, out, o);
+			}
+			multiply(tweak);
+		}
+	}
+
+	/** Encrypts or decrypts one block with the designated tweak. */
+	private void xex(boolean encrypt, byte[] t, byte[] in, int i, byte[] out, int o) {
+		for (int k = 0; k < BLOCK_SIZE; k++)
+			scratch[k] = (byte) (in[i + k] ^ t[k]);
+		if (encrypt)
+			cipher.encryptBlock(scratch, 0, scratch, 0);
+		else
+			cipher.decryptBlock(scratch, 0, scratch, 0);
+		for (int k = 0; k < BLOCK_SIZE; k++)
+			out[o + k] = (byte) (scratch[k] ^ t[k]);
+	}
+}
@@ -40,8 +40,11 @@ package com.distrimind.gnu.jgnux.crypto.pad;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.distrimind.gnu.jgnu.security.Registry;
+import com.distrimind.gnu.jgnu.security.metrics.Metrics;
 
 /**
  * A Factory to instantiate padding schemes.
@@ -50,6 +53,9 @@ public class PadFactory implements Registry {
 	/** Collection of padding algorithm names --cached for speed. */
 	private static Set<String> names;
 
+	/** The results of the self-tests already run, by padding name. */
+	private static final ConcurrentMap<String, Boolean> valid = new ConcurrentHashMap<>();
+
 	/**
 	 * Returns an instance of a padding algorithm given its name.
 	 *
@@ -61,6 +67,7 @@ public class PadFactory implements Registry {
 	 *             if the implementation does not pass its self-test.
 	 */
 	public static final IPad getInstance(String pad) {
+		long start = Metrics.start();
 		if (pad == null)
 			return null;
 
@@ -81,8 +88,18 @@ public class PadFactory implements Registry {
 		else if (pad.equals(ISO10126_PAD))
 			result = new ISO10126();
 
-		if (result != null && !result.selfTest())
-			throw new InternalError(result.name());
+		if (result != null) {
+			Boolean passed = valid.get(result.name());
+			if (passed == null) {
+				long tested = Metrics.start();
+				passed = Boolean.valueOf(result.selfTest());
+				Metrics.selfTest(Metrics.PAD, result.name(), tested, passed.booleanValue());
+				valid.put(result.name(), passed);
+			}
+			if (!passed.booleanValue())
+				throw new InternalError(result.name());
+		}
+		Metrics.lookup(Metrics.PAD, pad, start);
 
 		return result;
 	}
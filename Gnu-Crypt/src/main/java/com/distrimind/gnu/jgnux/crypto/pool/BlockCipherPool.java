@@ -0,0 +1,100 @@
+/* BlockCipherPool.java -- pool of block cipher instances
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.pool;
+
+import java.util.HashMap;
+
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+
+/**
+ * A {@link PrimitivePool} of block cipher instances. The session key of an
+ * instance handed back is wiped by {@link IBlockCipher#reset()}.
+ */
+public class BlockCipherPool extends PrimitivePool<IBlockCipher> {
+	/**
+	 * Creates a pool of instances of a block cipher.
+	 *
+	 * @param prototype
+	 *            an uninitialised, self-tested instance of the cipher.
+	 * @param capacity
+	 *            the maximum number of shared idle instances.
+	 * @param threadLocal
+	 *            whether each thread keeps an idle instance of its own.
+	 */
+	public BlockCipherPool(IBlockCipher prototype, int capacity, boolean threadLocal) {
+		super(prototype.name(), prototype, capacity, threadLocal);
+	}
+
+	/**
+	 * Returns an instance of the cipher initialised with the designated key and
+	 * the default block size of the cipher.
+	 *
+	 * @param key
+	 *            the key material.
+	 * @return an initialised instance of the cipher.
+	 * @throws InvalidKeyException
+	 *             if the key is rejected by the cipher; the instance is then
+	 *             handed back to this pool.
+	 */
+	public IBlockCipher checkout(byte[] key) throws InvalidKeyException {
+		IBlockCipher result = checkout();
+		HashMap<Object, Object> attributes = new HashMap<>();
+		attributes.put(IBlockCipher.KEY_MATERIAL, key);
+		boolean initialised = false;
+		try {
+			result.init(attributes);
+			initialised = true;
+		} finally {
+			if (!initialised)
+				checkin(result);
+		}
+		return result;
+	}
+
+	@Override
+	protected boolean clear(IBlockCipher instance) {
+		instance.reset();
+		return true;
+	}
+
+	@Override
+	protected IBlockCipher copy() {
+		return (IBlockCipher) prototype.clone();
+	}
+}
@@ -0,0 +1,113 @@
+/* MacPool.java -- pool of MAC instances
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.pool;
+
+import java.util.HashMap;
+
+import com.distrimind.gnu.jgnux.crypto.mac.HMac;
+import com.distrimind.gnu.jgnux.crypto.mac.IMac;
+import com.distrimind.gnu.jgnux.crypto.mac.MacFactory;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
+
+/**
+ * A {@link PrimitivePool} of MAC instances.
+ * <p>
+ * Only {@link HMac} instances are reused: their key material is wiped by
+ * {@link HMac#clearKey()}. The other MACs keep their key in state they cannot
+ * wipe, such as an underlying cipher or keystream, so instances handed back
+ * are reset and discarded.
+ */
+public class MacPool extends PrimitivePool<IMac> {
+	/**
+	 * Creates a pool of instances of a MAC.
+	 *
+	 * @param prototype
+	 *            an uninitialised, self-tested instance of the MAC.
+	 * @param capacity
+	 *            the maximum number of shared idle instances.
+	 * @param threadLocal
+	 *            whether each thread keeps an idle instance of its own.
+	 */
+	public MacPool(IMac prototype, int capacity, boolean threadLocal) {
+		super(prototype.name(), prototype, capacity, threadLocal);
+	}
+
+	/**
+	 * Returns an instance of the MAC initialised with the designated key.
+	 *
+	 * @param key
+	 *            the key material.
+	 * @return an initialised instance of the MAC.
+	 * @throws InvalidKeyException
+	 *             if the key is rejected by the MAC; the instance is then handed
+	 *             back to this pool.
+	 */
+	public IMac checkout(byte[] key) throws InvalidKeyException {
+		IMac result = checkout();
+		HashMap<Object, Object> attributes = new HashMap<>();
+		attributes.put(IMac.MAC_KEY_MATERIAL, key);
+		boolean initialised = false;
+		try {
+			result.init(attributes);
+			initialised = true;
+		} finally {
+			if (!initialised)
+				checkin(result);
+		}
+		return result;
+	}
+
+	@Override
+	protected boolean clear(IMac instance) {
+		if (instance instanceof HMac) {
+			((HMac) instance).clearKey();
+			return true;
+		}
+		instance.reset();
+		return false;
+	}
+
+	@Override
+	protected IMac copy() {
+		try {
+			return (IMac) prototype.clone();
+		} catch (CloneNotSupportedException x) {
+			return MacFactory.getInstance(getName());
+		}
+	}
+}
@@ -0,0 +1,225 @@
+/* Pools.java -- registry of the primitive pools
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.pool;
+
+import java.security.AccessController;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.distrimind.gnu.jgnu.security.action.GetPropertyAction;
+import com.distrimind.gnu.jgnu.security.hash.HashFactory;
+import com.distrimind.gnu.jgnu.security.hash.IMessageDigest;
+import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
+import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
+import com.distrimind.gnu.jgnux.crypto.mac.IMac;
+import com.distrimind.gnu.jgnux.crypto.mac.MacFactory;
+
+/**
+ * The registry of the shared {@link PrimitivePool}s, one per algorithm name.
+ * <p>
+ * Pools are created on first use from an instance returned by the
+ * corresponding <i>Factory</i>, with the capacity given by the
+ * {@link #CAPACITY_PROPERTY} system property, {@value #DEFAULT_CAPACITY} by
+ * default, and per-thread caches unless the {@link #THREAD_LOCAL_PROPERTY}
+ * system property is set to <code>false</code>.
+ * <p>
+ * The pools are meant for direct use: whoever checks an instance out must
+ * check it back in, through the <code>checkin</code> method of the pool it
+ * came from, once done with it. The JCE adapters do not take their primitives
+ * from the pools, since a JCE engine is never told that it is no longer used.
+ */
+public final class Pools {
+	/** System property giving the capacity of the pools. */
+	public static final String CAPACITY_PROPERTY = "com.distrimind.gnu.crypto.pool.capacity";
+
+	/** The default capacity of the pools. */
+	public static final int DEFAULT_CAPACITY = 16;
+
+	/** System property enabling or disabling the per-thread caches. */
+	public static final String THREAD_LOCAL_PROPERTY = "com.distrimind.gnu.crypto.pool.threadlocal";
+
+	private static final ConcurrentMap<String, BlockCipherPool> ciphers = new ConcurrentHashMap<>();
+
+	private static final ConcurrentMap<String, HashPool> hashes = new ConcurrentHashMap<>();
+
+	private static final ConcurrentMap<String, MacPool> macs = new ConcurrentHashMap<>();
+
+	private static final int capacity;
+
+	private static final boolean threadLocal;
+
+	static {
+		String s = AccessController.doPrivileged(new GetPropertyAction(CAPACITY_PROPERTY));
+		int c = DEFAULT_CAPACITY;
+		if (s != null)
+			try {
+				c = Math.max(0, Integer.parseInt(s.trim()));
+			} catch (NumberFormatException ignored) {
+			}
+		capacity = c;
+		s = AccessController.doPrivileged(new GetPropertyAction(THREAD_LOCAL_PROPERTY));
+		threadLocal = s == null || !"false".equalsIgnoreCase(s.trim());
+	}
+
+	/**
+	 * Checks out an uninitialised block cipher instance from the shared pool of
+	 * the designated cipher.
+	 *
+	 * @param name
+	 *            the case-insensitive name of the cipher.
+	 * @return an instance of the cipher, or <code>null</code> if the cipher is
+	 *         not supported.
+	 */
+	public static IBlockCipher checkoutBlockCipher(String name) {
+		BlockCipherPool pool = getBlockCipherPool(name);
+		return pool == null ? null : pool.checkout();
+	}
+
+	/**
+	 * Checks out a message digest instance from the shared pool of the
+	 * designated algorithm.
+	 *
+	 * @param name
+	 *            the case-insensitive name of the message digest.
+	 * @return an instance of the message digest, or <code>null</code> if the
+	 *         algorithm is not supported.
+	 */
+	public static IMessageDigest checkoutHash(String name) {
+		HashPool pool = getHashPool(name);
+		return pool == null ? null : pool.checkout();
+	}
+
+	/**
+	 * Checks out an uninitialised MAC instance from the shared pool of the
+	 * designated algorithm.
+	 *
+	 * @param name
+	 *            the case-insensitive name of the MAC.
+	 * @return an instance of the MAC, or <code>null</code> if the algorithm is
+	 *         not supported.
+	 */
+	public static IMac checkoutMac(String name) {
+		MacPool pool = getMacPool(name);
+		return pool == null ? null : pool.checkout();
+	}
+
+	/**
+	 * Returns the shared pool of a block cipher, creating it if needed.
+	 *
+	 * @param name
+	 *            the case-insensitive name of the cipher.
+	 * @return the pool of the cipher, or <code>null</code> if the cipher is not
+	 *         supported.
+	 * @exception InternalError
+	 *                if the implementation does not pass its self-test.
+	 */
+	public static BlockCipherPool getBlockCipherPool(String name) {
+		if (name == null)
+			return null;
+		String key = name.trim().toLowerCase();
+		BlockCipherPool result = ciphers.get(key);
+		if (result == null) {
+			IBlockCipher prototype = CipherFactory.getInstance(name);
+			if (prototype == null)
+				return null;
+			BlockCipherPool pool = new BlockCipherPool(prototype, capacity, threadLocal);
+			result = ciphers.putIfAbsent(key, pool);
+			if (result == null)
+				result = pool;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the shared pool of a message digest, creating it if needed.
+	 *
+	 * @param name
+	 *            the case-insensitive name of the message digest.
+	 * @return the pool of the message digest, or <code>null</code> if the
+	 *         algorithm is not supported.
+	 * @exception InternalError
+	 *                if the implementation does not pass its self-test.
+	 */
+	public static HashPool getHashPool(String name) {
+		if (name == null)
+			return null;
+		String key = name.trim().toLowerCase();
+		HashPool result = hashes.get(key);
+		if (result == null) {
+			IMessageDigest prototype = HashFactory.getInstance(name);
+			if (prototype == null)
+				return null;
+			HashPool pool = new HashPool(prototype, capacity, threadLocal);
+			result = hashes.putIfAbsent(key, pool);
+			if (result == null)
+				result = pool;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the shared pool of a MAC, creating it if needed.
+	 *
+	 * @param name
+	 *            the case-insensitive name of the MAC.
+	 * @return the pool of the MAC, or <code>null</code> if the algorithm is not
+	 *         supported.
+	 * @exception InternalError
+	 *                if the implementation does not pass its self-test.
+	 */
+	public static MacPool getMacPool(String name) {
+		if (name == null)
+			return null;
+		String key = name.trim().toLowerCase();
+		MacPool result = macs.get(key);
+		if (result == null) {
+			IMac prototype = MacFactory.getInstance(name);
+			if (prototype == null)
+				return null;
+			MacPool pool = new MacPool(prototype, capacity, threadLocal);
+			result = macs.putIfAbsent(key, pool);
+			if (result == null)
+				result = pool;
+		}
+		return result;
+	}
+
+	/** Trivial constructor to enforce <i>Singleton</i> pattern. */
+	private Pools() {
+	}
+}
@@ -0,0 +1,180 @@
+/* PrimitivePool.java -- bounded pool of primitive instances
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.pool;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of ready instances of one primitive algorithm.
+ * <p>
+ * Instances are obtained with {@link #checkout()} and handed back with
+ * {@link #checkin(Object)}, which wipes their key material before they become
+ * available again. At most {@link #getCapacity()} idle instances are shared
+ * between threads; when enabled, each thread also keeps one idle instance of
+ * its own, which it reuses without any synchronisation. Instances beyond the
+ * capacity are left to the garbage collector.
+ * <p>
+ * New instances are copies of a prototype which passed its self-test when the
+ * pool was created, so that checking out an instance never runs the
+ * self-test of the algorithm again.
+ *
+ * @param <T>
+ *            the type of the pooled primitive.
+ */
+public abstract class PrimitivePool<T> {
+	private final int capacity;
+
+	private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger idleCount = new AtomicInteger();
+
+	private final ThreadLocal<T> local;
+
+	private final String name;
+
+	/** The self-tested instance new instances are copied from. */
+	protected final T prototype;
+
+	/**
+	 * Trivial constructor for use by concrete subclasses.
+	 *
+	 * @param name
+	 *            the name of the pooled algorithm.
+	 * @param prototype
+	 *            an uninitialised, self-tested instance of the algorithm.
+	 * @param capacity
+	 *            the maximum number of shared idle instances.
+	 * @param threadLocal
+	 *            whether each thread keeps an idle instance of its own.
+	 * @throws IllegalArgumentException
+	 *             if <code>capacity</code> is negative.
+	 */
+	protected PrimitivePool(String name, T prototype, int capacity, boolean threadLocal) {
+		super();
+
+		if (capacity < 0)
+			throw new IllegalArgumentException("capacity");
+		this.name = name;
+		this.prototype = prototype;
+		this.capacity = capacity;
+		this.local = threadLocal ? new ThreadLocal<T>() : null;
+	}
+
+	/**
+	 * Hands back an instance obtained from {@link #checkout()}. Its key material
+	 * is wiped before it is made available again; the caller must not use it
+	 * afterwards.
+	 *
+	 * @param instance
+	 *            the instance to hand back; <code>null</code> is ignored.
+	 */
+	public void checkin(T instance) {
+		if (instance == null || !clear(instance))
+			return;
+		if (local != null && local.get() == null) {
+			local.set(instance);
+			return;
+		}
+		if (idleCount.incrementAndGet() <= capacity)
+			idle.offer(instance);
+		else
+			idleCount.decrementAndGet();
+	}
+
+	/**
+	 * Returns an uninitialised instance of the algorithm, which should be handed
+	 * back with {@link #checkin(Object)} once no longer needed.
+	 *
+	 * @return an instance of the pooled algorithm.
+	 */
+	public T checkout() {
+		T result;
+		if (local != null) {
+			result = local.get();
+			if (result != null) {
+				local.set(null);
+				return result;
+			}
+		}
+		result = idle.poll();
+		if (result != null) {
+			idleCount.decrementAndGet();
+			return result;
+		}
+		return copy();
+	}
+
+	/**
+	 * Wipes the key material and any other state of an instance handed back to
+	 * this pool.
+	 *
+	 * @param instance
+	 *            the instance to clear.
+	 * @return <code>true</code> if the instance can be reused, or
+	 *         <code>false</code> if its key material could not be wiped and it
+	 *         must be discarded.
+	 */
+	protected abstract boolean clear(T instance);
+
+	/**
+	 * Returns a new uninitialised instance, usually a clone of
+	 * {@link #prototype}.
+	 *
+	 * @return a new instance of the pooled algorithm.
+	 */
+	protected abstract T copy();
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the number of idle instances shared between threads.
+	 *
+	 * @return the number of shared idle instances.
+	 */
+	public int getIdleCount() {
+		return idleCount.get();
+	}
+
+	public String getName() {
+		return name;
+	}
+}
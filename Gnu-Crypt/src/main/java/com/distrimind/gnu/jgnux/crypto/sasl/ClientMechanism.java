@@ -96,6 +96,19 @@ public abstract class ClientMechanism implements SaslClient {
 		return result;
 	}
 
+	/**
+	 * Unwraps a designated region into a designated output array. The default
+	 * implementation delegates to {@link #engineUnwrap(byte[], int, int)}.
+	 *
+	 * @return the count of bytes written into <code>out</code>.
+	 */
+	protected int engineUnwrap(final byte[] incoming, final int offset, final int len, final byte[] out,
+			final int outOffset) throws SaslException {
+		final byte[] result = engineUnwrap(incoming, offset, len);
+		System.arraycopy(result, 0, out, outOffset, result.length);
+		return result.length;
+	}
+
 	@SuppressWarnings("unused")
 	protected byte[] engineWrap(final byte[] outgoing, final int offset, final int len) throws SaslException {
 		final byte[] result = new byte[len];
@@ -103,6 +116,28 @@ public abstract class ClientMechanism implements SaslClient {
 		return result;
 	}
 
+	/**
+	 * Wraps a designated region into a designated output array. The default
+	 * implementation delegates to {@link #engineWrap(byte[], int, int)}.
+	 *
+	 * @return the count of bytes written into <code>out</code>.
+	 */
+	protected int engineWrap(final byte[] outgoing, final int offset, final int len, final byte[] out,
+			final int outOffset) throws SaslException {
+		final byte[] result = engineWrap(outgoing, offset, len);
+		System.arraycopy(result, 0, out, outOffset, result.length);
+		return result.length;
+	}
+
+	/**
+	 * Returns the maximum size of the wrapping of a designated count of bytes.
+	 * Mechanisms whose security layer expands the data must override this
+	 * method.
+	 */
+	protected int engineWrappedSize(final int len) {
+		return len;
+	}
+
 	@Override
 	public abstract byte[] evaluateChallenge(byte[] challenge) throws SaslException;
 
@@ -271,10 +306,78 @@ public abstract class ClientMechanism implements SaslClient {
 		return this.engineUnwrap(incoming, offset, len);
 	}
 
+	/**
+	 * Unwraps a SASL buffer into a designated array, which needs room for
+	 * <code>len</code> bytes; <code>out</code> may be <code>incoming</code>, at
+	 * the same offset.
+	 *
+	 * @param incoming
+	 *            the array holding the SASL buffer.
+	 * @param offset
+	 *            where the SASL buffer starts in <code>incoming</code>.
+	 * @param len
+	 *            the length of the SASL buffer.
+	 * @param out
+	 *            the output buffer.
+	 * @param outOffset
+	 *            where to start writing in <code>out</code>.
+	 * @return the count of bytes written into <code>out</code>.
+	 * @throws SaslException
+	 *             if the SASL buffer cannot be unwrapped.
+	 * @see #unwrap(byte[], int, int)
+	 */
+	public int unwrap(final byte[] incoming, final int offset, final int len, final byte[] out, final int outOffset)
+			throws SaslException {
+		if (!isComplete())
+			throw new IllegalMechanismStateException();
+		return this.engineUnwrap(incoming, offset, len, out, outOffset);
+	}
+
 	@Override
 	public byte[] wrap(final byte[] outgoing, final int offset, final int len) throws SaslException {
 		if (!isComplete())
 			throw new IllegalMechanismStateException();
 		return this.engineWrap(outgoing, offset, len);
 	}
+
+	/**
+	 * Wraps data into a designated array, which needs room for
+	 * {@link #wrappedSize(int)} bytes; <code>out</code> may be
+	 * <code>outgoing</code>, at the same offset.
+	 *
+	 * @param outgoing
+	 *            the array holding the data to wrap.
+	 * @param offset
+	 *            where the data starts in <code>outgoing</code>.
+	 * @param len
+	 *            the length of the data.
+	 * @param out
+	 *            the output buffer.
+	 * @param outOffset
+	 *            where to start writing in <code>out</code>.
+	 * @return the count of bytes written into <code>out</code>.
+	 * @throws SaslException
+	 *             if the data cannot be wrapped.
+	 * @see #wrap(byte[], int, int)
+	 */
+	public int wrap(final byte[] outgoing, final int offset, final int len, final byte[] out, final int outOffset)
+			throws SaslException {
+		if (!isComplete())
+			throw new IllegalMechanismStateException();
+		return this.engineWrap(outgoing, offset, len, out, outOffset);
+	}
+
+	/**
+	 * Returns the maximum size of the wrapping of a designated count of bytes.
+	 *
+	 * @param len
+	 *            the count of bytes to wrap.
+	 * @return the maximum count of bytes written by
+	 *         {@link #wrap(byte[], int, int, byte[], int)}.
+	 */
+	public int wrappedSize(final int len) throws SaslException {
+		if (!isComplete())
+			throw new IllegalMechanismStateException();
+		return engineWrappedSize(len);
+	}
 }
@@ -58,7 +58,21 @@ public class SaslInputStream extends InputStream {
 
 	private InputStream source;
 
-	private byte[] internalBuf;
+	/**
+	 * Holds the SASL buffer last read, unwrapped in place; grown to fit the
+	 * largest one.
+	 */
+	private byte[] internalBuf = new byte[0];
+
+	/** The offset into {@link #internalBuf} where unread data starts. */
+	private int position;
+
+	/** The offset into {@link #internalBuf} where unread data ends. */
+	private int limit;
+
+	private final byte[] header = new byte[4];
+
+	private final byte[] single = new byte[1];
 
 	public SaslInputStream(SaslClient client, InputStream source) {
 		super();
@@ -82,7 +96,7 @@ public class SaslInputStream extends InputStream {
 
 	@Override
 	public int available() {
-		return (internalBuf == null) ? 0 : internalBuf.length;
+		return limit - position;
 	}
 
 	@Override
@@ -114,22 +128,10 @@ public class SaslInputStream extends InputStream {
 	 */
 	@Override
 	public int read() throws IOException {
-		int result = -1;
-		if (internalBuf != null && internalBuf.length > 0) {
-			result = internalBuf[0] & 0xFF;
-			if (internalBuf.length == 1)
-				internalBuf = new byte[0];
-			else {
-				byte[] tmp = new byte[internalBuf.length - 1];
-				System.arraycopy(internalBuf, 1, tmp, 0, tmp.length);
-				internalBuf = tmp;
-			}
-		} else {
-			byte[] buf = new byte[1];
-			int check = read(buf);
-			result = (check > 0) ? (buf[0] & 0xFF) : -1;
-		}
-		return result;
+		if (position < limit)
+			return internalBuf[position++] & 0xFF;
+		int check = read(single, 0, 1);
+		return (check > 0) ? (single[0] & 0xFF) : -1;
 	}
 
 	/**
@@ -198,104 +200,82 @@ public class SaslInputStream extends InputStream {
 			return 0;
 		}
 		int result = 0;
-		if (internalBuf == null || internalBuf.length < 1)
-			try {
-				internalBuf = readSaslBuffer();
-				if (internalBuf == null) {
+		try {
+			while (position == limit)
+				if (!readSaslBuffer())
 					return -1;
-				}
-			} catch (InterruptedIOException x) {
-				return -1;
-			}
-		if (len <= internalBuf.length) {
-			result = len;
-			System.arraycopy(internalBuf, 0, b, off, len);
-			if (len == internalBuf.length)
-				internalBuf = null;
-			else {
-				byte[] tmp = new byte[internalBuf.length - len];
-				System.arraycopy(internalBuf, len, tmp, 0, tmp.length);
-				internalBuf = tmp;
-			}
-		} else {
-			// first copy the available bytes to b
-			result = internalBuf.length;
-			System.arraycopy(internalBuf, 0, b, off, result);
-			internalBuf = null;
-			off += result;
-			len -= result;
-			int remaining; // count of bytes remaining in buffer after an
-			// iteration
-			int delta; // count of bytes moved to b after an iteration
-			int datalen;
-			byte[] data;
-			while (len > 0)
-				// we need to read SASL buffers, as long as there are at least
-				// 4 bytes available at the source
-				if (source.available() > 3) {
-					// process a buffer
-					data = readSaslBuffer();
-					if (data == null) {
-						break;
-					}
-					datalen = data.length;
-					// copy [part of] the result to b
-					remaining = (datalen <= len) ? 0 : datalen - len;
-					delta = datalen - remaining;
-					System.arraycopy(data, 0, b, off, delta);
-					if (remaining > 0) {
-						internalBuf = new byte[remaining];
-						System.arraycopy(data, delta, internalBuf, 0, remaining);
-					}
-					// update off, result and len
-					off += delta;
-					result += delta;
-					len -= delta;
-				} else { // nothing much we can do except return what we have
-					break;
-				}
+		} catch (InterruptedIOException x) {
+			return -1;
+		}
+		int delta; // count of bytes moved to b after an iteration
+		while (true) {
+			delta = Math.min(len, limit - position);
+			System.arraycopy(internalBuf, position, b, off, delta);
+			position += delta;
+			off += delta;
+			result += delta;
+			len -= delta;
+			// we need to read SASL buffers, as long as there are at least
+			// 4 bytes available at the source
+			if (len == 0 || source.available() <= 3 || !readSaslBuffer())
+				break; // nothing much we can do except return what we have
+		}
+		return result;
+	}
+
+	/**
+	 * Reads from the underlying source until a designated count of bytes, or its
+	 * end, is reached.
+	 *
+	 * @return the count of bytes read.
+	 */
+	private int readFully(byte[] b, int len) throws IOException {
+		int result = 0;
+		while (result < len) {
+			int count = source.read(b, result, len - result);
+			if (count < 0)
+				break;
+			result += count;
 		}
 		return result;
 	}
 
 	/**
 	 * Reads a SASL buffer from the underlying source if at least 4 bytes are
-	 * available.
+	 * available, and unwraps it into {@link #internalBuf}.
 	 *
-	 * @return the byte[] of decoded buffer contents, or null if the underlying
-	 *         source was exhausted.
+	 * @return <code>false</code> if the underlying source was exhausted.
 	 * @throws IOException
 	 *             if an I/O exception occurs during the operation.
 	 */
-	private byte[] readSaslBuffer() throws IOException {
-		int realLength; // check if we read as many bytes as we're supposed to
-		byte[] result = new byte[4];
-		try {
-			realLength = source.read(result);
-			if (realLength == -1) {
-				return null;
-			}
-		} catch (IOException x) {
-			throw x;
-		}
+	private boolean readSaslBuffer() throws IOException {
+		int realLength = readFully(header, 4); // check if we read as many bytes as we're supposed to
+		if (realLength == 0)
+			return false;
 		if (realLength != 4)
 			throw new IOException("Was expecting 4 but found " + realLength);
-		int bufferLength = result[0] << 24 | (result[1] & 0xFF) << 16 | (result[2] & 0xFF) << 8 | (result[3] & 0xFF);
+		int bufferLength = header[0] << 24 | (header[1] & 0xFF) << 16 | (header[2] & 0xFF) << 8 | (header[3] & 0xFF);
 		if (bufferLength > maxRawSendSize || bufferLength < 0)
 			throw new SaslEncodingException("SASL buffer (security layer) too long");
 
-		result = new byte[bufferLength];
-		try {
-			realLength = source.read(result);
-		} catch (IOException x) {
-			throw x;
-		}
+		if (internalBuf.length < bufferLength)
+			internalBuf = new byte[bufferLength];
+		position = limit = 0;
+		realLength = readFully(internalBuf, bufferLength);
 		if (realLength != bufferLength)
 			throw new IOException("Was expecting " + bufferLength + " but found " + realLength);
-		if (client != null)
-			result = client.unwrap(result, 0, realLength);
-		else
-			result = server.unwrap(result, 0, realLength);
-		return result;
+		if (client instanceof ClientMechanism)
+			limit = ((ClientMechanism) client).unwrap(internalBuf, 0, bufferLength, internalBuf, 0);
+		else if (server instanceof ServerMechanism)
+			limit = ((ServerMechanism) server).unwrap(internalBuf, 0, bufferLength, internalBuf, 0);
+		else {
+			byte[] data = (client != null) ? client.unwrap(internalBuf, 0, bufferLength)
+					: server.unwrap(internalBuf, 0, bufferLength);
+			if (internalBuf.length < data.length)
+				internalBuf = new byte[data.length];
+			System.arraycopy(data, 0, internalBuf, 0, data.length);
+			limit = data.length;
+		}
+		return true;
 	}
 }
@@ -58,6 +58,14 @@ public class SaslOutputStream extends OutputStream {
 
 	private OutputStream dest;
 
+	/**
+	 * Holds the SASL buffer being written, length included; grown to fit the
+	 * largest one.
+	 */
+	private byte[] record = new byte[0];
+
+	private final byte[] single = new byte[1];
+
 	public SaslOutputStream(SaslClient client, OutputStream dest) {
 		super();
 
@@ -84,11 +92,40 @@ public class SaslOutputStream extends OutputStream {
 		dest.close();
 	}
 
+	private void ensureCapacity(int length) {
+		if (record.length < length + 4)
+			record = new byte[length + 4];
+	}
+
 	@Override
 	public void flush() throws IOException {
 		dest.flush();
 	}
 
+	/**
+	 * Wraps data into {@link #record}, after the 4 bytes reserved for its length.
+	 * Mechanisms of this library wrap straight into it; others through an
+	 * intermediate array.
+	 *
+	 * @return the length of the wrapped data.
+	 */
+	private int wrap(byte[] b, int off, int len) throws IOException {
+		if (client instanceof ClientMechanism) {
+			ClientMechanism mechanism = (ClientMechanism) client;
+			ensureCapacity(mechanism.wrappedSize(len));
+			return mechanism.wrap(b, off, len, record, 4);
+		}
+		if (server instanceof ServerMechanism) {
+			ServerMechanism mechanism = (ServerMechanism) server;
+			ensureCapacity(mechanism.wrappedSize(len));
+			return mechanism.wrap(b, off, len, record, 4);
+		}
+		byte[] output = (client != null) ? client.wrap(b, off, len) : server.wrap(b, off, len);
+		ensureCapacity(output.length);
+		System.arraycopy(output, 0, record, 4, output.length);
+		return output.length;
+	}
+
 	/**
 	 * When writing octets to the resulting stream, if a security layer has been
 	 * negotiated, each piece of data written (by a single invocation of
@@ -103,22 +140,14 @@ public class SaslOutputStream extends OutputStream {
 			return;
 		}
 		int chunckSize, length;// , chunck = 1;
-		byte[] output = null, result;
 		while (len > 0) {
 			chunckSize = (len > maxRawSendSize ? maxRawSendSize : len);
-			if (client != null)
-				output = client.wrap(b, off, chunckSize);
-			else
-				output = server.wrap(b, off, chunckSize);
-
-			length = output.length;
-			result = new byte[length + 4];
-			result[0] = (byte) (length >>> 24);
-			result[1] = (byte) (length >>> 16);
-			result[2] = (byte) (length >>> 8);
-			result[3] = (byte) length;
-			System.arraycopy(output, 0, result, 4, length);
-			dest.write(result);
+			length = wrap(b, off, chunckSize);
+			record[0] = (byte) (length >>> 24);
+			record[1] = (byte) (length >>> 16);
+			record[2] = (byte) (length >>> 8);
+			record[3] = (byte) length;
+			dest.write(record, 0, length + 4);
 			off += chunckSize;
 			len -= chunckSize;
 			// chunck++;
@@ -134,6 +163,7 @@ public class SaslOutputStream extends OutputStream {
 	 */
 	@Override
 	public void write(int b) throws IOException {
-		write(new byte[] { (byte) b });
+		single[0] = (byte) b;
+		write(single, 0, 1);
 	}
 }
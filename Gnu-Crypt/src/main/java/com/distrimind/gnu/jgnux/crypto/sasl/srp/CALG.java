@@ -42,19 +42,16 @@ import java.util.HashMap;
 import javax.security.sasl.SaslException;
 
 import com.distrimind.gnu.jgnu.security.Registry;
-import com.distrimind.gnu.jgnux.crypto.assembly.Assembly;
-import com.distrimind.gnu.jgnux.crypto.assembly.Cascade;
 import com.distrimind.gnu.jgnux.crypto.assembly.Direction;
-import com.distrimind.gnu.jgnux.crypto.assembly.Stage;
-import com.distrimind.gnu.jgnux.crypto.assembly.Transformer;
-import com.distrimind.gnu.jgnux.crypto.assembly.TransformerException;
 import com.distrimind.gnu.jgnux.crypto.cipher.CipherFactory;
 import com.distrimind.gnu.jgnux.crypto.cipher.IBlockCipher;
 import com.distrimind.gnu.jgnux.crypto.mode.IMode;
 import com.distrimind.gnu.jgnux.crypto.mode.ModeFactory;
 import com.distrimind.gnu.jgnux.crypto.pad.IPad;
 import com.distrimind.gnu.jgnux.crypto.pad.PadFactory;
+import com.distrimind.gnu.jgnux.crypto.pad.WrongPaddingException;
 import com.distrimind.gnu.jgnux.crypto.sasl.ConfidentialityException;
+import com.distrimind.gnu.vm.jgnu.security.InvalidKeyException;
 
 /**
  * A Factory class that returns CALG (Confidentiality Algorithm) instances that
@@ -98,6 +95,10 @@ import com.distrimind.gnu.jgnux.crypto.sasl.ConfidentialityException;
  * padding sequence is a suffix of another. This padding method is well-defined
  * if and only if <code>k &lt; 256</code> octets, which is the case with
  * symmetric key block ciphers today, and in the forseeable future.
+ * <p>
+ * The OFB key stream runs across buffers: each buffer is padded and processed
+ * on its own, but the mode is initialised only once per direction, so that no
+ * key stream is ever re-used.
  */
 public final class CALG {
 	/**
@@ -111,33 +112,29 @@ public final class CALG {
 		final IBlockCipher cipher = CipherFactory.getInstance(algorithm);
 		final int blockSize = cipher.defaultBlockSize();
 		final int keySize = cipher.defaultKeySize();
-		final Cascade ofbCipher = new Cascade();
-		IMode ofbMode = ModeFactory.getInstance(Registry.OFB_MODE, cipher, blockSize);
-		Stage modeStage = Stage.getInstance(ofbMode, Direction.FORWARD);
-		final Object modeNdx = ofbCipher.append(modeStage);
+		final IMode ofbMode = ModeFactory.getInstance(Registry.OFB_MODE, cipher, blockSize);
 		final IPad pkcs7 = PadFactory.getInstance(Registry.PKCS7_PAD);
-		final Assembly asm = new Assembly();
-		asm.addPreTransformer(Transformer.getCascadeTransformer(ofbCipher));
-		asm.addPreTransformer(Transformer.getPaddingTransformer(pkcs7));
-		return new CALG(blockSize, keySize, modeNdx, asm);
+		return new CALG(blockSize, keySize, ofbMode, pkcs7);
 	}
 
-	private Assembly assembly;
+	private IMode mode;
+
+	private IPad pad;
 
-	private Object modeNdx; // initialisation key of the cascade's attributes
+	private Direction direction;
 
 	private int blockSize; // the underlying cipher's blocksize == IV length
 
 	private int keySize; // the underlying cipher's key size (in bytes).
 
 	/** Private constructor to enforce instantiation through Factory method. */
-	private CALG(final int blockSize, final int keySize, final Object modeNdx, final Assembly assembly) {
+	private CALG(final int blockSize, final int keySize, final IMode mode, final IPad pad) {
 		super();
 
 		this.blockSize = blockSize;
 		this.keySize = keySize;
-		this.modeNdx = modeNdx;
-		this.assembly = assembly;
+		this.mode = mode;
+		this.pad = pad;
 	}
 
 	/**
@@ -169,13 +166,59 @@ public final class CALG {
 	 *             if an exception occurs duirng the process.
 	 */
 	public byte[] doFinal(final byte[] data, final int offset, final int length) throws ConfidentialityException {
-		final byte[] result;
+		final byte[] out = new byte[direction == Direction.FORWARD ? outputSize(length) : length];
+		final int count = doFinal(data, offset, length, out, 0);
+		if (count == out.length)
+			return out;
+		final byte[] result = new byte[count];
+		System.arraycopy(out, 0, result, 0, count);
+		return result;
+	}
+
+	/**
+	 * Encrypts or decrypts, depending on the mode already set, a designated array
+	 * of bytes into a designated output array; the two regions may be the same.
+	 * When encrypting, <code>out</code> must have room for
+	 * {@link #outputSize(int)} bytes; when decrypting, for <code>length</code>
+	 * bytes.
+	 *
+	 * @param data
+	 *            the data to encrypt/decrypt.
+	 * @param offset
+	 *            where to start in <code>data</code>.
+	 * @param length
+	 *            how many bytes to consider in <code>data</code>.
+	 * @param out
+	 *            the output buffer.
+	 * @param outOffset
+	 *            where to start writing in <code>out</code>.
+	 * @return the count of bytes written into <code>out</code>.
+	 * @throws ConfidentialityException
+	 *             if an exception occurs duirng the process.
+	 */
+	public int doFinal(final byte[] data, final int offset, final int length, final byte[] out, final int outOffset)
+			throws ConfidentialityException {
+		if (direction == null)
+			throw new IllegalStateException();
+		if (direction == Direction.FORWARD) {
+			final int padLength = blockSize - length % blockSize;
+			System.arraycopy(data, offset, out, outOffset, length);
+			for (int i = outOffset + length, end = i + padLength; i < end; i++)
+				out[i] = (byte) padLength;
+			final int result = length + padLength;
+			for (int i = 0; i < result; i += blockSize)
+				mode.update(out, outOffset + i, out, outOffset + i);
+			return result;
+		}
+		if (length == 0 || length % blockSize != 0)
+			throw new ConfidentialityException("doFinal()");
+		for (int i = 0; i < length; i += blockSize)
+			mode.update(data, offset + i, out, outOffset + i);
 		try {
-			result = assembly.lastUpdate(data, offset, length);
-		} catch (TransformerException x) {
+			return length - pad.unpad(out, outOffset, length);
+		} catch (WrongPaddingException x) {
 			throw new ConfidentialityException("doFinal()", x);
 		}
-		return result;
 	}
 
 	/**
@@ -203,13 +246,25 @@ public final class CALG {
 		final byte[] sk = kdf.derive(keySize);
 		modeAttributes.put(IBlockCipher.KEY_MATERIAL, sk);
 		modeAttributes.put(IMode.IV, realIV);
-		final HashMap<Object, Object> attributes = new HashMap<>();
-		attributes.put(Assembly.DIRECTION, dir);
-		attributes.put(modeNdx, modeAttributes);
+		modeAttributes.put(IMode.STATE, Integer.valueOf(dir == Direction.FORWARD ? IMode.ENCRYPTION : IMode.DECRYPTION));
+		mode.reset();
 		try {
-			assembly.init(attributes);
-		} catch (TransformerException x) {
+			mode.init(modeAttributes);
+		} catch (InvalidKeyException x) {
 			throw new SaslException("getInstance()", x);
 		}
+		direction = dir;
+	}
+
+	/**
+	 * Returns the size of the encryption of a designated count of bytes.
+	 *
+	 * @param length
+	 *            the count of bytes to encrypt.
+	 * @return the count of bytes {@link #doFinal(byte[], int, int, byte[], int)}
+	 *         writes when encrypting.
+	 */
+	public int outputSize(final int length) {
+		return length + blockSize - length % blockSize;
 	}
 }
@@ -84,6 +84,19 @@ public final class IALG implements Cloneable {
 		return hmac.digest();
 	}
 
+	/**
+	 * Computes the MAC and writes it into a designated array.
+	 *
+	 * @param out
+	 *            the output buffer.
+	 * @param offset
+	 *            where to start writing in <code>out</code>.
+	 */
+	public void doFinal(final byte[] out, final int offset) {
+		final byte[] mac = hmac.digest();
+		System.arraycopy(mac, 0, out, offset, mac.length);
+	}
+
 	public void init(final KDF kdf) throws SaslException {
 		try {
 			final byte[] sk = kdf.derive(hmac.macSize());
@@ -104,6 +117,19 @@ public final class IALG implements Cloneable {
 		return hmac.macSize();
 	}
 
+	/**
+	 * Updates the MAC with a 4-byte sequence number, in network byte order.
+	 *
+	 * @param sequence
+	 *            the sequence number.
+	 */
+	public void update(final int sequence) {
+		hmac.update((byte) (sequence >>> 24));
+		hmac.update((byte) (sequence >>> 16));
+		hmac.update((byte) (sequence >>> 8));
+		hmac.update((byte) sequence);
+	}
+
 	public void update(final byte[] data) {
 		hmac.update(data, 0, data.length);
 	}
@@ -111,4 +137,22 @@ public final class IALG implements Cloneable {
 	public void update(final byte[] data, final int offset, final int length) {
 		hmac.update(data, offset, length);
 	}
+
+	/**
+	 * Computes the MAC and compares it, in constant time, with the one found in a
+	 * designated array.
+	 *
+	 * @param mac
+	 *            the array holding the received MAC.
+	 * @param offset
+	 *            where the received MAC starts in <code>mac</code>.
+	 * @return <code>true</code> if both MACs are equal.
+	 */
+	public boolean verify(final byte[] mac, final int offset) {
+		final byte[] computed = hmac.digest();
+		int diff = 0;
+		for (int i = 0; i < computed.length; i++)
+			diff |= computed[i] ^ mac[offset + i];
+		return diff == 0;
+	}
 }
@@ -0,0 +1,136 @@
+/* IPasswordStore.java -- the SRP password store interface
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.sasl.srp;
+
+import java.io.IOException;
+
+/**
+ * The interface of the SRP password databases an {@link SRPAuthInfoProvider}
+ * looks users up in. Implementations hold, for every user, a salt, the index of
+ * an &lt;N, g> pair, and one verifier per SRP message digest algorithm.
+ *
+ * @see PasswordFile
+ * @see IndexedPasswordStore
+ */
+public interface IPasswordStore {
+	/**
+	 * Adds a new user.
+	 *
+	 * @param user
+	 *            the username.
+	 * @param passwd
+	 *            the user's password.
+	 * @param salt
+	 *            the user's salt.
+	 * @param index
+	 *            the index of the &lt;N, g> pair to use for this user.
+	 * @throws com.distrimind.gnu.jgnux.crypto.sasl.UserAlreadyExistsException
+	 *             if the user already exists.
+	 * @throws IOException
+	 *             if an exception occurs during the process.
+	 */
+	void add(String user, String passwd, byte[] salt, String index) throws IOException;
+
+	/**
+	 * Changes the password of an existing user.
+	 *
+	 * @param user
+	 *            the username.
+	 * @param passwd
+	 *            the new password.
+	 * @throws com.distrimind.gnu.jgnux.crypto.sasl.NoSuchUserException
+	 *             if the user does not exist.
+	 * @throws IOException
+	 *             if an exception occurs during the process.
+	 */
+	void changePasswd(String user, String passwd) throws IOException;
+
+	/**
+	 * Tests if a user exists.
+	 *
+	 * @param user
+	 *            the username.
+	 * @return <code>true</code> if the user exists.
+	 * @throws IOException
+	 *             if an exception occurs during the process.
+	 */
+	boolean contains(String user) throws IOException;
+
+	/**
+	 * Tests if an &lt;N, g> pair exists.
+	 *
+	 * @param index
+	 *            a string representing 1-digit identification of an &lt;N, g> pair.
+	 * @return <code>true</code> if the designated <code>index</code> is that of a
+	 *         known &lt;N, g> pair.
+	 * @throws IOException
+	 *             if an exception occurs during the process.
+	 */
+	boolean containsConfig(String index) throws IOException;
+
+	/**
+	 * Returns the triplet: verifier, salt and configuration index, of a
+	 * designated user, and a designated message digest algorithm name.
+	 *
+	 * @param user
+	 *            the username.
+	 * @param mdName
+	 *            the canonical name of the SRP's message digest algorithm.
+	 * @return a string array containing, in this order, the BASE-64 encodings of
+	 *         the verifier, the salt and the index of the MPIs N and g of the
+	 *         designated user.
+	 * @throws com.distrimind.gnu.jgnux.crypto.sasl.NoSuchUserException
+	 *             if the user does not exist.
+	 * @throws IOException
+	 *             if an exception occurs during the process.
+	 */
+	String[] lookup(String user, String mdName) throws IOException;
+
+	/**
+	 * Returns the BASE-64 encodings of the MPIs <code>N</code> and <code>g</code>
+	 * of an &lt;N, g> pair.
+	 *
+	 * @param index
+	 *            a string representing 1-digit identification of an &lt;N, g> pair.
+	 * @return the pair, as an array of two strings, or <code>null</code> if the
+	 *         pair is unknown.
+	 * @throws IOException
+	 *             if an exception occurs during the process.
+	 */
+	String[] lookupConfig(String index) throws IOException;
+}
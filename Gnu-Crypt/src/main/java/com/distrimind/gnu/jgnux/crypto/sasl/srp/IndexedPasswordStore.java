@@ -0,0 +1,622 @@
+/* IndexedPasswordStore.java -- an indexed, log-structured SRP password store
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.jgnux.crypto.sasl.srp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import com.distrimind.gnu.jgnu.security.util.PRNG;
+import com.distrimind.gnu.jgnu.security.util.Util;
+import com.distrimind.gnu.jgnux.crypto.sasl.NoSuchUserException;
+import com.distrimind.gnu.jgnux.crypto.sasl.UserAlreadyExistsException;
+
+/**
+ * An SRP password store meant for large user populations.
+ * <p>
+ * Users are kept in an append-only log file: adding a user, or changing a
+ * password, appends one record holding the user's salt, configuration index
+ * and verifiers, superseding any older record of the same user. An index of
+ * the latest record of every user is kept in memory, and saved to an index file
+ * on {@link #close()} and after each compaction, so that opening the store only
+ * replays the records appended since. Once obsolete records make up more than
+ * half of the log, and at least {@link #COMPACTION_THRESHOLD} bytes, the log
+ * is rewritten with live records only; {@link #compact()} forces this.
+ * <p>
+ * Look-ups do not lock: they read the designated record with a positional
+ * read. Updates are serialised among themselves, and are durable once they
+ * return. The store is meant to be owned by a single process.
+ * <p>
+ * Interrupting a thread blocked on the log closes the log's channel: the
+ * interrupted operation fails with a {@link ClosedByInterruptException}, the
+ * log is reopened, and the operations of other threads go on.
+ * <p>
+ * The &lt;N, g> pairs come from a password configuration file, in the format
+ * of, and shared with, {@link PasswordFile}.
+ */
+public class IndexedPasswordStore implements IPasswordStore, Closeable {
+	/** The state of a version of the log file. */
+	private static final class Generation {
+		final long id;
+
+		/** Replaced, under the write lock, if an interrupt closes it. */
+		volatile FileChannel channel;
+
+		/** user --> offset of the user's latest record. */
+		final ConcurrentHashMap<String, Long> index;
+
+		/** The offset where the next record goes. */
+		volatile long length;
+
+		/** The count of bytes held by superseded records. */
+		long garbage;
+
+		Generation(long id, FileChannel channel, ConcurrentHashMap<String, Long> index, long length) {
+			this.id = id;
+			this.channel = channel;
+			this.index = index;
+			this.length = length;
+		}
+	}
+
+	/** A decoded record. */
+	private static final class Record {
+		String salt;
+
+		String index;
+
+		final HashMap<String, String> verifiers = new HashMap<>();
+	}
+
+	/**
+	 * The least count of bytes held by superseded records that triggers a
+	 * compaction.
+	 */
+	public static final long COMPACTION_THRESHOLD = 1L << 20;
+
+	private static final int DATA_MAGIC = 0x53525044; // "SRPD"
+
+	private static final int INDEX_MAGIC = 0x53525049; // "SRPI"
+
+	/** The length of the log file header: magic and generation id. */
+	private static final int HEADER_LENGTH = 12;
+
+	/** The length of a record besides its body: body length and CRC. */
+	private static final int RECORD_OVERHEAD = 8;
+
+	/**
+	 * Encodes a record as: body length, body, CRC-32 of the body. The body holds
+	 * the user name, the salt, the configuration index and the verifiers, by
+	 * digest ID.
+	 */
+	private static byte[] encode(final String user, final String salt, final String index,
+			final Map<String, String> verifiers) throws IOException {
+		final ByteArrayOutputStream bout = new ByteArrayOutputStream(512);
+		final DataOutputStream out = new DataOutputStream(bout);
+		out.writeInt(0); // body length, patched below
+		out.writeUTF(user);
+		out.writeUTF(salt);
+		out.writeUTF(index);
+		out.writeByte(verifiers.size());
+		for (Map.Entry<String, String> e : verifiers.entrySet()) {
+			out.writeByte(Integer.parseInt(e.getKey()));
+			out.writeUTF(e.getValue());
+		}
+		out.writeInt(0); // CRC, patched below
+		out.flush();
+		final byte[] result = bout.toByteArray();
+		final int length = result.length - RECORD_OVERHEAD;
+		final CRC32 crc = new CRC32();
+		crc.update(result, 4, length);
+		putInt(result, 0, length);
+		putInt(result, result.length - 4, (int) crc.getValue());
+		return result;
+	}
+
+	private static long newGenerationID() {
+		final byte[] b = new byte[8];
+		PRNG.getInstance().nextBytes(b);
+		return ByteBuffer.wrap(b).getLong();
+	}
+
+	private static void putInt(final byte[] b, final int offset, final int value) {
+		b[offset] = (byte) (value >>> 24);
+		b[offset + 1] = (byte) (value >>> 16);
+		b[offset + 2] = (byte) (value >>> 8);
+		b[offset + 3] = (byte) value;
+	}
+
+	private static void readFully(final FileChannel channel, final ByteBuffer dst, final long position)
+			throws IOException {
+		while (dst.hasRemaining())
+			if (channel.read(dst, position + dst.position()) < 0)
+				throw new IOException("SRP password store truncated");
+	}
+
+	private static void writeFully(final FileChannel channel, final ByteBuffer src, final long position)
+			throws IOException {
+		while (src.hasRemaining())
+			channel.write(src, position + src.position());
+	}
+
+	private final File dataFile;
+
+	private final File indexFile;
+
+	private final HashMap<String, String[]> configurations = new HashMap<>();
+
+	/** Whether {@link #close()} was called; guarded by {@link #writeLock}. */
+	private boolean closed;
+
+	/** Serialises updates. */
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	private volatile Generation generation;
+
+	/**
+	 * Opens, or creates, the store with the designated base pathname. The log,
+	 * index and configuration files are named by appending <code>".db"</code>,
+	 * <code>".idx"</code> and <code>".conf"</code> to it.
+	 *
+	 * @param name
+	 *            the base pathname of the store.
+	 * @throws IOException
+	 *             if the store cannot be opened.
+	 */
+	public IndexedPasswordStore(final String name) throws IOException {
+		this(name + ".db", name + ".idx", name + ".conf");
+	}
+
+	/**
+	 * Opens, or creates, a store.
+	 *
+	 * @param dataName
+	 *            the pathname of the log file.
+	 * @param indexName
+	 *            the pathname of the index file.
+	 * @param confName
+	 *            the pathname of the password configuration file.
+	 * @throws IOException
+	 *             if the store cannot be opened.
+	 */
+	public IndexedPasswordStore(final String dataName, final String indexName, final String confName)
+			throws IOException {
+		super();
+
+		this.dataFile = new File(dataName);
+		this.indexFile = new File(indexName);
+		PasswordFile.readOrCreateConf(new File(confName), configurations);
+		open();
+	}
+
+	@Override
+	public void add(final String user, final String passwd, final byte[] salt, final String index)
+			throws IOException {
+		final String[] mpi = configurations.get(index);
+		if (mpi == null)
+			throw new IOException("Unknown SRP password configuration: " + index);
+		if (contains(user))
+			throw new UserAlreadyExistsException(user);
+		final byte[] record = encode(user, Util.toBase64(salt), index,
+				PasswordFile.newVerifiers(user, salt, passwd, mpi));
+		writeLock.lock();
+		try {
+			if (generation.index.containsKey(user))
+				throw new UserAlreadyExistsException(user);
+			append(user, record);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/** Appends a record to the log; called with {@link #writeLock} held. */
+	private void append(final String user, final byte[] record) throws IOException {
+		final Generation g = generation;
+		final long offset = g.length;
+		write(g, ByteBuffer.wrap(record), offset);
+		g.length = offset + record.length;
+		final Long previous = g.index.put(user, Long.valueOf(offset));
+		if (previous != null)
+			g.garbage += RECORD_OVERHEAD + readLength(g, previous.longValue());
+		if (g.garbage >= COMPACTION_THRESHOLD && g.garbage > g.length / 2)
+			compact();
+	}
+
+	@Override
+	public void changePasswd(final String user, final String passwd) throws IOException {
+		final Record r = lookupRecord(user);
+		final byte[] salt;
+		try {
+			salt = Util.fromBase64(r.salt);
+		} catch (NumberFormatException x) {
+			throw new IOException("SRP password store corrupt");
+		}
+		final byte[] record = encode(user, r.salt, r.index,
+				PasswordFile.newVerifiers(user, salt, passwd, configurations.get(r.index)));
+		writeLock.lock();
+		try {
+			if (!generation.index.containsKey(user))
+				throw new NoSuchUserException(user);
+			append(user, record);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Saves the index and closes the store.
+	 *
+	 * @throws IOException
+	 *             if the index cannot be saved.
+	 */
+	@Override
+	public void close() throws IOException {
+		writeLock.lock();
+		try {
+			if (closed)
+				return;
+			closed = true;
+			final Generation g = generation;
+			try {
+				writeIndex(g);
+			} finally {
+				g.channel.close();
+			}
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Rewrites the log with the latest record of every user only, and saves a new
+	 * index. Look-ups proceed meanwhile.
+	 *
+	 * @throws IOException
+	 *             if an I/O error occurs.
+	 */
+	public void compact() throws IOException {
+		writeLock.lock();
+		try {
+			final Generation old = generation;
+			final long id = newGenerationID();
+			final File tmp = new File(dataFile.getPath() + ".tmp");
+			final ConcurrentHashMap<String, Long> index = new ConcurrentHashMap<>(old.index.size() * 4 / 3 + 1);
+			long length = HEADER_LENGTH;
+			try (FileChannel out = FileChannel.open(tmp.toPath(), StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				writeHeader(out, id);
+				for (Map.Entry<String, Long> e : old.index.entrySet()) {
+					final ByteBuffer record = readRecord(old, e.getValue().longValue());
+					record.rewind();
+					final int size = record.remaining();
+					writeFully(out, record, length);
+					index.put(e.getKey(), Long.valueOf(length));
+					length += size;
+				}
+				out.force(true);
+			}
+			Files.move(tmp.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			final Generation g = new Generation(id,
+					FileChannel.open(dataFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE), index,
+					length);
+			writeIndex(g);
+			generation = g;
+			old.channel.close();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean contains(final String user) {
+		return generation.index.containsKey(user);
+	}
+
+	@Override
+	public boolean containsConfig(final String index) {
+		return configurations.containsKey(index);
+	}
+
+	/** Decodes the body of a record. */
+	private Record decode(final ByteBuffer record) throws IOException {
+		final DataInputStream in = new DataInputStream(
+				new ByteArrayInputStream(record.array(), 4, record.capacity() - RECORD_OVERHEAD));
+		in.readUTF(); // user
+		final Record result = new Record();
+		result.salt = in.readUTF();
+		result.index = in.readUTF();
+		for (int count = in.readUnsignedByte(); count > 0; count--) {
+			final String digestID = String.valueOf(in.readUnsignedByte());
+			result.verifiers.put(digestID, in.readUTF());
+		}
+		return result;
+	}
+
+	@Override
+	public String[] lookup(final String user, final String mdName) throws IOException {
+		final Record r = lookupRecord(user);
+		return new String[] { r.verifiers.get(PasswordFile.nameToID(mdName)), r.salt, r.index };
+	}
+
+	@Override
+	public String[] lookupConfig(final String index) {
+		return configurations.get(index);
+	}
+
+	/**
+	 * Reads the latest record of a user, retrying if a compaction swaps the log
+	 * meanwhile.
+	 */
+	private Record lookupRecord(final String user) throws IOException {
+		while (true) {
+			final Generation g = generation;
+			final Long offset = g.index.get(user);
+			if (offset == null)
+				throw new NoSuchUserException(user);
+			try {
+				return decode(readRecord(g, offset.longValue()));
+			} catch (ClosedChannelException x) {
+				if (g == generation)
+					throw x;
+			}
+		}
+	}
+
+	/**
+	 * Reads from the log of a generation into a buffer, reopening the log if an
+	 * interrupt closes it. The {@link ClosedChannelException} is thrown again if
+	 * the current thread was the one interrupted, if the store is closed, or if a
+	 * compaction replaced the generation.
+	 */
+	private void read(final Generation g, final ByteBuffer dst, final long position) throws IOException {
+		while (true) {
+			final FileChannel channel = g.channel;
+			try {
+				readFully(channel, dst, position);
+				return;
+			} catch (ClosedChannelException x) {
+				if (!reopen(g, channel) || x instanceof ClosedByInterruptException)
+					throw x;
+			}
+		}
+	}
+
+	/** Opens the log file, loads the index, and replays the tail of the log. */
+	private void open() throws IOException {
+		final FileChannel channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			final long size = channel.size();
+			final long id;
+			if (size == 0) {
+				id = newGenerationID();
+				writeHeader(channel, id);
+				channel.force(true);
+			} else {
+				final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+				readFully(channel, header, 0);
+				if (header.getInt(0) != DATA_MAGIC)
+					throw new IOException("SRP password store corrupt");
+				id = header.getLong(4);
+			}
+			Generation g = readIndex(channel, id, size);
+			if (g == null)
+				g = new Generation(id, channel, new ConcurrentHashMap<String, Long>(), HEADER_LENGTH);
+			replay(g, Math.max(size, HEADER_LENGTH));
+			generation = g;
+		} catch (IOException x) {
+			channel.close();
+			throw x;
+		}
+	}
+
+	/**
+	 * Reads the index file, returning <code>null</code> if it is missing or does
+	 * not match the log.
+	 */
+	private Generation readIndex(final FileChannel channel, final long id, final long size) throws IOException {
+		if (!indexFile.exists())
+			return null;
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(indexFile.toPath())))) {
+			if (in.readInt() != INDEX_MAGIC || in.readLong() != id)
+				return null;
+			final long length = in.readLong();
+			if (length > size)
+				return null;
+			final long garbage = in.readLong();
+			final int count = in.readInt();
+			final ConcurrentHashMap<String, Long> index = new ConcurrentHashMap<>(count * 4 / 3 + 1);
+			for (int i = 0; i < count; i++) {
+				final String user = in.readUTF();
+				index.put(user, Long.valueOf(in.readLong()));
+			}
+			final Generation result = new Generation(id, channel, index, length);
+			result.garbage = garbage;
+			return result;
+		} catch (EOFException x) {
+			return null;
+		}
+	}
+
+	/** Reads the body length of the record at a designated offset. */
+	private int readLength(final Generation g, final long offset) throws IOException {
+		final ByteBuffer b = ByteBuffer.allocate(4);
+		read(g, b, offset);
+		return b.getInt(0);
+	}
+
+	/** Reads and checks a whole record, body length and CRC included. */
+	private ByteBuffer readRecord(final Generation g, final long offset) throws IOException {
+		final int length = readLength(g, offset);
+		if (length < 0 || offset + RECORD_OVERHEAD + length > g.length)
+			throw new IOException("SRP password store corrupt");
+		final ByteBuffer result = ByteBuffer.allocate(RECORD_OVERHEAD + length);
+		read(g, result, offset);
+		final CRC32 crc = new CRC32();
+		crc.update(result.array(), 4, length);
+		if (result.getInt(4 + length) != (int) crc.getValue())
+			throw new IOException("SRP password store corrupt");
+		return result;
+	}
+
+	/**
+	 * Replaces the log channel of the current generation after an interrupt
+	 * closed it, unless another thread already did.
+	 *
+	 * @return <code>false</code> if the store is closed, or if the generation is
+	 *         no longer the current one.
+	 */
+	private boolean reopen(final Generation g, final FileChannel broken) throws IOException {
+		writeLock.lock();
+		try {
+			if (closed || g != generation)
+				return false;
+			if (g.channel == broken)
+				g.channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+			return true;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Indexes the records from the current length of a generation to a designated
+	 * size. A torn record at the end of the log, left by an interrupted update,
+	 * is cut off.
+	 */
+	private void replay(final Generation g, final long size) throws IOException {
+		final ByteBuffer length = ByteBuffer.allocate(4);
+		long offset = g.length;
+		while (offset + RECORD_OVERHEAD <= size) {
+			length.clear();
+			readFully(g.channel, length, offset);
+			final int n = length.getInt(0);
+			if (n < 0 || offset + RECORD_OVERHEAD + n > size)
+				break;
+			final ByteBuffer record;
+			g.length = size;
+			try {
+				record = readRecord(g, offset);
+			} catch (IOException x) { // torn write
+				break;
+			}
+			final String user = new DataInputStream(new ByteArrayInputStream(record.array(), 4, n)).readUTF();
+			final Long previous = g.index.put(user, Long.valueOf(offset));
+			if (previous != null)
+				g.garbage += RECORD_OVERHEAD + readLength(g, previous.longValue());
+			offset += RECORD_OVERHEAD + n;
+		}
+		g.length = offset;
+		if (offset < size)
+			g.channel.truncate(offset);
+	}
+
+	/**
+	 * Returns the count of users in the store.
+	 *
+	 * @return the count of users.
+	 */
+	public int size() {
+		return generation.index.size();
+	}
+
+	/**
+	 * Writes a buffer to the log of a generation and forces it to the device,
+	 * reopening the log as {@link #read(Generation, ByteBuffer, long)} does.
+	 */
+	private void write(final Generation g, final ByteBuffer src, final long position) throws IOException {
+		while (true) {
+			final FileChannel channel = g.channel;
+			try {
+				writeFully(channel, src, position);
+				channel.force(false);
+				return;
+			} catch (ClosedChannelException x) {
+				if (!reopen(g, channel) || x instanceof ClosedByInterruptException)
+					throw x;
+			}
+		}
+	}
+
+	private void writeHeader(final FileChannel channel, final long id) throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+		header.putInt(DATA_MAGIC).putLong(id).flip();
+		writeFully(channel, header, 0);
+	}
+
+	/** Saves the index of a generation, through a temporary file. */
+	private void writeIndex(final Generation g) throws IOException {
+		final File tmp = new File(indexFile.getPath() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(tmp.toPath())))) {
+			out.writeInt(INDEX_MAGIC);
+			out.writeLong(g.id);
+			out.writeLong(g.length);
+			out.writeLong(g.garbage);
+			final HashMap<String, Long> snapshot = new HashMap<>(g.index);
+			out.writeInt(snapshot.size());
+			for (Map.Entry<String, Long> e : snapshot.entrySet()) {
+				out.writeUTF(e.getKey());
+				out.writeLong(e.getValue().longValue());
+			}
+		}
+		Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+}
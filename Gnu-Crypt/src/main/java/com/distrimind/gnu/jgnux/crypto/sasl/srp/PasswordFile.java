@@ -50,6 +50,7 @@ import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.StringTokenizer;
 
@@ -100,7 +101,7 @@ import com.distrimind.gnu.jgnux.crypto.sasl.UserAlreadyExistsException;
  * Thomas J. Wu.</li>
  * </ol>
  */
-public class PasswordFile {
+public class PasswordFile implements IPasswordStore {
 	// names of property keys used in this class
 	private static final String USER_FIELD = "user";
 
@@ -144,7 +145,7 @@ public class PasswordFile {
 	 *            the canonical name of a message digest algorithm.
 	 * @return a string representing the decimal value of an ID for that algorithm.
 	 */
-	private static final String nameToID(final String mdName) {
+	static final String nameToID(final String mdName) {
 		if (Registry.SHA_HASH.equalsIgnoreCase(mdName) || Registry.SHA1_HASH.equalsIgnoreCase(mdName)
 				|| Registry.SHA160_HASH.equalsIgnoreCase(mdName))
 			return "0";
@@ -200,6 +201,7 @@ public class PasswordFile {
 		update();
 	}
 
+	@Override
 	public synchronized void add(final String user, final String passwd, final byte[] salt, final String index)
 			throws IOException {
 		checkCurrent();
@@ -207,13 +209,14 @@ public class PasswordFile {
 			throw new UserAlreadyExistsException(user);
 		final HashMap<String, Object> fields = new HashMap<>(4);
 		fields.put(USER_FIELD, user); // 0
-		fields.put(VERIFIERS_FIELD, newVerifiers(user, salt, passwd, index)); // 1
+		fields.put(VERIFIERS_FIELD, newVerifiers(user, salt, passwd, configurations.get(index))); // 1
 		fields.put(SALT_FIELD, Util.toBase64(salt)); // 2
 		fields.put(CONFIG_FIELD, index); // 3
 		entries.put(user, fields);
 		savePasswd();
 	}
 
+	@Override
 	public synchronized void changePasswd(final String user, final String passwd) throws IOException {
 		checkCurrent();
 		if (!entries.containsKey(user))
@@ -227,7 +230,7 @@ public class PasswordFile {
 			throw new IOException("Password file corrupt");
 		}
 		final String index = (String) fields.get(CONFIG_FIELD);
-		fields.put(VERIFIERS_FIELD, newVerifiers(user, salt, passwd, index));
+		fields.put(VERIFIERS_FIELD, newVerifiers(user, salt, passwd, configurations.get(index)));
 		entries.put(user, fields);
 		savePasswd();
 	}
@@ -237,6 +240,7 @@ public class PasswordFile {
 			update();
 	}
 
+	@Override
 	public synchronized boolean contains(final String user) throws IOException {
 		checkCurrent();
 		return entries.containsKey(user);
@@ -261,6 +265,7 @@ public class PasswordFile {
 	 * @see SRPRegistry#N_640_BITS
 	 * @see SRPRegistry#N_512_BITS
 	 */
+	@Override
 	public synchronized boolean containsConfig(final String index) throws IOException {
 		checkCurrent();
 		return configurations.containsKey(index);
@@ -279,6 +284,7 @@ public class PasswordFile {
 	 *         the verifier, the salt and the index in the password configuration
 	 *         file of the MPIs N and g of the designated user.
 	 */
+	@Override
 	public synchronized String[] lookup(final String user, final String mdName) throws IOException {
 		checkCurrent();
 		if (!entries.containsKey(user))
@@ -307,6 +313,7 @@ public class PasswordFile {
 	 * @throws IOException
 	 *             if an exception occurs during the process.
 	 */
+	@Override
 	public synchronized String[] lookupConfig(final String index) throws IOException {
 		checkCurrent();
 		String[] result = null;
@@ -327,16 +334,15 @@ public class PasswordFile {
 	 *            the user's salt.
 	 * @param password
 	 *            the user's password
-	 * @param index
-	 *            the index of the &lt;N, g> pair to use for this user.
+	 * @param mpi
+	 *            the &lt;N, g> pair to use for this user.
 	 * @return a {@link java.util.Map} of user verifiers.
 	 * @throws UnsupportedEncodingException
 	 *             if the US-ASCII decoder is not available on this platform.
 	 */
-	private HashMap<String, String> newVerifiers(final String user, final byte[] s, final String password,
-			final String index) throws UnsupportedEncodingException {
+	static HashMap<String, String> newVerifiers(final String user, final byte[] s, final String password,
+			final String[] mpi) throws UnsupportedEncodingException {
 		// to ensure inter-operability with non-java tools
-		final String[] mpi = configurations.get(index);
 		final BigInteger N = new BigInteger(1, Util.fromBase64(mpi[0]));
 		final BigInteger g = new BigInteger(1, Util.fromBase64(mpi[1]));
 		final HashMap<String, String> result = new HashMap<>(srps.size());
@@ -353,7 +359,8 @@ public class PasswordFile {
 		return result;
 	}
 
-	private void readConf(final InputStream in) throws IOException {
+	private static void readConf(final InputStream in, final Map<String, String[]> configurations)
+			throws IOException {
 		final BufferedReader din = new BufferedReader(new InputStreamReader(in));
 		String line, index, N, g;
 		StringTokenizer st;
@@ -370,13 +377,23 @@ public class PasswordFile {
 		}
 	}
 
-	private synchronized void readOrCreateConf() throws IOException {
+	/**
+	 * Reads the &lt;N, g> pairs of a password configuration file, creating a
+	 * default one if it does not exist.
+	 *
+	 * @param configFile
+	 *            the password configuration file.
+	 * @param configurations
+	 *            the map to put the pairs into, by index.
+	 * @throws IOException
+	 *             if an exception occurs during the process.
+	 */
+	static void readOrCreateConf(final File configFile, final Map<String, String[]> configurations)
+			throws IOException {
 		configurations.clear();
 		final FileInputStream fis;
-		configFile = new File(confName);
 		try {
 			fis = new FileInputStream(configFile);
-			readConf(fis);
 		} catch (FileNotFoundException x) { // create a default one
 			final String g = Util.toBase64(Util.trim(new BigInteger("2")));
 			String index, N;
@@ -390,16 +407,27 @@ public class PasswordFile {
 			try {
 				f0 = new FileOutputStream(configFile);
 				pw0 = new PrintWriter(f0, true);
-				this.writeConf(pw0);
+				writeConf(pw0, configurations);
 			} finally {
 				if (pw0 != null)
 					pw0.close();
 				else if (f0 != null)
 					f0.close();
 			}
+			return;
+		}
+		try {
+			readConf(fis, configurations);
+		} finally {
+			fis.close();
 		}
 	}
 
+	private synchronized void readOrCreateConf() throws IOException {
+		configFile = new File(confName);
+		readOrCreateConf(configFile, configurations);
+	}
+
 	private void readPasswd(final InputStream in) throws IOException {
 		final BufferedReader din = new BufferedReader(new InputStreamReader(in));
 		String line, user, verifier, salt, index;
@@ -503,7 +531,7 @@ public class PasswordFile {
 		}
 	}
 
-	private void writeConf(final PrintWriter pw) {
+	private static void writeConf(final PrintWriter pw, final Map<String, String[]> configurations) {
 		String ndx;
 		String[] mpi;
 		StringBuilder sb;
@@ -52,7 +52,7 @@ import com.distrimind.gnu.jgnux.crypto.sasl.NoSuchUserException;
  * The SRP mechanism authentication information provider implementation.
  */
 public class SRPAuthInfoProvider implements IAuthInfoProvider {
-	private PasswordFile passwordFile = null;
+	private IPasswordStore passwordFile = null;
 
 	// implicit 0-args constrcutor
 
@@ -62,7 +62,7 @@ public class SRPAuthInfoProvider implements IAuthInfoProvider {
 			if (context == null)
 				passwordFile = new PasswordFile();
 			else {
-				passwordFile = (PasswordFile) context.get(SRPRegistry.PASSWORD_DB);
+				passwordFile = (IPasswordStore) context.get(SRPRegistry.PASSWORD_DB);
 				if (passwordFile == null) {
 					String pfn = (String) context.get(SRPRegistry.PASSWORD_FILE);
 					if (pfn == null)
@@ -37,7 +37,6 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.sasl.srp;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
@@ -256,87 +255,85 @@ public class SRPClient extends ClientMechanism implements SaslClient {
 
 	@Override
 	protected byte[] engineUnwrap(final byte[] incoming, final int offset, final int len) throws SaslException {
+		// the payload, without the integrity bytes; a padded cipher may yet
+		// shorten it
+		final int payloadLength = inMac == null ? len : Math.max(0, len - inMac.length());
+		final byte[] result = new byte[payloadLength];
+		final int count = engineUnwrap(incoming, offset, len, result, 0);
+		if (count == payloadLength)
+			return result;
+		final byte[] trimmed = new byte[count];
+		System.arraycopy(result, 0, trimmed, 0, count);
+		return trimmed;
+	}
+
+	@Override
+	protected int engineUnwrap(final byte[] incoming, final int offset, final int len, final byte[] out,
+			final int outOffset) throws SaslException {
 		if (inMac == null && inCipher == null)
 			throw new IllegalStateException("connection is not protected");
 		// at this point one, or both, of confidentiality and integrity
 		// protection
 		// services are active.
-		final byte[] result;
-		try {
-			if (inMac != null) { // integrity bytes are at the end of the stream
-				final int macBytesCount = inMac.length();
-				final int payloadLength = len - macBytesCount;
-				final byte[] received_mac = new byte[macBytesCount];
-				System.arraycopy(incoming, offset + payloadLength, received_mac, 0, macBytesCount);
-				inMac.update(incoming, offset, payloadLength);
-				if (replayDetection) {
-					inCounter++;
-					inMac.update(new byte[] { (byte) (inCounter >>> 24), (byte) (inCounter >>> 16),
-							(byte) (inCounter >>> 8), (byte) inCounter });
-				}
-				final byte[] computed_mac = inMac.doFinal();
-				if (!Arrays.equals(received_mac, computed_mac))
-					throw new IntegrityException("engineUnwrap()");
-				// deal with the payload, which can be either plain or encrypted
-				if (inCipher != null)
-					result = inCipher.doFinal(incoming, offset, payloadLength);
-				else {
-					result = new byte[len - macBytesCount];
-					System.arraycopy(incoming, offset, result, 0, result.length);
-				}
-			} else // no integrity protection; just confidentiality
-				result = inCipher.doFinal(incoming, offset, len);
-		} catch (IOException x) {
-			if (x instanceof SaslException)
-				throw (SaslException) x;
-			throw new SaslException("engineUnwrap()", x);
+		int payloadLength = len;
+		if (inMac != null) { // integrity bytes are at the end of the stream
+			payloadLength -= inMac.length();
+			if (payloadLength < 0)
+				throw new IntegrityException("engineUnwrap()");
+			inMac.update(incoming, offset, payloadLength);
+			if (replayDetection) {
+				inCounter++;
+				inMac.update(inCounter);
+			}
+			if (!inMac.verify(incoming, offset + payloadLength))
+				throw new IntegrityException("engineUnwrap()");
 		}
-		return result;
+		// deal with the payload, which can be either plain or encrypted
+		if (inCipher != null)
+			return inCipher.doFinal(incoming, offset, payloadLength, out, outOffset);
+		System.arraycopy(incoming, offset, out, outOffset, payloadLength);
+		return payloadLength;
 	}
 
 	@Override
 	protected byte[] engineWrap(final byte[] outgoing, final int offset, final int len) throws SaslException {
+		final byte[] result = new byte[engineWrappedSize(len)];
+		engineWrap(outgoing, offset, len, result, 0);
+		return result;
+	}
+
+	@Override
+	protected int engineWrap(final byte[] outgoing, final int offset, final int len, final byte[] out,
+			final int outOffset) throws SaslException {
 		if (outMac == null && outCipher == null)
 			throw new IllegalStateException("connection is not protected");
 		// at this point one, or both, of confidentiality and integrity
 		// protection
 		// services are active.
-		byte[] result;
-		try {
-			final ByteArrayOutputStream out = new ByteArrayOutputStream();
-			// Process the data
-			if (outCipher != null) {
-				result = outCipher.doFinal(outgoing, offset, len);
-				out.write(result);
-				if (outMac != null) {
-					outMac.update(result);
-					if (replayDetection) {
-						outCounter++;
-						outMac.update(new byte[] { (byte) (outCounter >>> 24), (byte) (outCounter >>> 16),
-								(byte) (outCounter >>> 8), (byte) outCounter });
-					}
-					final byte[] C = outMac.doFinal();
-					out.write(C);
-				}
-				// else confidentiality only; do nothing
-			} else // no confidentiality; just integrity [+ replay detection]
-			{
-				out.write(outgoing, offset, len);
-				outMac.update(outgoing, offset, len);
-				if (replayDetection) {
-					outCounter++;
-					outMac.update(new byte[] { (byte) (outCounter >>> 24), (byte) (outCounter >>> 16),
-							(byte) (outCounter >>> 8), (byte) outCounter });
-				}
-				final byte[] C = outMac.doFinal();
-				out.write(C);
-			}
-			result = out.toByteArray();
-		} catch (IOException x) {
-			if (x instanceof SaslException)
-				throw (SaslException) x;
-			throw new SaslException("engineWrap()", x);
+		final int payloadLength;
+		if (outCipher != null)
+			payloadLength = outCipher.doFinal(outgoing, offset, len, out, outOffset);
+		else // no confidentiality; just integrity [+ replay detection]
+		{
+			System.arraycopy(outgoing, offset, out, outOffset, len);
+			payloadLength = len;
+		}
+		if (outMac == null) // confidentiality only
+			return payloadLength;
+		outMac.update(out, outOffset, payloadLength);
+		if (replayDetection) {
+			outCounter++;
+			outMac.update(outCounter);
 		}
+		outMac.doFinal(out, outOffset + payloadLength);
+		return payloadLength + outMac.length();
+	}
+
+	@Override
+	protected int engineWrappedSize(final int len) {
+		int result = outCipher != null ? outCipher.outputSize(len) : len;
+		if (outMac != null)
+			result += outMac.length();
 		return result;
 	}
 
@@ -134,7 +134,8 @@ public interface SRPRegistry {
 
 	/**
 	 * Name of the SRP password database property --a reference to
-	 * {@link PasswordFile} object.
+	 * {@link IPasswordStore} object, such as a {@link PasswordFile} or an
+	 * {@link IndexedPasswordStore}.
 	 */
 	String PASSWORD_DB = "com.distrimind.gnu.crypto.sasl.srp.password.db";
 
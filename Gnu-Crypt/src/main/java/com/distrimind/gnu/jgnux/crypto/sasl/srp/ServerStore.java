@@ -37,36 +37,119 @@ exception statement from your version.  */
 
 package com.distrimind.gnu.jgnux.crypto.sasl.srp;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.distrimind.gnu.jgnu.security.util.PRNG;
 
 /**
  * The server-side implementation of the SRP security context store.
+ * <p>
+ * Sessions are kept in a concurrent map, and ordered by expiry time in a
+ * concurrent skip list. The store holds at most {@link #getMaximumSize()}
+ * sessions: caching a new session first purges a few expired ones, then, if the
+ * store is full, evicts those closest to expiry. Expired sessions are thus
+ * reclaimed as new ones come, without a cleaning thread; {@link #purge()}
+ * reclaims all of them at once.
  */
 public class ServerStore {
-	/** The underlying singleton. */
-	private static ServerStore singleton = null;
+	/** A cached session. */
+	private static final class Entry implements Comparable<Entry> {
+		final SessionID sid;
+
+		final SecurityContext context;
+
+		final boolean perennial;
+
+		/** The {@link System#nanoTime()} after which the session is dead. */
+		final long deadline;
+
+		/** Orders sessions having the same deadline. */
+		final long sequence;
+
+		Entry(SessionID sid, SecurityContext context, int ttl, long now, long sequence) {
+			this.sid = sid;
+			this.context = context;
+			this.perennial = ttl == 0;
+			this.deadline = now + TimeUnit.SECONDS.toNanos(ttl & 0xFFFFFFFFL);
+			this.sequence = sequence;
+		}
+
+		@Override
+		public int compareTo(Entry other) {
+			if (perennial != other.perennial)
+				return perennial ? 1 : -1;
+			if (!perennial && deadline != other.deadline)
+				return deadline - other.deadline < 0 ? -1 : 1;
+			return Long.compare(sequence, other.sequence);
+		}
+
+		boolean isAlive(long now) {
+			return perennial || deadline - now > 0;
+		}
+	}
+
+	/** A session identifier, usable as a map key. */
+	private static final class SessionID {
+		private final byte[] bytes;
+
+		private final int hash;
+
+		SessionID(byte[] bytes) {
+			this.bytes = bytes;
+			this.hash = Arrays.hashCode(bytes);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof SessionID && Arrays.equals(bytes, ((SessionID) o).bytes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/** The default maximum number of sessions in the store. */
+	public static final int DEFAULT_MAXIMUM_SIZE = 100000;
 
-	/** The map of sid --> Security Context record. */
-	private static final HashMap<String, SecurityContext> sid2ssc = new HashMap<>();
+	/** The maximum number of expired sessions purged when caching a session. */
+	private static final int PURGE_BATCH_SIZE = 8;
 
-	/** The map of sid --> Session timing record. */
-	private static final HashMap<String, StoreEntry> sid2ttl = new HashMap<>();
+	/** The length of a session identifier, in bytes. */
+	private static final int SID_LENGTH = 16;
 
-	/** A synchronisation lock. */
-	private static final Object lock = new Object();
+	/** The underlying singleton. */
+	private static final ServerStore singleton = new ServerStore();
 
-	/** A counter to generate legible SIDs. */
-	private static int counter = 0;
+	/** Prefixes the session identifiers of this instance of the store. */
+	private static final byte[] prefix = new byte[SID_LENGTH - 8];
+
+	/** A counter to generate unique SIDs. */
+	private static final AtomicLong counter = new AtomicLong();
+
+	static {
+		PRNG.getInstance().nextBytes(prefix);
+	}
 
 	/**
-	 * Returns a legible new session identifier.
+	 * Returns a new session identifier, made of a random prefix, drawn once, and of
+	 * a counter.
 	 *
 	 * @return a new session identifier.
 	 */
-	static synchronized final byte[] getNewSessionID() {
-		final String sid = String.valueOf(++counter);
-		return new StringBuilder("SID-").append("0000000000".substring(0, 10 - sid.length())).append(sid).toString()
-				.getBytes();
+	static final byte[] getNewSessionID() {
+		final byte[] result = Arrays.copyOf(prefix, SID_LENGTH);
+		long n = counter.incrementAndGet();
+		for (int i = SID_LENGTH - 1; i >= prefix.length; i--, n >>>= 8)
+			result[i] = (byte) n;
+		return result;
 	}
 
 	/**
@@ -74,17 +157,32 @@ public class ServerStore {
 	 *
 	 * @return the classloader Singleton instance.
 	 */
-	static synchronized final ServerStore instance() {
-		if (singleton == null)
-			singleton = new ServerStore();
+	public static final ServerStore instance() {
 		return singleton;
 	}
 
+	/** The map of sid --> session record. */
+	private final ConcurrentHashMap<SessionID, Entry> sessions = new ConcurrentHashMap<>();
+
+	/** The session records, by expiry time. */
+	private final ConcurrentSkipListSet<Entry> deadlines = new ConcurrentSkipListSet<>();
+
+	/** Orders the sessions with the same expiry time. */
+	private final AtomicLong sequence = new AtomicLong();
+
+	private volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final LongAdder expirations = new LongAdder();
+
 	/** Private constructor to enforce Singleton pattern. */
 	private ServerStore() {
 		super();
-
-		// TODO: add a cleaning timer thread
 	}
 
 	/**
@@ -97,13 +195,85 @@ public class ServerStore {
 	 *            the server's security context.
 	 */
 	void cacheSession(final int ttl, final SecurityContext ctx) {
-		synchronized (lock) {
-			final String key = new String(ctx.getSID());
-			sid2ssc.put(key, ctx);
-			sid2ttl.put(key, new StoreEntry(ttl));
+		final long now = System.nanoTime();
+		final Entry entry = new Entry(new SessionID(ctx.getSID()), ctx, ttl, now, sequence.incrementAndGet());
+		purge(now, PURGE_BATCH_SIZE);
+		final Entry previous = sessions.put(entry.sid, entry);
+		if (previous != null)
+			deadlines.remove(previous);
+		deadlines.add(entry);
+		while (sessions.size() > maximumSize) {
+			final Entry first = deadlines.pollFirst();
+			if (first == null)
+				break;
+			if (sessions.remove(first.sid, first)) {
+				if (first.isAlive(now))
+					evictions.increment();
+				else
+					expirations.increment();
+			}
 		}
 	}
 
+	/**
+	 * Returns the count of sessions evicted, while still alive, to keep the store
+	 * within its maximum size.
+	 *
+	 * @return the count of evicted sessions.
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Returns the count of sessions removed from the store because they expired.
+	 *
+	 * @return the count of expired sessions.
+	 */
+	public long getExpirationCount() {
+		return expirations.sum();
+	}
+
+	/**
+	 * Returns the count of successful session restorations.
+	 *
+	 * @return the count of restored sessions.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the ratio of successful session restorations to attempted ones, or
+	 * <code>0</code> if none was attempted.
+	 *
+	 * @return the hit rate, between <code>0</code> and <code>1</code>.
+	 */
+	public double getHitRate() {
+		final long h = hits.sum();
+		final long total = h + misses.sum();
+		return total == 0 ? 0.0 : (double) h / total;
+	}
+
+	/**
+	 * Returns the maximum number of sessions in the store.
+	 *
+	 * @return the maximum size of the store.
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Returns the count of failed session restorations; i.e. of unknown, evicted
+	 * or expired sessions.
+	 *
+	 * @return the count of sessions that could not be restored.
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
 	/**
 	 * Removes all information related to the designated session ID.
 	 *
@@ -111,11 +281,9 @@ public class ServerStore {
 	 *            the identifier of the seesion to invalidate.
 	 */
 	void invalidateSession(final byte[] sid) {
-		final String key = new String(sid);
-		synchronized (lock) {
-			sid2ssc.remove(key);
-			sid2ttl.remove(key);
-		}
+		final Entry entry = sessions.remove(new SessionID(sid));
+		if (entry != null)
+			deadlines.remove(entry);
 	}
 
 	/**
@@ -128,41 +296,94 @@ public class ServerStore {
 	 *         <code>false</code> otherwise.
 	 */
 	boolean isAlive(final byte[] sid) {
-		boolean result = false;
-		if (sid != null && sid.length != 0) {
-			synchronized (lock) {
-				final String key = new String(sid);
-				final StoreEntry ctx = sid2ttl.get(key);
-				if (ctx != null) {
-					result = ctx.isAlive();
-					if (!result) // invalidate it en-passant
-					{
-						sid2ssc.remove(key);
-						sid2ttl.remove(key);
-					}
-				}
-			}
+		if (sid == null || sid.length == 0)
+			return false;
+		final Entry entry = sessions.get(new SessionID(sid));
+		if (entry == null)
+			return false;
+		if (entry.isAlive(System.nanoTime()))
+			return true;
+		remove(entry); // invalidate it en-passant
+		return false;
+	}
+
+	/**
+	 * Removes all the expired sessions.
+	 */
+	public void purge() {
+		purge(System.nanoTime(), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Removes up to a designated count of expired sessions, soonest expired
+	 * first.
+	 */
+	private void purge(final long now, int count) {
+		for (Iterator<Entry> it = deadlines.iterator(); count > 0 && it.hasNext(); count--) {
+			final Entry first = it.next();
+			if (first.isAlive(now))
+				return;
+			remove(first);
 		}
-		return result;
+	}
+
+	/** Removes an expired session from the store. */
+	private void remove(final Entry entry) {
+		if (sessions.remove(entry.sid, entry))
+			expirations.increment();
+		deadlines.remove(entry);
 	}
 
 	/**
-	 * Updates the mapping between the designated session identifier and the
-	 * designated server's SASL Security Context. In the process, computes and
-	 * return the underlying mechanism server's evidence that shall be returned to
-	 * the client in a session re-use exchange.
+	 * Removes the designated session from the store and returns its security
+	 * context, if it is still alive; the session is to be cached again with
+	 * new keys.
 	 *
 	 * @param sid
 	 *            the identifier of the session to restore.
-	 * @return an SRP server's security context.
+	 * @return an SRP server's security context, or <code>null</code> if the
+	 *         session is unknown or expired.
 	 */
 	SecurityContext restoreSession(final byte[] sid) {
-		final String key = new String(sid);
-		final SecurityContext result;
-		synchronized (lock) {
-			result = sid2ssc.remove(key);
-			sid2ttl.remove(key);
+		if (sid == null || sid.length == 0)
+			return null;
+		final Entry entry = sessions.remove(new SessionID(sid));
+		if (entry == null) {
+			misses.increment();
+			return null;
 		}
-		return result;
+		deadlines.remove(entry);
+		if (!entry.isAlive(System.nanoTime())) {
+			expirations.increment();
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return entry.context;
+	}
+
+	/**
+	 * Sets the maximum number of sessions in the store. Sessions in excess are
+	 * evicted as new ones are cached.
+	 *
+	 * @param maximumSize
+	 *            the new maximum size.
+	 * @throws IllegalArgumentException
+	 *             if <code>maximumSize</code> is not positive.
+	 */
+	public void setMaximumSize(final int maximumSize) {
+		if (maximumSize <= 0)
+			throw new IllegalArgumentException("maximumSize");
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * Returns the count of sessions in the store, expired ones not yet removed
+	 * included.
+	 *
+	 * @return the size of the store.
+	 */
+	public int size() {
+		return sessions.size();
 	}
 }
@@ -40,6 +40,7 @@ package com.distrimind.gnu.vm.jgnu.security;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * DigestInputStream is a class that ties an InputStream with a MessageDigest.
@@ -165,4 +166,25 @@ public class DigestInputStream extends FilterInputStream {
 	public String toString() {
 		return "[Digest Input Stream] " + digest.toString();
 	}
+
+	/**
+	 * Reads all the remaining bytes of this stream, and writes them to an output
+	 * stream, updating the digest in large blocks.
+	 *
+	 * @param out
+	 *            An OutputStream to write the bytes to
+	 * @return The count of bytes transferred
+	 *
+	 * @exception IOException
+	 *                if an I/O error occurs.
+	 */
+	public long transferTo(OutputStream out) throws IOException {
+		byte[] buf = new byte[8192];
+		long result = 0;
+		for (int n = read(buf, 0, buf.length); n != -1; n = read(buf, 0, buf.length)) {
+			out.write(buf, 0, n);
+			result += n;
+		}
+		return result;
+	}
 }
@@ -37,6 +37,8 @@ exception statement from your version. */
 
 package com.distrimind.gnu.vm.jgnu.security;
 
+import java.nio.ByteBuffer;
+
 final class DummyMessageDigest extends MessageDigest {
 	private MessageDigestSpi mdSpi = null;
 
@@ -83,4 +85,9 @@ final class DummyMessageDigest extends MessageDigest {
 	public void engineUpdate(byte[] input, int offset, int len) {
 		mdSpi.engineUpdate(input, offset, len);
 	}
+
+	@Override
+	protected void engineUpdate(ByteBuffer input) {
+		mdSpi.engineUpdate(input);
+	}
 }
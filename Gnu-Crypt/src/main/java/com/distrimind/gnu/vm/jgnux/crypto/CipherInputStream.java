@@ -53,21 +53,42 @@ public class CipherInputStream extends FilterInputStream {
 	// Constants and variables.
 	// ------------------------------------------------------------------------
 
+	/**
+	 * How many bytes, rounded down to a multiple of the block size, are read from
+	 * the underlying stream at once.
+	 */
+	private static final int BUFFER_SIZE = 4096;
+
 	/**
 	 * The underlying {@link Cipher} instance.
 	 */
 	private final Cipher cipher;
 
 	/**
-	 * Data that has been transformed but not read.
+	 * Data read from the underlying stream; reused across reads.
+	 */
+	private byte[] inBuffer;
+
+	/**
+	 * Data that has been transformed but not read; reused across reads.
 	 */
-	private byte[] outBuffer;
+	private byte[] outBuffer = new byte[0];
 
 	/**
 	 * The offset into {@link #outBuffer} where valid data starts.
 	 */
 	private int outOffset;
 
+	/**
+	 * The offset into {@link #outBuffer} where valid data ends.
+	 */
+	private int outLength;
+
+	/**
+	 * Holds the byte transformed by {@link #read()} for stream ciphers.
+	 */
+	private final byte[] single = new byte[1];
+
 	/**
 	 * We set this when the cipher block size is 1, meaning that we can transform
 	 * any amount of data.
@@ -125,9 +146,9 @@ public class CipherInputStream extends FilterInputStream {
 	public int available() throws IOException {
 		if (isStream)
 			return super.available();
-		if (outBuffer == null || outOffset >= outBuffer.length)
+		if (outOffset >= outLength && !eof)
 			nextBlock();
-		return outBuffer.length - outOffset;
+		return outLength - outOffset;
 	}
 
 	/**
@@ -165,21 +186,23 @@ public class CipherInputStream extends FilterInputStream {
 	}
 
 	private void nextBlock() throws IOException {
-		byte[] buf = new byte[cipher.getBlockSize()];
-
+		if (inBuffer == null) {
+			int blockSize = cipher.getBlockSize();
+			inBuffer = new byte[Math.max(blockSize, BUFFER_SIZE - BUFFER_SIZE % blockSize)];
+		}
 		try {
-			outBuffer = null;
 			outOffset = 0;
-			while (outBuffer == null) {
-				int l = in.read(buf);
+			outLength = 0;
+			while (outLength == 0) {
+				int l = in.read(inBuffer);
 				if (l == -1) {
-					outBuffer = cipher.doFinal();
+					ensureCapacity(cipher.getOutputSize(0));
+					outLength = cipher.doFinal(outBuffer, 0);
 					eof = true;
 					return;
 				}
-
-				outOffset = 0;
-				outBuffer = cipher.update(buf, 0, l);
+				ensureCapacity(cipher.getOutputSize(l));
+				outLength = cipher.update(inBuffer, 0, l, outBuffer, 0);
 			}
 		} catch (BadPaddingException bpe) {
 			IOException ioe = new IOException("bad padding");
@@ -189,9 +212,18 @@ public class CipherInputStream extends FilterInputStream {
 			IOException ioe = new IOException("illegal block size");
 			ioe.initCause(ibse);
 			throw ioe;
+		} catch (ShortBufferException shouldNotHappen) {
+			IOException ioe = new IOException("short buffer -- this should not happen");
+			ioe.initCause(shouldNotHappen);
+			throw ioe;
 		}
 	}
 
+	private void ensureCapacity(int size) {
+		if (outBuffer.length < size)
+			outBuffer = new byte[size];
+	}
+
 	/**
 	 * Read a single byte from this input stream; returns -1 on the end-of-file.
 	 *
@@ -202,7 +234,7 @@ public class CipherInputStream extends FilterInputStream {
 	@Override
 	public synchronized int read() throws IOException {
 		if (isStream) {
-			byte[] buf = new byte[1];
+			byte[] buf = single;
 			int in = super.read();
 			if (in == -1)
 				return -1;
@@ -215,10 +247,12 @@ public class CipherInputStream extends FilterInputStream {
 			return buf[0] & 0xFF;
 		}
 
-		if (outBuffer == null || outOffset == outBuffer.length) {
+		if (outOffset >= outLength) {
 			if (eof)
 				return -1;
 			nextBlock();
+			if (outOffset >= outLength)
+				return -1;
 		}
 		return outBuffer[outOffset++] & 0xFF;
 	}
@@ -275,7 +309,7 @@ public class CipherInputStream extends FilterInputStream {
 
 		int count = 0;
 		while (count < len) {
-			if (outBuffer == null || outOffset >= outBuffer.length) {
+			if (outOffset >= outLength) {
 				if (eof) {
 					if (count == 0)
 						count = -1;
@@ -283,7 +317,7 @@ public class CipherInputStream extends FilterInputStream {
 				}
 				nextBlock();
 			}
-			int l = Math.min(outBuffer.length - outOffset, len - count);
+			int l = Math.min(outLength - outOffset, len - count);
 			System.arraycopy(outBuffer, outOffset, buf, count + off, l);
 			count += l;
 			outOffset += l;
@@ -319,9 +353,9 @@ public class CipherInputStream extends FilterInputStream {
 			return super.skip(bytes);
 		}
 		long ret = 0;
-		if (bytes > 0 && outBuffer != null && outOffset >= outBuffer.length) {
-			ret = outBuffer.length - outOffset;
-			outOffset = outBuffer.length;
+		if (bytes > 0 && outOffset >= outLength) {
+			ret = outLength - outOffset;
+			outOffset = outLength;
 		}
 		return ret;
 	}
@@ -51,6 +51,12 @@ public class CipherOutputStream extends FilterOutputStream {
 	/** The underlying cipher. */
 	private Cipher cipher;
 
+	/** Holds the output of the cipher; reused across writes. */
+	private byte[] outBuffer = new byte[0];
+
+	/** Holds the byte given to {@link #write(int)}. */
+	private final byte[] single = new byte[1];
+
 	/**
 	 * Create a cipher output stream with no cipher.
 	 *
@@ -139,9 +145,19 @@ public class CipherOutputStream extends FilterOutputStream {
 	 */
 	@Override
 	public void write(byte[] buf, int off, int len) throws IOException {
-		byte[] b = cipher.update(buf, off, len);
-		if (b != null)
-			out.write(b);
+		int size = cipher.getOutputSize(len);
+		if (outBuffer.length < size)
+			outBuffer = new byte[size];
+		int count;
+		try {
+			count = cipher.update(buf, off, len, outBuffer, 0);
+		} catch (ShortBufferException shouldNotHappen) {
+			IOException ioex = new IOException(String.valueOf(shouldNotHappen));
+			ioex.initCause(shouldNotHappen);
+			throw ioex;
+		}
+		if (count > 0)
+			out.write(outBuffer, 0, count);
 	}
 
 	/**
@@ -155,6 +171,7 @@ public class CipherOutputStream extends FilterOutputStream {
 	 */
 	@Override
 	public void write(int b) throws IOException {
-		write(new byte[] { (byte) b }, 0, 1);
+		single[0] = (byte) b;
+		write(single, 0, 1);
 	}
 }
@@ -0,0 +1,225 @@
+/* CipherReadableChannel.java -- a channel encrypting or decrypting read data
+   Copyright (C) 2026 Free Software Foundation, Inc.
+
+This file is a part of GNU Classpath.
+
+GNU Classpath is free software; you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation; either version 2 of the License, or (at
+your option) any later version.
+
+GNU Classpath is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with GNU Classpath; if not, write to the Free Software
+Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301
+USA
+
+Linking this library statically or dynamically with other modules is
+making a combined work based on this library.  Thus, the terms and
+conditions of the GNU General Public License cover the whole
+combination.
+
+As a special exception, the copyright holders of this library give you
+permission to link this library with independent modules to produce an
+executable, regardless of the license terms of these independent
+modules, and to copy and distribute the resulting executable under
+terms of your choice, provided that you also meet, for each linked
+independent module, the terms and conditions of the license of that
+module.  An independent module is a module which is not derived from
+or based on this library.  If you modify this library, you may extend
+this exception to your version of the library, but you are not
+obligated to do so.  If you do not wish to do so, delete this
+exception statement from your version.  */
+
+package com.distrimind.gnu.vm.jgnux.crypto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.security.GeneralSecurityException;
+
+/**
+ * A {@link ReadableByteChannel} that transforms the data read from an
+ * underlying channel, e.g. a {@link java.nio.channels.FileChannel}, with a
+ * {@link Cipher}. When the underlying channel reaches its end of stream, the
+ * cipher operation is finished.
+ * <p>
+ * Unlike {@link CipherInputStream}, this class goes through buffers allocated
+ * once: a direct buffer for channel I/O, and arrays for the cipher, grown only
+ * if the cipher needs more room than the input. The memory used is thus
+ * constant, whatever the amount of data read.
+ *
+ * @see CipherWritableChannel
+ */
+public class CipherReadableChannel implements ReadableByteChannel {
+	private final ReadableByteChannel channel;
+
+	private final Cipher cipher;
+
+	/** Holds the data read from the underlying channel. */
+	private final byte[] inBuffer;
+
+	/** Holds the output of the cipher. */
+	private byte[] outBuffer;
+
+	/** The offset into {@link #outBuffer} where unread data starts. */
+	private int outOffset;
+
+	/** The offset into {@link #outBuffer} where unread data ends. */
+	private int outLength;
+
+	/** Carries data from the underlying channel. */
+	private final ByteBuffer directBuffer;
+
+	private boolean open;
+
+	/** Whether the cipher operation was finished. */
+	private boolean eof;
+
+	/**
+	 * Creates a new channel using buffers of
+	 * {@link CipherWritableChannel#DEFAULT_BUFFER_SIZE} bytes.
+	 *
+	 * @param channel
+	 *            The channel to read the data to transform from.
+	 * @param cipher
+	 *            The initialized cipher to transform data with.
+	 */
+	public CipherReadableChannel(ReadableByteChannel channel, Cipher cipher) {
+		this(channel, cipher, CipherWritableChannel.DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates a new channel.
+	 *
+	 * @param channel
+	 *            The channel to read the data to transform from.
+	 * @param cipher
+	 *            The initialized cipher to transform data with.
+	 * @param bufferSize
+	 *            The size of the buffers, in bytes.
+	 */
+	public CipherReadableChannel(ReadableByteChannel channel, Cipher cipher, int bufferSize) {
+		super();
+
+		if (channel == null || cipher == null)
+			throw new NullPointerException();
+		if (bufferSize <= 0)
+			throw new IllegalArgumentException("bufferSize");
+		this.channel = channel;
+		this.cipher = cipher;
+		this.inBuffer = new byte[bufferSize];
+		this.outBuffer = new byte[bufferSize + Math.max(cipher.getBlockSize(), 1)];
+		this.directBuffer = ByteBuffer.allocateDirect(bufferSize);
+		this.open = true;
+	}
+
+	/**
+	 * Closes the underlying channel.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (!open)
+			return;
+		open = false;
+		channel.close();
+	}
+
+	private void ensureCapacity(int size) {
+		if (outBuffer.length < size)
+			outBuffer = new byte[size];
+	}
+
+	/**
+	 * Reads and transforms the next piece of input.
+	 *
+	 * @return <code>false</code> if the underlying channel had no data available.
+	 */
+	private boolean fill() throws IOException {
+		directBuffer.clear();
+		int count = channel.read(directBuffer);
+		if (count == 0)
+			return false;
+		outOffset = 0;
+		outLength = 0;
+		try {
+			if (count < 0) {
+				eof = true;
+				ensureCapacity(cipher.getOutputSize(0));
+				outLength = cipher.doFinal(outBuffer, 0);
+			} else {
+				directBuffer.flip();
+				directBuffer.get(inBuffer, 0, count);
+				ensureCapacity(cipher.getOutputSize(count));
+				outLength = cipher.update(inBuffer, 0, count, outBuffer, 0);
+			}
+		} catch (GeneralSecurityException cause) {
+			IOException ioe = new IOException(String.valueOf(cause));
+			ioe.initCause(cause);
+			throw ioe;
+		}
+		return true;
+	}
+
+	@Override
+	public synchronized boolean isOpen() {
+		return open;
+	}
+
+	@Override
+	public synchronized int read(ByteBuffer dst) throws IOException {
+		if (!open)
+			throw new ClosedChannelException();
+		if (!dst.hasRemaining())
+			return 0;
+		while (outOffset == outLength) {
+			if (eof)
+				return -1;
+			if (!fill())
+				return 0;
+		}
+		int result = Math.min(dst.remaining(), outLength - outOffset);
+		dst.put(outBuffer, outOffset, result);
+		outOffset += result;
+		return result;
+	}
+
+	/**
+	 * Reads, transforms and writes to a designated channel everything the
+	 * underlying channel has to offer, until its end of stream; or, if it is in
+	 * non-blocking mode, until it has no data available, the transfer then
+	 * resuming with the next call. Both channels remain open.
+	 *
+	 * @param target
+	 *            The channel to write to; e.g. a
+	 *            {@link java.nio.channels.FileChannel}.
+	 * @return The count of bytes written to <code>target</code>.
+	 * @throws IOException
+	 *             If the cipher operation or an I/O operation fails.
+	 */
+	public synchronized long transferTo(WritableByteChannel target) throws IOException {
+		if (!open)
+			throw new ClosedChannelException();
+		long result = 0;
+		while (true) {
+			while (outOffset < outLength) {
+				directBuffer.clear();
+				int count = Math.min(directBuffer.capacity(), outLength - outOffset);
+				directBuffer.put(outBuffer, outOffset, count);
+				directBuffer.flip();
+				while (directBuffer.hasRemaining())
+					target.write(directBuffer);
+				outOffset += count;
+				result += count;
+			}
+			if (eof || !fill())
+				return result;
+		}
+	}
+}
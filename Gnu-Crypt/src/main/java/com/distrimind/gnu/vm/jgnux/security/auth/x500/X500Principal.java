@@ -76,23 +76,23 @@ public final class X500Principal implements Principal, Serializable {
 
 	public static final String RFC2253 = "RFC2253";
 
-	private static final OID CN = new OID("2.5.4.3");
+	private static final OID CN = new OID("2.5.4.3").intern();
 
-	private static final OID C = new OID("2.5.4.6");
+	private static final OID C = new OID("2.5.4.6").intern();
 
-	private static final OID L = new OID("2.5.4.7");
+	private static final OID L = new OID("2.5.4.7").intern();
 
-	private static final OID ST = new OID("2.5.4.8");
+	private static final OID ST = new OID("2.5.4.8").intern();
 
-	private static final OID STREET = new OID("2.5.4.9");
+	private static final OID STREET = new OID("2.5.4.9").intern();
 
-	private static final OID O = new OID("2.5.4.10");
+	private static final OID O = new OID("2.5.4.10").intern();
 
-	private static final OID OU = new OID("2.5.4.11");
+	private static final OID OU = new OID("2.5.4.11").intern();
 
-	private static final OID DC = new OID("0.9.2342.19200300.100.1.25");
+	private static final OID DC = new OID("0.9.2342.19200300.100.1.25").intern();
 
-	private static final OID UID = new OID("0.9.2342.19200300.100.1.1");
+	private static final OID UID = new OID("0.9.2342.19200300.100.1.1").intern();
 
 	private static String compressWS(String str) {
 		StringBuilder buf = new StringBuilder();